@@ -0,0 +1,38 @@
+package com.hxqzzxk.cache;
+
+/**
+ * 缓存接口，定义了缓存的基本操作方法。
+ * 缓存的容量有限，放入新的键值对时可能会淘汰已有的键值对。
+ *
+ * @param <K> 键的类型
+ * @param <V> 值的类型
+ */
+public interface Cache<K, V> {
+    /**
+     * 根据 key 获取 value，命中时会更新键值对的访问信息
+     *
+     * @param key 要查找的键
+     * @return 与键关联的值，如果不存在则返回 null
+     */
+    V get(K key);
+
+    /**
+     * 放入键值对，容量不足时淘汰其他键值对（也可能直接拒绝新的键值对）
+     *
+     * @param key   要放入的键
+     * @param value 要放入的值
+     */
+    void put(K key, V value);
+
+    /**
+     * 返回缓存中键值对的数量
+     *
+     * @return 键值对数量
+     */
+    int size();
+
+    /**
+     * 清空缓存
+     */
+    void clear();
+}
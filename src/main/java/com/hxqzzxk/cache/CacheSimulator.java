@@ -0,0 +1,116 @@
+package com.hxqzzxk.cache;
+
+import java.util.Random;
+
+/**
+ * 缓存访问轨迹回放工具，用于比较不同淘汰策略的命中率。
+ * 回放时依次访问轨迹中的每个键，未命中时把该键放入缓存，最后统计命中率。
+ */
+public class CacheSimulator {
+    /**
+     * 工具类，不允许实例化
+     */
+    private CacheSimulator() {
+    }
+
+    /**
+     * 回放访问轨迹并返回命中率
+     *
+     * @param cache 被测试的缓存，回放之前会被清空
+     * @param trace 访问轨迹
+     * @return 命中率，取值范围为 [0, 1]
+     */
+    public static double hitRatio(Cache<Long, Long> cache, long[] trace) {
+        if (trace.length == 0) {
+            return 0;
+        }
+        cache.clear();
+        long hits = 0;
+        for (long key : trace) {
+            if (cache.get(key) != null) {
+                hits++;
+            } else {
+                cache.put(key, key);
+            }
+        }
+        return (double) hits / trace.length;
+    }
+
+    /**
+     * 生成服从 Zipf 分布的访问轨迹，少数键被频繁访问
+     *
+     * @param length 轨迹长度
+     * @param items  不同键的数量
+     * @param skew   偏斜程度，越大热点越集中
+     * @param seed   随机数种子
+     * @return 访问轨迹
+     */
+    public static long[] zipfTrace(int length, int items, double skew, long seed) {
+        // 累积分布函数，cdf[i] 表示访问排名不超过 i 的键的概率
+        double[] cdf = new double[items];
+        double sum = 0;
+        for (int i = 0; i < items; i++) {
+            sum += 1 / Math.pow(i + 1, skew);
+            cdf[i] = sum;
+        }
+
+        Random random = new Random(seed);
+        long[] trace = new long[length];
+        for (int i = 0; i < length; i++) {
+            double p = random.nextDouble() * sum;
+            int begin = 0;
+            int end = items - 1;
+            // 二分查找第一个大于等于 p 的位置
+            while (begin < end) {
+                int mid = (begin + end) >>> 1;
+                if (cdf[mid] < p) {
+                    begin = mid + 1;
+                } else {
+                    end = mid;
+                }
+            }
+            trace[i] = begin;
+        }
+        return trace;
+    }
+
+    /**
+     * 生成循环访问的轨迹：依次访问 0 ~ loopSize - 1 并不断重复。
+     * 当 loopSize 大于缓存容量时，LRU 的命中率为 0。
+     *
+     * @param length   轨迹长度
+     * @param loopSize 循环的长度
+     * @return 访问轨迹
+     */
+    public static long[] loopTrace(int length, int loopSize) {
+        long[] trace = new long[length];
+        for (int i = 0; i < length; i++) {
+            trace[i] = i % loopSize;
+        }
+        return trace;
+    }
+
+    /**
+     * 在 Zipf 轨迹中穿插一次性扫描的冷数据，每隔 interval 次访问插入 scanLength 个从未出现过的键
+     *
+     * @param base       基础轨迹
+     * @param interval   插入扫描的间隔
+     * @param scanLength 每次扫描的长度
+     * @return 访问轨迹
+     */
+    public static long[] withScans(long[] base, int interval, int scanLength) {
+        int scans = base.length / interval;
+        long[] trace = new long[base.length + scans * scanLength];
+        long next = Long.MAX_VALUE / 2;
+        int j = 0;
+        for (int i = 0; i < base.length; i++) {
+            trace[j++] = base[i];
+            if ((i + 1) % interval == 0) {
+                for (int k = 0; k < scanLength; k++) {
+                    trace[j++] = next++;
+                }
+            }
+        }
+        return trace;
+    }
+}
@@ -0,0 +1,146 @@
+package com.hxqzzxk.cache;
+
+/**
+ * 基于 Count-Min Sketch 的访问频率估计器，用于 TinyLFU 的准入判断。
+ * <p>
+ * - 每个计数器占 4 位，最大值为 15，一个 long 存放 16 个计数器；
+ * - 每个元素对应 4 个计数器（分别来自 4 个不同的哈希函数），估计的频率取其中的最小值；
+ * - 记录的次数达到采样数量（容量的 10 倍）时，所有计数器减半，
+ * 使过去的热点元素逐渐冷却（老化）。
+ * </p>
+ */
+public class FrequencySketch {
+    /**
+     * 4 个哈希函数使用的种子
+     */
+    private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L,
+            0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+
+    /**
+     * 计数器减半时，用于清除每个计数器最高位被右移进来的位
+     */
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    /**
+     * 存放计数器的数组，每个 long 存放 16 个 4 位计数器
+     */
+    private final long[] table;
+
+    /**
+     * table 数组长度减 1，用于将哈希值映射为索引
+     */
+    private final int tableMask;
+
+    /**
+     * 触发老化的记录次数
+     */
+    private final int sampleSize;
+
+    /**
+     * 自上次老化以来记录的次数
+     */
+    private int size;
+
+    /**
+     * 构造一个频率估计器
+     *
+     * @param maximumSize 缓存的最大容量，决定计数器的数量和采样数量
+     */
+    public FrequencySketch(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+        int capacity = Math.min(maximumSize, 1 << 30);
+        table = new long[Math.max(Integer.highestOneBit(capacity - 1) << 1, 2)];
+        tableMask = table.length - 1;
+        sampleSize = capacity > Integer.MAX_VALUE / 10 ? Integer.MAX_VALUE : capacity * 10;
+    }
+
+    /**
+     * 估计元素的访问频率
+     *
+     * @param element 元素
+     * @return 访问频率的估计值，最大为 15
+     */
+    public int frequency(Object element) {
+        int hash = spread(element.hashCode());
+        // 每个元素在 long 中使用的 4 个计数器的起始位置
+        int start = (hash & 3) << 2;
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            int index = indexOf(hash, i);
+            int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * 记录一次元素的访问，计数器已经达到最大值时不再增加
+     *
+     * @param element 元素
+     */
+    public void increment(Object element) {
+        int hash = spread(element.hashCode());
+        int start = (hash & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            added |= incrementAt(indexOf(hash, i), start + i);
+        }
+        if (added && ++size == sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * 将 table[i] 中第 j 个计数器加 1
+     *
+     * @param i table 数组的索引
+     * @param j 计数器在 long 中的位置，取值范围为 [0, 15]
+     * @return 如果计数器增加了则返回 true
+     */
+    private boolean incrementAt(int i, int j) {
+        int offset = j << 2;
+        long mask = 0xfL << offset;
+        if ((table[i] & mask) != mask) {
+            table[i] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 老化：所有计数器减半
+     */
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size >>>= 1;
+    }
+
+    /**
+     * 计算元素在第 i 个哈希函数下对应的 table 索引
+     *
+     * @param hash 元素的哈希值
+     * @param i    哈希函数的编号
+     * @return table 数组的索引
+     */
+    private int indexOf(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return (int) h & tableMask;
+    }
+
+    /**
+     * 对 hashCode 进行再哈希，避免质量较差的 hashCode 集中在少数计数器上
+     *
+     * @param x 元素的 hashCode
+     * @return 再哈希之后的值
+     */
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+}
@@ -0,0 +1,66 @@
+package com.hxqzzxk.cache;
+
+import com.hxqzzxk.map.LinkedHashMap;
+
+/**
+ * 最近最少使用（LRU）缓存，基于按访问顺序维护链表的 LinkedHashMap 实现。
+ * 作为 W-TinyLFU 命中率的对照。
+ *
+ * @param <K> 键的类型
+ * @param <V> 值的类型
+ */
+public class LruCache<K, V> implements Cache<K, V> {
+    /**
+     * 按访问顺序维护链表、并限制键值对数量的 LinkedHashMap
+     */
+    private final LinkedHashMap<K, V> map;
+
+    /**
+     * 构造一个 LRU 缓存
+     *
+     * @param maximumSize 缓存的最大键值对数量
+     */
+    public LruCache(int maximumSize) {
+        map = new LinkedHashMap<>(true, maximumSize);
+    }
+
+    /**
+     * 根据 key 获取 value，命中时将键值对移动到链表末尾
+     *
+     * @param key 要查找的键
+     * @return 与键关联的值，如果不存在则返回 null
+     */
+    @Override
+    public V get(K key) {
+        return map.get(key);
+    }
+
+    /**
+     * 放入键值对，超过最大数量时淘汰最久未使用的键值对
+     *
+     * @param key   要放入的键
+     * @param value 要放入的值
+     */
+    @Override
+    public void put(K key, V value) {
+        map.put(key, value);
+    }
+
+    /**
+     * 返回缓存中键值对的数量
+     *
+     * @return 键值对数量
+     */
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * 清空缓存
+     */
+    @Override
+    public void clear() {
+        map.clear();
+    }
+}
@@ -0,0 +1,403 @@
+package com.hxqzzxk.cache;
+
+import com.hxqzzxk.map.HashMap;
+
+/**
+ * W-TinyLFU 缓存。
+ * <p>
+ * 缓存空间分为两部分：
+ * - 窗口区（约 1% 的容量）：一个 LRU 链表，新的键值对总是先进入窗口区，
+ * 使突发的新热点能够被缓存；
+ * - 主区（其余的容量）：分段 LRU，由考察区（probation）和保护区（protected，约占主区 80%）组成，
+ * 考察区中的键值对再次被访问时晋升到保护区，保护区满时末位的键值对降级回考察区。
+ * </p>
+ * 窗口区淘汰出来的候选者进入考察区，缓存超出容量时，由频率估计器比较候选者和考察区的
+ * 队首（牺牲者）的访问频率，频率高的留下。这样一次性扫描的大量冷数据无法挤掉高频数据。
+ * 三个 LRU 链表与 LinkedHashMap 一样，通过节点中的 prev/next 链接，所有操作都是 O(1)。
+ *
+ * @param <K> 键的类型
+ * @param <V> 值的类型
+ */
+public class WTinyLfuCache<K, V> implements Cache<K, V> {
+    /**
+     * 节点位于窗口区
+     */
+    private static final int WINDOW = 0;
+
+    /**
+     * 节点位于考察区
+     */
+    private static final int PROBATION = 1;
+
+    /**
+     * 节点位于保护区
+     */
+    private static final int PROTECTED = 2;
+
+    /**
+     * 缓存的最大键值对数量
+     */
+    private final int maximumSize;
+
+    /**
+     * 窗口区的最大键值对数量
+     */
+    private final int windowMaximum;
+
+    /**
+     * 保护区的最大键值对数量
+     */
+    private final int protectedMaximum;
+
+    /**
+     * 根据键查找节点的哈希表
+     */
+    private final HashMap<K, Node<K, V>> data = new HashMap<>();
+
+    /**
+     * 窗口区的 LRU 链表
+     */
+    private final AccessQueue<K, V> window = new AccessQueue<>();
+
+    /**
+     * 考察区的 LRU 链表
+     */
+    private final AccessQueue<K, V> probation = new AccessQueue<>();
+
+    /**
+     * 保护区的 LRU 链表
+     */
+    private final AccessQueue<K, V> protectedQueue = new AccessQueue<>();
+
+    /**
+     * 访问频率估计器
+     */
+    private final FrequencySketch sketch;
+
+    /**
+     * get 命中的次数
+     */
+    private long hitCount;
+
+    /**
+     * get 未命中的次数
+     */
+    private long missCount;
+
+    /**
+     * 淘汰的键值对数量
+     */
+    private long evictionCount;
+
+    /**
+     * 构造一个 W-TinyLFU 缓存
+     *
+     * @param maximumSize 缓存的最大键值对数量
+     */
+    public WTinyLfuCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+        this.maximumSize = maximumSize;
+        this.windowMaximum = Math.max(1, maximumSize / 100);
+        this.protectedMaximum = (maximumSize - windowMaximum) * 8 / 10;
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    /**
+     * 缓存节点，同时是某一个 LRU 链表中的节点
+     *
+     * @param <K> 键的类型
+     * @param <V> 值的类型
+     */
+    private static class Node<K, V> {
+        /**
+         * 键
+         */
+        final K key;
+
+        /**
+         * 值
+         */
+        V value;
+
+        /**
+         * 节点所在的区域：WINDOW、PROBATION 或 PROTECTED
+         */
+        int queue;
+
+        /**
+         * 链表中的前一个节点
+         */
+        Node<K, V> prev;
+
+        /**
+         * 链表中的后一个节点
+         */
+        Node<K, V> next;
+
+        /**
+         * 构造一个新的节点
+         *
+         * @param key   键
+         * @param value 值
+         */
+        Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * 双向链表实现的 LRU 队列，头部是最久未访问的节点
+     *
+     * @param <K> 键的类型
+     * @param <V> 值的类型
+     */
+    private static class AccessQueue<K, V> {
+        /**
+         * 头节点
+         */
+        Node<K, V> head;
+
+        /**
+         * 尾节点
+         */
+        Node<K, V> tail;
+
+        /**
+         * 节点数量
+         */
+        int size;
+
+        /**
+         * 将节点加入链表末尾
+         *
+         * @param node 要加入的节点
+         */
+        void linkLast(Node<K, V> node) {
+            if (head == null) {
+                head = tail = node;
+            } else {
+                tail.next = node;
+                node.prev = tail;
+                tail = node;
+            }
+            size++;
+        }
+
+        /**
+         * 将节点从链表中移除
+         *
+         * @param node 要移除的节点
+         */
+        void unlink(Node<K, V> node) {
+            Node<K, V> prev = node.prev;
+            Node<K, V> next = node.next;
+            if (prev == null) {
+                head = next;
+            } else {
+                prev.next = next;
+            }
+            if (next == null) {
+                tail = prev;
+            } else {
+                next.prev = prev;
+            }
+            node.prev = null;
+            node.next = null;
+            size--;
+        }
+
+        /**
+         * 将节点移动到链表末尾
+         *
+         * @param node 要移动的节点
+         */
+        void moveToLast(Node<K, V> node) {
+            if (node != tail) {
+                unlink(node);
+                linkLast(node);
+            }
+        }
+
+        /**
+         * 清空链表
+         */
+        void clear() {
+            head = tail = null;
+            size = 0;
+        }
+    }
+
+    /**
+     * 根据 key 获取 value，命中时根据节点所在的区域调整它的位置
+     *
+     * @param key 要查找的键
+     * @return 与键关联的值，如果不存在则返回 null
+     */
+    @Override
+    public V get(K key) {
+        sketch.increment(key);
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        onAccess(node);
+        return node.value;
+    }
+
+    /**
+     * 放入键值对，新的键值对进入窗口区，超出容量时通过频率比较决定淘汰谁
+     *
+     * @param key   要放入的键
+     * @param value 要放入的值
+     */
+    @Override
+    public void put(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("key must not be null");
+        }
+        sketch.increment(key);
+        Node<K, V> node = data.get(key);
+        if (node != null) {
+            node.value = value;
+            onAccess(node);
+            return;
+        }
+
+        node = new Node<>(key, value);
+        node.queue = WINDOW;
+        data.put(key, node);
+        window.linkLast(node);
+        evict();
+    }
+
+    /**
+     * 返回缓存中键值对的数量
+     *
+     * @return 键值对数量
+     */
+    @Override
+    public int size() {
+        return data.size();
+    }
+
+    /**
+     * 清空缓存，频率估计器中的历史频率保留
+     */
+    @Override
+    public void clear() {
+        data.clear();
+        window.clear();
+        probation.clear();
+        protectedQueue.clear();
+    }
+
+    /**
+     * 获取 get 命中的次数。
+     *
+     * @return 命中次数
+     */
+    public long hitCount() {
+        return hitCount;
+    }
+
+    /**
+     * 获取 get 未命中的次数。
+     *
+     * @return 未命中次数
+     */
+    public long missCount() {
+        return missCount;
+    }
+
+    /**
+     * 获取淘汰的键值对数量。
+     *
+     * @return 淘汰次数
+     */
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * 节点被访问后调整它的位置
+     *
+     * @param node 被访问的节点
+     */
+    private void onAccess(Node<K, V> node) {
+        if (node.queue == WINDOW) {
+            window.moveToLast(node);
+        } else if (node.queue == PROBATION) {
+            // 考察区的节点再次被访问，晋升到保护区
+            probation.unlink(node);
+            node.queue = PROTECTED;
+            protectedQueue.linkLast(node);
+            // 保护区满了，末位的节点降级回考察区
+            if (protectedQueue.size > protectedMaximum) {
+                Node<K, V> demoted = protectedQueue.head;
+                protectedQueue.unlink(demoted);
+                demoted.queue = PROBATION;
+                probation.linkLast(demoted);
+            }
+        } else {
+            protectedQueue.moveToLast(node);
+        }
+    }
+
+    /**
+     * 窗口区超出容量时，将多出的节点作为候选者移到考察区末尾；
+     * 缓存超出容量时，比较候选者和考察区队首节点（牺牲者）的访问频率，淘汰频率低的一方。
+     */
+    private void evict() {
+        Node<K, V> candidate = null;
+        while (window.size > windowMaximum) {
+            candidate = window.head;
+            window.unlink(candidate);
+            candidate.queue = PROBATION;
+            probation.linkLast(candidate);
+        }
+
+        while (data.size() > maximumSize) {
+            Node<K, V> victim = probation.head;
+            if (victim == null) {
+                // 考察区为空（容量很小时），依次从保护区、窗口区淘汰
+                victim = protectedQueue.head != null ? protectedQueue.head : window.head;
+                remove(victim);
+                continue;
+            }
+            if (candidate == null || candidate == victim || candidate.queue != PROBATION) {
+                remove(victim);
+                continue;
+            }
+            // 候选者的频率更高时淘汰牺牲者，否则拒绝候选者
+            if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+                remove(victim);
+            } else {
+                Node<K, V> rejected = candidate;
+                candidate = candidate.prev;
+                remove(rejected);
+            }
+        }
+    }
+
+    /**
+     * 从所在的链表和哈希表中删除节点
+     *
+     * @param node 要删除的节点
+     */
+    private void remove(Node<K, V> node) {
+        if (node.queue == WINDOW) {
+            window.unlink(node);
+        } else if (node.queue == PROBATION) {
+            probation.unlink(node);
+        } else {
+            protectedQueue.unlink(node);
+        }
+        data.remove(node.key);
+        evictionCount++;
+    }
+}
@@ -1,9 +1,11 @@
 package com.hxqzzxk.graph;
 
-import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.Queue;
 
+import com.hxqzzxk.list.IntArrayList;
+import com.hxqzzxk.set.BitSet;
+
 /**
  * 图的 BFS 广度优先搜索遍历的递归实现类，适用于所有图
  */
@@ -14,16 +16,15 @@ public class GraphBFS {
     private IGraph graph;
 
     /**
-     * 记录顶点是否被访问过的数组
-     * 索引对应顶点编号，值表示是否已访问
+     * 记录顶点是否被访问过的位集合，每个顶点占 1 位
      */
-    private boolean[] visited;
+    private BitSet visited;
 
     /**
      * 存储遍历结果的列表
      * 按照 BFS 的顺序保存访问的顶点
      */
-    private ArrayList<Integer> order = new ArrayList<>();
+    private IntArrayList order = new IntArrayList();
 
     /**
      * 构造函数，初始化图并执行 BFS 遍历
@@ -32,9 +33,9 @@ public class GraphBFS {
      */
     public GraphBFS(IGraph graph) {
         this.graph = graph;
-        visited = new boolean[graph.getVertexes()];
+        visited = new BitSet(graph.getVertexes());
         for (int i = 0; i < graph.getVertexes(); i++) {
-            if (!visited[i]) {
+            if (!visited.contains(i)) {
                 bfs(i);
             }
         }
@@ -46,15 +47,15 @@ public class GraphBFS {
      * @param vertex 遍历起始顶点
      */
     private void bfs(int vertex) {
-        visited[vertex] = true;
+        visited.add(vertex);
         Queue<Integer> queue = new LinkedList<>();
         queue.offer(vertex);
         while (!queue.isEmpty()) {
             int current = queue.remove();
             order.add(current);
             for (int v : graph.edges(current)) {
-                if (!visited[v]) {
-                    visited[v] = true;
+                if (!visited.contains(v)) {
+                    visited.add(v);
                     queue.offer(v);
                 }
             }
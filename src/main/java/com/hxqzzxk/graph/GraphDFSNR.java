@@ -2,6 +2,9 @@ package com.hxqzzxk.graph;
 
 import java.util.*;
 
+import com.hxqzzxk.list.IntArrayList;
+import com.hxqzzxk.set.BitSet;
+
 /**
  * 图的 DFS 深度优先搜索遍历的非递归实现类，适用于所有图
  */
@@ -12,24 +15,24 @@ public class GraphDFSNR {
     private IGraph graph;
 
     /**
-     * 记录每个顶点是否已被访问
+     * 记录每个顶点是否已被访问，每个顶点占 1 位
      */
-    private boolean[] visited;
+    private BitSet visited;
 
     /**
      * 存储遍历的整体顺序
      */
-    private ArrayList<Integer> order = new ArrayList<>();
+    private IntArrayList order = new IntArrayList();
 
     /**
      * 存储前序遍历结果
      */
-    private ArrayList<Integer> prev = new ArrayList<>();
+    private IntArrayList prev = new IntArrayList();
 
     /**
      * 存储后序遍历结果
      */
-    private ArrayList<Integer> post = new ArrayList<>();
+    private IntArrayList post = new IntArrayList();
 
     /**
      * 构造函数，初始化图并执行深度优先搜索遍历
@@ -38,15 +41,15 @@ public class GraphDFSNR {
      */
     public GraphDFSNR(IGraph graph) {
         this.graph = graph;
-        visited = new boolean[graph.getVertexes()];
+        visited = new BitSet(graph.getVertexes());
         for (int vertex = 0; vertex < graph.getVertexes(); vertex++) {
-            if (!visited[vertex]) {
+            if (!visited.contains(vertex)) {
                 dfs(vertex);
             }
         }
-        visited = new boolean[graph.getVertexes()];
+        visited = new BitSet(graph.getVertexes());
         for (int vertex = 0; vertex < graph.getVertexes(); vertex++) {
-            if (!visited[vertex]) {
+            if (!visited.contains(vertex)) {
                 dfs2(vertex);
             }
         }
@@ -58,7 +61,7 @@ public class GraphDFSNR {
      * @param vertex 起始顶点
      */
     public void dfs(int vertex) {
-        visited[vertex] = true;
+        visited.add(vertex);
         Stack<Integer> stack = new Stack<>();
         stack.push(vertex);
         while (!stack.isEmpty()) {
@@ -66,8 +69,8 @@ public class GraphDFSNR {
             prev.add(current);
             order.add(current);
             for (int w : graph.edges(current)) {
-                if (!visited[w]) {
-                    visited[w] = true;
+                if (!visited.contains(w)) {
+                    visited.add(w);
                     stack.push(w);
                 }
             }
@@ -80,7 +83,7 @@ public class GraphDFSNR {
      * @param vertex 起始顶点
      */
     private void dfs2(int vertex) {
-        visited[vertex] = true;
+        visited.add(vertex);
         Stack<Integer> stack = new Stack<>();
         Stack<Boolean> isProcessed = new Stack<>(); // 标记是否是第二次入栈
         stack.push(vertex);
@@ -96,12 +99,14 @@ public class GraphDFSNR {
             stack.push(current);
             isProcessed.push(true);
             // 逆序处理边，保证顺序正确
-            ArrayList<Integer> list = new ArrayList<>();
-            graph.edges(current).forEach(list::add);
-            Collections.reverse(list); // 逆序压栈以保证小编号先访问
-            for (int w : list) {
-                if (!visited[w]) {
-                    visited[w] = true;
+            IntArrayList list = new IntArrayList();
+            for (int w : graph.edges(current)) {
+                list.add(w);
+            }
+            for (int i = list.size() - 1; i >= 0; i--) { // 逆序压栈以保证小编号先访问
+                int w = list.get(i);
+                if (!visited.contains(w)) {
+                    visited.add(w);
                     stack.push(w);
                     isProcessed.push(false);
                 }
@@ -1,6 +1,7 @@
 package com.hxqzzxk.graph;
 
-import java.util.ArrayList;
+import com.hxqzzxk.list.IntArrayList;
+import com.hxqzzxk.set.BitSet;
 
 /**
  * 图的 DFS 深度优先搜索遍历的递归实现类，适用于所有图
@@ -12,24 +13,24 @@ public class GraphDFSR {
     private IGraph graph;
 
     /**
-     * 记录顶点是否已访问的数组
+     * 记录顶点是否已访问的位集合，每个顶点占 1 位
      */
-    private boolean[] visited;
+    private BitSet visited;
 
     /**
      * 保存遍历顺序的列表
      */
-    private ArrayList<Integer> order = new ArrayList<>();
+    private IntArrayList order = new IntArrayList();
 
     /**
      * 保存前序遍历结果的列表
      */
-    private ArrayList<Integer> prev = new ArrayList<>();
+    private IntArrayList prev = new IntArrayList();
 
     /**
      * 保存后序遍历结果的列表
      */
-    private ArrayList<Integer> post = new ArrayList<>();
+    private IntArrayList post = new IntArrayList();
 
     /**
      * 构造函数，初始化深度优先搜索
@@ -38,9 +39,9 @@ public class GraphDFSR {
      */
     public GraphDFSR(IGraph graph) {
         this.graph = graph;
-        visited = new boolean[graph.getVertexes()];
+        visited = new BitSet(graph.getVertexes());
         for (int vertex = 0; vertex < graph.getVertexes(); vertex++) {
-            if (!visited[vertex]) {
+            if (!visited.contains(vertex)) {
                 dfs(vertex);
             }
         }
@@ -52,11 +53,11 @@ public class GraphDFSR {
      * @param vertex 当前访问的顶点
      */
     private void dfs(int vertex) {
-        visited[vertex] = true;
+        visited.add(vertex);
         order.add(vertex);
         prev.add(vertex);
         for (int w : graph.edges(vertex)) {
-            if (!visited[w]) {
+            if (!visited.contains(w)) {
                 dfs(w);
             }
         }
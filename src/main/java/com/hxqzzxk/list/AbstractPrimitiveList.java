@@ -0,0 +1,104 @@
+package com.hxqzzxk.list;
+
+/**
+ * 抽取基本类型动态数组重复的操作，为 IntArrayList、LongArrayList、DoubleArrayList 提供元素数量、
+ * 索引检查以及和 {@link ArrayList} 相同的扩容、缩容策略
+ */
+public abstract class AbstractPrimitiveList {
+    /**
+     * 找不到元素返回的索引值
+     */
+    protected static final int ELEMENT_NOT_FOUND = -1;
+
+    /**
+     * 数组的默认容量
+     */
+    protected static final int DEFAULT_CAPACITY = 10;
+
+    /**
+     * 元素数量
+     */
+    protected int size;
+
+    /**
+     * 清空所有元素
+     */
+    public abstract void clear();
+
+    /**
+     * 返回当前元素的数量
+     *
+     * @return 元素个数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 检查线性表是否为空
+     *
+     * @return 如果线性表没有元素则返回 true
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 计算扩容后的容量，和 ArrayList 一样扩容到旧容量的 1.5 倍，批量添加时 1.5 倍不够则直接使用需要的容量
+     *
+     * @param oldCapacity 旧容量
+     * @param capacity    需要的最小容量
+     * @return 扩容后的容量
+     */
+    protected static int expandedCapacity(int oldCapacity, int capacity) {
+        int newCapacity = oldCapacity + (oldCapacity >> 1);
+        return Math.max(newCapacity, capacity);
+    }
+
+    /**
+     * 计算缩容后的容量，和 ArrayList 一样元素数量小于等于数组容量的 1/4 时缩容到一半，
+     * 避免在边界附近交替添加、删除时反复扩容和缩容
+     *
+     * @param oldCapacity 旧容量
+     * @return 缩容后的容量，不需要缩容时返回 -1
+     */
+    protected int shrunkCapacity(int oldCapacity) {
+        int newCapacity = oldCapacity >> 1;
+        // 如果当前的元素数量大于旧容量的 1/4 或者新容量小于默认容量，不需要缩容
+        if (size > (oldCapacity >> 2) || newCapacity < DEFAULT_CAPACITY) {
+            return -1;
+        }
+        return newCapacity;
+    }
+
+    /**
+     * 确认索引没有越界
+     *
+     * @param index 要检查的索引位置
+     */
+    protected void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            outOfBounds(index);
+        }
+    }
+
+    /**
+     * 针对添加操作，确认索引没有越界，添加操作可以在线性表的最后位置添加元素
+     *
+     * @param index 要检查的索引位置
+     */
+    protected void checkIndexForAdd(int index) {
+        if (index < 0 || index > size) {
+            outOfBounds(index);
+        }
+    }
+
+    /**
+     * 抛出索引越界异常
+     *
+     * @param index 请求访问的位置
+     */
+    protected void outOfBounds(int index) {
+        throw new IndexOutOfBoundsException("Index:" + index + ", Size:" + size);
+    }
+}
@@ -1,5 +1,8 @@
 package com.hxqzzxk.list;
 
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
 /**
  * 抽象的单向链表实现
  * 提供了单向链表的基本操作
@@ -145,6 +148,43 @@ public abstract class AbstractSingleLinkedList<E> extends AbstractList<E> {
         return node;
     }
 
+    /**
+     * 返回从头节点开始沿着 next 指针遍历所有元素的迭代器，
+     * 按照元素数量控制遍历的次数，所以循环链表也只会遍历一圈。
+     *
+     * @return 元素的迭代器
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            /**
+             * 下一个要返回的节点
+             */
+            private Node<E> next = head;
+
+            /**
+             * 剩余的元素数量
+             */
+            private int remaining = size;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            @Override
+            public E next() {
+                if (remaining <= 0) {
+                    throw new NoSuchElementException();
+                }
+                Node<E> node = next;
+                next = node.next;
+                remaining--;
+                return node.element;
+            }
+        };
+    }
+
     /**
      * 返回链表的字符串表示
      *
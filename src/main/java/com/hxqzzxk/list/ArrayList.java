@@ -1,7 +1,22 @@
 package com.hxqzzxk.list;
 
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import com.hxqzzxk.set.BitSet;
+
 /**
- * 动态数组实现，基于数组的数据结构，支持自动扩容和缩容
+ * 动态数组实现，基于数组的数据结构，支持自动扩容和缩容。
+ * <p>
+ * - 插入和删除使用 System.arraycopy 整段挪动元素；
+ * - 批量添加、范围删除和条件删除都只挪动一次元素，批量添加最多扩容一次；
+ * - 扩容到 1.5 倍，元素数量小于等于容量的 1/4 时才缩容到一半，
+ * 缩容之后数组还有一半是空的，避免在边界附近交替添加、删除时反复扩容和缩容。
+ * </p>
  */
 @SuppressWarnings("unchecked")
 public class ArrayList<E> extends AbstractList<E> {
@@ -81,8 +96,8 @@ public class ArrayList<E> extends AbstractList<E> {
     @Override
     public void add(int index, E element) {
         checkIndexForAdd(index);
-        // 扩容
-        expansion(index + 1);
+        // 扩容，需要的是 size + 1 个位置，和插入的位置无关
+        expansion(size + 1);
         // 添加时有4种情况
         // 1. 添加第一个元素，index = 0，直接添加
         // 2. 添加的索引是0，那就要把0到size - 1的元素往后挪动
@@ -91,13 +106,11 @@ public class ArrayList<E> extends AbstractList<E> {
         // 这4中情况可以进一步归纳成2种情况：
         // 1. index == size，直接添加
         // 2. index < size，从index开始把元素往后挪动，然后在index出插入新的元素
-        // 由于 index == size时，for (int i = size; i > index; i--)中，i >
-        // index的条件没有成立，
+        // 由于 index == size时，需要挪动的元素数量 size - index 是 0，
         // 所以这两种情况的代码可以统一
-        // 从index + 1开始往后挪动元素，index 的元素覆盖index + 1的元素
-        for (int i = size; i > index; i--) {
-            elements[i] = elements[i - 1];
-        }
+        // 从index + 1开始往后挪动元素，index 的元素覆盖index + 1的元素，
+        // 挪动是一整段连续的复制，使用 System.arraycopy 一次完成
+        System.arraycopy(elements, index, elements, index + 1, size - index);
         elements[index] = element;
         size++;
     }
@@ -121,18 +134,140 @@ public class ArrayList<E> extends AbstractList<E> {
         // 这4中情况可以进一步归纳成2种情况：
         // 1. index == size，直接删除
         // 2. index < size，从index开始把元素往前挪动
-        // 由于 index == size时，for (int i = index; i < size - 1; i++)中，i <
-        // size的条件没有成立，
+        // 由于 index == size - 1时，需要挪动的元素数量 size - index - 1 是 0，
         // 所以这两种情况的代码可以统一
-        // 从index + 1开始往前挪动元素，index 的元素覆盖index - 1的元素
-        for (int i = index; i < size - 1; i++) {
-            elements[i] = elements[i + 1];
-        }
-        size--;
+        // 从index + 1开始往前挪动元素，index 的元素覆盖index - 1的元素，
+        // 挪动是一整段连续的复制，使用 System.arraycopy 一次完成
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        // 清除最后一个位置的引用，以便垃圾回收
+        elements[--size] = null;
         shrinking();
         return oldElement;
     }
 
+    /**
+     * 把集合中的所有元素按照集合迭代的顺序添加到尾部
+     *
+     * @param collection 要添加的元素集合
+     */
+    public void addAll(Collection<? extends E> collection) {
+        addAll(size, collection);
+    }
+
+    /**
+     * 把集合中的所有元素按照集合迭代的顺序插入到指定索引，原来 index 之后的元素排在它们后面
+     *
+     * @param index      插入索引，必须在 [0, size()] 范围内
+     * @param collection 要添加的元素集合
+     */
+    public void addAll(int index, Collection<? extends E> collection) {
+        if (collection == null) {
+            throw new IllegalArgumentException("collection must not be null");
+        }
+        checkIndexForAdd(index);
+        insert(index, collection.toArray());
+    }
+
+    /**
+     * 把数组中的所有元素按顺序添加到尾部
+     *
+     * @param array 要添加的元素
+     */
+    public void addAll(E[] array) {
+        addAll(size, array);
+    }
+
+    /**
+     * 把数组中的所有元素按顺序插入到指定索引，原来 index 之后的元素排在它们后面
+     *
+     * @param index 插入索引，必须在 [0, size()] 范围内
+     * @param array 要添加的元素
+     */
+    public void addAll(int index, E[] array) {
+        if (array == null) {
+            throw new IllegalArgumentException("array must not be null");
+        }
+        checkIndexForAdd(index);
+        insert(index, array);
+    }
+
+    /**
+     * 删除 [fromIndex, toIndex) 范围内的元素，后面的元素只挪动一次
+     *
+     * @param fromIndex 开始索引（包括）
+     * @param toIndex   结束索引（不包括），必须满足 0 &lt;= fromIndex &lt;= toIndex &lt;= size()
+     */
+    public void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("fromIndex:" + fromIndex + ", toIndex:" + toIndex + ", Size:" + size);
+        }
+        System.arraycopy(elements, toIndex, elements, fromIndex, size - toIndex);
+        truncate(size - (toIndex - fromIndex));
+    }
+
+    /**
+     * 删除所有满足条件的元素。
+     * 先对所有元素调用 filter，用位集合记录要删除的下标，所有调用都返回之后才挪动元素，
+     * 所以 filter 抛出异常时线性表保持不变；挪动时把保留的元素依次往前压缩，只挪动一次
+     *
+     * @param filter 删除条件，返回 true 的元素被删除
+     * @return 如果删除了元素返回 true
+     */
+    public boolean removeIf(Predicate<? super E> filter) {
+        if (filter == null) {
+            throw new IllegalArgumentException("filter must not be null");
+        }
+        BitSet removed = null;
+        for (int i = 0; i < size; i++) {
+            if (filter.test(elements[i])) {
+                if (removed == null) {
+                    removed = new BitSet(size);
+                }
+                removed.add(i);
+            }
+        }
+        if (removed == null) {
+            return false;
+        }
+        // 保留的元素写到 newSize 处，newSize 始终不超过 i
+        int newSize = 0;
+        for (int i = 0; i < size; i++) {
+            if (!removed.contains(i)) {
+                elements[newSize++] = elements[i];
+            }
+        }
+        truncate(newSize);
+        return true;
+    }
+
+    /**
+     * 保证数组至少能存放指定数量的元素，批量添加之前调用可以避免多次扩容
+     *
+     * @param capacity 需要的最小容量
+     */
+    public void ensureCapacity(int capacity) {
+        expansion(capacity);
+    }
+
+    /**
+     * 把数组的容量缩小到元素数量，但不小于默认容量
+     */
+    public void trimToSize() {
+        int newCapacity = Math.max(size, DEFAULT_CAPACITY);
+        if (newCapacity < elements.length) {
+            resize(newCapacity);
+        }
+    }
+
+    /**
+     * 返回数组当前的容量
+     *
+     * @return 数组的长度
+     */
+    public int capacity() {
+        return elements.length;
+    }
+
     /**
      * 获取指定元素的索引，如果是null，返回第一个是null的元素的索引
      *
@@ -157,6 +292,36 @@ public class ArrayList<E> extends AbstractList<E> {
         return ELEMENT_NOT_FOUND;
     }
 
+    /**
+     * 把数组中的元素插入到 index 处，最多扩容一次，原来的元素只挪动一次
+     *
+     * @param index 插入索引，已经检查过
+     * @param array 要插入的元素
+     */
+    private void insert(int index, Object[] array) {
+        int count = array.length;
+        if (count == 0) {
+            return;
+        }
+        expansion(size + count);
+        System.arraycopy(elements, index, elements, index + count, size - index);
+        System.arraycopy(array, 0, elements, index, count);
+        size += count;
+    }
+
+    /**
+     * 把元素数量减少到 newSize，清除后面位置的引用，然后检查是否需要缩容
+     *
+     * @param newSize 新的元素数量
+     */
+    private void truncate(int newSize) {
+        for (int i = newSize; i < size; i++) {
+            elements[i] = null;
+        }
+        size = newSize;
+        shrinking();
+    }
+
     /**
      * 确认是数组容量是否满足
      *
@@ -168,7 +333,7 @@ public class ArrayList<E> extends AbstractList<E> {
     }
 
     /**
-     * 扩容，数组容量不够，扩容加大容量到原始容量的1.5倍
+     * 扩容，数组容量不够，扩容加大容量到原始容量的1.5倍，批量添加时 1.5 倍不够则直接扩容到需要的容量
      *
      * @param capacity 需要的最小容量
      */
@@ -178,26 +343,32 @@ public class ArrayList<E> extends AbstractList<E> {
         }
         int oldCapacity = elements.length;
         // 扩容后的容量是旧容量的1.5倍
-        int newCapacity = oldCapacity + (oldCapacity >> 1);
-        E[] newElements = (E[]) new Object[newCapacity];
-        for (int i = 0; i < size; i++) {
-            newElements[i] = elements[i];
-        }
-        elements = newElements;
+        int newCapacity = Math.max(oldCapacity + (oldCapacity >> 1), capacity);
+        resize(newCapacity);
     }
 
     /**
-     * 缩容，元素数量小于等于数组容量的一半时，缩容到一半
+     * 缩容，元素数量小于等于数组容量的 1/4 时，缩容到一半。
+     * 缩容之后元素数量最多占新容量的一半，要再添加同样多的元素才会扩容，
+     * 而不是像元素数量一过一半就缩容那样，在边界附近每次添加、删除都扩容或者缩容
      */
     private void shrinking() {
         int oldCapacity = elements.length;
         // 缩容后的容量是旧容量的一半
         int newCapacity = oldCapacity >> 1;
-        // 如果当前的元素数量大于新容量或者新容量小于默认容量，不需要缩容
-        if (size > newCapacity || newCapacity < DEFAULT_CAPACITY) {
+        // 如果当前的元素数量大于旧容量的 1/4 或者新容量小于默认容量，不需要缩容
+        if (size > (oldCapacity >> 2) || newCapacity < DEFAULT_CAPACITY) {
             return;
         }
+        resize(newCapacity);
+    }
 
+    /**
+     * 把元素复制到指定容量的新数组中
+     *
+     * @param newCapacity 新容量，不小于元素数量
+     */
+    private void resize(int newCapacity) {
         E[] newElements = (E[]) new Object[newCapacity];
         // 注意：不使用Arrays.fill()方法，专注于数据结构和算法的思路
         for (int i = 0; i < size; i++) {
@@ -206,6 +377,124 @@ public class ArrayList<E> extends AbstractList<E> {
         elements = newElements;
     }
 
+    /**
+     * 返回从索引 0 开始遍历所有元素的迭代器，直接读取数组，不做索引检查
+     *
+     * @return 元素的迭代器
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            /**
+             * 下一个要返回的元素的索引
+             */
+            private int cursor;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < size;
+            }
+
+            @Override
+            public E next() {
+                if (cursor >= size) {
+                    throw new NoSuchElementException();
+                }
+                return elements[cursor++];
+            }
+        };
+    }
+
+    /**
+     * 返回按照索引范围分割的可分割迭代器，可以用于并行流：
+     * StreamSupport.stream(list.spliterator(), true)。
+     *
+     * @return 元素的可分割迭代器
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return new IndexSpliterator<>(elements, 0, size);
+    }
+
+    /**
+     * 数组的可分割迭代器，负责 [index, fence) 范围内的元素，分割时把前一半交给新的可分割迭代器
+     *
+     * @param <E> 元素类型
+     */
+    private static class IndexSpliterator<E> implements Spliterator<E> {
+        /**
+         * 被遍历的数组
+         */
+        private final E[] array;
+
+        /**
+         * 下一个要遍历的索引
+         */
+        private int index;
+
+        /**
+         * 结束索引（不包括）
+         */
+        private final int fence;
+
+        /**
+         * 构造一个可分割迭代器
+         *
+         * @param array 被遍历的数组
+         * @param index 开始索引
+         * @param fence 结束索引（不包括）
+         */
+        IndexSpliterator(E[] array, int index, int fence) {
+            this.array = array;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (action == null) {
+                throw new IllegalArgumentException("action must not be null");
+            }
+            if (index >= fence) {
+                return false;
+            }
+            action.accept(array[index++]);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            if (action == null) {
+                throw new IllegalArgumentException("action must not be null");
+            }
+            for (int i = index; i < fence; i++) {
+                action.accept(array[i]);
+            }
+            index = fence;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            int mid = (index + fence) >>> 1;
+            if (mid <= index) {
+                return null;
+            }
+            IndexSpliterator<E> prefix = new IndexSpliterator<>(array, index, mid);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED;
+        }
+    }
+
     /**
      * 返回动态数组的字符串表示
      *
@@ -0,0 +1,300 @@
+package com.hxqzzxk.list;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * 有界的多生产者多消费者无锁循环队列（Vyukov 算法）。
+ * <p>
+ * - 容量是 2 的幂，位置对容量取模使用 &amp; mask，位置是一直递增的 long，不会回绕；
+ * - 每个槽位有一个序号：等于位置 pos 时表示槽位空闲，可以由领到 pos 的生产者写入；
+ * 等于 pos + 1 时表示已经写入，可以由领到 pos 的消费者读取；读取之后设置为 pos + capacity，留给下一圈的生产者；
+ * - 生产者和消费者分别通过 CAS 递增 tail 和 head 来领取位置，领到位置之后只访问自己的槽位，
+ * 任何线程暂停都不会阻止其他线程领取别的位置；
+ * - head 和 tail 分别被生产者和消费者频繁修改，各自填充到独占缓存行，避免伪共享；
+ * - 批量入队和出队只需要一次 CAS 就领取多个连续的位置。
+ * </p>
+ * 队列满时 offer 返回 false，队列空时 poll 返回 null，不会阻塞，元素不能为 null。
+ *
+ * @param <E> 元素类型
+ */
+@SuppressWarnings("unchecked")
+public class ConcurrentCircleQueue<E> {
+    /**
+     * 最大容量
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * 使用 consumer 批量出队时，一次最多领取的位置数量
+     */
+    private static final int DRAIN_CHUNK = 64;
+
+    /**
+     * 容量减 1，用于计算槽位下标
+     */
+    private final int mask;
+
+    /**
+     * 存储元素的数组，槽位的可见性由对应序号的写入和读取保证
+     */
+    private final Object[] buffer;
+
+    /**
+     * 每个槽位的序号
+     */
+    private final AtomicLongArray sequences;
+
+    /**
+     * 下一个出队的位置，只由消费者修改
+     */
+    private final PaddedAtomicLong head = new PaddedAtomicLong();
+
+    /**
+     * 下一个入队的位置，只由生产者修改
+     */
+    private final PaddedAtomicLong tail = new PaddedAtomicLong();
+
+    /**
+     * 在 value 之后填充 120 字节的 AtomicLong，两个计数器不会落在同一个（或者相邻预取的）缓存行中
+     */
+    @SuppressWarnings("unused")
+    private static final class PaddedAtomicLong extends AtomicLong {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * 填充字段
+         */
+        long p1, p2, p3, p4, p5, p6, p7, p8, p9, p10, p11, p12, p13, p14, p15;
+    }
+
+    /**
+     * 创建一个队列
+     *
+     * @param capacity 容量，向上取整到 2 的幂，至少为 2
+     */
+    public ConcurrentCircleQueue(int capacity) {
+        if (capacity < 1 || capacity > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException("capacity must be in [1, " + MAXIMUM_CAPACITY + "]");
+        }
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        mask = size - 1;
+        buffer = new Object[size];
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 返回队列的容量
+     *
+     * @return 容量
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * 返回队列中元素的数量，并发修改时只是一个近似值
+     *
+     * @return 元素个数，在 [0, capacity()] 范围内
+     */
+    public int size() {
+        while (true) {
+            long before = head.get();
+            long currentTail = tail.get();
+            long after = head.get();
+            // 两次读取的 head 相同时，tail - head 是某一时刻的快照
+            if (before == after) {
+                return (int) Math.max(0, Math.min(currentTail - after, capacity()));
+            }
+        }
+    }
+
+    /**
+     * 检查队列是否为空，并发修改时只是一个近似值
+     *
+     * @return 如果队列没有元素则返回 true
+     */
+    public boolean isEmpty() {
+        return tail.get() <= head.get();
+    }
+
+    /**
+     * 入队，队列满时立即返回
+     *
+     * @param element 要入队的元素
+     * @return 成功入队返回 true，队列满时返回 false
+     */
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new IllegalArgumentException("element must not be null");
+        }
+        while (true) {
+            long pos = tail.get();
+            int index = (int) pos & mask;
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                // 槽位空闲，领取这个位置
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    buffer[index] = element;
+                    // 发布元素，之后读到序号 pos + 1 的消费者一定能看到元素
+                    sequences.lazySet(index, pos + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                // 槽位还留着上一圈的元素，队列满了
+                return false;
+            }
+            // diff > 0 表示其他生产者已经领取了这个位置，重新读取 tail
+        }
+    }
+
+    /**
+     * 出队，队列空时立即返回
+     *
+     * @return 队头元素，队列空时返回 null
+     */
+    public E poll() {
+        while (true) {
+            long pos = head.get();
+            int index = (int) pos & mask;
+            long diff = sequences.get(index) - (pos + 1);
+            if (diff == 0) {
+                // 槽位已经写入，领取这个位置
+                if (head.compareAndSet(pos, pos + 1)) {
+                    E element = (E) buffer[index];
+                    buffer[index] = null;
+                    // 把槽位留给下一圈的生产者
+                    sequences.lazySet(index, pos + mask + 1);
+                    return element;
+                }
+            } else if (diff < 0) {
+                // 槽位还没有写入，队列空了
+                return null;
+            }
+            // diff > 0 表示其他消费者已经领取了这个位置，重新读取 head
+        }
+    }
+
+    /**
+     * 批量入队，一次 CAS 领取所有连续的空闲位置，空闲位置不够时只入队前面的一部分
+     *
+     * @param elements 要入队的元素
+     * @param from     第一个元素的下标
+     * @param count    元素数量
+     * @return 成功入队的元素数量
+     */
+    public int offer(E[] elements, int from, int count) {
+        if (elements == null) {
+            throw new IllegalArgumentException("elements must not be null");
+        }
+        if (from < 0 || count < 0 || from > elements.length - count) {
+            throw new IndexOutOfBoundsException("from:" + from + ", count:" + count + ", length:" + elements.length);
+        }
+        for (int i = from; i < from + count; i++) {
+            if (elements[i] == null) {
+                throw new IllegalArgumentException("element must not be null");
+            }
+        }
+        if (count == 0) {
+            return 0;
+        }
+        while (true) {
+            long pos = tail.get();
+            // 统计从 pos 开始连续空闲的槽位，空闲的槽位只能由领到对应位置的生产者修改
+            int n = 0;
+            long diff = 0;
+            while (n < count && (diff = sequences.get((int) (pos + n) & mask) - (pos + n)) == 0) {
+                n++;
+            }
+            if (n == 0) {
+                if (diff < 0) {
+                    return 0;
+                }
+                continue;
+            }
+            if (tail.compareAndSet(pos, pos + n)) {
+                for (int i = 0; i < n; i++) {
+                    int index = (int) (pos + i) & mask;
+                    buffer[index] = elements[from + i];
+                    sequences.lazySet(index, pos + i + 1);
+                }
+                return n;
+            }
+        }
+    }
+
+    /**
+     * 批量出队，最多出队 limit 个元素，每次领取最多 DRAIN_CHUNK 个连续的已写入位置，
+     * 先释放槽位再把元素交给 consumer，consumer 执行期间不会占用槽位
+     *
+     * @param consumer 按照出队顺序接收元素
+     * @param limit    最多出队的元素数量
+     * @return 出队的元素数量
+     */
+    public int drain(Consumer<? super E> consumer, int limit) {
+        if (consumer == null) {
+            throw new IllegalArgumentException("consumer must not be null");
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative");
+        }
+        E[] chunk = (E[]) new Object[Math.min(limit, DRAIN_CHUNK)];
+        int drained = 0;
+        while (drained < limit) {
+            int n = drain(chunk, 0, Math.min(chunk.length, limit - drained));
+            for (int i = 0; i < n; i++) {
+                consumer.accept(chunk[i]);
+                chunk[i] = null;
+            }
+            drained += n;
+            if (n < chunk.length) {
+                break;
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * 批量出队到数组中，一次 CAS 领取所有连续的已写入位置
+     *
+     * @param out   接收元素的数组
+     * @param from  第一个元素写入的下标
+     * @param limit 最多出队的元素数量
+     * @return 出队的元素数量
+     */
+    public int drain(E[] out, int from, int limit) {
+        if (out == null) {
+            throw new IllegalArgumentException("out must not be null");
+        }
+        if (from < 0 || limit < 0 || from > out.length - limit) {
+            throw new IndexOutOfBoundsException("from:" + from + ", limit:" + limit + ", length:" + out.length);
+        }
+        while (true) {
+            long pos = head.get();
+            int n = 0;
+            long diff = 0;
+            while (n < limit && (diff = sequences.get((int) (pos + n) & mask) - (pos + n + 1)) == 0) {
+                n++;
+            }
+            if (n == 0) {
+                if (diff <= 0) {
+                    return 0;
+                }
+                continue;
+            }
+            if (head.compareAndSet(pos, pos + n)) {
+                for (int i = 0; i < n; i++) {
+                    int index = (int) (pos + i) & mask;
+                    out[from + i] = (E) buffer[index];
+                    buffer[index] = null;
+                    sequences.lazySet(index, pos + i + mask + 1);
+                }
+                return n;
+            }
+        }
+    }
+}
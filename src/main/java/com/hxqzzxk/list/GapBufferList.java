@@ -0,0 +1,226 @@
+package com.hxqzzxk.list;
+
+import java.util.Arrays;
+
+/**
+ * 间隙缓冲区（Gap Buffer）实现的线性表，适合在一个移动的光标附近频繁插入和删除。
+ * <p>
+ * - 数组中间留有一段空位（间隙），元素分成间隙前和间隙后两段，间隙所在的位置就是光标；
+ * - 在光标处插入只需要写入间隙的第一个位置，删除只需要把间隙往后扩大一位，都是 O(1)；
+ * - 在其他位置编辑时先把间隙移动过去，移动使用 System.arraycopy 整段复制，代价和移动的距离成正比，
+ * 所以编辑位置连续变化时每次编辑都是均摊 O(1)；
+ * - 间隙用完时扩容到 1.5 倍，新增的空位都放到间隙中。
+ * </p>
+ *
+ * @param <E> 元素类型
+ */
+@SuppressWarnings("unchecked")
+public class GapBufferList<E> extends AbstractList<E> {
+    /**
+     * 数组的默认容量
+     */
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /**
+     * 存储元素和间隙的数组，[gapStart, gapEnd) 是间隙
+     */
+    private Object[] buffer;
+
+    /**
+     * 间隙的开始位置（包括），也就是光标的位置
+     */
+    private int gapStart;
+
+    /**
+     * 间隙的结束位置（不包括）
+     */
+    private int gapEnd;
+
+    /**
+     * 构造函数
+     *
+     * @param capacity 初始容量
+     */
+    public GapBufferList(int capacity) {
+        capacity = Math.max(capacity, DEFAULT_CAPACITY);
+        buffer = new Object[capacity];
+        gapEnd = capacity;
+    }
+
+    /**
+     * 默认构造函数，使用默认的容量
+     */
+    public GapBufferList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 清空所有元素，间隙占满整个数组
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(buffer, null);
+        gapStart = 0;
+        gapEnd = buffer.length;
+        size = 0;
+    }
+
+    /**
+     * 返回间隙当前所在的位置，在这个位置插入和删除不需要移动元素
+     *
+     * @return 光标的位置，在 [0, size()] 范围内
+     */
+    public int cursor() {
+        return gapStart;
+    }
+
+    /**
+     * 获取指定位置的元素
+     *
+     * @param index 要获取的元素位置，必须在 [0, size()) 范围内
+     * @return 位于指定位置处的元素
+     */
+    @Override
+    public E get(int index) {
+        checkIndex(index);
+        return (E) buffer[physicalIndex(index)];
+    }
+
+    /**
+     * 替换指定位置的元素，不移动间隙
+     *
+     * @param index   要替换的位置，必须在 [0, size()) 范围内
+     * @param element 新元素
+     * @return 被替换的旧元素
+     */
+    @Override
+    public E set(int index, E element) {
+        checkIndex(index);
+        int physical = physicalIndex(index);
+        E oldElement = (E) buffer[physical];
+        buffer[physical] = element;
+        return oldElement;
+    }
+
+    /**
+     * 在指定位置插入一个元素，先把间隙移动到 index，然后写入间隙的第一个位置
+     *
+     * @param index   插入位置，必须在 [0, size()] 范围内
+     * @param element 要插入的元素
+     */
+    @Override
+    public void add(int index, E element) {
+        checkIndexForAdd(index);
+        moveGap(index);
+        if (gapStart == gapEnd) {
+            expansion();
+        }
+        buffer[gapStart++] = element;
+        size++;
+    }
+
+    /**
+     * 删除指定位置的元素，先把间隙移动到 index，然后把间隙往后扩大一位
+     *
+     * @param index 要删除的位置，必须在 [0, size()) 范围内
+     * @return 被删除的元素
+     */
+    @Override
+    public E remove(int index) {
+        checkIndex(index);
+        moveGap(index);
+        E oldElement = (E) buffer[gapEnd];
+        buffer[gapEnd++] = null;
+        size--;
+        return oldElement;
+    }
+
+    /**
+     * 查找指定元素第一次出现的位置，分别扫描间隙前后的两段
+     *
+     * @param element 要查找的元素
+     * @return 元素首次出现的位置，如果未找到则返回 -1
+     */
+    @Override
+    public int indexOf(E element) {
+        for (int i = 0; i < gapStart; i++) {
+            if (element == null ? buffer[i] == null : element.equals(buffer[i])) {
+                return i;
+            }
+        }
+        for (int i = gapEnd; i < buffer.length; i++) {
+            if (element == null ? buffer[i] == null : element.equals(buffer[i])) {
+                return i - (gapEnd - gapStart);
+            }
+        }
+        return ELEMENT_NOT_FOUND;
+    }
+
+    /**
+     * 把逻辑位置转换成数组下标，间隙之后的元素要跳过间隙
+     *
+     * @param index 逻辑位置
+     * @return 数组下标
+     */
+    private int physicalIndex(int index) {
+        return index < gapStart ? index : index + (gapEnd - gapStart);
+    }
+
+    /**
+     * 把间隙移动到 index，间隙和 index 之间的元素整段复制到间隙的另一侧，
+     * 复制之后不再属于元素的位置清除引用，以便垃圾回收
+     *
+     * @param index 间隙的新位置，在 [0, size()] 范围内
+     */
+    private void moveGap(int index) {
+        if (index < gapStart) {
+            // 间隙左移，把 [index, gapStart) 的元素复制到间隙的末尾
+            int count = gapStart - index;
+            int newGapEnd = gapEnd - count;
+            System.arraycopy(buffer, index, buffer, newGapEnd, count);
+            Arrays.fill(buffer, index, Math.min(gapStart, newGapEnd), null);
+            gapStart = index;
+            gapEnd = newGapEnd;
+        } else if (index > gapStart) {
+            // 间隙右移，把间隙之后的 index - gapStart 个元素复制到间隙的开头
+            int count = index - gapStart;
+            int newGapEnd = gapEnd + count;
+            System.arraycopy(buffer, gapEnd, buffer, gapStart, count);
+            Arrays.fill(buffer, Math.max(gapEnd, index), newGapEnd, null);
+            gapStart = index;
+            gapEnd = newGapEnd;
+        }
+    }
+
+    /**
+     * 扩容到原始容量的 1.5 倍，间隙之后的元素移到新数组的末尾，新增的空位都属于间隙
+     */
+    private void expansion() {
+        int oldCapacity = buffer.length;
+        int newCapacity = oldCapacity + (oldCapacity >> 1);
+        Object[] newBuffer = new Object[newCapacity];
+        int tail = oldCapacity - gapEnd;
+        System.arraycopy(buffer, 0, newBuffer, 0, gapStart);
+        System.arraycopy(buffer, gapEnd, newBuffer, newCapacity - tail, tail);
+        buffer = newBuffer;
+        gapEnd = newCapacity - tail;
+    }
+
+    /**
+     * 返回线性表的字符串表示
+     *
+     * @return 元素数量、光标位置和所有元素
+     */
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append("size: ").append(size).append(", cursor: ").append(gapStart).append(", elements: [");
+        for (int i = 0; i < size; i++) {
+            if (i != 0) {
+                stringBuilder.append(", ");
+            }
+            stringBuilder.append(buffer[physicalIndex(i)]);
+        }
+        return stringBuilder.append("]").toString();
+    }
+}
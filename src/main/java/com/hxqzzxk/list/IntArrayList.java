@@ -0,0 +1,243 @@
+package com.hxqzzxk.list;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * 存储 int 的动态数组，元素直接存放在 int[] 中，每个元素占 4 字节，不会像 ArrayList&lt;Integer&gt; 一样装箱。
+ * <p>
+ * 提供和 {@link List} 相同的操作，但参数和返回值是 int，扩容和缩容策略与 {@link ArrayList} 相同；
+ * 另外提供批量添加、转换成数组、排序和二分查找。
+ * </p>
+ * 为了能直接用于 for-each，实现了 Iterable&lt;Integer&gt;，需要避免装箱时使用 {@link #iterator()} 的 nextInt。
+ */
+public class IntArrayList extends AbstractPrimitiveList implements Iterable<Integer> {
+    /**
+     * 实际存储元素的数组
+     */
+    private int[] elements;
+
+    /**
+     * 构造函数
+     *
+     * @param capacity 初始容量
+     */
+    public IntArrayList(int capacity) {
+        // 当容量小于等于默认容量，使用默认容量
+        capacity = Math.max(capacity, DEFAULT_CAPACITY);
+        elements = new int[capacity];
+    }
+
+    /**
+     * 默认构造函数，使用默认的容量
+     */
+    public IntArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 清空所有元素，基本类型不需要清除引用，只把元素数量置 0
+     */
+    @Override
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * 判断是否包含指定元素
+     *
+     * @param element 要查找的元素
+     * @return 如果找到元素则返回 true
+     */
+    public boolean contains(int element) {
+        return indexOf(element) != ELEMENT_NOT_FOUND;
+    }
+
+    /**
+     * 将元素添加到尾部
+     *
+     * @param element 要添加的元素
+     */
+    public void add(int element) {
+        expansion(size + 1);
+        elements[size++] = element;
+    }
+
+    /**
+     * 获取指定索引的元素
+     *
+     * @param index 要获取的元素索引，必须在 [0, size()) 范围内
+     * @return 位于指定索引处的元素
+     */
+    public int get(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+    /**
+     * 修改指定索引的元素，返回索引之前的元素
+     *
+     * @param index   要替换的索引，必须在 [0, size()) 范围内
+     * @param element 新元素
+     * @return 被替换的旧元素
+     */
+    public int set(int index, int element) {
+        checkIndex(index);
+        int oldElement = elements[index];
+        elements[index] = element;
+        return oldElement;
+    }
+
+    /**
+     * 添加元素到指定索引，index 之后的元素整体往后挪动一位
+     *
+     * @param index   插入索引，必须在 [0, size()] 范围内
+     * @param element 要插入的元素
+     */
+    public void add(int index, int element) {
+        checkIndexForAdd(index);
+        expansion(size + 1);
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = element;
+        size++;
+    }
+
+    /**
+     * 删除指定索引的元素，index 之后的元素整体往前挪动一位
+     *
+     * @param index 要删除的索引，必须在 [0, size()) 范围内
+     * @return 被删除的元素
+     */
+    public int remove(int index) {
+        checkIndex(index);
+        int oldElement = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        shrinking();
+        return oldElement;
+    }
+
+    /**
+     * 获取指定元素的索引
+     *
+     * @param element 要查找的元素
+     * @return 元素首次出现的索引，如果未找到则返回 -1
+     */
+    public int indexOf(int element) {
+        for (int i = 0; i < size; i++) {
+            if (elements[i] == element) {
+                return i;
+            }
+        }
+        return ELEMENT_NOT_FOUND;
+    }
+
+    /**
+     * 把数组中的所有元素按顺序添加到尾部，最多扩容一次
+     *
+     * @param values 要添加的元素
+     */
+    public void addAll(int[] values) {
+        if (values == null) {
+            throw new IllegalArgumentException("values must not be null");
+        }
+        expansion(size + values.length);
+        System.arraycopy(values, 0, elements, size, values.length);
+        size += values.length;
+    }
+
+    /**
+     * 返回包含所有元素的新数组
+     *
+     * @return 长度为 size() 的数组
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    /**
+     * 把所有元素按照从小到大的顺序排序
+     */
+    public void sort() {
+        Arrays.sort(elements, 0, size);
+    }
+
+    /**
+     * 在已经排好序的元素中二分查找指定元素
+     *
+     * @param element 要查找的元素
+     * @return 找到时返回元素的索引，否则返回 -(插入位置) - 1
+     */
+    public int binarySearch(int element) {
+        return Arrays.binarySearch(elements, 0, size, element);
+    }
+
+    /**
+     * 扩容，数组容量不够，扩容加大容量到原始容量的1.5倍
+     *
+     * @param capacity 需要的最小容量
+     */
+    private void expansion(int capacity) {
+        if (elements.length >= capacity) {
+            return;
+        }
+        elements = Arrays.copyOf(elements, expandedCapacity(elements.length, capacity));
+    }
+
+    /**
+     * 缩容，元素数量小于等于数组容量的 1/4 时，缩容到一半
+     */
+    private void shrinking() {
+        int newCapacity = shrunkCapacity(elements.length);
+        if (newCapacity > 0) {
+            elements = Arrays.copyOf(elements, newCapacity);
+        }
+    }
+
+    /**
+     * 返回从索引 0 开始遍历所有元素的迭代器，使用 nextInt 时不发生装箱
+     *
+     * @return 元素的迭代器
+     */
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            /**
+             * 下一个要返回的元素的索引
+             */
+            private int cursor;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < size;
+            }
+
+            @Override
+            public int nextInt() {
+                if (cursor >= size) {
+                    throw new NoSuchElementException();
+                }
+                return elements[cursor++];
+            }
+        };
+    }
+
+    /**
+     * 返回动态数组的字符串表示，格式和 Arrays.toString 相同，
+     * 这样替换图算法中原来的 java.util.ArrayList&lt;Integer&gt; 时字符串表示保持不变
+     *
+     * @return 表示动态数组内容的字符串
+     */
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i != 0) {
+                stringBuilder.append(", ");
+            }
+            stringBuilder.append(elements[i]);
+        }
+        return stringBuilder.append("]").toString();
+    }
+}
@@ -1,10 +1,13 @@
 package com.hxqzzxk.list;
 
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
 /**
  * 定义线性表相关操作的接口，包含基本的数据结构操作方法。
  * 该接口为各种线性表实现提供了统一的 API 规范。
  */
-public interface List<E> {
+public interface List<E> extends Iterable<E> {
     /**
      * 清空所有元素。
      */
@@ -79,4 +82,34 @@ public interface List<E> {
      * @return 元素首次出现的索引位置，如果未找到则返回 -1
      */
     int indexOf(E element);
+
+    /**
+     * 返回从头到尾遍历所有元素的迭代器。
+     * 默认实现通过 get(index) 依次获取元素，适用于支持随机访问的线性表；
+     * 链表的实现类会覆盖该方法，沿着节点遍历。
+     *
+     * @return 元素的迭代器
+     */
+    @Override
+    default Iterator<E> iterator() {
+        return new Iterator<E>() {
+            /**
+             * 下一个要返回的元素的索引
+             */
+            private int cursor;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < size();
+            }
+
+            @Override
+            public E next() {
+                if (cursor >= size()) {
+                    throw new NoSuchElementException();
+                }
+                return get(cursor++);
+            }
+        };
+    }
 }
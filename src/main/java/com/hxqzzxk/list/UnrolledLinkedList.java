@@ -0,0 +1,406 @@
+package com.hxqzzxk.list;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 展开链表（Unrolled Linked List），每个节点存放一个小数组，而不是一个元素。
+ * <p>
+ * - 节点是双向链接的，根据位置从头节点或者尾节点开始按节点跳过，定位的复杂度是 O(n / B)，B 是节点的容量；
+ * - 节点内部的元素是连续存放的，遍历时缓存友好，并且每 B 个元素才分配一个节点；
+ * - 插入到已满的节点时把节点分裂成两个各占一半的节点，追加到已满的尾节点时直接创建新的尾节点；
+ * - 删除之后节点的元素数量少于容量的一半时，和后一个节点合并，合并不下则从后一个节点借一部分元素，
+ * 所以除了尾节点以外，每个节点至少是半满的。
+ * </p>
+ *
+ * @param <E> 元素类型
+ */
+public class UnrolledLinkedList<E> extends AbstractList<E> {
+    /**
+     * 节点的默认容量
+     */
+    public static final int DEFAULT_NODE_CAPACITY = 64;
+
+    /**
+     * 节点的容量
+     */
+    private final int nodeCapacity;
+
+    /**
+     * 除了尾节点以外，每个节点至少要有的元素数量
+     */
+    private final int minFill;
+
+    /**
+     * 链表的头节点
+     */
+    private Node head;
+
+    /**
+     * 链表的尾节点
+     */
+    private Node tail;
+
+    /**
+     * 节点的数量
+     */
+    private int nodeCount;
+
+    /**
+     * 最近一次调用 {@link #node(int)} 时，元素在找到的节点中的下标
+     */
+    private int offset;
+
+    /**
+     * 链表节点，元素存放在 [0, count) 范围内
+     */
+    private final class Node {
+        /**
+         * 节点中的元素
+         */
+        final Object[] elements = new Object[nodeCapacity];
+
+        /**
+         * 节点中元素的数量
+         */
+        int count;
+
+        /**
+         * 指向前一个节点的指针
+         */
+        Node prev;
+
+        /**
+         * 指向后一个节点的指针
+         */
+        Node next;
+    }
+
+    /**
+     * 使用默认的节点容量创建链表
+     */
+    public UnrolledLinkedList() {
+        this(DEFAULT_NODE_CAPACITY);
+    }
+
+    /**
+     * 使用指定的节点容量创建链表
+     *
+     * @param nodeCapacity 每个节点最多存放的元素数量，至少为 4
+     */
+    public UnrolledLinkedList(int nodeCapacity) {
+        if (nodeCapacity < 4) {
+            throw new IllegalArgumentException("nodeCapacity must be at least 4");
+        }
+        this.nodeCapacity = nodeCapacity;
+        this.minFill = nodeCapacity >> 1;
+    }
+
+    /**
+     * 清空链表所有元素
+     */
+    @Override
+    public void clear() {
+        head = null;
+        tail = null;
+        nodeCount = 0;
+        size = 0;
+    }
+
+    /**
+     * 返回节点的数量
+     *
+     * @return 节点的数量
+     */
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * 获取指定位置的元素
+     *
+     * @param index 要获取的元素位置，必须在 [0, size()) 范围内
+     * @return 位于指定位置处的元素
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkIndex(index);
+        Node node = node(index);
+        return (E) node.elements[offset];
+    }
+
+    /**
+     * 替换指定位置的元素
+     *
+     * @param index   要替换的位置，必须在 [0, size()) 范围内
+     * @param element 新元素
+     * @return 被替换的旧元素
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        checkIndex(index);
+        Node node = node(index);
+        E oldElement = (E) node.elements[offset];
+        node.elements[offset] = element;
+        return oldElement;
+    }
+
+    /**
+     * 在指定位置插入一个元素
+     *
+     * @param index   插入位置，必须在 [0, size()] 范围内
+     * @param element 要插入的元素
+     */
+    @Override
+    public void add(int index, E element) {
+        checkIndexForAdd(index);
+        if (index == size) {
+            // 追加到尾部，尾节点已满时直接创建新的尾节点，顺序追加的节点都是满的
+            if (tail == null || tail.count == nodeCapacity) {
+                linkAfter(tail, new Node());
+            }
+            tail.elements[tail.count++] = element;
+            size++;
+            return;
+        }
+        Node node = node(index);
+        int position = offset;
+        if (node.count == nodeCapacity) {
+            // 节点已满，把后一半元素移到新节点中，两个节点都是半满的
+            Node newNode = new Node();
+            int half = nodeCapacity >> 1;
+            int moved = nodeCapacity - half;
+            System.arraycopy(node.elements, half, newNode.elements, 0, moved);
+            clearRange(node, half, nodeCapacity);
+            node.count = half;
+            newNode.count = moved;
+            linkAfter(node, newNode);
+            if (position > half) {
+                node = newNode;
+                position -= half;
+            }
+        }
+        System.arraycopy(node.elements, position, node.elements, position + 1, node.count - position);
+        node.elements[position] = element;
+        node.count++;
+        size++;
+    }
+
+    /**
+     * 删除指定位置的元素
+     *
+     * @param index 要删除的位置，必须在 [0, size()) 范围内
+     * @return 被删除的元素
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(int index) {
+        checkIndex(index);
+        Node node = node(index);
+        int position = offset;
+        E oldElement = (E) node.elements[position];
+        System.arraycopy(node.elements, position + 1, node.elements, position, node.count - position - 1);
+        node.elements[--node.count] = null;
+        size--;
+        if (node.count == 0) {
+            unlink(node);
+        } else if (node.count < minFill && node.next != null) {
+            rebalance(node);
+        }
+        return oldElement;
+    }
+
+    /**
+     * 查找指定元素第一次出现的位置
+     *
+     * @param element 要查找的元素
+     * @return 元素首次出现的位置，如果未找到则返回 -1
+     */
+    @Override
+    public int indexOf(E element) {
+        int base = 0;
+        for (Node node = head; node != null; node = node.next) {
+            Object[] elements = node.elements;
+            for (int i = 0; i < node.count; i++) {
+                if (element == null ? elements[i] == null : element.equals(elements[i])) {
+                    return base + i;
+                }
+            }
+            base += node.count;
+        }
+        return ELEMENT_NOT_FOUND;
+    }
+
+    /**
+     * 返回按节点顺序遍历所有元素的迭代器，节点内部直接读取数组
+     *
+     * @return 元素的迭代器
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            /**
+             * 当前的节点
+             */
+            private Node node = head;
+
+            /**
+             * 下一个元素在当前节点中的下标
+             */
+            private int cursor;
+
+            @Override
+            public boolean hasNext() {
+                return node != null && cursor < node.count;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                E element = (E) node.elements[cursor++];
+                if (cursor == node.count) {
+                    node = node.next;
+                    cursor = 0;
+                }
+                return element;
+            }
+        };
+    }
+
+    /**
+     * 根据位置找到元素所在的节点，元素在节点中的下标保存在 {@link #offset} 中。
+     * 位置小于元素数量的一半时从头节点开始按节点跳过，否则从尾节点开始
+     *
+     * @param index 元素的位置，必须在 [0, size()) 范围内
+     * @return 元素所在的节点
+     */
+    private Node node(int index) {
+        if (index < (size >> 1)) {
+            Node node = head;
+            while (index >= node.count) {
+                index -= node.count;
+                node = node.next;
+            }
+            offset = index;
+            return node;
+        }
+        Node node = tail;
+        // 从尾部数起的位置，0 表示最后一个元素
+        int fromEnd = size - 1 - index;
+        while (fromEnd >= node.count) {
+            fromEnd -= node.count;
+            node = node.prev;
+        }
+        offset = node.count - 1 - fromEnd;
+        return node;
+    }
+
+    /**
+     * 节点的元素数量少于容量的一半时，和后一个节点合并，合并不下则从后一个节点借元素，
+     * 借完之后两个节点都至少是半满的
+     *
+     * @param node 元素不足的节点，后一个节点不为 null
+     */
+    private void rebalance(Node node) {
+        Node next = node.next;
+        int total = node.count + next.count;
+        if (total <= nodeCapacity) {
+            System.arraycopy(next.elements, 0, node.elements, node.count, next.count);
+            node.count = total;
+            unlink(next);
+            return;
+        }
+        // total 大于容量，两边各分一半时都不少于容量的一半
+        int moved = (total >> 1) - node.count;
+        System.arraycopy(next.elements, 0, node.elements, node.count, moved);
+        System.arraycopy(next.elements, moved, next.elements, 0, next.count - moved);
+        clearRange(next, next.count - moved, next.count);
+        node.count += moved;
+        next.count -= moved;
+    }
+
+    /**
+     * 把新节点链接到指定节点的后面
+     *
+     * @param node    前一个节点，为 null 时表示链表是空的
+     * @param newNode 新节点
+     */
+    private void linkAfter(Node node, Node newNode) {
+        if (node == null) {
+            head = newNode;
+            tail = newNode;
+        } else {
+            newNode.prev = node;
+            newNode.next = node.next;
+            if (node.next == null) {
+                tail = newNode;
+            } else {
+                node.next.prev = newNode;
+            }
+            node.next = newNode;
+        }
+        nodeCount++;
+    }
+
+    /**
+     * 从链表中删除一个节点
+     *
+     * @param node 要删除的节点
+     */
+    private void unlink(Node node) {
+        if (node.prev == null) {
+            head = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next == null) {
+            tail = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+        nodeCount--;
+    }
+
+    /**
+     * 清除节点中 [from, to) 范围内的引用，以便垃圾回收
+     *
+     * @param node 节点
+     * @param from 开始下标（包括）
+     * @param to   结束下标（不包括）
+     */
+    private void clearRange(Node node, int from, int to) {
+        for (int i = from; i < to; i++) {
+            node.elements[i] = null;
+        }
+    }
+
+    /**
+     * 返回链表的字符串表示，按节点分组显示元素
+     *
+     * @return 元素数量和每个节点中的元素
+     */
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append("size: ").append(size).append(", nodes: [");
+        for (Node node = head; node != null; node = node.next) {
+            if (node != head) {
+                stringBuilder.append(", ");
+            }
+            stringBuilder.append("[");
+            for (int i = 0; i < node.count; i++) {
+                if (i != 0) {
+                    stringBuilder.append(", ");
+                }
+                stringBuilder.append(node.elements[i]);
+            }
+            stringBuilder.append("]");
+        }
+        return stringBuilder.append("]").toString();
+    }
+}
@@ -0,0 +1,823 @@
+package com.hxqzzxk.map;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * 基于 B+ 树实现的有序映射。
+ * <p>
+ * - 每个节点用数组存放多个键（扇出由 order 决定），查找时在节点内二分查找，
+ * 一次缓存行加载可以比较多个键，树的高度只有 log(order) n，比红黑树的指针跳转少得多；
+ * - 键值对只存放在叶子节点中，内部节点只存放用于路由的分隔键；
+ * - 叶子节点按照键的顺序串成链表，范围查询先找到起点，再沿着链表顺序读取；
+ * - 支持由有序的键值对批量构建。
+ * </p>
+ * 与 TreeMap 一样，键不能为 null。
+ *
+ * @param <K> 键的类型
+ * @param <V> 值的类型
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class BPlusTreeMap<K extends Comparable, V> implements Map<K, V> {
+    /**
+     * 默认的阶数：内部节点最多 64 个子节点，叶子节点最多 64 个键值对
+     */
+    private static final int DEFAULT_ORDER = 64;
+
+    /**
+     * 阶数，内部节点的子节点数量和叶子节点的键值对数量的上限
+     */
+    private final int order;
+
+    /**
+     * 非根节点的子节点数量或键值对数量的下限，低于该值时需要向兄弟节点借或者与兄弟节点合并
+     */
+    private final int minSize;
+
+    /**
+     * 根节点，树为空时是一个没有键值对的叶子节点
+     */
+    private Node root;
+
+    /**
+     * 内部节点的层数，根节点是叶子节点时为 0
+     */
+    private int height;
+
+    /**
+     * 键值对的数量
+     */
+    private int size;
+
+    /**
+     * 节点
+     */
+    private static abstract class Node {
+        /**
+         * 叶子节点中是键，内部节点中 keys[i] 是第 i 个子节点中所有键的下界（keys[0] 不使用）
+         */
+        final Object[] keys;
+
+        /**
+         * 叶子节点中是键值对的数量，内部节点中是子节点的数量
+         */
+        int size;
+
+        /**
+         * 构造一个节点，数组多留一个位置，插入之后再分裂
+         *
+         * @param order 阶数
+         */
+        Node(int order) {
+            this.keys = new Object[order + 1];
+        }
+    }
+
+    /**
+     * 叶子节点
+     */
+    private static final class Leaf extends Node {
+        /**
+         * 值，与 keys 一一对应
+         */
+        final Object[] values;
+
+        /**
+         * 下一个叶子节点
+         */
+        Leaf next;
+
+        /**
+         * 构造一个叶子节点
+         *
+         * @param order 阶数
+         */
+        Leaf(int order) {
+            super(order);
+            this.values = new Object[order + 1];
+        }
+    }
+
+    /**
+     * 内部节点
+     */
+    private static final class Inner extends Node {
+        /**
+         * 子节点
+         */
+        final Node[] children;
+
+        /**
+         * 构造一个内部节点
+         *
+         * @param order 阶数
+         */
+        Inner(int order) {
+            super(order);
+            this.children = new Node[order + 1];
+        }
+    }
+
+    /**
+     * 使用默认的阶数创建 B+ 树。
+     */
+    public BPlusTreeMap() {
+        this(DEFAULT_ORDER);
+    }
+
+    /**
+     * 使用指定的阶数创建 B+ 树。
+     *
+     * @param order 阶数，即内部节点最多的子节点数量和叶子节点最多的键值对数量，不能小于 3
+     */
+    public BPlusTreeMap(int order) {
+        if (order < 3) {
+            throw new IllegalArgumentException("order must not be less than 3");
+        }
+        this.order = order;
+        // 两个节点合并时不会超过上限，一个节点分裂成的两个节点都不低于下限
+        this.minSize = (order + 1) / 2;
+        this.root = new Leaf(order);
+    }
+
+    /**
+     * 由按键升序排列的键值对批量构建 B+ 树，自底向上逐层填充节点，不需要分裂。
+     * 相邻的重复键会被合并，保留最后一个值；键不是升序时抛出异常。
+     * 每一层的键值对（或子节点）平均分配到尽量少的节点中，所以叶子节点几乎是满的，
+     * 适合构建之后以读取和范围查询为主的场景。
+     *
+     * @param keys   升序排列的键，不能包含null
+     * @param values 与键一一对应的值
+     * @param order  阶数，不能小于 3
+     * @param <K>    键的类型
+     * @param <V>    值的类型
+     * @return 新的 B+ 树
+     */
+    public static <K extends Comparable, V> BPlusTreeMap<K, V> fromSorted(K[] keys, V[] values, int order) {
+        if (keys == null || values == null) {
+            throw new IllegalArgumentException("keys and values must not be null");
+        }
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("keys and values must have the same length");
+        }
+        BPlusTreeMap<K, V> map = new BPlusTreeMap<>(order);
+        // 检查顺序，同时统计不重复的键的数量
+        int distinct = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == null) {
+                throw new IllegalArgumentException("key must not be null");
+            }
+            if (i > 0) {
+                int cmp = keys[i - 1].compareTo(keys[i]);
+                if (cmp > 0) {
+                    throw new IllegalArgumentException("keys must be sorted in ascending order");
+                }
+                if (cmp == 0) {
+                    continue;
+                }
+            }
+            distinct++;
+        }
+        if (distinct == 0) {
+            return map;
+        }
+
+        // 构建叶子节点层，每组相同的键只保留最后一个
+        int count = nodeCount(distinct, order);
+        Node[] level = new Node[count];
+        Object[] lowKeys = new Object[count];
+        Leaf previous = null;
+        int i = 0;
+        for (int n = 0; n < count; n++) {
+            Leaf leaf = new Leaf(order);
+            int target = share(distinct, count, n);
+            while (leaf.size < target) {
+                if (i + 1 < keys.length && keys[i].compareTo(keys[i + 1]) == 0) {
+                    i++;
+                    continue;
+                }
+                leaf.keys[leaf.size] = keys[i];
+                leaf.values[leaf.size++] = values[i++];
+            }
+            if (previous != null) {
+                previous.next = leaf;
+            }
+            previous = leaf;
+            level[n] = leaf;
+            lowKeys[n] = leaf.keys[0];
+        }
+
+        // 逐层构建内部节点，直到只剩一个节点
+        int height = 0;
+        while (level.length > 1) {
+            int parents = nodeCount(level.length, order);
+            Node[] upper = new Node[parents];
+            Object[] upperLowKeys = new Object[parents];
+            int child = 0;
+            for (int n = 0; n < parents; n++) {
+                Inner inner = new Inner(order);
+                int target = share(level.length, parents, n);
+                upperLowKeys[n] = lowKeys[child];
+                for (int c = 0; c < target; c++) {
+                    inner.keys[c] = lowKeys[child];
+                    inner.children[c] = level[child++];
+                }
+                inner.size = target;
+                upper[n] = inner;
+            }
+            level = upper;
+            lowKeys = upperLowKeys;
+            height++;
+        }
+        map.root = level[0];
+        map.height = height;
+        map.size = distinct;
+        return map;
+    }
+
+    /**
+     * 清空映射中的所有键值对
+     */
+    @Override
+    public void clear() {
+        root = new Leaf(order);
+        height = 0;
+        size = 0;
+    }
+
+    /**
+     * 获取映射中键值对的数量
+     *
+     * @return 键值对数量
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 判断映射是否为空
+     *
+     * @return 如果映射为空返回true，否则返回false
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 添加键值对到映射中。
+     * 从根节点向下找到叶子节点并记录路径，叶子节点插入之后超过上限时分裂成两个，
+     * 新节点的第一个键作为分隔键插入父节点，父节点超过上限时继续向上分裂。
+     *
+     * @param key   要添加的键，不能为空
+     * @param value 要添加的值
+     * @return 与键关联的旧值，如果没有则返回null
+     */
+    @Override
+    public V put(K key, V value) {
+        checkKey(key);
+        Inner[] path = new Inner[height];
+        int[] slots = new int[height];
+        Leaf leaf = findLeaf(key, path, slots);
+        int index = search(leaf.keys, leaf.size, key);
+        if (index >= 0) {
+            V oldValue = (V) leaf.values[index];
+            leaf.values[index] = value;
+            return oldValue;
+        }
+
+        index = -(index + 1);
+        insertAt(leaf.keys, leaf.size, index, key);
+        insertAt(leaf.values, leaf.size, index, value);
+        leaf.size++;
+        size++;
+        if (leaf.size <= order) {
+            return null;
+        }
+
+        Node right = splitLeaf(leaf);
+        for (int depth = height - 1; depth >= 0; depth--) {
+            Inner parent = path[depth];
+            int slot = slots[depth] + 1;
+            insertAt(parent.keys, parent.size, slot, right.keys[0]);
+            insertAt(parent.children, parent.size, slot, right);
+            parent.size++;
+            if (parent.size <= order) {
+                return null;
+            }
+            right = splitInner(parent);
+        }
+
+        // 根节点分裂，树长高一层
+        Inner newRoot = new Inner(order);
+        newRoot.children[0] = root;
+        newRoot.keys[1] = right.keys[0];
+        newRoot.children[1] = right;
+        newRoot.size = 2;
+        root = newRoot;
+        height++;
+        return null;
+    }
+
+    /**
+     * 根据键获取对应的值
+     *
+     * @param key 要查找的键
+     * @return 与键关联的值，如果不存在则返回null
+     */
+    @Override
+    public V get(K key) {
+        if (key == null) {
+            return null;
+        }
+        Leaf leaf = findLeaf(key, null, null);
+        int index = search(leaf.keys, leaf.size, key);
+        return index >= 0 ? (V) leaf.values[index] : null;
+    }
+
+    /**
+     * 删除指定键的键值对。
+     * 叶子节点删除之后低于下限时，先尝试向兄弟节点借一个，兄弟节点也不够时与兄弟节点合并，
+     * 合并会从父节点中删除一个分隔键，父节点低于下限时继续向上处理；根节点只剩一个子节点时树变矮一层。
+     *
+     * @param key 要删除的键
+     * @return 被删除的值，如果不存在则返回null
+     */
+    @Override
+    public V remove(K key) {
+        if (key == null) {
+            return null;
+        }
+        Inner[] path = new Inner[height];
+        int[] slots = new int[height];
+        Leaf leaf = findLeaf(key, path, slots);
+        int index = search(leaf.keys, leaf.size, key);
+        if (index < 0) {
+            return null;
+        }
+
+        V oldValue = (V) leaf.values[index];
+        removeAt(leaf.keys, leaf.size, index);
+        removeAt(leaf.values, leaf.size, index);
+        leaf.size--;
+        size--;
+
+        Node node = leaf;
+        for (int depth = height - 1; depth >= 0 && node.size < minSize; depth--) {
+            rebalance(path[depth], slots[depth]);
+            node = path[depth];
+        }
+        if (height > 0 && root.size == 1) {
+            root = ((Inner) root).children[0];
+            height--;
+        }
+        return oldValue;
+    }
+
+    /**
+     * 判断映射是否包含指定的键
+     *
+     * @param key 要检查的键
+     * @return 如果映射包含该键则返回true，否则返回false
+     */
+    @Override
+    public boolean containsKey(K key) {
+        if (key == null) {
+            return false;
+        }
+        Leaf leaf = findLeaf(key, null, null);
+        return search(leaf.keys, leaf.size, key) >= 0;
+    }
+
+    /**
+     * 判断映射是否包含指定的值，沿着叶子节点的链表顺序查找
+     *
+     * @param value 要检查的值
+     * @return 如果映射包含该值则返回true，否则返回false
+     */
+    @Override
+    public boolean containsValue(V value) {
+        for (Leaf leaf = firstLeaf(); leaf != null; leaf = leaf.next) {
+            for (int i = 0; i < leaf.size; i++) {
+                if (Objects.equals(value, leaf.values[i])) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 按照键从小到大的顺序遍历映射中的所有元素
+     */
+    @Override
+    public void traversal(Visitor<K, V> visitor) {
+        if (visitor == null) {
+            return;
+        }
+        for (Leaf leaf = firstLeaf(); leaf != null; leaf = leaf.next) {
+            for (int i = 0; i < leaf.size; i++) {
+                if (visitor.visit((K) leaf.keys[i], (V) leaf.values[i]) || visitor.stop) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 返回按照键从小到大的顺序遍历所有键值对的迭代器
+     *
+     * @return 键值对的迭代器
+     */
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return iterator(null, false, null, false);
+    }
+
+    /**
+     * 返回按照键从小到大的顺序遍历指定范围内键值对的迭代器。
+     * 先从根节点向下找到范围起点所在的叶子节点，然后沿着叶子节点的链表顺序读取，
+     * 代价为 O(log n + k)，k 为访问的键值对数量。
+     *
+     * @param fromKey       范围的起点，为null时表示没有下界
+     * @param fromInclusive 是否包含起点
+     * @param toKey         范围的终点，为null时表示没有上界
+     * @param toInclusive   是否包含终点
+     * @return 键值对的迭代器
+     */
+    public Iterator<Map.Entry<K, V>> iterator(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+        Leaf start;
+        int startIndex;
+        if (fromKey == null) {
+            start = firstLeaf();
+            startIndex = 0;
+        } else {
+            start = findLeaf(fromKey, null, null);
+            startIndex = search(start.keys, start.size, fromKey);
+            if (startIndex < 0) {
+                startIndex = -(startIndex + 1);
+            } else if (!fromInclusive) {
+                startIndex++;
+            }
+        }
+        Leaf first = start;
+        int firstIndex = startIndex;
+        return new Iterator<Map.Entry<K, V>>() {
+            /**
+             * 当前的叶子节点
+             */
+            private Leaf leaf = first;
+
+            /**
+             * 下一个键值对在叶子节点中的索引
+             */
+            private int index = firstIndex;
+
+            @Override
+            public boolean hasNext() {
+                while (leaf != null && index >= leaf.size) {
+                    leaf = leaf.next;
+                    index = 0;
+                }
+                if (leaf == null) {
+                    return false;
+                }
+                if (toKey != null) {
+                    int cmp = compare((K) leaf.keys[index], toKey);
+                    if (cmp > 0 || (cmp == 0 && !toInclusive)) {
+                        leaf = null;
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public Map.Entry<K, V> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int i = index++;
+                return new ImmutableEntry<>((K) leaf.keys[i], (V) leaf.values[i]);
+            }
+        };
+    }
+
+    /**
+     * 获取内部节点的层数，根节点是叶子节点时为 0
+     *
+     * @return 内部节点的层数
+     */
+    public int height() {
+        return height;
+    }
+
+    /**
+     * 从根节点向下查找键所在的叶子节点
+     *
+     * @param key   要查找的键
+     * @param path  记录经过的内部节点，为null时不记录
+     * @param slots 记录经过的内部节点中选择的子节点索引，为null时不记录
+     * @return 键所在（或者应该插入）的叶子节点
+     */
+    private Leaf findLeaf(K key, Inner[] path, int[] slots) {
+        Node node = root;
+        for (int depth = 0; depth < height; depth++) {
+            Inner inner = (Inner) node;
+            int slot = childIndex(inner, key);
+            if (path != null) {
+                path[depth] = inner;
+                slots[depth] = slot;
+            }
+            node = inner.children[slot];
+        }
+        return (Leaf) node;
+    }
+
+    /**
+     * 获取最左边的叶子节点
+     *
+     * @return 最左边的叶子节点
+     */
+    private Leaf firstLeaf() {
+        Node node = root;
+        for (int depth = 0; depth < height; depth++) {
+            node = ((Inner) node).children[0];
+        }
+        return (Leaf) node;
+    }
+
+    /**
+     * 在内部节点中查找键所在的子节点：最后一个分隔键小于等于 key 的子节点
+     *
+     * @param inner 内部节点
+     * @param key   要查找的键
+     * @return 子节点的索引
+     */
+    private int childIndex(Inner inner, K key) {
+        int begin = 1;
+        int end = inner.size;
+        // 在 keys[1, size) 中查找第一个大于 key 的分隔键
+        while (begin < end) {
+            int mid = (begin + end) >>> 1;
+            if (compare(key, (K) inner.keys[mid]) < 0) {
+                end = mid;
+            } else {
+                begin = mid + 1;
+            }
+        }
+        return begin - 1;
+    }
+
+    /**
+     * 在有序的键数组中二分查找
+     *
+     * @param keys 键数组
+     * @param size 键的数量
+     * @param key  要查找的键
+     * @return 找到时返回索引；否则返回 -(插入位置 + 1)
+     */
+    private int search(Object[] keys, int size, K key) {
+        int begin = 0;
+        int end = size - 1;
+        while (begin <= end) {
+            int mid = (begin + end) >>> 1;
+            int cmp = compare((K) keys[mid], key);
+            if (cmp < 0) {
+                begin = mid + 1;
+            } else if (cmp > 0) {
+                end = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(begin + 1);
+    }
+
+    /**
+     * 将叶子节点的后一半移到新的叶子节点中
+     *
+     * @param leaf 超过上限的叶子节点
+     * @return 新的叶子节点，位于 leaf 的右边
+     */
+    private Leaf splitLeaf(Leaf leaf) {
+        Leaf right = new Leaf(order);
+        int keep = (leaf.size + 1) / 2;
+        int move = leaf.size - keep;
+        System.arraycopy(leaf.keys, keep, right.keys, 0, move);
+        System.arraycopy(leaf.values, keep, right.values, 0, move);
+        Arrays.fill(leaf.keys, keep, leaf.size, null);
+        Arrays.fill(leaf.values, keep, leaf.size, null);
+        right.size = move;
+        leaf.size = keep;
+        right.next = leaf.next;
+        leaf.next = right;
+        return right;
+    }
+
+    /**
+     * 将内部节点的后一半子节点移到新的内部节点中，新节点的 keys[0] 是提升到父节点的分隔键
+     *
+     * @param inner 超过上限的内部节点
+     * @return 新的内部节点，位于 inner 的右边
+     */
+    private Inner splitInner(Inner inner) {
+        Inner right = new Inner(order);
+        int keep = (inner.size + 1) / 2;
+        int move = inner.size - keep;
+        System.arraycopy(inner.keys, keep, right.keys, 0, move);
+        System.arraycopy(inner.children, keep, right.children, 0, move);
+        Arrays.fill(inner.keys, keep, inner.size, null);
+        Arrays.fill(inner.children, keep, inner.size, null);
+        right.size = move;
+        inner.size = keep;
+        return right;
+    }
+
+    /**
+     * 修复低于下限的子节点：优先向左边的兄弟节点借，其次向右边的兄弟节点借，都不够时与兄弟节点合并
+     *
+     * @param parent 父节点
+     * @param slot   低于下限的子节点的索引
+     */
+    private void rebalance(Inner parent, int slot) {
+        Node child = parent.children[slot];
+        Node left = slot > 0 ? parent.children[slot - 1] : null;
+        Node right = slot + 1 < parent.size ? parent.children[slot + 1] : null;
+        if (left != null && left.size > minSize) {
+            borrowFromLeft(parent, slot, left, child);
+        } else if (right != null && right.size > minSize) {
+            borrowFromRight(parent, slot, child, right);
+        } else if (left != null) {
+            merge(parent, slot, left, child);
+        } else {
+            merge(parent, slot + 1, child, right);
+        }
+    }
+
+    /**
+     * 把左边兄弟节点的最后一个键值对（或子节点）移到 child 的最前面
+     *
+     * @param parent 父节点
+     * @param slot   child 在父节点中的索引
+     * @param left   左边的兄弟节点
+     * @param child  低于下限的节点
+     */
+    private void borrowFromLeft(Inner parent, int slot, Node left, Node child) {
+        int last = left.size - 1;
+        if (child instanceof Leaf) {
+            Leaf from = (Leaf) left;
+            Leaf to = (Leaf) child;
+            insertAt(to.keys, to.size, 0, from.keys[last]);
+            insertAt(to.values, to.size, 0, from.values[last]);
+            from.keys[last] = null;
+            from.values[last] = null;
+            parent.keys[slot] = to.keys[0];
+        } else {
+            Inner from = (Inner) left;
+            Inner to = (Inner) child;
+            // 原来的分隔键下移，成为 child 原来第一个子节点的分隔键
+            insertAt(to.keys, to.size, 0, null);
+            to.keys[1] = parent.keys[slot];
+            insertAt(to.children, to.size, 0, from.children[last]);
+            parent.keys[slot] = from.keys[last];
+            from.keys[last] = null;
+            from.children[last] = null;
+        }
+        left.size--;
+        child.size++;
+    }
+
+    /**
+     * 把右边兄弟节点的第一个键值对（或子节点）移到 child 的最后面
+     *
+     * @param parent 父节点
+     * @param slot   child 在父节点中的索引
+     * @param child  低于下限的节点
+     * @param right  右边的兄弟节点
+     */
+    private void borrowFromRight(Inner parent, int slot, Node child, Node right) {
+        if (child instanceof Leaf) {
+            Leaf to = (Leaf) child;
+            Leaf from = (Leaf) right;
+            to.keys[to.size] = from.keys[0];
+            to.values[to.size] = from.values[0];
+            removeAt(from.keys, from.size, 0);
+            removeAt(from.values, from.size, 0);
+            parent.keys[slot + 1] = from.keys[0];
+        } else {
+            Inner to = (Inner) child;
+            Inner from = (Inner) right;
+            // 原来的分隔键下移，成为移过来的子节点的分隔键
+            to.keys[to.size] = parent.keys[slot + 1];
+            to.children[to.size] = from.children[0];
+            parent.keys[slot + 1] = from.keys[1];
+            removeAt(from.keys, from.size, 0);
+            removeAt(from.children, from.size, 0);
+        }
+        child.size++;
+        right.size--;
+    }
+
+    /**
+     * 把 right 合并到 left 中，并从父节点中删除 right
+     *
+     * @param parent 父节点
+     * @param slot   right 在父节点中的索引
+     * @param left   左边的节点
+     * @param right  右边的节点
+     */
+    private void merge(Inner parent, int slot, Node left, Node right) {
+        if (left instanceof Leaf) {
+            Leaf to = (Leaf) left;
+            Leaf from = (Leaf) right;
+            System.arraycopy(from.keys, 0, to.keys, to.size, from.size);
+            System.arraycopy(from.values, 0, to.values, to.size, from.size);
+            to.next = from.next;
+        } else {
+            Inner to = (Inner) left;
+            Inner from = (Inner) right;
+            System.arraycopy(from.keys, 0, to.keys, to.size, from.size);
+            System.arraycopy(from.children, 0, to.children, to.size, from.size);
+            // right 的第一个子节点的分隔键来自父节点
+            to.keys[to.size] = parent.keys[slot];
+        }
+        left.size += right.size;
+        removeAt(parent.keys, parent.size, slot);
+        removeAt(parent.children, parent.size, slot);
+        parent.size--;
+    }
+
+    /**
+     * 在数组的 index 处插入元素，后面的元素后移一位
+     *
+     * @param array   数组
+     * @param size    数组中元素的数量
+     * @param index   插入的位置
+     * @param element 要插入的元素
+     */
+    private static void insertAt(Object[] array, int size, int index, Object element) {
+        System.arraycopy(array, index, array, index + 1, size - index);
+        array[index] = element;
+    }
+
+    /**
+     * 删除数组 index 处的元素，后面的元素前移一位
+     *
+     * @param array 数组
+     * @param size  数组中元素的数量
+     * @param index 删除的位置
+     */
+    private static void removeAt(Object[] array, int size, int index) {
+        System.arraycopy(array, index + 1, array, index, size - index - 1);
+        array[size - 1] = null;
+    }
+
+    /**
+     * 计算 count 个元素最少需要多少个节点
+     *
+     * @param count 元素的数量
+     * @param order 每个节点最多的元素数量
+     * @return 节点的数量
+     */
+    private static int nodeCount(int count, int order) {
+        return (count + order - 1) / order;
+    }
+
+    /**
+     * 把 count 个元素平均分配到 nodes 个节点中，计算第 n 个节点分到的数量
+     *
+     * @param count 元素的数量
+     * @param nodes 节点的数量
+     * @param n     节点的序号
+     * @return 第 n 个节点分到的元素数量
+     */
+    private static int share(int count, int nodes, int n) {
+        return count / nodes + (n < count % nodes ? 1 : 0);
+    }
+
+    /**
+     * 比较两个键的大小
+     *
+     * @param e1 第一个键
+     * @param e2 第二个键
+     * @return 返回e1和e2比较的结果
+     */
+    private int compare(K e1, K e2) {
+        return e1.compareTo(e2);
+    }
+
+    /**
+     * 检查键是否为空
+     *
+     * @param key 键
+     */
+    private void checkKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key must not be null");
+        }
+    }
+}
@@ -0,0 +1,797 @@
+package com.hxqzzxk.map;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * 基于红黑树的有序映射，节点存放在并行数组中而不是单独的对象中。
+ * <p>
+ * - 第 i 个节点的键、值和左右子节点分别是 keys[i]、values[i]、left[i]、right[i]，
+ * 子节点用数组下标表示（NIL 表示没有），颜色用位图表示，每个节点只占 1 位；
+ * - 节点不保存父节点，添加和删除时把从根节点向下查找经过的节点记录在 path 中，
+ * 修复红黑树性质时从 path 中取得父节点和祖父节点；遍历时用栈代替父节点回溯；
+ * - 与 TreeMap 相比，每个键值对不再需要对象头、对齐填充和三个引用，
+ * 只需要两个引用、两个 int 和 1 位，内存占用不到 TreeMap 的一半；
+ * - 删除的节点放入空闲链表（复用 left 数组作为链表的 next），再次添加时优先使用；
+ * - {@link #trimToSize()} 按照中序遍历的顺序重新排列节点并收缩数组，之后顺序遍历时访问的内存是连续的。
+ * </p>
+ * 与 TreeMap 一样，键不能为 null。
+ *
+ * @param <K> 键的类型
+ * @param <V> 值的类型
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class CompactTreeMap<K extends Comparable, V> implements Map<K, V> {
+    /**
+     * 表示没有节点的下标
+     */
+    private static final int NIL = -1;
+
+    /**
+     * 数组的默认容量
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * 从根节点到任意节点的路径长度上限。
+     * 红黑树的高度不超过 2log(n+1)，n 不超过 int 的最大值时不超过 62
+     */
+    private static final int MAX_DEPTH = 64;
+
+    /**
+     * 节点的键，空闲的槽位为 null
+     */
+    private Object[] keys;
+
+    /**
+     * 节点的值
+     */
+    private Object[] values;
+
+    /**
+     * 左子节点的下标；对于空闲的槽位，表示空闲链表中的下一个槽位
+     */
+    private int[] left;
+
+    /**
+     * 右子节点的下标
+     */
+    private int[] right;
+
+    /**
+     * 节点的颜色，第 i 位为 1 表示第 i 个节点是红色
+     */
+    private long[] red;
+
+    /**
+     * 根节点的下标
+     */
+    private int root = NIL;
+
+    /**
+     * 键值对的数量
+     */
+    private int size;
+
+    /**
+     * 已经使用过的槽位数量，[used, capacity) 范围内的槽位从未使用过
+     */
+    private int used;
+
+    /**
+     * 空闲链表的第一个槽位
+     */
+    private int free = NIL;
+
+    /**
+     * 添加和删除时从根节点向下经过的节点，path[0] 是根节点
+     */
+    private final int[] path = new int[MAX_DEPTH];
+
+    /**
+     * 使用默认容量创建映射
+     */
+    public CompactTreeMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 使用指定的初始容量创建映射
+     *
+     * @param initialCapacity 初始容量
+     */
+    public CompactTreeMap(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must not be negative");
+        }
+        allocate(Math.max(initialCapacity, 1));
+    }
+
+    /**
+     * 清空映射中的所有键值对
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(keys, 0, used, null);
+        Arrays.fill(values, 0, used, null);
+        root = NIL;
+        size = 0;
+        used = 0;
+        free = NIL;
+    }
+
+    /**
+     * 获取映射中键值对的数量
+     *
+     * @return 键值对数量
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 判断映射是否为空
+     *
+     * @return 如果映射为空返回true，否则返回false
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 添加键值对到映射中
+     *
+     * @param key   要添加的键，不能为空
+     * @param value 要添加的值
+     * @return 与键关联的旧值，如果没有则返回null
+     */
+    @Override
+    public V put(K key, V value) {
+        checkKey(key);
+        if (root == NIL) {
+            root = newNode(key, value);
+            size++;
+            afterPut(root, 0);
+            return null;
+        }
+
+        int p = root;
+        int node = root;
+        int cmp = 0;
+        int depth = 0;
+        do {
+            cmp = compare(key, (K) keys[node]);
+            p = node;
+            path[depth++] = node;
+            if (cmp > 0) {
+                node = right[node];
+            } else if (cmp < 0) {
+                node = left[node];
+            } else {
+                keys[node] = key;
+                V oldValue = (V) values[node];
+                values[node] = value;
+                return oldValue;
+            }
+        } while (node != NIL);
+
+        int newNode = newNode(key, value);
+        if (cmp > 0) {
+            right[p] = newNode;
+        } else {
+            left[p] = newNode;
+        }
+        size++;
+        afterPut(newNode, depth);
+        return null;
+    }
+
+    /**
+     * 根据键获取对应的值
+     *
+     * @param key 要查找的键
+     * @return 与键关联的值，如果不存在则返回null
+     */
+    @Override
+    public V get(K key) {
+        int node = node(key);
+        return node != NIL ? (V) values[node] : null;
+    }
+
+    /**
+     * 删除指定键的键值对
+     *
+     * @param key 要删除的键
+     * @return 被删除的值，如果不存在则返回null
+     */
+    @Override
+    public V remove(K key) {
+        if (key == null) {
+            return null;
+        }
+        int node = root;
+        int depth = 0;
+        while (node != NIL) {
+            path[depth++] = node;
+            int cmp = compare(key, (K) keys[node]);
+            if (cmp == 0) {
+                V oldValue = (V) values[node];
+                remove(depth);
+                return oldValue;
+            }
+            node = cmp > 0 ? right[node] : left[node];
+        }
+        return null;
+    }
+
+    /**
+     * 判断映射是否包含指定的键
+     *
+     * @param key 要检查的键
+     * @return 如果映射包含该键则返回true，否则返回false
+     */
+    @Override
+    public boolean containsKey(K key) {
+        return node(key) != NIL;
+    }
+
+    /**
+     * 判断映射是否包含指定的值，按照数组的顺序查找
+     *
+     * @param value 要检查的值
+     * @return 如果映射包含该值则返回true，否则返回false
+     */
+    @Override
+    public boolean containsValue(V value) {
+        for (int i = 0; i < used; i++) {
+            if (keys[i] != null && Objects.equals(value, values[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 按照键从小到大的顺序遍历映射中的所有元素
+     */
+    @Override
+    public void traversal(Visitor<K, V> visitor) {
+        if (visitor == null) {
+            return;
+        }
+        InOrder inOrder = new InOrder();
+        for (int node = inOrder.next(); node != NIL; node = inOrder.next()) {
+            if (visitor.visit((K) keys[node], (V) values[node]) || visitor.stop) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 返回按照键从小到大的顺序遍历所有键值对的迭代器
+     *
+     * @return 键值对的迭代器
+     */
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return new Iterator<Map.Entry<K, V>>() {
+            /**
+             * 按照中序遍历的顺序产生节点
+             */
+            private final InOrder inOrder = new InOrder();
+
+            /**
+             * 下一个要返回的节点
+             */
+            private int next = inOrder.next();
+
+            @Override
+            public boolean hasNext() {
+                return next != NIL;
+            }
+
+            @Override
+            public Map.Entry<K, V> next() {
+                int node = next;
+                if (node == NIL) {
+                    throw new NoSuchElementException();
+                }
+                next = inOrder.next();
+                return new ImmutableEntry<>((K) keys[node], (V) values[node]);
+            }
+        };
+    }
+
+    /**
+     * 获取数组的容量，即不扩容时最多能存放的键值对数量
+     *
+     * @return 数组的容量
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * 按照中序遍历的顺序重新排列节点，并把数组收缩到与键值对数量相同。
+     * 之后空闲链表为空，顺序遍历时依次访问数组中相邻的位置。
+     */
+    public void trimToSize() {
+        int[] index = new int[used];
+        int n = 0;
+        InOrder inOrder = new InOrder();
+        for (int node = inOrder.next(); node != NIL; node = inOrder.next()) {
+            index[node] = n++;
+        }
+
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldLeft = left;
+        int[] oldRight = right;
+        long[] oldRed = red;
+        allocate(Math.max(size, 1));
+        for (int node = 0; node < used; node++) {
+            if (oldKeys[node] == null) {
+                continue;
+            }
+            int i = index[node];
+            keys[i] = oldKeys[node];
+            values[i] = oldValues[node];
+            left[i] = oldLeft[node] == NIL ? NIL : index[oldLeft[node]];
+            right[i] = oldRight[node] == NIL ? NIL : index[oldRight[node]];
+            if ((oldRed[node >>> 6] & (1L << node)) != 0) {
+                red[i >>> 6] |= 1L << i;
+            }
+        }
+        root = root == NIL ? NIL : index[root];
+        used = size;
+        free = NIL;
+    }
+
+    /**
+     * 按照 64 位 JVM 的对象布局估算所有数组占用的字节数，不包括键和值本身的对象。
+     * 数组头占 16 字节，每个数组按 8 字节对齐
+     *
+     * @param referenceSize 一个引用占用的字节数，开启压缩指针时为 4，否则为 8
+     * @return 数组占用的字节数
+     */
+    long arrayBytes(int referenceSize) {
+        return arrayBytes(keys.length, referenceSize) + arrayBytes(values.length, referenceSize)
+                + arrayBytes(left.length, 4) + arrayBytes(right.length, 4)
+                + arrayBytes(red.length, 8) + arrayBytes(path.length, 4);
+    }
+
+    /**
+     * 估算一个数组占用的字节数
+     *
+     * @param length      数组长度
+     * @param elementSize 每个元素占用的字节数
+     * @return 数组占用的字节数
+     */
+    private static long arrayBytes(int length, int elementSize) {
+        return (16 + (long) length * elementSize + 7) & ~7L;
+    }
+
+    /**
+     * 分配指定容量的数组
+     *
+     * @param capacity 容量
+     */
+    private void allocate(int capacity) {
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        red = new long[(capacity + 63) >>> 6];
+    }
+
+    /**
+     * 扩容为原来的 1.5 倍
+     */
+    private void grow() {
+        int capacity = keys.length + (keys.length >> 1) + 1;
+        keys = Arrays.copyOf(keys, capacity);
+        values = Arrays.copyOf(values, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        red = Arrays.copyOf(red, (capacity + 63) >>> 6);
+    }
+
+    /**
+     * 创建一个红色节点，优先使用空闲链表中的槽位
+     *
+     * @param key   节点的键
+     * @param value 节点的值
+     * @return 节点的下标
+     */
+    private int newNode(K key, V value) {
+        int node;
+        if (free != NIL) {
+            node = free;
+            free = left[node];
+        } else {
+            if (used == keys.length) {
+                grow();
+            }
+            node = used++;
+        }
+        keys[node] = key;
+        values[node] = value;
+        left[node] = NIL;
+        right[node] = NIL;
+        red(node);
+        return node;
+    }
+
+    /**
+     * 释放节点的槽位，放入空闲链表
+     *
+     * @param node 节点的下标
+     */
+    private void release(int node) {
+        keys[node] = null;
+        values[node] = null;
+        left[node] = free;
+        right[node] = NIL;
+        free = node;
+    }
+
+    /**
+     * 删除节点
+     *
+     * @param depth 要删除的节点在 path 中的深度，path[depth - 1] 是要删除的节点，
+     *              path[0, depth - 1) 是它的祖先节点
+     */
+    private void remove(int depth) {
+        size--;
+
+        int node = path[depth - 1];
+        if (left[node] != NIL && right[node] != NIL) {
+            // 度为2的节点，用后继节点的键值对覆盖，改为删除后继节点，同时把经过的节点记录到 path 中
+            int s = right[node];
+            path[depth++] = s;
+            while (left[s] != NIL) {
+                s = left[s];
+                path[depth++] = s;
+            }
+            keys[node] = keys[s];
+            values[node] = values[s];
+            node = s;
+        }
+
+        // 此时 path[depth - 1] 是被删除的节点，path[depth - 2] 是它的父节点
+        int replacement = left[node] != NIL ? left[node] : right[node];
+        int p = depth > 1 ? path[depth - 2] : NIL;
+        if (replacement != NIL) {
+            replaceChild(p, node, replacement);
+            afterRemove(replacement, depth - 1);
+        } else if (p == NIL) {
+            root = NIL;
+        } else {
+            if (node == left[p]) {
+                left[p] = NIL;
+            } else {
+                right[p] = NIL;
+            }
+            afterRemove(node, depth - 1);
+        }
+        release(node);
+    }
+
+    /**
+     * 添加之后修复红黑树的性质
+     *
+     * @param node  新添加的节点
+     * @param depth 节点的祖先数量，path[depth - 1] 是父节点，path[depth - 2] 是祖父节点
+     */
+    private void afterPut(int node, int depth) {
+        while (true) {
+            if (depth == 0) {
+                black(node);
+                return;
+            }
+            int p = path[depth - 1];
+            if (!isRed(p)) {
+                return;
+            }
+
+            // 父节点是红色，所以父节点不是根节点，祖父节点一定存在
+            int grand = path[depth - 2];
+            boolean parentIsLeft = left[grand] == p;
+            int uncle = parentIsLeft ? right[grand] : left[grand];
+            red(grand);
+            if (isRed(uncle)) {
+                // 叔父节点是红色，B树节点上溢，祖父节点当作新添加的节点
+                black(p);
+                black(uncle);
+                node = grand;
+                depth -= 2;
+                continue;
+            }
+
+            int grandParent = depth > 2 ? path[depth - 3] : NIL;
+            if (parentIsLeft) {
+                if (left[p] == node) {
+                    black(p);
+                } else {
+                    black(node);
+                    rotateLeft(p, grand);
+                }
+                rotateRight(grand, grandParent);
+            } else {
+                if (left[p] == node) {
+                    black(node);
+                    rotateRight(p, grand);
+                } else {
+                    black(p);
+                }
+                rotateLeft(grand, grandParent);
+            }
+            return;
+        }
+    }
+
+    /**
+     * 删除之后修复红黑树的性质
+     *
+     * @param node  被删除的节点或者用以取代被删除节点的子节点
+     * @param depth 节点的祖先数量，path[depth - 1] 是父节点
+     */
+    private void afterRemove(int node, int depth) {
+        while (true) {
+            if (isRed(node)) {
+                black(node);
+                return;
+            }
+            if (depth == 0) {
+                return;
+            }
+            int p = path[depth - 1];
+            int grand = depth > 1 ? path[depth - 2] : NIL;
+
+            // 被删除的黑色叶子节点已经从父节点上断开，此时父节点的左边为空说明它原来在左边
+            boolean isLeft = left[p] == NIL || left[p] == node;
+            int sibling = isLeft ? right[p] : left[p];
+            if (isLeft) {
+                if (isRed(sibling)) {
+                    black(sibling);
+                    red(p);
+                    rotateLeft(p, grand);
+                    // 旋转之后原来的兄弟节点成为父节点的父节点
+                    grand = sibling;
+                    sibling = right[p];
+                }
+                if (!isRed(left[sibling]) && !isRed(right[sibling])) {
+                    // 兄弟节点没有红色子节点，父节点向下与兄弟节点合并
+                    boolean parentBlack = !isRed(p);
+                    black(p);
+                    red(sibling);
+                    if (parentBlack) {
+                        node = p;
+                        depth--;
+                        continue;
+                    }
+                } else {
+                    if (!isRed(right[sibling])) {
+                        rotateRight(sibling, p);
+                        sibling = right[p];
+                    }
+                    color(sibling, isRed(p));
+                    black(right[sibling]);
+                    black(p);
+                    rotateLeft(p, grand);
+                }
+            } else {
+                if (isRed(sibling)) {
+                    black(sibling);
+                    red(p);
+                    rotateRight(p, grand);
+                    grand = sibling;
+                    sibling = left[p];
+                }
+                if (!isRed(left[sibling]) && !isRed(right[sibling])) {
+                    boolean parentBlack = !isRed(p);
+                    black(p);
+                    red(sibling);
+                    if (parentBlack) {
+                        node = p;
+                        depth--;
+                        continue;
+                    }
+                } else {
+                    if (!isRed(left[sibling])) {
+                        rotateLeft(sibling, p);
+                        sibling = left[p];
+                    }
+                    color(sibling, isRed(p));
+                    black(left[sibling]);
+                    black(p);
+                    rotateRight(p, grand);
+                }
+            }
+            return;
+        }
+    }
+
+    /**
+     * 左旋转
+     *
+     * @param grand  需要左旋的节点
+     * @param parent grand 的父节点，为NIL时 grand 是根节点
+     */
+    private void rotateLeft(int grand, int parent) {
+        int p = right[grand];
+        right[grand] = left[p];
+        left[p] = grand;
+        replaceChild(parent, grand, p);
+    }
+
+    /**
+     * 右旋转
+     *
+     * @param grand  需要右旋的节点
+     * @param parent grand 的父节点，为NIL时 grand 是根节点
+     */
+    private void rotateRight(int grand, int parent) {
+        int p = left[grand];
+        left[grand] = right[p];
+        right[p] = grand;
+        replaceChild(parent, grand, p);
+    }
+
+    /**
+     * 用新的子节点替换父节点上原来的子节点
+     *
+     * @param parent   父节点，为NIL时替换根节点
+     * @param oldChild 原来的子节点
+     * @param newChild 新的子节点
+     */
+    private void replaceChild(int parent, int oldChild, int newChild) {
+        if (parent == NIL) {
+            root = newChild;
+        } else if (left[parent] == oldChild) {
+            left[parent] = newChild;
+        } else {
+            right[parent] = newChild;
+        }
+    }
+
+    /**
+     * 根据键查找节点
+     *
+     * @param key 要查找的键
+     * @return 节点的下标，不存在时返回NIL
+     */
+    private int node(K key) {
+        if (key == null) {
+            return NIL;
+        }
+        int node = root;
+        while (node != NIL) {
+            int cmp = compare(key, (K) keys[node]);
+            if (cmp == 0) {
+                return node;
+            }
+            node = cmp > 0 ? right[node] : left[node];
+        }
+        return NIL;
+    }
+
+    /**
+     * 按照中序遍历的顺序产生节点，用栈保存还没有访问的祖先节点，代替父节点回溯
+     */
+    private final class InOrder {
+        /**
+         * 左子树还在遍历中的祖先节点
+         */
+        private final int[] stack = new int[MAX_DEPTH];
+
+        /**
+         * 栈中节点的数量
+         */
+        private int top;
+
+        /**
+         * 从根节点开始遍历
+         */
+        InOrder() {
+            pushLeft(root);
+        }
+
+        /**
+         * 获取下一个节点
+         *
+         * @return 下一个节点，遍历结束时返回NIL
+         */
+        int next() {
+            if (top == 0) {
+                return NIL;
+            }
+            int node = stack[--top];
+            pushLeft(right[node]);
+            return node;
+        }
+
+        /**
+         * 把节点和它左边的一串子节点压入栈中
+         *
+         * @param node 节点
+         */
+        private void pushLeft(int node) {
+            while (node != NIL) {
+                stack[top++] = node;
+                node = left[node];
+            }
+        }
+    }
+
+    /**
+     * 判断节点是否为红色，NIL 是黑色
+     *
+     * @param node 节点
+     * @return 是红色时返回true
+     */
+    private boolean isRed(int node) {
+        return node != NIL && (red[node >>> 6] & (1L << node)) != 0;
+    }
+
+    /**
+     * 设置节点的颜色
+     *
+     * @param node  节点，为NIL时不做任何操作
+     * @param isRed 是否为红色
+     */
+    private void color(int node, boolean isRed) {
+        if (node == NIL) {
+            return;
+        }
+        if (isRed) {
+            red[node >>> 6] |= 1L << node;
+        } else {
+            red[node >>> 6] &= ~(1L << node);
+        }
+    }
+
+    /**
+     * 将节点设为红色
+     *
+     * @param node 节点
+     */
+    private void red(int node) {
+        color(node, true);
+    }
+
+    /**
+     * 将节点设为黑色
+     *
+     * @param node 节点
+     */
+    private void black(int node) {
+        color(node, false);
+    }
+
+    /**
+     * 比较两个键的大小
+     *
+     * @param e1 第一个键
+     * @param e2 第二个键
+     * @return 返回e1和e2比较的结果
+     */
+    private int compare(K e1, K e2) {
+        return e1.compareTo(e2);
+    }
+
+    /**
+     * 检查键是否为空
+     *
+     * @param key 键
+     */
+    private void checkKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key must not be null");
+        }
+    }
+}
@@ -0,0 +1,1665 @@
+package com.hxqzzxk.map;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 线程安全的哈希表实现。
+ * <p>
+ * - 读操作不加锁，通过 volatile 读取桶数组和节点；
+ * - 写空桶时使用 CAS，写非空桶时只锁住该桶的头节点（锁分段到每个桶）；
+ * - 同一个桶中的节点数量达到 TREEIFY_THRESHOLD 时，与 HashMap 一样使用红黑树存储；
+ * - 扩容时多个线程可以协作迁移：每个线程领取一段桶进行迁移，
+ * 迁移完成的桶放入 ForwardingNode，读操作遇到它会转到新的桶数组中查找。
+ * </p>
+ * 键和值都不能为 null。
+ *
+ * @param <K> 键的类型
+ * @param <V> 值的类型
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class ConcurrentHashMap<K, V> implements Map<K, V> {
+    /**
+     * 红色节点标识常量，值为 false。
+     */
+    private static final boolean RED = false;
+
+    /**
+     * 黑色节点标识常量，值为 true。
+     */
+    private static final boolean BLACK = true;
+
+    /**
+     * 桶数组的默认容量，默认为 16。
+     */
+    private static final int DEFAULT_CAPACITY = 1 << 4;
+
+    /**
+     * 桶数组的最大容量
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * 桶中节点数量达到该值时，将链表转换为红黑树
+     */
+    private static final int TREEIFY_THRESHOLD = 8;
+
+    /**
+     * 扩容拆分红黑树时，节点数量不超过该值的一半转换回链表
+     */
+    private static final int UNTREEIFY_THRESHOLD = 6;
+
+    /**
+     * 每个线程一次领取的迁移桶数量的最小值
+     */
+    private static final int MIN_TRANSFER_STRIDE = 16;
+
+    /**
+     * 扩容标记在 sizeCtl 中的偏移位数
+     */
+    private static final int RESIZE_STAMP_SHIFT = 16;
+
+    /**
+     * 同时参与扩容的线程数量的最大值
+     */
+    private static final int MAX_RESIZERS = (1 << (32 - RESIZE_STAMP_SHIFT)) - 1;
+
+    /**
+     * ForwardingNode 的哈希值，表示该桶已经迁移到新的桶数组中
+     */
+    private static final int MOVED = -1;
+
+    /**
+     * TreeBin 的哈希值，表示该桶使用红黑树存储
+     */
+    private static final int TREEBIN = -2;
+
+    /**
+     * ReservationNode 的哈希值，表示该桶正在执行 computeIfAbsent
+     */
+    private static final int RESERVED = -3;
+
+    /**
+     * 普通节点哈希值的有效位，保证普通节点的哈希值非负
+     */
+    private static final int HASH_BITS = 0x7fffffff;
+
+    /**
+     * CPU 数量，用于计算每个线程领取的迁移桶数量
+     */
+    private static final int NCPU = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 桶数组，第一次插入时才初始化
+     */
+    private volatile AtomicReferenceArray<Node<K, V>> table;
+
+    /**
+     * 扩容时的新桶数组，只有扩容时不为 null
+     */
+    private volatile AtomicReferenceArray<Node<K, V>> nextTable;
+
+    /**
+     * 扩容时下一个待领取的桶的索引（加 1）
+     */
+    private final AtomicInteger transferIndex = new AtomicInteger();
+
+    /**
+     * 初始化和扩容的控制变量：
+     * 为正数时表示下一次扩容的阈值（初始化之前表示初始容量）；
+     * 为 -1 时表示正在初始化；
+     * 为其他负数时，高 16 位是扩容标记，低 16 位是参与扩容的线程数量加 1。
+     */
+    private final AtomicInteger sizeCtl = new AtomicInteger();
+
+    /**
+     * 键值对的数量
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * 默认构造函数，使用默认的容量初始化哈希表。
+     */
+    public ConcurrentHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 使用指定的初始容量初始化哈希表，容量会被调整为 2 的幂。
+     *
+     * @param initialCapacity 初始容量
+     */
+    public ConcurrentHashMap(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must not be negative");
+        }
+        sizeCtl.set(tableSizeFor(initialCapacity));
+    }
+
+    /**
+     * 链表节点，同时也是其他特殊节点的父类。
+     *
+     * @param <K> 键的类型
+     * @param <V> 值的类型
+     */
+    static class Node<K, V> {
+        /**
+         * 键的哈希值，特殊节点的哈希值为负数
+         */
+        final int hash;
+
+        /**
+         * 存储的键
+         */
+        final K key;
+
+        /**
+         * 存储的值，读操作不加锁，所以使用 volatile
+         */
+        volatile V value;
+
+        /**
+         * 链表中的下一个节点
+         */
+        volatile Node<K, V> next;
+
+        /**
+         * 构造一个新的节点。
+         *
+         * @param hash  键的哈希值
+         * @param key   键
+         * @param value 值
+         * @param next  下一个节点
+         */
+        Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+
+        /**
+         * 从当前节点开始查找指定的键，特殊节点会重写该方法。
+         *
+         * @param h 键的哈希值
+         * @param k 要查找的键
+         * @return 查找到的节点，如果不存在则返回 null
+         */
+        Node<K, V> find(int h, Object k) {
+            Node<K, V> e = this;
+            do {
+                K ek;
+                if (e.hash == h && ((ek = e.key) == k || k.equals(ek))) {
+                    return e;
+                }
+            } while ((e = e.next) != null);
+            return null;
+        }
+    }
+
+    /**
+     * 扩容时放在已迁移的桶中的节点，指向新的桶数组。
+     *
+     * @param <K> 键的类型
+     * @param <V> 值的类型
+     */
+    static final class ForwardingNode<K, V> extends Node<K, V> {
+        /**
+         * 新的桶数组
+         */
+        final AtomicReferenceArray<Node<K, V>> nextTable;
+
+        /**
+         * 构造一个新的转发节点。
+         *
+         * @param nextTable 新的桶数组
+         */
+        ForwardingNode(AtomicReferenceArray<Node<K, V>> nextTable) {
+            super(MOVED, null, null, null);
+            this.nextTable = nextTable;
+        }
+
+        /**
+         * 到新的桶数组中查找指定的键，新的桶数组可能也已经被迁移。
+         */
+        @Override
+        Node<K, V> find(int h, Object k) {
+            outer: for (AtomicReferenceArray<Node<K, V>> tab = nextTable;;) {
+                Node<K, V> e = tab.get((tab.length() - 1) & h);
+                if (e == null) {
+                    return null;
+                }
+                while (true) {
+                    K ek;
+                    if (e.hash == h && ((ek = e.key) == k || (ek != null && k.equals(ek)))) {
+                        return e;
+                    }
+                    if (e.hash < 0) {
+                        if (e instanceof ForwardingNode) {
+                            tab = ((ForwardingNode<K, V>) e).nextTable;
+                            continue outer;
+                        }
+                        return e.find(h, k);
+                    }
+                    if ((e = e.next) == null) {
+                        return null;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * computeIfAbsent 执行期间占据空桶的节点。
+     *
+     * @param <K> 键的类型
+     * @param <V> 值的类型
+     */
+    static final class ReservationNode<K, V> extends Node<K, V> {
+        /**
+         * 构造一个新的占位节点。
+         */
+        ReservationNode() {
+            super(RESERVED, null, null, null);
+        }
+
+        /**
+         * 占位节点中没有键值对。
+         */
+        @Override
+        Node<K, V> find(int h, Object k) {
+            return null;
+        }
+    }
+
+    /**
+     * 红黑树节点，同时通过 next/prev 维护一个链表，
+     * 树结构被修改时，读线程沿着链表查找。
+     *
+     * @param <K> 键的类型
+     * @param <V> 值的类型
+     */
+    static final class TreeNode<K, V> extends Node<K, V> {
+        /**
+         * 节点的颜色（RED 或 BLACK）
+         */
+        boolean color = RED;
+
+        /**
+         * 左子节点
+         */
+        TreeNode<K, V> left;
+
+        /**
+         * 右子节点
+         */
+        TreeNode<K, V> right;
+
+        /**
+         * 父节点
+         */
+        TreeNode<K, V> parent;
+
+        /**
+         * 链表中的前一个节点，用于删除时解除链接
+         */
+        TreeNode<K, V> prev;
+
+        /**
+         * 构造一个新的红黑树节点。
+         *
+         * @param hash  键的哈希值
+         * @param key   键
+         * @param value 值
+         * @param next  链表中的下一个节点
+         */
+        TreeNode(int hash, K key, V value, Node<K, V> next) {
+            super(hash, key, value, next);
+        }
+
+        /**
+         * 判断该节点是否是左子节点。
+         *
+         * @return 如果当前节点是其父节点的左子节点则返回 true
+         */
+        boolean isLeftChild() {
+            return parent != null && this == parent.left;
+        }
+
+        /**
+         * 判断该节点是否是右子节点。
+         *
+         * @return 如果当前节点是其父节点的右子节点则返回 true
+         */
+        boolean isRightChild() {
+            return parent != null && this == parent.right;
+        }
+
+        /**
+         * 获取兄弟节点。
+         *
+         * @return 当前节点的兄弟节点
+         */
+        TreeNode<K, V> sibling() {
+            if (isLeftChild()) {
+                return parent.right;
+            }
+            if (isRightChild()) {
+                return parent.left;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 放在桶中的红黑树容器。
+     * 写线程（已经持有桶锁）修改树结构前需要等待所有读线程离开；
+     * 读线程发现有写线程时不等待，而是沿着链表查找。
+     *
+     * @param <K> 键的类型
+     * @param <V> 值的类型
+     */
+    static final class TreeBin<K, V> extends Node<K, V> {
+        /**
+         * 写线程持有树的标记
+         */
+        static final int WRITER = 1;
+
+        /**
+         * 写线程等待读线程离开的标记
+         */
+        static final int WAITER = 2;
+
+        /**
+         * 每个读线程增加的计数
+         */
+        static final int READER = 4;
+
+        /**
+         * 红黑树的根节点
+         */
+        TreeNode<K, V> root;
+
+        /**
+         * 链表的头节点
+         */
+        volatile TreeNode<K, V> first;
+
+        /**
+         * 读写状态
+         */
+        final AtomicInteger lockState = new AtomicInteger();
+
+        /**
+         * 使用链表中的节点构建红黑树
+         *
+         * @param first 链表的头节点
+         */
+        TreeBin(TreeNode<K, V> first) {
+            super(TREEBIN, null, null, null);
+            this.first = first;
+            for (TreeNode<K, V> x = first; x != null; x = (TreeNode<K, V>) x.next) {
+                insert(x);
+            }
+        }
+
+        /**
+         * 查找指定的键，有写线程时沿着链表查找，否则在红黑树中查找。
+         */
+        @Override
+        Node<K, V> find(int h, Object k) {
+            for (Node<K, V> e = first; e != null;) {
+                int s = lockState.get();
+                if ((s & (WAITER | WRITER)) != 0) {
+                    K ek;
+                    if (e.hash == h && ((ek = e.key) == k || (ek != null && k.equals(ek)))) {
+                        return e;
+                    }
+                    e = e.next;
+                } else if (lockState.compareAndSet(s, s + READER)) {
+                    try {
+                        return root == null ? null : findTreeNode(root, h, k);
+                    } finally {
+                        lockState.addAndGet(-READER);
+                    }
+                }
+            }
+            return null;
+        }
+
+        /**
+         * 添加键值对，调用方需要持有桶锁。
+         *
+         * @param h     键的哈希值
+         * @param k     键
+         * @param value 值
+         * @return 如果键已经存在则返回已经存在的节点，否则返回 null
+         */
+        TreeNode<K, V> putTreeValue(int h, K k, V value) {
+            if (root != null) {
+                TreeNode<K, V> p = findTreeNode(root, h, k);
+                if (p != null) {
+                    return p;
+                }
+            }
+
+            TreeNode<K, V> f = first;
+            TreeNode<K, V> x = new TreeNode<>(h, k, value, f);
+            if (f != null) {
+                f.prev = x;
+            }
+            lockRoot();
+            try {
+                first = x;
+                insert(x);
+            } finally {
+                unlockRoot();
+            }
+            return null;
+        }
+
+        /**
+         * 删除节点，调用方需要持有桶锁。
+         *
+         * @param p 要删除的节点
+         */
+        void removeTreeNode(TreeNode<K, V> p) {
+            lockRoot();
+            try {
+                // 先从链表中解除链接
+                TreeNode<K, V> prev = p.prev;
+                TreeNode<K, V> next = (TreeNode<K, V>) p.next;
+                if (prev == null) {
+                    first = next;
+                } else {
+                    prev.next = next;
+                }
+                if (next != null) {
+                    next.prev = prev;
+                }
+
+                // 度为2的节点，与后继节点交换在树中的位置（而不是交换键值，
+                // 因为读线程可能正在沿着链表访问这两个节点）
+                if (p.left != null && p.right != null) {
+                    swapWithSuccessor(p);
+                }
+
+                TreeNode<K, V> replacement = p.left != null ? p.left : p.right;
+                if (replacement != null) {
+                    replacement.parent = p.parent;
+                    if (p.parent == null) {
+                        root = replacement;
+                    } else if (p == p.parent.left) {
+                        p.parent.left = replacement;
+                    } else {
+                        p.parent.right = replacement;
+                    }
+                    fixAfterRemove(replacement);
+                } else if (p.parent == null) {
+                    root = null;
+                } else {
+                    if (p == p.parent.left) {
+                        p.parent.left = null;
+                    } else {
+                        p.parent.right = null;
+                    }
+                    fixAfterRemove(p);
+                }
+                p.left = p.right = p.parent = null;
+            } finally {
+                unlockRoot();
+            }
+        }
+
+        /**
+         * 获取写锁，等待所有读线程离开红黑树。
+         */
+        private void lockRoot() {
+            while (true) {
+                int s = lockState.get();
+                if ((s & ~WAITER) == 0) {
+                    if (lockState.compareAndSet(s, WRITER)) {
+                        return;
+                    }
+                } else if ((s & WAITER) == 0) {
+                    // 设置等待标记，新来的读线程改为沿着链表查找
+                    lockState.compareAndSet(s, s | WAITER);
+                } else {
+                    Thread.yield();
+                }
+            }
+        }
+
+        /**
+         * 释放写锁。
+         */
+        private void unlockRoot() {
+            lockState.set(0);
+        }
+
+        /**
+         * 在红黑树中查找指定的键。
+         * 哈希值相同且无法比较大小时，需要同时搜索左右子树。
+         *
+         * @param node 子树的根节点
+         * @param h    键的哈希值
+         * @param k    要查找的键
+         * @return 查找到的节点，如果不存在则返回 null
+         */
+        private TreeNode<K, V> findTreeNode(TreeNode<K, V> node, int h, Object k) {
+            int cmp;
+            TreeNode<K, V> result;
+            while (node != null) {
+                K nk = node.key;
+                if (h > node.hash) {
+                    node = node.right;
+                } else if (h < node.hash) {
+                    node = node.left;
+                } else if (nk == k || k.equals(nk)) {
+                    return node;
+                } else if (k.getClass() == nk.getClass() && k instanceof Comparable
+                        && (cmp = ((Comparable) k).compareTo(nk)) != 0) {
+                    node = cmp > 0 ? node.right : node.left;
+                } else if (node.right != null && (result = findTreeNode(node.right, h, k)) != null) {
+                    return result;
+                } else {
+                    node = node.left;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * 将一个新节点插入红黑树，调用方保证键不存在。
+         *
+         * @param x 新节点
+         */
+        private void insert(TreeNode<K, V> x) {
+            x.left = x.right = null;
+            x.color = RED;
+            if (root == null) {
+                x.parent = null;
+                root = x;
+                fixAfterPut(x);
+                return;
+            }
+
+            TreeNode<K, V> parent;
+            TreeNode<K, V> node = root;
+            int cmp;
+            K k = x.key;
+            do {
+                parent = node;
+                K nk = node.key;
+                if (x.hash > node.hash) {
+                    cmp = 1;
+                } else if (x.hash < node.hash) {
+                    cmp = -1;
+                } else if (k.getClass() == nk.getClass() && k instanceof Comparable
+                        && (cmp = ((Comparable) k).compareTo(nk)) != 0) {
+
+                } else {
+                    cmp = System.identityHashCode(k) > System.identityHashCode(nk) ? 1 : -1;
+                }
+                node = cmp > 0 ? node.right : node.left;
+            } while (node != null);
+
+            x.parent = parent;
+            if (cmp > 0) {
+                parent.right = x;
+            } else {
+                parent.left = x;
+            }
+            fixAfterPut(x);
+        }
+
+        /**
+         * 交换度为2的节点与其后继节点在树中的位置和颜色。
+         * 交换之后 p 最多只有一个右子节点。
+         *
+         * @param p 度为2的节点
+         */
+        private void swapWithSuccessor(TreeNode<K, V> p) {
+            TreeNode<K, V> s = p.right;
+            while (s.left != null) {
+                s = s.left;
+            }
+            boolean c = s.color;
+            s.color = p.color;
+            p.color = c;
+
+            TreeNode<K, V> sr = s.right;
+            TreeNode<K, V> pl = p.left;
+            TreeNode<K, V> pr = p.right;
+            TreeNode<K, V> pp = p.parent;
+            if (s == pr) {
+                // 后继节点就是 p 的右子节点
+                p.parent = s;
+                s.right = p;
+            } else {
+                TreeNode<K, V> sp = s.parent;
+                p.parent = sp;
+                if (s == sp.left) {
+                    sp.left = p;
+                } else {
+                    sp.right = p;
+                }
+                s.right = pr;
+                pr.parent = s;
+            }
+            p.left = null;
+            p.right = sr;
+            if (sr != null) {
+                sr.parent = p;
+            }
+            s.left = pl;
+            pl.parent = s;
+            s.parent = pp;
+            if (pp == null) {
+                root = s;
+            } else if (p == pp.left) {
+                pp.left = s;
+            } else {
+                pp.right = s;
+            }
+        }
+
+        /**
+         * 添加后操作，修复红黑树的性质
+         *
+         * @param node 新添加的节点
+         */
+        private void fixAfterPut(TreeNode<K, V> node) {
+            TreeNode<K, V> parent = node.parent;
+
+            // 添加的是根节点 或者 上溢到达了根节点
+            if (parent == null) {
+                black(node);
+                return;
+            }
+
+            // 如果父节点是黑色，直接返回
+            if (isBlack(parent)) {
+                return;
+            }
+
+            // 叔父节点
+            TreeNode<K, V> uncle = parent.sibling();
+            // 祖父节点
+            TreeNode<K, V> grand = red(parent.parent);
+            if (isRed(uncle)) { // 叔父节点是红色【B树节点上溢】
+                black(parent);
+                black(uncle);
+                // 把祖父节点当做是新添加的节点
+                fixAfterPut(grand);
+                return;
+            }
+
+            // 叔父节点不是红色
+            if (parent.isLeftChild()) { // L
+                if (node.isLeftChild()) { // LL
+                    black(parent);
+                } else { // LR
+                    black(node);
+                    rotateLeft(parent);
+                }
+                rotateRight(grand);
+            } else { // R
+                if (node.isLeftChild()) { // RL
+                    black(node);
+                    rotateRight(parent);
+                } else { // RR
+                    black(parent);
+                }
+                rotateLeft(grand);
+            }
+        }
+
+        /**
+         * 删除后操作，修复红黑树的性质
+         *
+         * @param node 被删除的节点或者用以取代它的子节点
+         */
+        private void fixAfterRemove(TreeNode<K, V> node) {
+            // 如果删除的节点是红色
+            // 或者 用以取代删除节点的子节点是红色
+            if (isRed(node)) {
+                black(node);
+                return;
+            }
+
+            TreeNode<K, V> parent = node.parent;
+            if (parent == null) {
+                return;
+            }
+
+            // 删除的是黑色叶子节点【下溢】
+            // 判断被删除的node是左还是右
+            boolean left = parent.left == null || node.isLeftChild();
+            TreeNode<K, V> sibling = left ? parent.right : parent.left;
+            if (left) { // 被删除的节点在左边，兄弟节点在右边
+                if (isRed(sibling)) { // 兄弟节点是红色
+                    black(sibling);
+                    red(parent);
+                    rotateLeft(parent);
+                    // 更换兄弟
+                    sibling = parent.right;
+                }
+
+                // 兄弟节点必然是黑色
+                if (isBlack(sibling.left) && isBlack(sibling.right)) {
+                    // 兄弟节点没有1个红色子节点，父节点要向下跟兄弟节点合并
+                    boolean parentBlack = isBlack(parent);
+                    black(parent);
+                    red(sibling);
+                    if (parentBlack) {
+                        fixAfterRemove(parent);
+                    }
+                } else { // 兄弟节点至少有1个红色子节点，向兄弟节点借元素
+                    // 兄弟节点的左边是黑色，兄弟要先旋转
+                    if (isBlack(sibling.right)) {
+                        rotateRight(sibling);
+                        sibling = parent.right;
+                    }
+
+                    color(sibling, colorOf(parent));
+                    black(sibling.right);
+                    black(parent);
+                    rotateLeft(parent);
+                }
+            } else { // 被删除的节点在右边，兄弟节点在左边
+                if (isRed(sibling)) { // 兄弟节点是红色
+                    black(sibling);
+                    red(parent);
+                    rotateRight(parent);
+                    // 更换兄弟
+                    sibling = parent.left;
+                }
+
+                // 兄弟节点必然是黑色
+                if (isBlack(sibling.left) && isBlack(sibling.right)) {
+                    // 兄弟节点没有1个红色子节点，父节点要向下跟兄弟节点合并
+                    boolean parentBlack = isBlack(parent);
+                    black(parent);
+                    red(sibling);
+                    if (parentBlack) {
+                        fixAfterRemove(parent);
+                    }
+                } else { // 兄弟节点至少有1个红色子节点，向兄弟节点借元素
+                    // 兄弟节点的左边是黑色，兄弟要先旋转
+                    if (isBlack(sibling.left)) {
+                        rotateLeft(sibling);
+                        sibling = parent.left;
+                    }
+
+                    color(sibling, colorOf(parent));
+                    black(sibling.left);
+                    black(parent);
+                    rotateRight(parent);
+                }
+            }
+        }
+
+        /**
+         * 左旋转
+         *
+         * @param grand 需要左旋的节点
+         */
+        private void rotateLeft(TreeNode<K, V> grand) {
+            TreeNode<K, V> parent = grand.right;
+            TreeNode<K, V> child = parent.left;
+            grand.right = child;
+            parent.left = grand;
+            afterRotate(grand, parent, child);
+        }
+
+        /**
+         * 右旋转
+         *
+         * @param grand 需要右旋的节点
+         */
+        private void rotateRight(TreeNode<K, V> grand) {
+            TreeNode<K, V> parent = grand.left;
+            TreeNode<K, V> child = parent.right;
+            grand.left = child;
+            parent.right = grand;
+            afterRotate(grand, parent, child);
+        }
+
+        /**
+         * 旋转之后的处理
+         * 修复grand，parent，child之间的父子关系
+         *
+         * @param grand  旋转前的子树根节点
+         * @param parent 旋转后的子树根节点
+         * @param child  子节点
+         */
+        private void afterRotate(TreeNode<K, V> grand, TreeNode<K, V> parent, TreeNode<K, V> child) {
+            parent.parent = grand.parent;
+            if (grand.isLeftChild()) {
+                grand.parent.left = parent;
+            } else if (grand.isRightChild()) {
+                grand.parent.right = parent;
+            } else {
+                root = parent;
+            }
+            if (child != null) {
+                child.parent = grand;
+            }
+            grand.parent = parent;
+        }
+
+        /**
+         * 设置节点的颜色
+         *
+         * @param node  节点
+         * @param color 颜色
+         * @return 设置颜色后的节点
+         */
+        private TreeNode<K, V> color(TreeNode<K, V> node, boolean color) {
+            if (node != null) {
+                node.color = color;
+            }
+            return node;
+        }
+
+        /**
+         * 将节点设置为红色
+         *
+         * @param node 节点
+         * @return 设置为红色后的节点
+         */
+        private TreeNode<K, V> red(TreeNode<K, V> node) {
+            return color(node, RED);
+        }
+
+        /**
+         * 将节点设置为黑色
+         *
+         * @param node 节点
+         * @return 设置为黑色后的节点
+         */
+        private TreeNode<K, V> black(TreeNode<K, V> node) {
+            return color(node, BLACK);
+        }
+
+        /**
+         * 获取节点的颜色
+         *
+         * @param node 节点
+         * @return 节点的颜色，如果节点为null则返回黑色
+         */
+        private boolean colorOf(TreeNode<K, V> node) {
+            return node == null ? BLACK : node.color;
+        }
+
+        /**
+         * 判断节点是否是黑色
+         *
+         * @param node 节点
+         * @return 如果节点是黑色或null则返回true
+         */
+        private boolean isBlack(TreeNode<K, V> node) {
+            return colorOf(node) == BLACK;
+        }
+
+        /**
+         * 判断节点是否是红色
+         *
+         * @param node 节点
+         * @return 如果节点是红色则返回true
+         */
+        private boolean isRed(TreeNode<K, V> node) {
+            return colorOf(node) == RED;
+        }
+    }
+
+    /**
+     * 清空哈希表中的所有键值对。
+     * 逐个锁住每个桶并清空，与其他线程的写操作并发时只保证清空调用开始时已经存在的桶。
+     */
+    @Override
+    public void clear() {
+        long delta = 0;
+        int i = 0;
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        while (tab != null && i < tab.length()) {
+            Node<K, V> f = tab.get(i);
+            if (f == null) {
+                i++;
+            } else if (f.hash == MOVED) {
+                tab = helpTransfer(tab, f);
+                i = 0;
+            } else {
+                synchronized (f) {
+                    if (tab.get(i) == f) {
+                        Node<K, V> p = f instanceof TreeBin ? ((TreeBin<K, V>) f).first
+                                : (f.hash >= 0 ? f : null);
+                        while (p != null) {
+                            delta--;
+                            p = p.next;
+                        }
+                        tab.set(i++, null);
+                    }
+                }
+            }
+        }
+        if (delta != 0) {
+            count.add(delta);
+        }
+    }
+
+    /**
+     * 获取哈希表中键值对的数量，并发修改时是一个估计值。
+     *
+     * @return 哈希表中键值对的数量
+     */
+    @Override
+    public int size() {
+        long n = count.sum();
+        return n < 0 ? 0 : (n > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) n);
+    }
+
+    /**
+     * 判断哈希表是否为空。
+     *
+     * @return 如果哈希表中没有键值对则返回 true
+     */
+    @Override
+    public boolean isEmpty() {
+        return count.sum() <= 0;
+    }
+
+    /**
+     * 将指定键映射到指定值。
+     *
+     * @param key   要插入的键，不能为空
+     * @param value 要插入的值，不能为空
+     * @return 与键关联的旧值，如果没有则返回 null
+     */
+    @Override
+    public V put(K key, V value) {
+        return putValue(key, value, false);
+    }
+
+    /**
+     * 如果键不存在，则将指定键映射到指定值。
+     *
+     * @param key   要插入的键，不能为空
+     * @param value 要插入的值，不能为空
+     * @return 与键关联的旧值，如果没有则返回 null（此时插入成功）
+     */
+    public V putIfAbsent(K key, V value) {
+        return putValue(key, value, true);
+    }
+
+    /**
+     * 通过键获取对应的值，不加锁。
+     *
+     * @param key 要查找的键
+     * @return 对应的值，如果没有找到则返回 null
+     */
+    @Override
+    public V get(K key) {
+        if (key == null) {
+            return null;
+        }
+        int h = spread(key.hashCode());
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        if (tab == null) {
+            return null;
+        }
+        Node<K, V> e = tab.get((tab.length() - 1) & h);
+        if (e == null) {
+            return null;
+        }
+        if (e.hash == h) {
+            K ek = e.key;
+            if (ek == key || key.equals(ek)) {
+                return e.value;
+            }
+        } else if (e.hash < 0) {
+            Node<K, V> p = e.find(h, key);
+            return p != null ? p.value : null;
+        }
+        while ((e = e.next) != null) {
+            K ek;
+            if (e.hash == h && ((ek = e.key) == key || key.equals(ek))) {
+                return e.value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 删除指定键对应的键值对。
+     *
+     * @param key 要删除的键
+     * @return 与键关联的值，如果没有找到则返回 null
+     */
+    @Override
+    public V remove(K key) {
+        if (key == null) {
+            return null;
+        }
+        int h = spread(key.hashCode());
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        while (true) {
+            int n;
+            Node<K, V> f;
+            if (tab == null || (f = tab.get(n = (tab.length() - 1) & h)) == null) {
+                return null;
+            }
+            if (f.hash == MOVED) {
+                tab = helpTransfer(tab, f);
+                continue;
+            }
+
+            V oldValue = null;
+            boolean validated = false;
+            synchronized (f) {
+                if (tab.get(n) == f) {
+                    validated = true;
+                    if (f.hash >= 0) {
+                        Node<K, V> pred = null;
+                        for (Node<K, V> e = f; e != null; pred = e, e = e.next) {
+                            K ek;
+                            if (e.hash == h && ((ek = e.key) == key || key.equals(ek))) {
+                                oldValue = e.value;
+                                if (pred == null) {
+                                    tab.set(n, e.next);
+                                } else {
+                                    pred.next = e.next;
+                                }
+                                break;
+                            }
+                        }
+                    } else if (f instanceof TreeBin) {
+                        TreeBin<K, V> t = (TreeBin<K, V>) f;
+                        TreeNode<K, V> p = t.root == null ? null : t.findTreeNode(t.root, h, key);
+                        if (p != null) {
+                            oldValue = p.value;
+                            t.removeTreeNode(p);
+                            if (t.first == null) {
+                                tab.set(n, null);
+                            }
+                        }
+                    }
+                }
+            }
+            if (validated) {
+                if (oldValue != null) {
+                    count.decrement();
+                }
+                return oldValue;
+            }
+        }
+    }
+
+    /**
+     * 判断哈希表是否包含指定的键。
+     *
+     * @param key 要检查的键
+     * @return 如果哈希表包含该键则返回 true
+     */
+    @Override
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    /**
+     * 判断哈希表是否包含指定的值，遍历过程不加锁。
+     *
+     * @param value 要检查的值
+     * @return 如果哈希表包含该值则返回 true
+     */
+    @Override
+    public boolean containsValue(V value) {
+        if (value == null) {
+            return false;
+        }
+        Visitor<K, V> visitor = new Visitor<K, V>() {
+            @Override
+            public boolean visit(K key, V v) {
+                return value.equals(v);
+            }
+        };
+        traversal(visitor);
+        return visitor.stop;
+    }
+
+    /**
+     * 遍历哈希表中的所有键值对，遍历过程不加锁。
+     * 遍历与写操作并发时，可能看到也可能看不到遍历开始之后的修改，
+     * 但每个键值对最多访问一次。
+     */
+    @Override
+    public void traversal(Visitor<K, V> visitor) {
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        if (tab == null || visitor == null) {
+            return;
+        }
+        for (int i = 0; i < tab.length() && !visitor.stop; i++) {
+            traversal(tab, i, visitor);
+        }
+    }
+
+    /**
+     * 如果键不存在，则使用 mappingFunction 计算值并插入，整个过程是原子的。
+     * 计算期间会锁住键所在的桶，所以 mappingFunction 应当简短，并且不能修改本哈希表。
+     *
+     * @param key             键，不能为空
+     * @param mappingFunction 计算值的函数，返回 null 时不插入
+     * @return 已经存在的值或者新计算出的值
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        checkKey(key);
+        if (mappingFunction == null) {
+            throw new IllegalArgumentException("mappingFunction must not be null");
+        }
+        int h = spread(key.hashCode());
+        V value = null;
+        int binCount = 0;
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        while (true) {
+            Node<K, V> f;
+            int n;
+            if (tab == null) {
+                tab = initTable();
+            } else if ((f = tab.get(n = (tab.length() - 1) & h)) == null) {
+                // 空桶：先放入占位节点并锁住它，再计算值
+                Node<K, V> r = new ReservationNode<>();
+                synchronized (r) {
+                    if (tab.compareAndSet(n, null, r)) {
+                        binCount = 1;
+                        Node<K, V> node = null;
+                        try {
+                            if ((value = mappingFunction.apply(key)) != null) {
+                                node = new Node<>(h, key, value, null);
+                            }
+                        } finally {
+                            tab.set(n, node);
+                        }
+                    }
+                }
+                if (binCount != 0) {
+                    break;
+                }
+            } else if (f.hash == MOVED) {
+                tab = helpTransfer(tab, f);
+            } else if (f.hash == h && (f.key == key || key.equals(f.key)) && f.value != null) {
+                // 键在桶的头节点中，不加锁直接返回，缓存命中时的常见情况
+                return f.value;
+            } else {
+                boolean added = false;
+                synchronized (f) {
+                    if (tab.get(n) == f) {
+                        if (f.hash >= 0) {
+                            binCount = 1;
+                            for (Node<K, V> e = f;; binCount++) {
+                                K ek;
+                                if (e.hash == h && ((ek = e.key) == key || key.equals(ek))) {
+                                    value = e.value;
+                                    break;
+                                }
+                                Node<K, V> pred = e;
+                                if ((e = e.next) == null) {
+                                    if ((value = mappingFunction.apply(key)) != null) {
+                                        added = true;
+                                        pred.next = new Node<>(h, key, value, null);
+                                    }
+                                    break;
+                                }
+                            }
+                        } else if (f instanceof TreeBin) {
+                            binCount = 2;
+                            TreeBin<K, V> t = (TreeBin<K, V>) f;
+                            TreeNode<K, V> p = t.root == null ? null : t.findTreeNode(t.root, h, key);
+                            if (p != null) {
+                                value = p.value;
+                            } else if ((value = mappingFunction.apply(key)) != null) {
+                                added = true;
+                                t.putTreeValue(h, key, value);
+                            }
+                        } else {
+                            throw new IllegalStateException("recursive update");
+                        }
+                    }
+                }
+                if (binCount != 0) {
+                    if (binCount >= TREEIFY_THRESHOLD) {
+                        treeifyBin(tab, n);
+                    }
+                    if (!added) {
+                        return value;
+                    }
+                    break;
+                }
+            }
+        }
+        if (value != null) {
+            addCount(1, binCount);
+        }
+        return value;
+    }
+
+    /**
+     * 添加键值对的实现。
+     *
+     * @param key          键，不能为空
+     * @param value        值，不能为空
+     * @param onlyIfAbsent 为 true 时不覆盖已经存在的值
+     * @return 与键关联的旧值，如果没有则返回 null
+     */
+    private V putValue(K key, V value, boolean onlyIfAbsent) {
+        checkKey(key);
+        checkValue(value);
+        int h = spread(key.hashCode());
+        int binCount = 0;
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        while (true) {
+            Node<K, V> f;
+            int n;
+            if (tab == null) {
+                tab = initTable();
+            } else if ((f = tab.get(n = (tab.length() - 1) & h)) == null) {
+                // 空桶直接 CAS，不加锁
+                if (tab.compareAndSet(n, null, new Node<>(h, key, value, null))) {
+                    break;
+                }
+            } else if (f.hash == MOVED) {
+                tab = helpTransfer(tab, f);
+            } else {
+                V oldValue = null;
+                synchronized (f) {
+                    if (tab.get(n) == f) {
+                        if (f.hash >= 0) {
+                            binCount = 1;
+                            for (Node<K, V> e = f;; binCount++) {
+                                K ek;
+                                if (e.hash == h && ((ek = e.key) == key || key.equals(ek))) {
+                                    oldValue = e.value;
+                                    if (!onlyIfAbsent) {
+                                        e.value = value;
+                                    }
+                                    break;
+                                }
+                                Node<K, V> pred = e;
+                                if ((e = e.next) == null) {
+                                    pred.next = new Node<>(h, key, value, null);
+                                    break;
+                                }
+                            }
+                        } else if (f instanceof TreeBin) {
+                            binCount = 2;
+                            TreeNode<K, V> p = ((TreeBin<K, V>) f).putTreeValue(h, key, value);
+                            if (p != null) {
+                                oldValue = p.value;
+                                if (!onlyIfAbsent) {
+                                    p.value = value;
+                                }
+                            }
+                        } else {
+                            throw new IllegalStateException("recursive update");
+                        }
+                    }
+                }
+                if (binCount != 0) {
+                    if (binCount >= TREEIFY_THRESHOLD) {
+                        treeifyBin(tab, n);
+                    }
+                    if (oldValue != null) {
+                        return oldValue;
+                    }
+                    break;
+                }
+            }
+        }
+        addCount(1, binCount);
+        return null;
+    }
+
+    /**
+     * 遍历一个桶，遇到 ForwardingNode 时遍历新桶数组中对应的两个桶。
+     *
+     * @param tab     桶数组
+     * @param i       桶的索引
+     * @param visitor 访问者
+     */
+    private void traversal(AtomicReferenceArray<Node<K, V>> tab, int i, Visitor<K, V> visitor) {
+        Node<K, V> e = tab.get(i);
+        if (e == null) {
+            return;
+        }
+        if (e instanceof ForwardingNode) {
+            AtomicReferenceArray<Node<K, V>> next = ((ForwardingNode<K, V>) e).nextTable;
+            traversal(next, i, visitor);
+            if (!visitor.stop) {
+                traversal(next, i + tab.length(), visitor);
+            }
+            return;
+        }
+        if (e instanceof TreeBin) {
+            e = ((TreeBin<K, V>) e).first;
+        } else if (e.hash < 0) {
+            return;
+        }
+        for (; e != null; e = e.next) {
+            V v = e.value;
+            if (v != null && (visitor.visit(e.key, v) || visitor.stop)) {
+                visitor.stop = true;
+                return;
+            }
+        }
+    }
+
+    /**
+     * 初始化桶数组，只有一个线程能够完成初始化，其他线程让出 CPU 等待。
+     *
+     * @return 初始化后的桶数组
+     */
+    private AtomicReferenceArray<Node<K, V>> initTable() {
+        AtomicReferenceArray<Node<K, V>> tab;
+        while ((tab = table) == null) {
+            int sc = sizeCtl.get();
+            if (sc < 0) {
+                Thread.yield();
+            } else if (sizeCtl.compareAndSet(sc, -1)) {
+                try {
+                    if ((tab = table) == null) {
+                        int n = sc > 0 ? sc : DEFAULT_CAPACITY;
+                        tab = new AtomicReferenceArray<>(n);
+                        table = tab;
+                        sc = n - (n >>> 2);
+                    }
+                } finally {
+                    sizeCtl.set(sc);
+                }
+                break;
+            }
+        }
+        return tab;
+    }
+
+    /**
+     * 增加计数，并在超过阈值时开始扩容或者协助扩容。
+     *
+     * @param x        增加的数量
+     * @param binCount 插入时桶中的节点数量，小于 0 时不检查扩容
+     */
+    private void addCount(long x, int binCount) {
+        count.add(x);
+        if (binCount < 0) {
+            return;
+        }
+        long s = count.sum();
+        AtomicReferenceArray<Node<K, V>> tab;
+        int sc;
+        while (s >= (sc = sizeCtl.get()) && (tab = table) != null && tab.length() < MAXIMUM_CAPACITY) {
+            int rs = resizeStamp(tab.length()) << RESIZE_STAMP_SHIFT;
+            if (sc < 0) {
+                AtomicReferenceArray<Node<K, V>> nt = nextTable;
+                if ((sc & 0xffff0000) != rs || sc == rs + 1 || sc == rs + MAX_RESIZERS
+                        || nt == null || transferIndex.get() <= 0) {
+                    break;
+                }
+                if (sizeCtl.compareAndSet(sc, sc + 1)) {
+                    transfer(tab, nt);
+                }
+            } else if (sizeCtl.compareAndSet(sc, rs + 2)) {
+                transfer(tab, null);
+            }
+            s = count.sum();
+        }
+    }
+
+    /**
+     * 遇到 ForwardingNode 时协助扩容。
+     *
+     * @param tab 当前的桶数组
+     * @param f   遇到的节点
+     * @return 新的桶数组
+     */
+    private AtomicReferenceArray<Node<K, V>> helpTransfer(AtomicReferenceArray<Node<K, V>> tab, Node<K, V> f) {
+        if (!(f instanceof ForwardingNode)) {
+            return table;
+        }
+        AtomicReferenceArray<Node<K, V>> nextTab = ((ForwardingNode<K, V>) f).nextTable;
+        int rs = resizeStamp(tab.length()) << RESIZE_STAMP_SHIFT;
+        int sc;
+        while (nextTab == nextTable && table == tab && (sc = sizeCtl.get()) < 0) {
+            if ((sc & 0xffff0000) != rs || sc == rs + 1 || sc == rs + MAX_RESIZERS
+                    || transferIndex.get() <= 0) {
+                break;
+            }
+            if (sizeCtl.compareAndSet(sc, sc + 1)) {
+                transfer(tab, nextTab);
+                break;
+            }
+        }
+        return nextTab;
+    }
+
+    /**
+     * 迁移桶数组。每个参与的线程从 transferIndex 领取一段桶，从后往前迁移，
+     * 每个桶迁移完成后放入 ForwardingNode；最后一个离开的线程再检查一遍所有的桶，
+     * 然后发布新的桶数组。
+     *
+     * @param tab     旧的桶数组
+     * @param nextTab 新的桶数组，为 null 时由发起扩容的线程创建
+     */
+    private void transfer(AtomicReferenceArray<Node<K, V>> tab, AtomicReferenceArray<Node<K, V>> nextTab) {
+        int n = tab.length();
+        int stride = NCPU > 1 ? (n >>> 3) / NCPU : n;
+        if (stride < MIN_TRANSFER_STRIDE) {
+            stride = MIN_TRANSFER_STRIDE;
+        }
+        if (nextTab == null) {
+            nextTab = new AtomicReferenceArray<>(n << 1);
+            nextTable = nextTab;
+            transferIndex.set(n);
+        }
+        ForwardingNode<K, V> fwd = new ForwardingNode<>(nextTab);
+        boolean advance = true;
+        boolean finishing = false;
+        int i = 0;
+        int bound = 0;
+        while (true) {
+            // 领取下一个要迁移的桶
+            while (advance) {
+                int nextIndex;
+                if (--i >= bound || finishing) {
+                    advance = false;
+                } else if ((nextIndex = transferIndex.get()) <= 0) {
+                    i = -1;
+                    advance = false;
+                } else {
+                    int nextBound = nextIndex > stride ? nextIndex - stride : 0;
+                    if (transferIndex.compareAndSet(nextIndex, nextBound)) {
+                        bound = nextBound;
+                        i = nextIndex - 1;
+                        advance = false;
+                    }
+                }
+            }
+
+            Node<K, V> f;
+            if (i < 0 || i >= n) {
+                if (finishing) {
+                    nextTable = null;
+                    table = nextTab;
+                    sizeCtl.set((n << 1) - (n >>> 1));
+                    return;
+                }
+                int sc = sizeCtl.get();
+                if (sizeCtl.compareAndSet(sc, sc - 1)) {
+                    if (sc - 2 != resizeStamp(n) << RESIZE_STAMP_SHIFT) {
+                        return;
+                    }
+                    // 最后一个离开的线程重新检查所有的桶
+                    finishing = advance = true;
+                    i = n;
+                }
+            } else if ((f = tab.get(i)) == null) {
+                advance = tab.compareAndSet(i, null, fwd);
+            } else if (f.hash == MOVED) {
+                advance = true;
+            } else {
+                synchronized (f) {
+                    if (tab.get(i) == f) {
+                        split(f, nextTab, i, n);
+                        tab.set(i, fwd);
+                        advance = true;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 将一个桶中的节点拆分到新桶数组的 i 和 i + n 两个桶中。
+     * 旧节点可能正在被读线程访问，所以复制节点而不是修改它们的链接。
+     *
+     * @param f       桶的头节点
+     * @param nextTab 新的桶数组
+     * @param i       桶的索引
+     * @param n       旧桶数组的长度
+     */
+    private void split(Node<K, V> f, AtomicReferenceArray<Node<K, V>> nextTab, int i, int n) {
+        if (f instanceof TreeBin) {
+            TreeNode<K, V> lo = null;
+            TreeNode<K, V> hi = null;
+            int lc = 0;
+            int hc = 0;
+            for (Node<K, V> e = ((TreeBin<K, V>) f).first; e != null; e = e.next) {
+                if ((e.hash & n) == 0) {
+                    lo = new TreeNode<>(e.hash, e.key, e.value, lo);
+                    lc++;
+                } else {
+                    hi = new TreeNode<>(e.hash, e.key, e.value, hi);
+                    hc++;
+                }
+            }
+            nextTab.set(i, lc > UNTREEIFY_THRESHOLD ? new TreeBin<>(linkPrev(lo)) : untreeify(lo));
+            nextTab.set(i + n, hc > UNTREEIFY_THRESHOLD ? new TreeBin<>(linkPrev(hi)) : untreeify(hi));
+        } else if (f.hash >= 0) {
+            Node<K, V> lo = null;
+            Node<K, V> hi = null;
+            for (Node<K, V> e = f; e != null; e = e.next) {
+                if ((e.hash & n) == 0) {
+                    lo = new Node<>(e.hash, e.key, e.value, lo);
+                } else {
+                    hi = new Node<>(e.hash, e.key, e.value, hi);
+                }
+            }
+            nextTab.set(i, lo);
+            nextTab.set(i + n, hi);
+        }
+    }
+
+    /**
+     * 将桶中的链表转换为红黑树。
+     *
+     * @param tab   桶数组
+     * @param index 桶的索引
+     */
+    private void treeifyBin(AtomicReferenceArray<Node<K, V>> tab, int index) {
+        Node<K, V> b = tab.get(index);
+        if (b == null || b.hash < 0) {
+            return;
+        }
+        synchronized (b) {
+            if (tab.get(index) == b) {
+                TreeNode<K, V> hd = null;
+                for (Node<K, V> e = b; e != null; e = e.next) {
+                    hd = new TreeNode<>(e.hash, e.key, e.value, hd);
+                }
+                tab.set(index, new TreeBin<>(linkPrev(hd)));
+            }
+        }
+    }
+
+    /**
+     * 设置红黑树节点链表的 prev 指针
+     *
+     * @param first 链表的头节点
+     * @return 链表的头节点
+     */
+    private static <K, V> TreeNode<K, V> linkPrev(TreeNode<K, V> first) {
+        TreeNode<K, V> prev = null;
+        for (TreeNode<K, V> e = first; e != null; e = (TreeNode<K, V>) e.next) {
+            e.prev = prev;
+            prev = e;
+        }
+        return first;
+    }
+
+    /**
+     * 将红黑树节点链表转换为普通节点链表
+     *
+     * @param first 红黑树节点链表的头节点
+     * @return 普通节点链表的头节点
+     */
+    private static <K, V> Node<K, V> untreeify(Node<K, V> first) {
+        Node<K, V> head = null;
+        for (Node<K, V> e = first; e != null; e = e.next) {
+            head = new Node<>(e.hash, e.key, e.value, head);
+        }
+        return head;
+    }
+
+    /**
+     * 生成与桶数组长度相关的扩容标记，用于区分不同轮次的扩容。
+     *
+     * @param n 桶数组长度
+     * @return 扩容标记
+     */
+    private static int resizeStamp(int n) {
+        return Integer.numberOfLeadingZeros(n) | (1 << (RESIZE_STAMP_SHIFT - 1));
+    }
+
+    /**
+     * 计算键的哈希值，结果一定是非负数，负数留给特殊节点使用
+     *
+     * @param h 键的 hashCode
+     * @return 键的哈希值
+     */
+    private static int spread(int h) {
+        return (h ^ (h >>> 16)) & HASH_BITS;
+    }
+
+    /**
+     * 返回不小于指定容量的 2 的幂，最小为 2。
+     *
+     * @param capacity 期望的容量
+     * @return 调整后的容量
+     */
+    private static int tableSizeFor(int capacity) {
+        int n = Math.max(capacity, 2) - 1;
+        return n >= MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY : Integer.highestOneBit(n) << 1;
+    }
+
+    /**
+     * 检查键是否为空
+     *
+     * @param key 键
+     */
+    private void checkKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key must not be null");
+        }
+    }
+
+    /**
+     * 检查值是否为空
+     *
+     * @param value 值
+     */
+    private void checkValue(V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("value must not be null");
+        }
+    }
+}
@@ -1,11 +1,20 @@
 package com.hxqzzxk.map;
 
+import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 /**
  * 哈希表实现，基于红黑树处理冲突。
+ * <p>
+ * 默认在触发扩容的 put 中一次性迁移所有节点；开启渐进式扩容后，
+ * 扩容期间会同时保留新旧两个桶数组，每次 put/get/remove 只迁移有限个旧桶，
+ * 避免单次操作承担 O(n) 的迁移开销。
+ * </p>
  */
 @SuppressWarnings({ "rawtypes", "unchecked" })
 public class HashMap<K, V> implements Map<K, V> {
@@ -30,6 +39,13 @@ public class HashMap<K, V> implements Map<K, V> {
      */
     protected static final float DEFAULT_LOAD_FACTOR = 0.75f;
 
+    /**
+     * 渐进式扩容时，每次操作默认迁移的旧桶数量，默认为 4。
+     * 预算较小时，每次操作实际迁移的数量会按照下一次扩容前剩余的插入次数调整，
+     * 保证下一次扩容前本轮迁移已经完成。
+     */
+    protected static final int DEFAULT_REHASH_BUDGET = 4;
+
     /**
      * 当前哈希表中键值对的数量
      */
@@ -41,9 +57,58 @@ public class HashMap<K, V> implements Map<K, V> {
     protected Node<K, V>[] table;
 
     /**
-     * 默认构造函数，使用默认的容量初始化哈希表。
+     * 是否开启渐进式扩容
+     */
+    private final boolean incrementalRehash;
+
+    /**
+     * 渐进式扩容时，每次操作按顺序迁移的旧桶数量
+     */
+    private final int rehashBudget;
+
+    /**
+     * 渐进式扩容过程中的旧桶数组，不在扩容过程中时为 null
+     */
+    private Node<K, V>[] oldTable;
+
+    /**
+     * 下一个要按顺序迁移的旧桶的索引
+     */
+    private int rehashIndex;
+
+    /**
+     * 单次操作中迁移节点数量的最大值
+     */
+    private int maxRehashNodes;
+
+    /**
+     * 默认构造函数，使用默认的容量初始化哈希表，扩容时一次性迁移所有节点。
      */
     public HashMap() {
+        this(false);
+    }
+
+    /**
+     * 使用默认的迁移预算初始化哈希表。
+     *
+     * @param incrementalRehash 是否开启渐进式扩容
+     */
+    public HashMap(boolean incrementalRehash) {
+        this(incrementalRehash, DEFAULT_REHASH_BUDGET);
+    }
+
+    /**
+     * 使用指定的迁移预算初始化哈希表。
+     *
+     * @param incrementalRehash 是否开启渐进式扩容
+     * @param rehashBudget      渐进式扩容时每次操作至少按顺序迁移的旧桶数量，必须大于 0
+     */
+    public HashMap(boolean incrementalRehash, int rehashBudget) {
+        if (rehashBudget <= 0) {
+            throw new IllegalArgumentException("rehashBudget must be positive");
+        }
+        this.incrementalRehash = incrementalRehash;
+        this.rehashBudget = rehashBudget;
         table = new Node[DEFAULT_CAPACITY];
     }
 
@@ -53,7 +118,7 @@ public class HashMap<K, V> implements Map<K, V> {
      * @param <K> 键的类型
      * @param <V> 值的类型
      */
-    protected static class Node<K, V> {
+    protected static class Node<K, V> implements Map.Entry<K, V> {
         /**
          * 键的哈希码
          */
@@ -148,6 +213,26 @@ public class HashMap<K, V> implements Map<K, V> {
             return null;
         }
 
+        /**
+         * 获取节点的键。
+         *
+         * @return 键
+         */
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        /**
+         * 获取节点的值。
+         *
+         * @return 值
+         */
+        @Override
+        public V getValue() {
+            return value;
+        }
+
         /**
          * 返回节点的字符串表示。
          *
@@ -171,6 +256,8 @@ public class HashMap<K, V> implements Map<K, V> {
         for (int i = 0; i < table.length; i++) {
             table[i] = null;
         }
+        oldTable = null;
+        rehashIndex = 0;
         size = 0;
     }
 
@@ -205,6 +292,8 @@ public class HashMap<K, V> implements Map<K, V> {
     public V put(K key, V value) {
         // 保证容量
         resize();
+        // 渐进式扩容时先迁移key所在的旧桶
+        rehashStep(key);
 
         // 计算出key所在的table数组的索引
         int index = index(key);
@@ -212,10 +301,12 @@ public class HashMap<K, V> implements Map<K, V> {
         Node<K, V> root = table[index];
         // 根节点为空，直接添加根节点
         if (root == null) {
-            table[index] = createNode(key, value, null);
+            Node<K, V> newNode = createNode(key, value, null);
+            table[index] = newNode;
             size++;
             // 修复红黑树的性质
-            fixAfterPut(table[index]);
+            fixAfterPut(newNode);
+            afterInsert(newNode);
             return null;
         }
 
@@ -275,11 +366,12 @@ public class HashMap<K, V> implements Map<K, V> {
                 node.key = key;
                 node.hash = h1;
                 node.value = value;
+                afterUpdate(node, oldValue);
                 return oldValue;
             }
         } while (node != null);
 
-        Node<K, V> newNode = new Node<>(key, value, parent);
+        Node<K, V> newNode = createNode(key, value, parent);
         if (cmp > 0) {
             parent.right = newNode;
         } else {
@@ -288,6 +380,7 @@ public class HashMap<K, V> implements Map<K, V> {
         size++;
 
         fixAfterPut(newNode);
+        afterInsert(newNode);
         return null;
     }
 
@@ -299,7 +392,9 @@ public class HashMap<K, V> implements Map<K, V> {
      */
     @Override
     public V get(K key) {
+        rehashStep(key);
         Node<K, V> node = node(key);
+        afterGet(node);
         return node != null ? node.value : null;
     }
 
@@ -311,6 +406,7 @@ public class HashMap<K, V> implements Map<K, V> {
      */
     @Override
     public V remove(K key) {
+        rehashStep(key);
         return remove(node(key));
     }
 
@@ -322,6 +418,7 @@ public class HashMap<K, V> implements Map<K, V> {
      */
     @Override
     public boolean containsKey(K key) {
+        rehashStep(key);
         return node(key) != null;
     }
 
@@ -338,26 +435,28 @@ public class HashMap<K, V> implements Map<K, V> {
         }
 
         // 对table数组中的所有的红黑树进行层序遍历，找到了，就返回true，
-        // 最后还是没有找到，返回false
+        // 最后还是没有找到，返回false，渐进式扩容时还要遍历尚未迁移的旧桶
         Queue<Node<K, V>> queue = new LinkedList<>();
 
-        for (int i = 0; i < table.length; i++) {
-            if (table[i] == null) {
-                continue;
-            }
-
-            queue.offer(table[i]);
-            while (!queue.isEmpty()) {
-                Node<K, V> node = queue.poll();
-                if (Objects.equals(value, node.value)) {
-                    return true;
+        for (Node<K, V>[] tab : tables()) {
+            for (int i = 0; i < tab.length; i++) {
+                if (tab[i] == null) {
+                    continue;
                 }
 
-                if (node.left != null) {
-                    queue.offer(node.left);
-                }
-                if (node.right != null) {
-                    queue.offer(node.right);
+                queue.offer(tab[i]);
+                while (!queue.isEmpty()) {
+                    Node<K, V> node = queue.poll();
+                    if (Objects.equals(value, node.value)) {
+                        return true;
+                    }
+
+                    if (node.left != null) {
+                        queue.offer(node.left);
+                    }
+                    if (node.right != null) {
+                        queue.offer(node.right);
+                    }
                 }
             }
         }
@@ -373,27 +472,280 @@ public class HashMap<K, V> implements Map<K, V> {
         if (size == 0 || visitor == null) {
             return;
         }
-        for (int i = 0; i < table.length; i++) {
-            if (table[i] == null) {
-                continue;
+        for (Node<K, V>[] tab : tables()) {
+            for (int i = 0; i < tab.length; i++) {
+                if (tab[i] == null) {
+                    continue;
+                }
+
+                Queue<Node<K, V>> queue = new LinkedList<>();
+                queue.offer(tab[i]);
+                while (!queue.isEmpty()) {
+                    Node<K, V> node = queue.poll();
+                    if (visitor.visit(node.key, node.value) || visitor.stop) {
+                        return;
+                    }
+
+                    if (node.left != null) {
+                        queue.offer(node.left);
+                    }
+                    if (node.right != null) {
+                        queue.offer(node.right);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 返回遍历所有键值对的迭代器。
+     * 按照桶的顺序遍历，每个桶内按照红黑树的中序遍历；
+     * 渐进式扩容尚未完成时，先完成扩容，避免遍历过程中节点在新旧桶数组之间移动。
+     * 遍历过程中修改哈希表（除了 get 以外的操作）会导致遍历结果不确定。
+     *
+     * @return 键值对的迭代器
+     */
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        if (oldTable != null) {
+            finishRehash();
+        }
+        return new HashIterator<>(table);
+    }
+
+    /**
+     * 返回可分割的迭代器，按照桶数组的索引范围分割，可以用于并行流：
+     * StreamSupport.stream(map.spliterator(), true)。
+     * 渐进式扩容尚未完成时，先完成扩容。
+     *
+     * @return 键值对的可分割迭代器
+     */
+    @Override
+    public Spliterator<Map.Entry<K, V>> spliterator() {
+        if (oldTable != null) {
+            finishRehash();
+        }
+        return new HashSpliterator<>(table, 0, table.length, size, true);
+    }
+
+    /**
+     * 返回桶中红黑树的第一个节点（中序遍历的第一个节点）
+     *
+     * @param root 桶中红黑树的根节点
+     * @return 最左边的节点
+     */
+    private static <K, V> Node<K, V> first(Node<K, V> root) {
+        Node<K, V> node = root;
+        while (node.left != null) {
+            node = node.left;
+        }
+        return node;
+    }
+
+    /**
+     * 返回桶中红黑树的下一个节点（中序遍历的后继节点），
+     * 桶的根节点没有父节点，所以遍历完一个桶时返回 null
+     *
+     * @param node 当前节点
+     * @return 后继节点，没有时返回 null
+     */
+    private static <K, V> Node<K, V> next(Node<K, V> node) {
+        if (node.right != null) {
+            return first(node.right);
+        }
+        while (node.parent != null && node == node.parent.right) {
+            node = node.parent;
+        }
+        return node.parent;
+    }
+
+    /**
+     * 哈希表的迭代器，依次遍历每个桶中的红黑树
+     *
+     * @param <K> 键的类型
+     * @param <V> 值的类型
+     */
+    private static class HashIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+        /**
+         * 被遍历的桶数组
+         */
+        private final Node<K, V>[] tab;
+
+        /**
+         * 下一个要查找的桶的索引
+         */
+        private int index;
+
+        /**
+         * 下一个要返回的节点
+         */
+        private Node<K, V> next;
+
+        /**
+         * 构造一个迭代器，并定位到第一个节点
+         *
+         * @param tab 桶数组
+         */
+        HashIterator(Node<K, V>[] tab) {
+            this.tab = tab;
+            advanceBucket();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            Node<K, V> node = next;
+            if (node == null) {
+                throw new NoSuchElementException();
+            }
+            next = HashMap.next(node);
+            if (next == null) {
+                advanceBucket();
             }
+            return node;
+        }
 
-            Queue<Node<K, V>> queue = new LinkedList<>();
-            queue.offer(table[i]);
-            while (!queue.isEmpty()) {
-                Node<K, V> node = queue.poll();
-                if (visitor.visit(node.key, node.value) || visitor.stop) {
+        /**
+         * 定位到下一个非空桶的第一个节点
+         */
+        private void advanceBucket() {
+            while (index < tab.length) {
+                Node<K, V> root = tab[index++];
+                if (root != null) {
+                    next = first(root);
                     return;
                 }
+            }
+        }
+    }
 
-                if (node.left != null) {
-                    queue.offer(node.left);
+    /**
+     * 哈希表的可分割迭代器，负责桶数组中 [index, fence) 范围内的桶，
+     * 分割时把前一半的桶交给新的可分割迭代器
+     *
+     * @param <K> 键的类型
+     * @param <V> 值的类型
+     */
+    private static class HashSpliterator<K, V> implements Spliterator<Map.Entry<K, V>> {
+        /**
+         * 被遍历的桶数组
+         */
+        private final Node<K, V>[] tab;
+
+        /**
+         * 下一个要遍历的桶的索引
+         */
+        private int index;
+
+        /**
+         * 负责的桶的结束索引（不包括）
+         */
+        private final int fence;
+
+        /**
+         * 当前正在遍历的桶中的下一个节点，为 null 时从 index 处的桶开始
+         */
+        private Node<K, V> current;
+
+        /**
+         * 剩余键值对数量的估计值
+         */
+        private long estimate;
+
+        /**
+         * 估计值是否精确，只有未分割过的可分割迭代器是精确的
+         */
+        private boolean exact;
+
+        /**
+         * 构造一个可分割迭代器
+         *
+         * @param tab      桶数组
+         * @param index    开始的桶索引
+         * @param fence    结束的桶索引（不包括）
+         * @param estimate 键值对数量的估计值
+         * @param exact    估计值是否精确
+         */
+        HashSpliterator(Node<K, V>[] tab, int index, int fence, long estimate, boolean exact) {
+            this.tab = tab;
+            this.index = index;
+            this.fence = fence;
+            this.estimate = estimate;
+            this.exact = exact;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Map.Entry<K, V>> action) {
+            if (action == null) {
+                throw new IllegalArgumentException("action must not be null");
+            }
+            while (current == null && index < fence) {
+                Node<K, V> root = tab[index++];
+                if (root != null) {
+                    current = first(root);
+                }
+            }
+            if (current == null) {
+                return false;
+            }
+            Node<K, V> node = current;
+            current = next(node);
+            action.accept(node);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Map.Entry<K, V>> action) {
+            if (action == null) {
+                throw new IllegalArgumentException("action must not be null");
+            }
+            Node<K, V> node = current;
+            current = null;
+            while (true) {
+                while (node == null && index < fence) {
+                    Node<K, V> root = tab[index++];
+                    if (root != null) {
+                        node = first(root);
+                    }
                 }
-                if (node.right != null) {
-                    queue.offer(node.right);
+                if (node == null) {
+                    return;
                 }
+                action.accept(node);
+                node = next(node);
             }
         }
+
+        /**
+         * 把 [index, mid) 范围内的桶分割出去，自己保留 [mid, fence)
+         *
+         * @return 负责前一半桶的可分割迭代器，剩余的桶太少或者正在遍历某个桶时返回 null
+         */
+        @Override
+        public Spliterator<Map.Entry<K, V>> trySplit() {
+            int mid = (index + fence) >>> 1;
+            if (current != null || mid <= index) {
+                return null;
+            }
+            HashSpliterator<K, V> prefix = new HashSpliterator<>(tab, index, mid, estimate >>>= 1, false);
+            index = mid;
+            exact = false;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return DISTINCT | NONNULL | (exact ? SIZED : 0);
+        }
     }
 
     /**
@@ -408,6 +760,31 @@ public class HashMap<K, V> implements Map<K, V> {
         return new Node<>(key, value, parent);
     }
 
+    /**
+     * 插入新节点后的操作，此时红黑树的性质已经修复
+     *
+     * @param node 新插入的节点
+     */
+    protected void afterInsert(Node<K, V> node) {
+    }
+
+    /**
+     * 覆盖已经存在的键的值之后的操作
+     *
+     * @param node     被覆盖的节点
+     * @param oldValue 覆盖之前的值
+     */
+    protected void afterUpdate(Node<K, V> node, V oldValue) {
+    }
+
+    /**
+     * 通过 get 查找节点之后的操作
+     *
+     * @param node 查找到的节点，未找到时为 null
+     */
+    protected void afterGet(Node<K, V> node) {
+    }
+
     /**
      * 移除节点后的调整操作
      *
@@ -417,36 +794,150 @@ public class HashMap<K, V> implements Map<K, V> {
     protected void afterRemove(Node<K, V> replaceNode, Node<K, V> removedNode) {
     }
 
+    /**
+     * 是否正在进行渐进式扩容。
+     *
+     * @return 如果新旧两个桶数组同时存在则返回 true
+     */
+    public boolean isRehashing() {
+        return oldTable != null;
+    }
+
+    /**
+     * 获取渐进式扩容的进度。
+     *
+     * @return 已经按顺序迁移的旧桶所占的比例，取值范围为 [0, 1]，不在扩容过程中时返回 1
+     */
+    public float rehashProgress() {
+        return oldTable == null ? 1.0f : (float) rehashIndex / oldTable.length;
+    }
+
+    /**
+     * 获取每次操作的迁移预算。
+     * 单次操作至少按顺序迁移 rehashBudget 个旧桶，外加 key 所在的旧桶；
+     * 剩余的旧桶在下一次扩容前按预算迁移不完时，按照剩余的插入次数平均分配。
+     *
+     * @return 每次操作按顺序迁移的旧桶数量
+     */
+    public int rehashBudget() {
+        return rehashBudget;
+    }
+
+    /**
+     * 获取单次操作中迁移节点数量的最大值，用于观察最坏情况下的迁移开销。
+     * 包括迭代器等操作一次性完成剩余迁移时迁移的节点。
+     *
+     * @return 单次操作中迁移的节点数量的最大值
+     */
+    public int maxRehashNodes() {
+        return maxRehashNodes;
+    }
+
     /**
      * 扩容方法，当元素数量超过负载因子乘以数组长度时调用。
-     * 该方法会创建一个新的两倍大小的桶数组，
-     * 并将原有桶数组中的所有节点重新分布到新的桶数组中。
+     * 该方法会创建一个新的两倍大小的桶数组，未开启渐进式扩容时，
+     * 立即将原有桶数组中的所有节点重新分布到新的桶数组中；
+     * 否则只保留旧桶数组，由之后的操作逐步迁移。
      */
     private void resize() {
         if ((float) size / table.length <= DEFAULT_LOAD_FACTOR) {
             return;
         }
 
-        Node<K, V>[] oldTable = table;
+        // 上一轮渐进式扩容还没有完成，先完成迁移
+        if (oldTable != null) {
+            finishRehash();
+        }
+
+        oldTable = table;
         table = new Node[table.length << 1];
+        rehashIndex = 0;
+        if (!incrementalRehash) {
+            finishRehash();
+        }
+    }
+
+    /**
+     * 渐进式扩容的单步迁移。
+     * 先迁移 key 所在的旧桶，这样后续的查找、插入、删除只需要访问新桶数组；
+     * 然后按顺序迁移 rehashBudget 个旧桶。
+     * 元素数量超过阈值的那次 put 会触发下一次扩容，在此之前至少还有 threshold + 1 - size 次操作，
+     * 如果按照预算迁移不完剩余的旧桶，就把剩余的旧桶平均分配到这些操作中，
+     * 避免下一次扩容时一次性迁移剩余旧桶造成的停顿。
+     *
+     * @param key 本次操作的键
+     */
+    private void rehashStep(K key) {
+        if (oldTable == null) {
+            return;
+        }
+
+        int moved = transfer(hash(key) & (oldTable.length - 1));
+        int remaining = oldTable.length - rehashIndex;
+        int headroom = (int) (table.length * DEFAULT_LOAD_FACTOR) + 1 - size;
+        int budget = headroom > 0 ? Math.max(rehashBudget, (remaining + headroom - 1) / headroom) : remaining;
+        for (int i = 0; i < budget && rehashIndex < oldTable.length; i++) {
+            moved += transfer(rehashIndex++);
+        }
+        if (moved > maxRehashNodes) {
+            maxRehashNodes = moved;
+        }
+        if (rehashIndex == oldTable.length) {
+            oldTable = null;
+        }
+    }
+
+    /**
+     * 一次性迁移所有剩余的旧桶，结束本轮扩容。
+     */
+    private void finishRehash() {
+        int moved = 0;
+        while (rehashIndex < oldTable.length) {
+            moved += transfer(rehashIndex++);
+        }
+        if (moved > maxRehashNodes) {
+            maxRehashNodes = moved;
+        }
+        oldTable = null;
+    }
+
+    /**
+     * 将一个旧桶中的所有节点迁移到新的桶数组中
+     *
+     * @param index 旧桶的索引
+     * @return 迁移的节点数量
+     */
+    private int transfer(int index) {
+        Node<K, V> root = oldTable[index];
+        if (root == null) {
+            return 0;
+        }
+        oldTable[index] = null;
+
+        int count = 0;
         Queue<Node<K, V>> queue = new LinkedList<>();
-        for (int i = 0; i < oldTable.length; i++) {
-            if (table[i] == null) {
-                continue;
+        queue.offer(root);
+        while (!queue.isEmpty()) {
+            Node<K, V> node = queue.poll();
+            if (node.left != null) {
+                queue.offer(node.left);
             }
-            queue.offer(oldTable[i]);
-            while (!queue.isEmpty()) {
-                Node<K, V> node = queue.poll();
-                if (node.left != null) {
-                    queue.offer(node.left);
-                }
-                if (node.right != null) {
-                    queue.offer(node.right);
-                }
-                moveNode(node);
+            if (node.right != null) {
+                queue.offer(node.right);
             }
-
+            moveNode(node);
+            count++;
         }
+        return count;
+    }
+
+    /**
+     * 获取需要遍历的桶数组，渐进式扩容时包括尚未迁移完的旧桶数组
+     *
+     * @return 桶数组的数组
+     */
+    private Node<K, V>[][] tables() {
+        return oldTable == null ? new Node[][] { table } : new Node[][] { oldTable, table };
     }
 
     /**
@@ -946,4 +1437,4 @@ public class HashMap<K, V> implements Map<K, V> {
     private boolean isRed(Node<K, V> node) {
         return colorOf(node) == RED;
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
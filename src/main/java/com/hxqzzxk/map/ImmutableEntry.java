@@ -0,0 +1,50 @@
+package com.hxqzzxk.map;
+
+/**
+ * 不可修改的键值对，用于迭代器返回的键值对快照
+ *
+ * @param <K> 键的类型
+ * @param <V> 值的类型
+ */
+class ImmutableEntry<K, V> implements Map.Entry<K, V> {
+    /**
+     * 键
+     */
+    private final K key;
+
+    /**
+     * 值
+     */
+    private final V value;
+
+    /**
+     * 构造一个键值对
+     *
+     * @param key   键
+     * @param value 值
+     */
+    ImmutableEntry(K key, V value) {
+        this.key = key;
+        this.value = value;
+    }
+
+    @Override
+    public K getKey() {
+        return key;
+    }
+
+    @Override
+    public V getValue() {
+        return value;
+    }
+
+    /**
+     * 返回键值对的字符串表示
+     *
+     * @return 格式为 "key-value"
+     */
+    @Override
+    public String toString() {
+        return key + "-" + value;
+    }
+}
@@ -0,0 +1,456 @@
+package com.hxqzzxk.map;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 键是 int 的哈希表，基于开放寻址法（线性探测）实现。
+ * 键和值分别存放在 int 数组和对象数组中，不为键值对创建节点对象，
+ * 使用原始类型的重载方法时键不会被装箱。
+ * <p>
+ * 键 0 被用作空槽的标记，因此键为 0 的键值对单独存储在 zeroValue 中；
+ * 删除时使用向后移位（backward shift）的方式，不会留下墓碑标记。
+ * </p>
+ *
+ * @param <V> 值的类型
+ */
+@SuppressWarnings("unchecked")
+public class IntObjectHashMap<V> implements Map<Integer, V> {
+    /**
+     * 数组的默认容量，默认为 16。
+     */
+    private static final int DEFAULT_CAPACITY = 1 << 4;
+
+    /**
+     * 负载因子，默认值为 0.75。
+     * 当元素数量超过负载因子乘以数组长度时，进行扩容。
+     */
+    private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    /**
+     * 存储键的数组，值为 0 的位置表示空槽
+     */
+    private int[] keys;
+
+    /**
+     * 存储值的数组，与 keys 数组一一对应
+     */
+    private V[] values;
+
+    /**
+     * 数组长度减 1，用于将哈希值映射为索引
+     */
+    private int mask;
+
+    /**
+     * 扩容阈值，键值对的数量超过该值时进行扩容
+     */
+    private int threshold;
+
+    /**
+     * 键值对的数量（包括键 0）
+     */
+    private int size;
+
+    /**
+     * 是否存储了键 0
+     */
+    private boolean hasZeroKey;
+
+    /**
+     * 键 0 对应的值
+     */
+    private V zeroValue;
+
+    /**
+     * 默认构造函数，使用默认的容量初始化哈希表。
+     */
+    public IntObjectHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 使用指定的初始容量初始化哈希表，容量会被调整为 2 的幂。
+     *
+     * @param initialCapacity 初始容量
+     */
+    public IntObjectHashMap(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must not be negative");
+        }
+        allocate(tableSizeFor(initialCapacity));
+    }
+
+    /**
+     * 原始类型键的访问者类，用于在不装箱的情况下遍历哈希表
+     *
+     * @param <V> 值的类型
+     */
+    public static abstract class IntObjectVisitor<V> {
+        /**
+         * 停止遍历标志
+         * 当该属性为 true 时，遍历操作应当停止
+         */
+        boolean stop;
+
+        /**
+         * 访问指定键值对
+         *
+         * @param key   键
+         * @param value 值
+         * @return 返回 true 停止遍历，返回 false 则继续遍历
+         */
+        public abstract boolean visit(int key, V value);
+    }
+
+    /**
+     * 清空哈希表中的所有键值对。
+     */
+    @Override
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, null);
+        hasZeroKey = false;
+        zeroValue = null;
+        size = 0;
+    }
+
+    /**
+     * 获取哈希表中键值对的数量。
+     *
+     * @return 哈希表中键值对的数量
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 判断哈希表是否为空。
+     *
+     * @return 如果哈希表中没有键值对则返回 true
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 将指定键映射到指定值。
+     *
+     * @param key   要插入的键，不能为空
+     * @param value 要插入的值
+     * @return 与键关联的旧值，如果没有则返回 null
+     */
+    @Override
+    public V put(Integer key, V value) {
+        checkKey(key);
+        return put(key.intValue(), value);
+    }
+
+    /**
+     * 将指定键映射到指定值，键不发生装箱。
+     *
+     * @param key   要插入的键
+     * @param value 要插入的值
+     * @return 与键关联的旧值，如果没有则返回 null
+     */
+    public V put(int key, V value) {
+        if (key == 0) {
+            V oldValue = zeroValue;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return oldValue;
+        }
+
+        int index = slot(key);
+        if (index >= 0) {
+            V oldValue = values[index];
+            values[index] = value;
+            return oldValue;
+        }
+
+        // 键不存在，插入到探测结束时遇到的空槽中
+        index = -index - 1;
+        keys[index] = key;
+        values[index] = value;
+        if (++size > threshold) {
+            resize();
+        }
+        return null;
+    }
+
+    /**
+     * 通过键获取对应的值。
+     *
+     * @param key 要查找的键
+     * @return 对应的值，如果没有找到则返回 null
+     */
+    @Override
+    public V get(Integer key) {
+        return key == null ? null : get(key.intValue());
+    }
+
+    /**
+     * 通过键获取对应的值，键不发生装箱。
+     *
+     * @param key 要查找的键
+     * @return 对应的值，如果没有找到则返回 null
+     */
+    public V get(int key) {
+        if (key == 0) {
+            return zeroValue;
+        }
+        int index = slot(key);
+        return index >= 0 ? values[index] : null;
+    }
+
+    /**
+     * 删除指定键对应的键值对。
+     *
+     * @param key 要删除的键
+     * @return 与键关联的值，如果没有找到则返回 null
+     */
+    @Override
+    public V remove(Integer key) {
+        return key == null ? null : remove(key.intValue());
+    }
+
+    /**
+     * 删除指定键对应的键值对，键不发生装箱。
+     *
+     * @param key 要删除的键
+     * @return 与键关联的值，如果没有找到则返回 null
+     */
+    public V remove(int key) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                return null;
+            }
+            V oldValue = zeroValue;
+            hasZeroKey = false;
+            zeroValue = null;
+            size--;
+            return oldValue;
+        }
+
+        int index = slot(key);
+        if (index < 0) {
+            return null;
+        }
+        V oldValue = values[index];
+        shiftKeys(index);
+        size--;
+        return oldValue;
+    }
+
+    /**
+     * 判断哈希表是否包含指定的键。
+     *
+     * @param key 要检查的键
+     * @return 如果哈希表包含该键则返回 true
+     */
+    @Override
+    public boolean containsKey(Integer key) {
+        return key != null && containsKey(key.intValue());
+    }
+
+    /**
+     * 判断哈希表是否包含指定的键，不发生装箱。
+     *
+     * @param key 要检查的键
+     * @return 如果哈希表包含该键则返回 true
+     */
+    public boolean containsKey(int key) {
+        if (key == 0) {
+            return hasZeroKey;
+        }
+        return slot(key) >= 0;
+    }
+
+    /**
+     * 判断哈希表是否包含指定的值。
+     *
+     * @param value 要检查的值
+     * @return 如果哈希表包含该值则返回 true
+     */
+    @Override
+    public boolean containsValue(V value) {
+        if (hasZeroKey && Objects.equals(value, zeroValue)) {
+            return true;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0 && Objects.equals(value, values[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 遍历哈希表中的所有键值对。
+     * 键会被装箱后交给访问者，不需要装箱时使用 {@link #traversal(IntObjectVisitor)}。
+     */
+    @Override
+    public void traversal(Visitor<Integer, V> visitor) {
+        if (size == 0 || visitor == null) {
+            return;
+        }
+        if (hasZeroKey && (visitor.visit(0, zeroValue) || visitor.stop)) {
+            return;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == 0) {
+                continue;
+            }
+            if (visitor.visit(keys[i], values[i]) || visitor.stop) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 遍历哈希表中的所有键值对，键不发生装箱。
+     *
+     * @param visitor 原始类型键的访问者
+     */
+    public void traversal(IntObjectVisitor<V> visitor) {
+        if (size == 0 || visitor == null) {
+            return;
+        }
+        if (hasZeroKey && (visitor.visit(0, zeroValue) || visitor.stop)) {
+            return;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == 0) {
+                continue;
+            }
+            if (visitor.visit(keys[i], values[i]) || visitor.stop) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 查找键所在的槽位。
+     * 从键的理想位置开始线性探测，直到找到该键或者遇到空槽。
+     *
+     * @param key 要查找的键，不能为 0
+     * @return 找到时返回槽位索引；否则返回 -(空槽索引) - 1
+     */
+    private int slot(int key) {
+        int index = hash(key) & mask;
+        int k;
+        while ((k = keys[index]) != 0) {
+            if (k == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -index - 1;
+    }
+
+    /**
+     * 向后移位删除。
+     * 删除 index 处的键之后，将后续探测链上可以前移的键依次前移，
+     * 保证所有键都能从其理想位置探测到，因此不需要墓碑标记。
+     *
+     * @param index 被删除的槽位
+     */
+    private void shiftKeys(int index) {
+        int last;
+        int k;
+        while (true) {
+            last = index;
+            index = (index + 1) & mask;
+            while (true) {
+                if ((k = keys[index]) == 0) {
+                    keys[last] = 0;
+                    values[last] = null;
+                    return;
+                }
+                int ideal = hash(k) & mask;
+                // 理想位置不在 (last, index] 区间内的键，可以移动到 last
+                if (last <= index ? last >= ideal || ideal > index : last >= ideal && ideal > index) {
+                    break;
+                }
+                index = (index + 1) & mask;
+            }
+            keys[last] = k;
+            values[last] = values[index];
+        }
+    }
+
+    /**
+     * 扩容方法，创建一个两倍大小的数组，并将原有的键值对重新插入。
+     */
+    private void resize() {
+        int[] oldKeys = keys;
+        V[] oldValues = values;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            int k = oldKeys[i];
+            if (k == 0) {
+                continue;
+            }
+            int index = hash(k) & mask;
+            while (keys[index] != 0) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = k;
+            values[index] = oldValues[i];
+        }
+    }
+
+    /**
+     * 分配指定容量的数组，并更新掩码和扩容阈值。
+     *
+     * @param capacity 数组容量，必须是 2 的幂
+     */
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = (V[]) new Object[capacity];
+        mask = capacity - 1;
+        threshold = (int) (capacity * DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * 返回不小于指定容量的 2 的幂，最小为 2。
+     *
+     * @param capacity 期望的容量
+     * @return 调整后的容量
+     */
+    private static int tableSizeFor(int capacity) {
+        int n = Math.max(capacity, 2) - 1;
+        return Integer.highestOneBit(n) << 1;
+    }
+
+    /**
+     * 计算键的哈希值。
+     * 乘以黄金分割常数后再混合高位，使连续的键也能均匀分布。
+     *
+     * @param key 要计算哈希值的键
+     * @return 键的哈希值
+     */
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * 检查键是否为空
+     *
+     * @param key 键
+     */
+    private void checkKey(Integer key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key must not be null");
+        }
+    }
+}
@@ -1,25 +1,152 @@
 package com.hxqzzxk.map;
 
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
 
 /**
  * LinkedHashMap 实现，基于 HashMap 并维护插入顺序。
  * 通过双向链表记录键值对的插入顺序，在遍历时可以按照插入顺序输出。
+ * <p>
+ * 开启访问顺序（accessOrder）后，get 命中和覆盖值都会把节点移动到链表末尾，
+ * 链表头部就是最近最少使用的节点；再设置最大权重后可以作为 LRU 缓存使用，
+ * 插入或覆盖之后总权重超过最大权重时，从链表头部开始淘汰节点。
+ * </p>
  *
  * @param <K> 键的类型
  * @param <V> 值的类型
  */
 public class LinkedHashMap<K, V> extends HashMap<K, V> {
     /**
-     * 双向链表的头节点，指向第一个插入的节点。
+     * 双向链表的头节点，指向第一个插入（或者最久未被访问）的节点。
      */
     private LinkedNode<K, V> head;
 
     /**
-     * 双向链表的尾节点，指向最后一个插入的节点。
+     * 双向链表的尾节点，指向最后一个插入（或者最近被访问）的节点。
      */
     private LinkedNode<K, V> tail;
 
+    /**
+     * 是否按照访问顺序维护链表，false 表示按照插入顺序
+     */
+    private final boolean accessOrder;
+
+    /**
+     * 允许的最大总权重，超过时淘汰链表头部的节点
+     */
+    private final long maxWeight;
+
+    /**
+     * 计算键值对权重的函数
+     */
+    private final Weigher<K, V> weigher;
+
+    /**
+     * 节点被淘汰时的回调，可以为 null
+     */
+    private final EvictionListener<K, V> evictionListener;
+
+    /**
+     * 当前所有键值对的权重之和
+     */
+    private long weightedSize;
+
+    /**
+     * get 命中的次数
+     */
+    private long hitCount;
+
+    /**
+     * get 未命中的次数
+     */
+    private long missCount;
+
+    /**
+     * 淘汰的节点数量
+     */
+    private long evictionCount;
+
+    /**
+     * 默认构造函数，按照插入顺序维护链表，不淘汰节点。
+     */
+    public LinkedHashMap() {
+        this(false);
+    }
+
+    /**
+     * 指定链表顺序的构造函数，不淘汰节点。
+     *
+     * @param accessOrder 为 true 时按照访问顺序维护链表，否则按照插入顺序
+     */
+    public LinkedHashMap(boolean accessOrder) {
+        this(accessOrder, Long.MAX_VALUE, null, null);
+    }
+
+    /**
+     * 限制键值对数量的构造函数，每个键值对的权重为 1。
+     *
+     * @param accessOrder 为 true 时按照访问顺序维护链表，否则按照插入顺序
+     * @param maxSize     允许的最大键值对数量
+     */
+    public LinkedHashMap(boolean accessOrder, int maxSize) {
+        this(accessOrder, maxSize, null, null);
+    }
+
+    /**
+     * 限制总权重的构造函数。
+     *
+     * @param accessOrder      为 true 时按照访问顺序维护链表，否则按照插入顺序
+     * @param maxWeight        允许的最大总权重，必须大于 0
+     * @param weigher          计算键值对权重的函数，为 null 时每个键值对的权重为 1
+     * @param evictionListener 节点被淘汰时的回调，可以为 null
+     */
+    public LinkedHashMap(boolean accessOrder, long maxWeight, Weigher<K, V> weigher,
+            EvictionListener<K, V> evictionListener) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("maxWeight must be positive");
+        }
+        this.accessOrder = accessOrder;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.evictionListener = evictionListener;
+    }
+
+    /**
+     * 计算键值对权重的函数
+     *
+     * @param <K> 键的类型
+     * @param <V> 值的类型
+     */
+    public interface Weigher<K, V> {
+        /**
+         * 计算键值对的权重
+         *
+         * @param key   键
+         * @param value 值
+         * @return 权重，不能为负数
+         */
+        int weigh(K key, V value);
+    }
+
+    /**
+     * 节点被淘汰时的回调
+     *
+     * @param <K> 键的类型
+     * @param <V> 值的类型
+     */
+    public interface EvictionListener<K, V> {
+        /**
+         * 节点被淘汰之后调用
+         *
+         * @param key   被淘汰的键
+         * @param value 被淘汰的值
+         */
+        void onEviction(K key, V value);
+    }
+
     /**
      * 表示 LinkedHashMap 中的节点，继承自 HashMap.Node，
      * 并增加指向前一个和后一个节点的引用。
@@ -38,6 +165,11 @@ public class LinkedHashMap<K, V> extends HashMap<K, V> {
          */
         LinkedNode<K, V> next;
 
+        /**
+         * 键值对的权重
+         */
+        int weight;
+
         /**
          * 构造一个新的 LinkedNode 节点。
          *
@@ -58,6 +190,7 @@ public class LinkedHashMap<K, V> extends HashMap<K, V> {
         super.clear();
         head = null;
         tail = null;
+        weightedSize = 0;
     }
 
     /**
@@ -81,7 +214,7 @@ public class LinkedHashMap<K, V> extends HashMap<K, V> {
 
     /**
      * 遍历哈希表中的所有键值对。
-     * 使用双向链表按插入顺序输出每个节点的信息。
+     * 使用双向链表按插入顺序（或者从最久未访问到最近访问的顺序）输出每个节点的信息。
      */
     @Override
     public void traversal(Visitor<K, V> visitor) {
@@ -97,6 +230,85 @@ public class LinkedHashMap<K, V> extends HashMap<K, V> {
         }
     }
 
+    /**
+     * 返回按照双向链表的顺序遍历所有键值对的迭代器。
+     * 按照访问顺序时，迭代器不会改变节点的顺序。
+     *
+     * @return 键值对的迭代器
+     */
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return new Iterator<Map.Entry<K, V>>() {
+            /**
+             * 下一个要返回的节点
+             */
+            private LinkedNode<K, V> next = head;
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Map.Entry<K, V> next() {
+                LinkedNode<K, V> node = next;
+                if (node == null) {
+                    throw new NoSuchElementException();
+                }
+                next = node.next;
+                return node;
+            }
+        };
+    }
+
+    /**
+     * 返回按照双向链表的顺序遍历的可分割迭代器。
+     * 链表无法按照索引范围分割，分割时把一批节点复制到数组中交给新的可分割迭代器。
+     *
+     * @return 键值对的可分割迭代器
+     */
+    @Override
+    public Spliterator<Map.Entry<K, V>> spliterator() {
+        return Spliterators.spliterator(iterator(), size,
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
+    /**
+     * 获取当前所有键值对的权重之和。
+     *
+     * @return 总权重
+     */
+    public long weightedSize() {
+        return weightedSize;
+    }
+
+    /**
+     * 获取 get 命中的次数。
+     *
+     * @return 命中次数
+     */
+    public long hitCount() {
+        return hitCount;
+    }
+
+    /**
+     * 获取 get 未命中的次数。
+     *
+     * @return 未命中次数
+     */
+    public long missCount() {
+        return missCount;
+    }
+
+    /**
+     * 获取淘汰的节点数量。
+     *
+     * @return 淘汰次数
+     */
+    public long evictionCount() {
+        return evictionCount;
+    }
+
     /**
      * 创建一个新的 LinkedHashMap 节点，并将其加入双向链表的末尾。
      *
@@ -108,16 +320,57 @@ public class LinkedHashMap<K, V> extends HashMap<K, V> {
     @Override
     protected Node<K, V> createNode(K key, V value, Node<K, V> parent) {
         LinkedNode<K, V> node = new LinkedNode<>(key, value, parent);
-        if (head == null) {
-            head = tail = node;
-        } else {
-            tail.next = node;
-            node.prev = tail;
-            tail = node;
-        }
+        node.weight = weigh(key, value);
+        weightedSize += node.weight;
+        linkLast(node);
         return node;
     }
 
+    /**
+     * 插入新节点之后，总权重超过最大权重时淘汰节点。
+     *
+     * @param node 新插入的节点
+     */
+    @Override
+    protected void afterInsert(Node<K, V> node) {
+        evict();
+    }
+
+    /**
+     * 覆盖值之后更新节点的权重；按照访问顺序时，将节点移动到链表末尾。
+     *
+     * @param node     被覆盖的节点
+     * @param oldValue 覆盖之前的值
+     */
+    @Override
+    protected void afterUpdate(Node<K, V> node, V oldValue) {
+        LinkedNode<K, V> linkedNode = (LinkedNode<K, V>) node;
+        int weight = weigh(node.key, node.value);
+        weightedSize += weight - linkedNode.weight;
+        linkedNode.weight = weight;
+        if (accessOrder) {
+            moveToLast(linkedNode);
+        }
+        evict();
+    }
+
+    /**
+     * 记录命中和未命中的次数；按照访问顺序时，将命中的节点移动到链表末尾。
+     *
+     * @param node 查找到的节点，未找到时为 null
+     */
+    @Override
+    protected void afterGet(Node<K, V> node) {
+        if (node == null) {
+            missCount++;
+            return;
+        }
+        hitCount++;
+        if (accessOrder) {
+            moveToLast((LinkedNode<K, V>) node);
+        }
+    }
+
     /**
      * 移除节点后的调整操作。
      * 主要用于维护双向链表的完整性。
@@ -130,78 +383,118 @@ public class LinkedHashMap<K, V> extends HashMap<K, V> {
         // 将传入的节点转换为 LinkedNode 类型，以便进行后续操作
         LinkedNode<K, V> node1 = (LinkedNode<K, V>) replacedNode;
         LinkedNode<K, V> node2 = (LinkedNode<K, V>) removedNode;
+        // 被删除的键值对原本存放在 node1 中
+        weightedSize -= node1.weight;
+
         // 当 node1 和 node2 不同时，表示删除的是一个度为2的节点，
-        // 此时实际删除的节点是 node2，假设此时链表中 node2 在 node1
-        // 前面，遍历顺序是 A <=> 2 <=> B <=> 1 <=> C，
-        // 当删除 node1 时，实际删除的是 node2，
-        // 预期的遍历顺序是 A <=> 2 <=> B <=> C，
-        // 但是如果此时没有交换 node1 和 node2 的位置，那遍历顺序
-        // 就会变成 A <=> B <=> 1 <=> C，与预期的遍历顺序不符
-        // 如果交换 node1 与 node2 的位置，那链表就变成了
-        // A <=> 1 <=> B <=> 2 <=> C，
-        // 此时，node1 和 node2 的位置已经交换，在红黑树那里，node1 和 node2
-        // 的值也已经交换了，所以，在之前删除 node2 时，node2 的值
-        // 已经覆盖到 node1 了，所哟，此时的链表可以看成是
-        // A <=> node1(2) <=> B <=> node2(2) <=> C，
-        // 在之后删除 node2 之后，链表的遍历顺序就变成了
-        // A <=> 2 <=> B <=> C，与预期的遍历顺序一致
+        // 红黑树中已经把后继节点 node2 的键值覆盖到了 node1，实际删除的是 node2，
+        // 所以链表中应当删除的是 node1 原来的位置，node1 接替 node2 在链表中的位置，
+        // 这样链表的顺序与删除之前（去掉被删除的键值对）保持一致
         if (node1 != node2) {
-            // 交换 node1 和node2 在链表中的位置
-            // 首先处理前驱指针(prev)，交换 node1 和 node2 的 prev 指向
-            LinkedNode<K, V> tmp = node1.prev;
-            tmp.prev = node2.prev;
-            node2.prev = tmp;
-
-            // 更新 node1 的前驱节点的后继(next)指向 node1
+            node1.weight = node2.weight;
+            unlink(node1);
+            node1.prev = node2.prev;
+            node1.next = node2.next;
             if (node1.prev == null) {
-                head = node1; // node1 成为新的头节点
-            } else {
-                node1.prev.next = node1; // node1 的前驱节点指向它自身
-            }
-
-            // 更新 node2 的前驱节点的后继(next)指向 node2
-            if (node2.prev == null) {
-                tail = node2;
+                head = node1;
             } else {
-                node2.prev.next = node2;
+                node1.prev.next = node1;
             }
-
-            // 接着处理后继指针(next)，交换 node1 和 node2 的 next 指向
-            tmp = node1.next;
-            node1.next = node2.next;
-            node2.next = tmp;
-
-            // 更新 node1 的后继节点的前驱(prev)指向 node1
             if (node1.next == null) {
                 tail = node1;
             } else {
                 node1.next.prev = node1;
             }
+            return;
+        }
 
-            // 更新 node2 的后继节点的前驱(prev)指向 node2
-            if (node2.next == null) {
-                tail = node2;
-            } else {
-                node2.next.prev = node2;
+        unlink(node2);
+    }
+
+    /**
+     * 总权重超过最大权重时，从链表头部开始淘汰节点。
+     */
+    private void evict() {
+        while (weightedSize > maxWeight && head != null) {
+            K key = head.key;
+            V value = head.value;
+            remove(head);
+            evictionCount++;
+            if (evictionListener != null) {
+                evictionListener.onEviction(key, value);
             }
         }
+    }
+
+    /**
+     * 计算键值对的权重
+     *
+     * @param key   键
+     * @param value 值
+     * @return 权重，没有设置 weigher 时为 1
+     */
+    private int weigh(K key, V value) {
+        if (weigher == null) {
+            return 1;
+        }
+        int weight = weigher.weigh(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("weight must not be negative");
+        }
+        return weight;
+    }
+
+    /**
+     * 将节点加入双向链表的末尾
+     *
+     * @param node 要加入的节点
+     */
+    private void linkLast(LinkedNode<K, V> node) {
+        if (head == null) {
+            head = tail = node;
+        } else {
+            tail.next = node;
+            node.prev = tail;
+            tail = node;
+        }
+    }
 
-        // 删除实际的节点 node2，更新其前后节点的连接关系
-        LinkedNode<K, V> prev = node2.prev;
-        LinkedNode<K, V> next = node2.next;
+    /**
+     * 将节点从双向链表中移除
+     *
+     * @param node 要移除的节点
+     */
+    private void unlink(LinkedNode<K, V> node) {
+        LinkedNode<K, V> prev = node.prev;
+        LinkedNode<K, V> next = node.next;
 
-        // 如果 prev 为空，说明 node2 是头节点，因此更新 head 指向 next
+        // 如果 prev 为空，说明 node 是头节点，因此更新 head 指向 next
         if (prev == null) {
             head = next;
         } else {
             prev.next = next;
         }
 
-        // 如果 next 为空，说明 node2 是尾节点，因此更新 tail 指向 prev
+        // 如果 next 为空，说明 node 是尾节点，因此更新 tail 指向 prev
         if (next == null) {
             tail = prev;
         } else {
             next.prev = prev;
         }
+        node.prev = null;
+        node.next = null;
+    }
+
+    /**
+     * 将节点移动到双向链表的末尾
+     *
+     * @param node 要移动的节点
+     */
+    private void moveToLast(LinkedNode<K, V> node) {
+        if (node == tail) {
+            return;
+        }
+        unlink(node);
+        linkLast(node);
     }
 }
@@ -1,9 +1,17 @@
 package com.hxqzzxk.map;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
 /**
  * 映射接口
+ * <p>
+ * 除了推送式的 traversal，还可以通过 iterator 按需拉取键值对，
+ * 或者通过 spliterator 分割之后并行遍历（StreamSupport.stream(map.spliterator(), true)）。
+ * </p>
  */
-public interface Map<K, V> {
+public interface Map<K, V> extends Iterable<Map.Entry<K, V>> {
     /**
      * 清空 map
      */
@@ -69,6 +77,48 @@ public interface Map<K, V> {
      */
     void traversal(Visitor<K, V> visitor);
 
+    /**
+     * 返回遍历所有键值对的迭代器。
+     * 默认实现先通过 traversal 把所有键值对复制到一个列表中，再遍历这个列表，
+     * 需要 O(n) 的额外空间；HashMap、TreeMap 等实现类会覆盖该方法，按需遍历底层结构。
+     *
+     * @return 键值对的迭代器
+     */
+    @Override
+    default Iterator<Entry<K, V>> iterator() {
+        List<Entry<K, V>> entries = new ArrayList<>(size());
+        traversal(new Visitor<K, V>() {
+            @Override
+            public boolean visit(K key, V value) {
+                entries.add(new ImmutableEntry<>(key, value));
+                return false;
+            }
+        });
+        return entries.iterator();
+    }
+
+    /**
+     * 键值对接口，迭代器返回的元素
+     *
+     * @param <K> 键的类型
+     * @param <V> 值的类型
+     */
+    public interface Entry<K, V> {
+        /**
+         * 获取键
+         *
+         * @return 键
+         */
+        K getKey();
+
+        /**
+         * 获取值
+         *
+         * @return 值
+         */
+        V getValue();
+    }
+
     /**
      * 抽象访问者类，用于遍历二叉树元素
      * 
@@ -0,0 +1,1546 @@
+package com.hxqzzxk.map;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.zip.CRC32;
+
+/**
+ * 存放在文件中的 B+ 树，键和值都是 long，通过内存映射（FileChannel.map）按页访问。
+ * <p>
+ * - 文件由固定大小的页组成，第 0 页和第 1 页是元数据页，其余的页是叶子节点或内部节点；
+ * - 文件按段映射，每段至少 1024 页并且至少 4MB，映射之后一直保留到关闭：映射的内存只有在 ByteBuffer
+ * 被垃圾回收时才会释放，逐页映射、淘汰时丢弃映射会很快耗尽进程可用的映射数量（Linux 上的 vm.max_map_count），
+ * 页很小时按字节数而不是页数确定段的大小，保证映射的数量只与文件大小有关；
+ * - 页的视图缓存在一个很小的页缓存中，缓存满时使用时钟（clock）算法淘汰。
+ * 映射本身不读取数据，操作系统只在访问时才把页读入内存，所以打开文件时只读取元数据页，
+ * 查找只访问从根节点到叶子节点路径上的页，不需要读取整个文件；
+ * - 修改采用写时复制：已经提交的页永远不会被修改，修改时把路径上的页复制到文件末尾，
+ * 同一次提交中新分配的页可以直接修改；
+ * - {@link #commit()} 先把所有新写入的页刷到磁盘，再把新的根节点写入两个元数据页中较旧的那个，
+ * 元数据页带有版本号和 CRC32 校验和。写元数据的过程中崩溃时，另一个元数据页仍然指向完整的旧版本，
+ * 打开文件时选择校验通过且版本号最大的元数据页，所以文件总是处于某次提交后的状态；
+ * - 删除时只回收变空的节点，不合并未满的节点；被复制的旧页不会被重用，
+ * 需要压缩文件时可以使用 {@link #fromSorted(File, long[], long[], int, int)} 重新构建。
+ * </p>
+ *
+ * <pre>
+ * 元数据页（前 64 字节）：
+ * 0  魔数（long）     8  版本（int）     12 页大小（int）
+ * 16 版本号（long）   24 根节点页号（long，0 表示空树）
+ * 32 页数量（long）   40 键值对数量（long）
+ * 48 树的高度（int）  56 前 56 字节的 CRC32（long）
+ *
+ * 节点页：
+ * 0  类型（byte）     4  条目数量（int）
+ * 8  条目，每个条目 16 字节：叶子节点为键和值，内部节点为分隔键和子节点页号，
+ *    内部节点第 i 个分隔键是第 i 个子树的下界，第 0 个分隔键不使用
+ * </pre>
+ */
+public class MappedBPlusTreeMap implements Map<Long, Long>, Closeable {
+    /**
+     * 元数据中的魔数，用于识别文件格式
+     */
+    private static final long MAGIC = 0x42504C55534D4150L;
+
+    /**
+     * 文件格式的版本
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * 默认的页大小
+     */
+    public static final int DEFAULT_PAGE_SIZE = 4096;
+
+    /**
+     * 默认的页缓存容量（页数）
+     */
+    public static final int DEFAULT_CACHE_PAGES = 256;
+
+    /**
+     * 最小的页大小，保证每个节点至少能存放 3 个条目
+     */
+    private static final int MIN_PAGE_SIZE = 64;
+
+    /**
+     * 最大的页大小
+     */
+    private static final int MAX_PAGE_SIZE = 1 << 20;
+
+    /**
+     * 每段映射的最少页数
+     */
+    private static final int SEGMENT_PAGES = 1024;
+
+    /**
+     * 每段映射的最少字节数
+     */
+    private static final int MIN_SEGMENT_BYTES = 1 << 22;
+
+    /**
+     * 元数据占用的字节数
+     */
+    private static final int META_SIZE = 64;
+
+    /**
+     * 元数据页的数量，节点页从第 2 页开始
+     */
+    private static final int META_PAGES = 2;
+
+    /**
+     * 元数据中魔数的偏移量
+     */
+    private static final int MAGIC_OFFSET = 0;
+
+    /**
+     * 元数据中版本的偏移量
+     */
+    private static final int VERSION_OFFSET = 8;
+
+    /**
+     * 元数据中页大小的偏移量
+     */
+    private static final int PAGE_SIZE_OFFSET = 12;
+
+    /**
+     * 元数据中版本号的偏移量
+     */
+    private static final int GENERATION_OFFSET = 16;
+
+    /**
+     * 元数据中根节点页号的偏移量
+     */
+    private static final int ROOT_OFFSET = 24;
+
+    /**
+     * 元数据中页数量的偏移量
+     */
+    private static final int PAGE_COUNT_OFFSET = 32;
+
+    /**
+     * 元数据中键值对数量的偏移量
+     */
+    private static final int SIZE_OFFSET = 40;
+
+    /**
+     * 元数据中树的高度的偏移量
+     */
+    private static final int HEIGHT_OFFSET = 48;
+
+    /**
+     * 元数据中校验和的偏移量，校验和覆盖它之前的所有字节
+     */
+    private static final int CHECKSUM_OFFSET = 56;
+
+    /**
+     * 叶子节点的类型
+     */
+    private static final byte LEAF = 1;
+
+    /**
+     * 内部节点的类型
+     */
+    private static final byte INNER = 2;
+
+    /**
+     * 节点页中条目数量的偏移量
+     */
+    private static final int COUNT_OFFSET = 4;
+
+    /**
+     * 节点页头的大小
+     */
+    private static final int PAGE_HEADER_SIZE = 8;
+
+    /**
+     * 每个条目的大小
+     */
+    private static final int ENTRY_SIZE = 16;
+
+    /**
+     * 映射的文件
+     */
+    private final RandomAccessFile file;
+
+    /**
+     * 文件通道
+     */
+    private final FileChannel channel;
+
+    /**
+     * 页大小
+     */
+    private final int pageSize;
+
+    /**
+     * 每个节点最多存放的条目数量
+     */
+    private final int capacity;
+
+    /**
+     * 每段映射的页数
+     */
+    private final int segmentPages;
+
+    /**
+     * 两个元数据页
+     */
+    private final ByteBuffer[] metas = new ByteBuffer[META_PAGES];
+
+    /**
+     * 最近一次提交的版本号，写入 generation & 1 号元数据页
+     */
+    private long generation;
+
+    /**
+     * 根节点的页号，0 表示空树
+     */
+    private long root;
+
+    /**
+     * 已经分配的页数量，包括元数据页
+     */
+    private long pageCount;
+
+    /**
+     * 最近一次提交时的页数量，页号小于它的页不能再修改
+     */
+    private long committedPageCount;
+
+    /**
+     * 最近一次提交时的文件长度，文件变长时提交需要把长度也刷到磁盘
+     */
+    private long committedFileSize;
+
+    /**
+     * 键值对的数量
+     */
+    private long size;
+
+    /**
+     * 树的高度，空树为 0，只有一个叶子节点时为 1
+     */
+    private int height;
+
+    /**
+     * 自最近一次提交以来是否有修改
+     */
+    private boolean dirty;
+
+    /**
+     * 已经映射的段，按需映射，为 null 表示还没有映射
+     */
+    private ByteBuffer[] segments = new ByteBuffer[1];
+
+    /**
+     * 页缓存中每个位置缓存的页号
+     */
+    private final long[] framePages;
+
+    /**
+     * 页缓存中每个位置的页视图
+     */
+    private final ByteBuffer[] frameBuffers;
+
+    /**
+     * 页缓存中每个位置的访问标志，时钟指针经过时清除
+     */
+    private final boolean[] referenced;
+
+    /**
+     * 页号到页缓存位置的映射
+     */
+    private final LongLongHashMap frameOf = new LongLongHashMap();
+
+    /**
+     * 已经使用的页缓存位置数量
+     */
+    private int usedFrames;
+
+    /**
+     * 时钟指针
+     */
+    private int hand;
+
+    /**
+     * 页缓存未命中（需要创建页视图）的次数
+     */
+    private long cacheMisses;
+
+    /**
+     * 使用默认的页大小和页缓存容量打开文件
+     *
+     * @param path 文件路径
+     * @throws IOException 如果文件无法读写，或者元数据校验失败
+     * @see #MappedBPlusTreeMap(File, int, int)
+     */
+    public MappedBPlusTreeMap(File path) throws IOException {
+        this(path, DEFAULT_PAGE_SIZE, DEFAULT_CACHE_PAGES);
+    }
+
+    /**
+     * 打开文件。
+     * 文件不存在或者为空时创建一棵空树：先在同一目录下的临时文件中写入两个元数据页并刷盘，
+     * 再原子地重命名为目标文件，初始化过程中崩溃不会留下没有有效元数据页的文件；
+     * 之后选择校验通过且版本号最大的元数据页，恢复到最近一次完整提交的状态。
+     *
+     * @param path       文件路径
+     * @param pageSize   页大小，必须是 2 的幂，打开已有文件时必须与创建时相同
+     * @param cachePages 页缓存最多缓存的页数
+     * @throws IOException 如果文件无法读写，或者元数据校验失败
+     */
+    public MappedBPlusTreeMap(File path, int pageSize, int cachePages) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("path must not be null");
+        }
+        if (pageSize < MIN_PAGE_SIZE || pageSize > MAX_PAGE_SIZE || (pageSize & (pageSize - 1)) != 0) {
+            throw new IllegalArgumentException("pageSize must be a power of two between "
+                    + MIN_PAGE_SIZE + " and " + MAX_PAGE_SIZE);
+        }
+        if (cachePages < 1) {
+            throw new IllegalArgumentException("cachePages must be positive");
+        }
+        this.pageSize = pageSize;
+        this.capacity = (pageSize - PAGE_HEADER_SIZE) / ENTRY_SIZE;
+        this.segmentPages = Math.max(SEGMENT_PAGES, MIN_SEGMENT_BYTES / pageSize);
+        framePages = new long[cachePages];
+        frameBuffers = new ByteBuffer[cachePages];
+        referenced = new boolean[cachePages];
+
+        if (path.length() == 0) {
+            initialize(path.getAbsoluteFile().toPath(), pageSize);
+        }
+        file = new RandomAccessFile(path, "rw");
+        channel = file.getChannel();
+        try {
+            if (channel.size() < pageSize + META_SIZE) {
+                throw new IOException("file is too small");
+            }
+            for (int i = 0; i < META_PAGES; i++) {
+                metas[i] = map((long) i * pageSize, META_SIZE);
+            }
+            readMeta();
+            committedPageCount = pageCount;
+            committedFileSize = channel.size();
+        } catch (IOException | RuntimeException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 根据有序的键值对构建一棵新的树，替换文件中原有的内容。
+     * <p>
+     * 叶子节点按照顺序依次写入，每个节点尽量装满；然后自底向上逐层构建内部节点，
+     * 同一层的节点平均分配子节点。相邻的重复键只保留最后一个值。
+     * </p>
+     * 新的树先写入同一目录下的临时文件并提交，然后原子地重命名覆盖目标文件，
+     * 构建过程中崩溃时目标文件仍然是原来已经提交的树。
+     *
+     * @param path       文件路径
+     * @param keys       从小到大排列的键
+     * @param values     与键一一对应的值
+     * @param pageSize   页大小
+     * @param cachePages 页缓存最多缓存的页数
+     * @return 已经提交的树
+     * @throws IOException 如果文件无法读写
+     */
+    public static MappedBPlusTreeMap fromSorted(File path, long[] keys, long[] values, int pageSize,
+            int cachePages) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("path must not be null");
+        }
+        if (keys == null || values == null) {
+            throw new IllegalArgumentException("keys and values must not be null");
+        }
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("keys and values must have the same length");
+        }
+        int n = keys.length == 0 ? 0 : 1;
+        for (int i = 1; i < keys.length; i++) {
+            if (keys[i] < keys[i - 1]) {
+                throw new IllegalArgumentException("keys must be sorted");
+            }
+            if (keys[i] != keys[i - 1]) {
+                n++;
+            }
+        }
+
+        Path target = path.getAbsoluteFile().toPath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.deleteIfExists(temp);
+        try {
+            // commit 会把临时文件的数据页、长度和元数据页都刷到磁盘
+            try (MappedBPlusTreeMap tree = new MappedBPlusTreeMap(temp.toFile(), pageSize, cachePages)) {
+                tree.load(keys, values, n);
+                tree.commit();
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        forceDirectory(target.getParent());
+        return new MappedBPlusTreeMap(path, pageSize, cachePages);
+    }
+
+    /**
+     * 创建只包含两个元数据页的空树文件。
+     * 元数据页写入临时文件并刷盘之后才重命名为目标文件，目标文件要么不存在（或为空），要么是一棵完整的空树。
+     *
+     * @param target   目标文件
+     * @param pageSize 页大小
+     * @throws IOException 如果文件无法写入或者重命名
+     */
+    private static void initialize(Path target, int pageSize) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".init");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer meta = ByteBuffer.allocate(META_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                for (int i = 0; i < META_PAGES; i++) {
+                    writeMeta(meta, pageSize, i, 0, META_PAGES, 0, 0);
+                    meta.clear();
+                    while (meta.hasRemaining()) {
+                        channel.write(meta, (long) i * pageSize + meta.position());
+                    }
+                }
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        forceDirectory(target.getParent());
+    }
+
+    /**
+     * 把目录刷到磁盘，使重命名持久化；不支持打开目录的平台上忽略
+     *
+     * @param directory 目录
+     */
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // 有些平台（例如 Windows）不能打开目录，此时依赖文件系统自身的保证
+        }
+    }
+
+    /**
+     * 原始类型的访问者类，用于在不装箱的情况下遍历
+     */
+    public static abstract class LongLongVisitor {
+        /**
+         * 停止遍历标志
+         * 当该属性为 true 时，遍历操作应当停止
+         */
+        boolean stop;
+
+        /**
+         * 访问指定键值对
+         *
+         * @param key   键
+         * @param value 值
+         * @return 返回 true 停止遍历，返回 false 则继续遍历
+         */
+        public abstract boolean visit(long key, long value);
+    }
+
+    /**
+     * 范围游标，按照键从小到大的顺序访问范围内的键值对。
+     * 游标记录从根节点到当前叶子节点的路径，不依赖叶子节点之间的链接；
+     * 创建游标之后修改树，游标的行为是未定义的。
+     */
+    public final class Cursor {
+        /**
+         * 从根节点到当前叶子节点路径上每一层的页号
+         */
+        private final long[] pages;
+
+        /**
+         * 路径上每一层所在的条目下标
+         */
+        private final int[] slots;
+
+        /**
+         * 范围的终点
+         */
+        private final long to;
+
+        /**
+         * 是否包含终点
+         */
+        private final boolean toInclusive;
+
+        /**
+         * 当前叶子节点
+         */
+        private ByteBuffer leaf;
+
+        /**
+         * 是否已经越过范围的终点
+         */
+        private boolean done;
+
+        /**
+         * 当前的键
+         */
+        private long key;
+
+        /**
+         * 当前的值
+         */
+        private long value;
+
+        /**
+         * 定位到第一个不小于（或者大于）from 的键之前
+         *
+         * @param from          范围的起点
+         * @param fromInclusive 是否包含起点
+         * @param to            范围的终点
+         * @param toInclusive   是否包含终点
+         */
+        Cursor(long from, boolean fromInclusive, long to, boolean toInclusive) {
+            this.to = to;
+            this.toInclusive = toInclusive;
+            pages = new long[height];
+            slots = new int[height];
+            if (root == 0) {
+                done = true;
+                return;
+            }
+            long node = root;
+            for (int level = 0; level < height - 1; level++) {
+                ByteBuffer b = page(node);
+                pages[level] = node;
+                slots[level] = childIndex(b, from);
+                node = MappedBPlusTreeMap.value(b, slots[level]);
+            }
+            leaf = page(node);
+            pages[height - 1] = node;
+            int index = search(leaf, from);
+            if (index < 0) {
+                index = -index - 1;
+            } else if (!fromInclusive) {
+                index++;
+            }
+            slots[height - 1] = index - 1;
+        }
+
+        /**
+         * 移动到下一个键值对
+         *
+         * @return 如果还有范围内的键值对返回 true，否则返回 false
+         */
+        public boolean next() {
+            if (done) {
+                return false;
+            }
+            int leafLevel = height - 1;
+            slots[leafLevel]++;
+            while (slots[leafLevel] >= count(leaf)) {
+                if (!nextLeaf()) {
+                    done = true;
+                    return false;
+                }
+            }
+            key = MappedBPlusTreeMap.key(leaf, slots[leafLevel]);
+            if (key > to || (key == to && !toInclusive)) {
+                done = true;
+                return false;
+            }
+            value = MappedBPlusTreeMap.value(leaf, slots[leafLevel]);
+            return true;
+        }
+
+        /**
+         * 获取当前的键，必须在 {@link #next()} 返回 true 之后调用
+         *
+         * @return 当前的键
+         */
+        public long key() {
+            return key;
+        }
+
+        /**
+         * 获取当前的值，必须在 {@link #next()} 返回 true 之后调用
+         *
+         * @return 当前的值
+         */
+        public long value() {
+            return value;
+        }
+
+        /**
+         * 沿着路径向上找到还有下一个子节点的内部节点，再向下走到最左边的叶子节点
+         *
+         * @return 如果存在下一个叶子节点返回 true
+         */
+        private boolean nextLeaf() {
+            int level = height - 2;
+            while (level >= 0 && slots[level] + 1 >= count(page(pages[level]))) {
+                level--;
+            }
+            if (level < 0) {
+                return false;
+            }
+            slots[level]++;
+            for (; level < height - 1; level++) {
+                pages[level + 1] = MappedBPlusTreeMap.value(page(pages[level]), slots[level]);
+                slots[level + 1] = 0;
+            }
+            leaf = page(pages[height - 1]);
+            return true;
+        }
+    }
+
+    /**
+     * 清空所有键值对，只重置根节点，原有的页不会被回收
+     */
+    @Override
+    public void clear() {
+        root = 0;
+        height = 0;
+        size = 0;
+        dirty = true;
+    }
+
+    /**
+     * 获取键值对的数量，超过 Integer.MAX_VALUE 时返回 Integer.MAX_VALUE。
+     *
+     * @return 键值对的数量
+     */
+    @Override
+    public int size() {
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 获取键值对的数量。
+     *
+     * @return 键值对的数量
+     */
+    public long longSize() {
+        return size;
+    }
+
+    /**
+     * 判断树是否为空。
+     *
+     * @return 如果没有键值对则返回 true
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 获取树的高度，空树为 0，只有一个叶子节点时为 1
+     *
+     * @return 树的高度
+     */
+    public int height() {
+        return height;
+    }
+
+    /**
+     * 获取已经分配的页数量，包括元数据页
+     *
+     * @return 页数量
+     */
+    public long pageCount() {
+        return pageCount;
+    }
+
+    /**
+     * 获取页缓存未命中的次数，即创建页视图的次数
+     *
+     * @return 页缓存未命中的次数
+     */
+    public long cacheMisses() {
+        return cacheMisses;
+    }
+
+    /**
+     * 将指定键映射到指定值。
+     *
+     * @param key   要插入的键，不能为空
+     * @param value 要插入的值，不能为空
+     * @return 与键关联的旧值，如果没有则返回 null
+     */
+    @Override
+    public Long put(Long key, Long value) {
+        checkKey(key);
+        if (value == null) {
+            throw new IllegalArgumentException("value must not be null");
+        }
+        boolean exists = containsKey(key.longValue());
+        long oldValue = put(key.longValue(), value.longValue());
+        return exists ? oldValue : null;
+    }
+
+    /**
+     * 将指定键映射到指定值，不发生装箱。
+     * 修改在调用 {@link #commit()} 之后才会持久化。
+     *
+     * @param key   要插入的键
+     * @param value 要插入的值
+     * @return 与键关联的旧值，如果没有则返回 0
+     */
+    public long put(long key, long value) {
+        dirty = true;
+        if (root == 0) {
+            root = allocate(LEAF);
+            ByteBuffer b = page(root);
+            setEntry(b, 0, key, value);
+            setCount(b, 1);
+            height = 1;
+            size++;
+            return 0;
+        }
+
+        long[] pages = new long[height];
+        int[] slots = new int[height];
+        ByteBuffer leaf = writablePath(key, pages, slots);
+        int index = search(leaf, key);
+        if (index >= 0) {
+            long oldValue = value(leaf, index);
+            setValue(leaf, index, value);
+            return oldValue;
+        }
+        size++;
+        index = -index - 1;
+        if (count(leaf) < capacity) {
+            insertEntry(leaf, index, key, value);
+            return 0;
+        }
+
+        // 叶子节点已满，分裂后向父节点插入右边节点的第一个键
+        long right = split(leaf, index, key, value, LEAF);
+        long separator = key(page(right), 0);
+        for (int level = height - 2; level >= 0; level--) {
+            ByteBuffer parent = page(pages[level]);
+            int position = slots[level] + 1;
+            if (count(parent) < capacity) {
+                insertEntry(parent, position, separator, right);
+                return 0;
+            }
+            right = split(parent, position, separator, right, INNER);
+            separator = key(page(right), 0);
+        }
+
+        // 根节点分裂，树长高一层
+        long newRoot = allocate(INNER);
+        ByteBuffer b = page(newRoot);
+        setEntry(b, 0, 0, root);
+        setEntry(b, 1, separator, right);
+        setCount(b, 2);
+        root = newRoot;
+        height++;
+        return 0;
+    }
+
+    /**
+     * 通过键获取对应的值。
+     *
+     * @param key 要查找的键
+     * @return 对应的值，如果没有找到则返回 null
+     */
+    @Override
+    public Long get(Long key) {
+        if (key == null || !containsKey(key.longValue())) {
+            return null;
+        }
+        return get(key.longValue());
+    }
+
+    /**
+     * 通过键获取对应的值，不发生装箱。
+     *
+     * @param key 要查找的键
+     * @return 对应的值，如果没有找到则返回 0
+     */
+    public long get(long key) {
+        return getOrDefault(key, 0);
+    }
+
+    /**
+     * 通过键获取对应的值，如果键不存在则返回指定的默认值。
+     *
+     * @param key          要查找的键
+     * @param defaultValue 键不存在时返回的值
+     * @return 对应的值，如果没有找到则返回 defaultValue
+     */
+    public long getOrDefault(long key, long defaultValue) {
+        if (root == 0) {
+            return defaultValue;
+        }
+        ByteBuffer leaf = findLeaf(key);
+        int index = search(leaf, key);
+        return index >= 0 ? value(leaf, index) : defaultValue;
+    }
+
+    /**
+     * 删除指定键对应的键值对。
+     *
+     * @param key 要删除的键
+     * @return 与键关联的值，如果没有找到则返回 null
+     */
+    @Override
+    public Long remove(Long key) {
+        if (key == null || !containsKey(key.longValue())) {
+            return null;
+        }
+        return remove(key.longValue());
+    }
+
+    /**
+     * 删除指定键对应的键值对，不发生装箱。
+     * 叶子节点变空时从父节点中删除，父节点变空时继续向上删除；
+     * 根节点只剩一个子节点时，由子节点成为新的根节点。
+     *
+     * @param key 要删除的键
+     * @return 与键关联的值，如果没有找到则返回 0
+     */
+    public long remove(long key) {
+        if (!containsKey(key)) {
+            return 0;
+        }
+        dirty = true;
+        long[] pages = new long[height];
+        int[] slots = new int[height];
+        ByteBuffer leaf = writablePath(key, pages, slots);
+        int index = search(leaf, key);
+        long oldValue = value(leaf, index);
+        removeEntry(leaf, index);
+        size--;
+
+        boolean empty = count(leaf) == 0;
+        for (int level = height - 2; level >= 0 && empty; level--) {
+            ByteBuffer parent = page(pages[level]);
+            removeEntry(parent, slots[level]);
+            empty = count(parent) == 0;
+        }
+        if (empty) {
+            root = 0;
+            height = 0;
+            return oldValue;
+        }
+        while (height > 1 && count(page(root)) == 1) {
+            root = value(page(root), 0);
+            height--;
+        }
+        return oldValue;
+    }
+
+    /**
+     * 判断是否包含指定的键。
+     *
+     * @param key 要检查的键
+     * @return 如果包含该键则返回 true
+     */
+    @Override
+    public boolean containsKey(Long key) {
+        return key != null && containsKey(key.longValue());
+    }
+
+    /**
+     * 判断是否包含指定的键，不发生装箱。
+     *
+     * @param key 要检查的键
+     * @return 如果包含该键则返回 true
+     */
+    public boolean containsKey(long key) {
+        return root != 0 && search(findLeaf(key), key) >= 0;
+    }
+
+    /**
+     * 判断是否包含指定的值。
+     *
+     * @param value 要检查的值
+     * @return 如果包含该值则返回 true
+     */
+    @Override
+    public boolean containsValue(Long value) {
+        return value != null && containsValue(value.longValue());
+    }
+
+    /**
+     * 判断是否包含指定的值，需要扫描所有叶子节点，不发生装箱。
+     *
+     * @param value 要检查的值
+     * @return 如果包含该值则返回 true
+     */
+    public boolean containsValue(long value) {
+        Cursor cursor = cursor();
+        while (cursor.next()) {
+            if (cursor.value() == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 按照键从小到大的顺序遍历所有键值对。
+     * 键和值会被装箱后交给访问者，不需要装箱时使用 {@link #traversal(LongLongVisitor)}。
+     */
+    @Override
+    public void traversal(Visitor<Long, Long> visitor) {
+        if (visitor == null) {
+            return;
+        }
+        Cursor cursor = cursor();
+        while (cursor.next()) {
+            if (visitor.visit(cursor.key(), cursor.value()) || visitor.stop) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 按照键从小到大的顺序遍历所有键值对，不发生装箱。
+     *
+     * @param visitor 原始类型的访问者
+     */
+    public void traversal(LongLongVisitor visitor) {
+        if (visitor == null) {
+            return;
+        }
+        Cursor cursor = cursor();
+        while (cursor.next()) {
+            if (visitor.visit(cursor.key(), cursor.value()) || visitor.stop) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 返回按照键从小到大的顺序遍历所有键值对的迭代器
+     *
+     * @return 键值对的迭代器
+     */
+    @Override
+    public Iterator<Map.Entry<Long, Long>> iterator() {
+        Cursor cursor = cursor();
+        return new Iterator<Map.Entry<Long, Long>>() {
+            /**
+             * 游标是否已经指向下一个键值对
+             */
+            private boolean ready;
+
+            /**
+             * 游标是否还有键值对
+             */
+            private boolean hasNext;
+
+            @Override
+            public boolean hasNext() {
+                if (!ready) {
+                    hasNext = cursor.next();
+                    ready = true;
+                }
+                return hasNext;
+            }
+
+            @Override
+            public Map.Entry<Long, Long> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                ready = false;
+                return new ImmutableEntry<>(cursor.key(), cursor.value());
+            }
+        };
+    }
+
+    /**
+     * 返回遍历所有键值对的游标
+     *
+     * @return 游标
+     */
+    public Cursor cursor() {
+        return new Cursor(Long.MIN_VALUE, true, Long.MAX_VALUE, true);
+    }
+
+    /**
+     * 返回遍历 [from, to] 范围内键值对的游标，边界是否包含由参数决定。
+     * 定位只需要读取一条从根节点到叶子节点的路径。
+     *
+     * @param from          范围的起点
+     * @param fromInclusive 是否包含起点
+     * @param to            范围的终点
+     * @param toInclusive   是否包含终点
+     * @return 游标
+     */
+    public Cursor cursor(long from, boolean fromInclusive, long to, boolean toInclusive) {
+        return new Cursor(from, fromInclusive, to, toInclusive);
+    }
+
+    /**
+     * 提交自上次提交以来的所有修改。
+     * 先把数据页刷到磁盘，再写入新的元数据页并刷盘，两次刷盘之间崩溃时仍然保留上一次提交的状态。
+     * <p>
+     * 数据页是通过映射的内存写入的，FileChannel.force 不保证刷出映射内存中的修改，
+     * 所以对包含新页的每个段调用 MappedByteBuffer.force；文件变长时再调用 channel.force(true)，
+     * 保证文件长度也已经落盘，之后才写入元数据页。
+     * </p>
+     *
+     * @throws IOException 如果写入失败
+     */
+    public void commit() throws IOException {
+        if (!dirty) {
+            return;
+        }
+        // 写时复制，只有页号在 [committedPageCount, pageCount) 范围内的页被修改过
+        long firstSegment = committedPageCount / segmentPages;
+        long lastSegment = (pageCount - 1) / segmentPages;
+        for (long index = firstSegment; index <= lastSegment && index < segments.length; index++) {
+            ByteBuffer segment = segments[(int) index];
+            if (segment != null) {
+                ((MappedByteBuffer) segment).force();
+            }
+        }
+        long fileSize = channel.size();
+        if (fileSize != committedFileSize) {
+            channel.force(true);
+            committedFileSize = fileSize;
+        }
+        generation++;
+        ByteBuffer meta = metas[(int) (generation & 1)];
+        writeMeta(meta);
+        ((MappedByteBuffer) meta).force();
+        committedPageCount = pageCount;
+        dirty = false;
+    }
+
+    /**
+     * 提交修改并关闭文件。
+     * 映射的内存在 ByteBuffer 被垃圾回收时才会释放，所以关闭时丢弃对所有段和页视图的引用，
+     * 使这些映射可以被回收；关闭之后不能再使用该树。
+     *
+     * @throws IOException 如果提交或者关闭文件失败
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            commit();
+        } finally {
+            Arrays.fill(segments, null);
+            Arrays.fill(metas, null);
+            Arrays.fill(frameBuffers, null);
+            frameOf.clear();
+            usedFrames = 0;
+            file.close();
+        }
+    }
+
+    /**
+     * 获取已经映射的段的数量，即这棵树占用的文件映射数量（不包括两个元数据页）
+     *
+     * @return 已经映射的段的数量
+     */
+    int mappedSegments() {
+        int count = 0;
+        for (ByteBuffer segment : segments) {
+            if (segment != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 从根节点开始查找键所在的叶子节点，树不能为空
+     *
+     * @param key 要查找的键
+     * @return 叶子节点
+     */
+    private ByteBuffer findLeaf(long key) {
+        ByteBuffer b = page(root);
+        for (int level = 0; level < height - 1; level++) {
+            b = page(value(b, childIndex(b, key)));
+        }
+        return b;
+    }
+
+    /**
+     * 把从根节点到键所在叶子节点的路径变为可修改的，必要时复制页并更新父节点中的页号
+     *
+     * @param key   要查找的键
+     * @param pages 用于记录每一层内部节点的页号
+     * @param slots 用于记录每一层内部节点中子节点的下标
+     * @return 可修改的叶子节点
+     */
+    private ByteBuffer writablePath(long key, long[] pages, int[] slots) {
+        root = writable(root);
+        long node = root;
+        for (int level = 0; level < height - 1; level++) {
+            ByteBuffer b = page(node);
+            int slot = childIndex(b, key);
+            long child = value(b, slot);
+            long copy = writable(child);
+            if (copy != child) {
+                setValue(b, slot, copy);
+            }
+            pages[level] = node;
+            slots[level] = slot;
+            node = copy;
+        }
+        pages[height - 1] = node;
+        return page(node);
+    }
+
+    /**
+     * 如果页已经提交，把它复制到新的页
+     *
+     * @param pageNo 页号
+     * @return 可修改的页的页号
+     */
+    private long writable(long pageNo) {
+        if (pageNo >= committedPageCount) {
+            return pageNo;
+        }
+        ByteBuffer source = page(pageNo);
+        long copy = pageCount++;
+        ByteBuffer target = page(copy);
+        for (int i = 0; i < pageSize; i += 8) {
+            target.putLong(i, source.getLong(i));
+        }
+        return copy;
+    }
+
+    /**
+     * 分配一个新的节点页
+     *
+     * @param type 节点类型
+     * @return 页号
+     */
+    private long allocate(byte type) {
+        long pageNo = pageCount++;
+        ByteBuffer b = page(pageNo);
+        b.put(0, type);
+        setCount(b, 0);
+        return pageNo;
+    }
+
+    /**
+     * 分裂已满的节点并插入条目，左边保留前一半条目，右边是新分配的节点
+     *
+     * @param node     已满的节点
+     * @param index    条目插入的位置
+     * @param key      条目的键
+     * @param value    条目的值或子节点页号
+     * @param type     节点类型
+     * @return 右边节点的页号
+     */
+    private long split(ByteBuffer node, int index, long key, long value, byte type) {
+        long right = allocate(type);
+        ByteBuffer r = page(right);
+        int count = count(node);
+        int mid = count / 2;
+        for (int i = mid; i < count; i++) {
+            setEntry(r, i - mid, key(node, i), value(node, i));
+        }
+        setCount(node, mid);
+        setCount(r, count - mid);
+        if (index <= mid) {
+            insertEntry(node, index, key, value);
+        } else {
+            insertEntry(r, index - mid, key, value);
+        }
+        return right;
+    }
+
+    /**
+     * 从根节点开始自底向上逐层构建树，只在新文件上调用
+     *
+     * @param keys   有序的键
+     * @param values 值
+     * @param n      不重复的键的数量
+     */
+    private void load(long[] keys, long[] values, int n) {
+        dirty = true;
+        size = n;
+        if (n == 0) {
+            return;
+        }
+
+        int nodes = (n + capacity - 1) / capacity;
+        long[] childPages = new long[nodes];
+        long[] childKeys = new long[nodes];
+        int source = 0;
+        for (int i = 0; i < nodes; i++) {
+            int count = n / nodes + (i < n % nodes ? 1 : 0);
+            long pageNo = allocate(LEAF);
+            ByteBuffer b = page(pageNo);
+            for (int j = 0; j < count; j++) {
+                // 相邻的重复键只保留最后一个
+                while (source + 1 < keys.length && keys[source + 1] == keys[source]) {
+                    source++;
+                }
+                setEntry(b, j, keys[source], values[source]);
+                source++;
+            }
+            setCount(b, count);
+            childPages[i] = pageNo;
+            childKeys[i] = key(b, 0);
+        }
+        height = 1;
+
+        while (nodes > 1) {
+            int children = nodes;
+            nodes = (children + capacity - 1) / capacity;
+            long[] parentPages = new long[nodes];
+            long[] parentKeys = new long[nodes];
+            int child = 0;
+            for (int i = 0; i < nodes; i++) {
+                int count = children / nodes + (i < children % nodes ? 1 : 0);
+                long pageNo = allocate(INNER);
+                ByteBuffer b = page(pageNo);
+                parentPages[i] = pageNo;
+                parentKeys[i] = childKeys[child];
+                for (int j = 0; j < count; j++, child++) {
+                    setEntry(b, j, childKeys[child], childPages[child]);
+                }
+                setCount(b, count);
+            }
+            childPages = parentPages;
+            childKeys = parentKeys;
+            height++;
+        }
+        root = childPages[0];
+    }
+
+    /**
+     * 通过页缓存获取页。
+     * 未命中时在页所在的段上创建该页的视图；缓存已满时，时钟指针跳过并清除有访问标志的位置，
+     * 淘汰第一个没有访问标志的页。
+     *
+     * @param pageNo 页号
+     * @return 页的视图，字节序为小端
+     */
+    private ByteBuffer page(long pageNo) {
+        long frame = frameOf.getOrDefault(pageNo, -1);
+        if (frame >= 0) {
+            referenced[(int) frame] = true;
+            return frameBuffers[(int) frame];
+        }
+
+        cacheMisses++;
+        ByteBuffer buffer = segment((int) (pageNo / segmentPages)).duplicate();
+        int offset = (int) (pageNo % segmentPages) * pageSize;
+        buffer.limit(offset + pageSize);
+        buffer.position(offset);
+        buffer = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+        int index;
+        if (usedFrames < framePages.length) {
+            index = usedFrames++;
+        } else {
+            while (referenced[hand]) {
+                referenced[hand] = false;
+                hand = (hand + 1) % framePages.length;
+            }
+            index = hand;
+            hand = (hand + 1) % framePages.length;
+            frameOf.remove(framePages[index]);
+        }
+        framePages[index] = pageNo;
+        frameBuffers[index] = buffer;
+        referenced[index] = true;
+        frameOf.put(pageNo, index);
+        return buffer;
+    }
+
+    /**
+     * 获取段，还没有映射时映射该段，超出文件末尾时文件会自动扩展
+     *
+     * @param index 段的编号
+     * @return 段映射的内存
+     */
+    private ByteBuffer segment(int index) {
+        if (index >= segments.length) {
+            segments = Arrays.copyOf(segments, Math.max(index + 1, segments.length * 2));
+        }
+        if (segments[index] == null) {
+            long bytes = (long) segmentPages * pageSize;
+            try {
+                segments[index] = map(index * bytes, (int) bytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return segments[index];
+    }
+
+    /**
+     * 从两个元数据页中选择校验通过且版本号最大的一个，恢复树的状态
+     *
+     * @throws IOException 如果两个元数据页都无效，或者页大小不一致
+     */
+    private void readMeta() throws IOException {
+        ByteBuffer meta = null;
+        for (ByteBuffer candidate : metas) {
+            if (isValidMeta(candidate)
+                    && (meta == null || candidate.getLong(GENERATION_OFFSET) > meta.getLong(GENERATION_OFFSET))) {
+                meta = candidate;
+            }
+        }
+        if (meta == null) {
+            throw new IOException("no valid meta page");
+        }
+        if (meta.getInt(PAGE_SIZE_OFFSET) != pageSize) {
+            throw new IOException("page size mismatch: " + meta.getInt(PAGE_SIZE_OFFSET));
+        }
+        generation = meta.getLong(GENERATION_OFFSET);
+        root = meta.getLong(ROOT_OFFSET);
+        pageCount = meta.getLong(PAGE_COUNT_OFFSET);
+        size = meta.getLong(SIZE_OFFSET);
+        height = meta.getInt(HEIGHT_OFFSET);
+        if (pageCount < META_PAGES || root < 0 || root >= pageCount || size < 0 || height < 0
+                || (root == 0) != (height == 0)) {
+            throw new IOException("corrupted meta page");
+        }
+    }
+
+    /**
+     * 判断元数据页的魔数、版本和校验和是否正确
+     *
+     * @param meta 元数据页
+     * @return 如果有效返回 true
+     */
+    private static boolean isValidMeta(ByteBuffer meta) {
+        return meta.getLong(MAGIC_OFFSET) == MAGIC && meta.getInt(VERSION_OFFSET) == VERSION
+                && meta.getLong(CHECKSUM_OFFSET) == checksum(meta);
+    }
+
+    /**
+     * 把当前的状态和校验和写入元数据页
+     *
+     * @param meta 元数据页
+     */
+    private void writeMeta(ByteBuffer meta) {
+        writeMeta(meta, pageSize, generation, root, pageCount, size, height);
+    }
+
+    /**
+     * 把指定的状态和校验和写入元数据页
+     *
+     * @param meta       元数据页
+     * @param pageSize   页大小
+     * @param generation 版本号
+     * @param root       根节点页号
+     * @param pageCount  页数量
+     * @param size       键值对数量
+     * @param height     树的高度
+     */
+    private static void writeMeta(ByteBuffer meta, int pageSize, long generation, long root, long pageCount,
+            long size, int height) {
+        meta.putLong(MAGIC_OFFSET, MAGIC);
+        meta.putInt(VERSION_OFFSET, VERSION);
+        meta.putInt(PAGE_SIZE_OFFSET, pageSize);
+        meta.putLong(GENERATION_OFFSET, generation);
+        meta.putLong(ROOT_OFFSET, root);
+        meta.putLong(PAGE_COUNT_OFFSET, pageCount);
+        meta.putLong(SIZE_OFFSET, size);
+        meta.putInt(HEIGHT_OFFSET, height);
+        meta.putLong(CHECKSUM_OFFSET, checksum(meta));
+    }
+
+    /**
+     * 计算元数据中校验和之前的字节的 CRC32
+     *
+     * @param meta 元数据页
+     * @return 校验和
+     */
+    private static long checksum(ByteBuffer meta) {
+        ByteBuffer bytes = meta.duplicate();
+        bytes.position(0);
+        bytes.limit(CHECKSUM_OFFSET);
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return crc.getValue();
+    }
+
+    /**
+     * 将文件的一部分映射为可读写的内存，超出文件末尾时文件会自动扩展
+     *
+     * @param position 起始位置
+     * @param length   映射的长度
+     * @return 映射的内存，字节序为小端
+     * @throws IOException 如果映射失败
+     */
+    private ByteBuffer map(long position, int length) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_WRITE, position, length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * 在内部节点中查找键所在的子节点，即最后一个分隔键不大于 key 的子节点
+     *
+     * @param node 内部节点
+     * @param key  要查找的键
+     * @return 子节点的下标
+     */
+    private static int childIndex(ByteBuffer node, long key) {
+        int low = 1;
+        int high = count(node) - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (key(node, mid) <= key) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low - 1;
+    }
+
+    /**
+     * 在叶子节点中二分查找键
+     *
+     * @param node 叶子节点
+     * @param key  要查找的键
+     * @return 找到时返回下标；否则返回 -(插入位置) - 1
+     */
+    private static int search(ByteBuffer node, long key) {
+        int low = 0;
+        int high = count(node) - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long k = key(node, mid);
+            if (k < key) {
+                low = mid + 1;
+            } else if (k > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -low - 1;
+    }
+
+    /**
+     * 在指定位置插入条目，后面的条目依次后移
+     *
+     * @param node  节点
+     * @param index 插入的位置
+     * @param key   键
+     * @param value 值或子节点页号
+     */
+    private static void insertEntry(ByteBuffer node, int index, long key, long value) {
+        int count = count(node);
+        for (int i = count; i > index; i--) {
+            setEntry(node, i, key(node, i - 1), value(node, i - 1));
+        }
+        setEntry(node, index, key, value);
+        setCount(node, count + 1);
+    }
+
+    /**
+     * 删除指定位置的条目，后面的条目依次前移
+     *
+     * @param node  节点
+     * @param index 删除的位置
+     */
+    private static void removeEntry(ByteBuffer node, int index) {
+        int count = count(node);
+        for (int i = index + 1; i < count; i++) {
+            setEntry(node, i - 1, key(node, i), value(node, i));
+        }
+        setCount(node, count - 1);
+    }
+
+    /**
+     * 读取节点的条目数量
+     *
+     * @param node 节点
+     * @return 条目数量
+     */
+    private static int count(ByteBuffer node) {
+        return node.getInt(COUNT_OFFSET);
+    }
+
+    /**
+     * 写入节点的条目数量
+     *
+     * @param node  节点
+     * @param count 条目数量
+     */
+    private static void setCount(ByteBuffer node, int count) {
+        node.putInt(COUNT_OFFSET, count);
+    }
+
+    /**
+     * 读取条目的键
+     *
+     * @param node  节点
+     * @param index 条目下标
+     * @return 键
+     */
+    private static long key(ByteBuffer node, int index) {
+        return node.getLong(PAGE_HEADER_SIZE + index * ENTRY_SIZE);
+    }
+
+    /**
+     * 读取条目的值或子节点页号
+     *
+     * @param node  节点
+     * @param index 条目下标
+     * @return 值或子节点页号
+     */
+    private static long value(ByteBuffer node, int index) {
+        return node.getLong(PAGE_HEADER_SIZE + index * ENTRY_SIZE + 8);
+    }
+
+    /**
+     * 写入条目的值或子节点页号
+     *
+     * @param node  节点
+     * @param index 条目下标
+     * @param value 值或子节点页号
+     */
+    private static void setValue(ByteBuffer node, int index, long value) {
+        node.putLong(PAGE_HEADER_SIZE + index * ENTRY_SIZE + 8, value);
+    }
+
+    /**
+     * 写入条目
+     *
+     * @param node  节点
+     * @param index 条目下标
+     * @param key   键
+     * @param value 值或子节点页号
+     */
+    private static void setEntry(ByteBuffer node, int index, long key, long value) {
+        int offset = PAGE_HEADER_SIZE + index * ENTRY_SIZE;
+        node.putLong(offset, key);
+        node.putLong(offset + 8, value);
+    }
+
+    /**
+     * 检查键是否为空
+     *
+     * @param key 键
+     */
+    private void checkKey(Long key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key must not be null");
+        }
+    }
+}
@@ -0,0 +1,780 @@
+package com.hxqzzxk.map;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * 键是 int、值是 long 的哈希表，槽位存放在堆外内存中，基于开放寻址法（线性探测）实现。
+ * <p>
+ * - 使用文件构造时，槽位存放在内存映射文件（MappedByteBuffer）中，数据随文件持久化，
+ * 重新启动时只需要映射文件并校验文件头，不需要重新插入每个键值对；
+ * - 不使用文件构造时，槽位存放在直接内存（ByteBuffer.allocateDirect）中；
+ * - 单个 ByteBuffer 最多 2 GB，所以槽位分段映射，每段 1 GB，总容量可以超过堆的大小；
+ * - 每个槽位占 16 字节：键（4 字节）、填充（4 字节）、值（8 字节）。
+ * </p>
+ * 与 IntIntHashMap 一样，键 0 被用作空槽的标记，键为 0 的键值对存放在文件头中，
+ * 删除时使用向后移位的方式。容量在创建时确定，不会扩容，键值对数量超过容量的 75% 时抛出异常。
+ *
+ * <pre>
+ * 文件头（64 字节）：
+ * 0  魔数（long）    8  版本（int）       12 槽位大小（int）
+ * 16 槽位数量（long）24 键值对数量（long）
+ * 32 是否存储了键 0（int）               40 键 0 对应的值（long）
+ * </pre>
+ */
+public class MappedIntLongHashMap implements Map<Integer, Long>, Closeable {
+    /**
+     * 文件头中的魔数，用于识别文件格式
+     */
+    private static final long MAGIC = 0x4D4150494E544C4EL;
+
+    /**
+     * 文件格式的版本
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * 文件头的大小
+     */
+    private static final int HEADER_SIZE = 64;
+
+    /**
+     * 每个槽位的大小
+     */
+    private static final int SLOT_SIZE = 16;
+
+    /**
+     * 每段的槽位数量的对数，每段 2^26 个槽位，即 1 GB
+     */
+    private static final int SEGMENT_SHIFT = 26;
+
+    /**
+     * 负载因子，键值对的数量超过负载因子乘以槽位数量时拒绝插入。
+     */
+    private static final double LOAD_FACTOR = 0.75;
+
+    /**
+     * 文件头中魔数的偏移量
+     */
+    private static final int MAGIC_OFFSET = 0;
+
+    /**
+     * 文件头中版本的偏移量
+     */
+    private static final int VERSION_OFFSET = 8;
+
+    /**
+     * 文件头中槽位大小的偏移量
+     */
+    private static final int SLOT_SIZE_OFFSET = 12;
+
+    /**
+     * 文件头中槽位数量的偏移量
+     */
+    private static final int CAPACITY_OFFSET = 16;
+
+    /**
+     * 文件头中键值对数量的偏移量
+     */
+    private static final int SIZE_OFFSET = 24;
+
+    /**
+     * 文件头中键 0 是否存在的标志的偏移量
+     */
+    private static final int HAS_ZERO_KEY_OFFSET = 32;
+
+    /**
+     * 文件头中键 0 对应的值的偏移量
+     */
+    private static final int ZERO_VALUE_OFFSET = 40;
+
+    /**
+     * 文件头，size 等字段每次修改都直接写入其中
+     */
+    private final ByteBuffer header;
+
+    /**
+     * 存放槽位的各段
+     */
+    private final ByteBuffer[] segments;
+
+    /**
+     * 映射的文件，使用直接内存时为 null
+     */
+    private final RandomAccessFile file;
+
+    /**
+     * 槽位数量减 1，用于将哈希值映射为槽位索引
+     */
+    private final long mask;
+
+    /**
+     * 允许的最大键值对数量（包括键 0）
+     */
+    private final long threshold;
+
+    /**
+     * 键值对的数量（包括键 0）
+     */
+    private long size;
+
+    /**
+     * 使用直接内存构造一个哈希表，进程退出后数据不会保留。
+     *
+     * @param expectedSize 预计存放的键值对数量
+     */
+    public MappedIntLongHashMap(long expectedSize) {
+        long capacity = capacityFor(expectedSize);
+        mask = capacity - 1;
+        threshold = (long) (capacity * LOAD_FACTOR);
+        file = null;
+        header = ByteBuffer.allocateDirect(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        writeHeader(capacity);
+        segments = new ByteBuffer[segmentCount(capacity)];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = ByteBuffer.allocateDirect(segmentBytes(capacity, i)).order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    /**
+     * 使用内存映射文件构造一个哈希表。
+     * 文件不存在或者为空时，按照预计的数量创建新的哈希表；
+     * 否则校验文件头并直接映射已有的数据，此时忽略 expectedSize。
+     * 映射超出文件末尾的部分会扩展文件，所以先读取并校验文件头和文件大小，校验通过之后才映射，
+     * 打开过短或者格式不符的文件时不会修改文件。
+     *
+     * @param path         文件路径
+     * @param expectedSize 预计存放的键值对数量，只在创建新文件时使用
+     * @throws IOException 如果文件无法读写，或者文件头校验失败
+     */
+    public MappedIntLongHashMap(File path, long expectedSize) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("path must not be null");
+        }
+        file = new RandomAccessFile(path, "rw");
+        try {
+            FileChannel channel = file.getChannel();
+            boolean exists = channel.size() > 0;
+            long capacity;
+            if (exists) {
+                capacity = validateHeader(readHeader(channel), channel.size());
+                header = map(channel, 0, HEADER_SIZE);
+            } else {
+                capacity = capacityFor(expectedSize);
+                // 新文件映射时会自动扩展，扩展的部分都是 0，也就是空槽
+                header = map(channel, 0, HEADER_SIZE);
+                writeHeader(capacity);
+            }
+            mask = capacity - 1;
+            threshold = (long) (capacity * LOAD_FACTOR);
+            size = header.getLong(SIZE_OFFSET);
+
+            segments = new ByteBuffer[segmentCount(capacity)];
+            for (int i = 0; i < segments.length; i++) {
+                long position = HEADER_SIZE + ((long) i << SEGMENT_SHIFT) * SLOT_SIZE;
+                segments[i] = map(channel, position, segmentBytes(capacity, i));
+            }
+        } catch (IOException | RuntimeException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 原始类型的访问者类，用于在不装箱的情况下遍历哈希表
+     */
+    public static abstract class IntLongVisitor {
+        /**
+         * 停止遍历标志
+         * 当该属性为 true 时，遍历操作应当停止
+         */
+        boolean stop;
+
+        /**
+         * 访问指定键值对
+         *
+         * @param key   键
+         * @param value 值
+         * @return 返回 true 停止遍历，返回 false 则继续遍历
+         */
+        public abstract boolean visit(int key, long value);
+    }
+
+    /**
+     * 清空哈希表中的所有键值对，逐段把槽位清零。
+     */
+    @Override
+    public void clear() {
+        for (ByteBuffer segment : segments) {
+            for (int i = 0; i < segment.capacity(); i += 8) {
+                segment.putLong(i, 0);
+            }
+        }
+        header.putInt(HAS_ZERO_KEY_OFFSET, 0);
+        header.putLong(ZERO_VALUE_OFFSET, 0);
+        setSize(0);
+    }
+
+    /**
+     * 获取哈希表中键值对的数量，超过 Integer.MAX_VALUE 时返回 Integer.MAX_VALUE。
+     *
+     * @return 哈希表中键值对的数量
+     */
+    @Override
+    public int size() {
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 获取哈希表中键值对的数量。
+     *
+     * @return 哈希表中键值对的数量
+     */
+    public long longSize() {
+        return size;
+    }
+
+    /**
+     * 获取槽位的数量。
+     *
+     * @return 槽位的数量
+     */
+    public long capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * 判断哈希表是否为空。
+     *
+     * @return 如果哈希表中没有键值对则返回 true
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 将指定键映射到指定值。
+     *
+     * @param key   要插入的键，不能为空
+     * @param value 要插入的值，不能为空
+     * @return 与键关联的旧值，如果没有则返回 null
+     */
+    @Override
+    public Long put(Integer key, Long value) {
+        checkKey(key);
+        if (value == null) {
+            throw new IllegalArgumentException("value must not be null");
+        }
+        boolean exists = containsKey(key.intValue());
+        long oldValue = put(key.intValue(), value.longValue());
+        return exists ? oldValue : null;
+    }
+
+    /**
+     * 将指定键映射到指定值，不发生装箱。
+     *
+     * @param key   要插入的键
+     * @param value 要插入的值
+     * @return 与键关联的旧值，如果没有则返回 0
+     * @throws IllegalStateException 如果键值对的数量已经达到容量上限
+     */
+    public long put(int key, long value) {
+        if (key == 0) {
+            long oldValue = 0;
+            if (header.getInt(HAS_ZERO_KEY_OFFSET) != 0) {
+                oldValue = header.getLong(ZERO_VALUE_OFFSET);
+            } else {
+                checkCapacity();
+                header.putInt(HAS_ZERO_KEY_OFFSET, 1);
+                setSize(size + 1);
+            }
+            header.putLong(ZERO_VALUE_OFFSET, value);
+            return oldValue;
+        }
+
+        long index = slot(key);
+        if (index >= 0) {
+            long oldValue = valueAt(index);
+            setValue(index, value);
+            return oldValue;
+        }
+
+        // 键不存在，插入到探测结束时遇到的空槽中
+        checkCapacity();
+        index = -index - 1;
+        setValue(index, value);
+        setKey(index, key);
+        setSize(size + 1);
+        return 0;
+    }
+
+    /**
+     * 通过键获取对应的值。
+     *
+     * @param key 要查找的键
+     * @return 对应的值，如果没有找到则返回 null
+     */
+    @Override
+    public Long get(Integer key) {
+        if (key == null || !containsKey(key.intValue())) {
+            return null;
+        }
+        return get(key.intValue());
+    }
+
+    /**
+     * 通过键获取对应的值，不发生装箱。
+     *
+     * @param key 要查找的键
+     * @return 对应的值，如果没有找到则返回 0
+     */
+    public long get(int key) {
+        return getOrDefault(key, 0);
+    }
+
+    /**
+     * 通过键获取对应的值，如果键不存在则返回指定的默认值。
+     *
+     * @param key          要查找的键
+     * @param defaultValue 键不存在时返回的值
+     * @return 对应的值，如果没有找到则返回 defaultValue
+     */
+    public long getOrDefault(int key, long defaultValue) {
+        if (key == 0) {
+            return header.getInt(HAS_ZERO_KEY_OFFSET) != 0 ? header.getLong(ZERO_VALUE_OFFSET) : defaultValue;
+        }
+        long index = slot(key);
+        return index >= 0 ? valueAt(index) : defaultValue;
+    }
+
+    /**
+     * 删除指定键对应的键值对。
+     *
+     * @param key 要删除的键
+     * @return 与键关联的值，如果没有找到则返回 null
+     */
+    @Override
+    public Long remove(Integer key) {
+        if (key == null || !containsKey(key.intValue())) {
+            return null;
+        }
+        return remove(key.intValue());
+    }
+
+    /**
+     * 删除指定键对应的键值对，不发生装箱。
+     *
+     * @param key 要删除的键
+     * @return 与键关联的值，如果没有找到则返回 0
+     */
+    public long remove(int key) {
+        if (key == 0) {
+            if (header.getInt(HAS_ZERO_KEY_OFFSET) == 0) {
+                return 0;
+            }
+            long oldValue = header.getLong(ZERO_VALUE_OFFSET);
+            header.putInt(HAS_ZERO_KEY_OFFSET, 0);
+            header.putLong(ZERO_VALUE_OFFSET, 0);
+            setSize(size - 1);
+            return oldValue;
+        }
+
+        long index = slot(key);
+        if (index < 0) {
+            return 0;
+        }
+        long oldValue = valueAt(index);
+        shiftKeys(index);
+        setSize(size - 1);
+        return oldValue;
+    }
+
+    /**
+     * 判断哈希表是否包含指定的键。
+     *
+     * @param key 要检查的键
+     * @return 如果哈希表包含该键则返回 true
+     */
+    @Override
+    public boolean containsKey(Integer key) {
+        return key != null && containsKey(key.intValue());
+    }
+
+    /**
+     * 判断哈希表是否包含指定的键，不发生装箱。
+     *
+     * @param key 要检查的键
+     * @return 如果哈希表包含该键则返回 true
+     */
+    public boolean containsKey(int key) {
+        if (key == 0) {
+            return header.getInt(HAS_ZERO_KEY_OFFSET) != 0;
+        }
+        return slot(key) >= 0;
+    }
+
+    /**
+     * 判断哈希表是否包含指定的值。
+     *
+     * @param value 要检查的值
+     * @return 如果哈希表包含该值则返回 true
+     */
+    @Override
+    public boolean containsValue(Long value) {
+        return value != null && containsValue(value.longValue());
+    }
+
+    /**
+     * 判断哈希表是否包含指定的值，需要扫描所有槽位，不发生装箱。
+     *
+     * @param value 要检查的值
+     * @return 如果哈希表包含该值则返回 true
+     */
+    public boolean containsValue(long value) {
+        if (header.getInt(HAS_ZERO_KEY_OFFSET) != 0 && header.getLong(ZERO_VALUE_OFFSET) == value) {
+            return true;
+        }
+        for (long i = 0; i <= mask; i++) {
+            if (keyAt(i) != 0 && valueAt(i) == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 遍历哈希表中的所有键值对。
+     * 键和值会被装箱后交给访问者，不需要装箱时使用 {@link #traversal(IntLongVisitor)}。
+     */
+    @Override
+    public void traversal(Visitor<Integer, Long> visitor) {
+        if (size == 0 || visitor == null) {
+            return;
+        }
+        if (header.getInt(HAS_ZERO_KEY_OFFSET) != 0
+                && (visitor.visit(0, header.getLong(ZERO_VALUE_OFFSET)) || visitor.stop)) {
+            return;
+        }
+        for (long i = 0; i <= mask; i++) {
+            int k = keyAt(i);
+            if (k == 0) {
+                continue;
+            }
+            if (visitor.visit(k, valueAt(i)) || visitor.stop) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 遍历哈希表中的所有键值对，不发生装箱。
+     *
+     * @param visitor 原始类型的访问者
+     */
+    public void traversal(IntLongVisitor visitor) {
+        if (size == 0 || visitor == null) {
+            return;
+        }
+        if (header.getInt(HAS_ZERO_KEY_OFFSET) != 0
+                && (visitor.visit(0, header.getLong(ZERO_VALUE_OFFSET)) || visitor.stop)) {
+            return;
+        }
+        for (long i = 0; i <= mask; i++) {
+            int k = keyAt(i);
+            if (k == 0) {
+                continue;
+            }
+            if (visitor.visit(k, valueAt(i)) || visitor.stop) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 将修改过的数据写回文件，使用直接内存时不做任何事。
+     */
+    public void flush() {
+        if (file == null) {
+            return;
+        }
+        ((MappedByteBuffer) header).force();
+        for (ByteBuffer segment : segments) {
+            ((MappedByteBuffer) segment).force();
+        }
+    }
+
+    /**
+     * 将数据写回文件并关闭文件。
+     * 映射的内存在 ByteBuffer 被垃圾回收时才会释放，关闭之后不能再使用该哈希表。
+     *
+     * @throws IOException 如果关闭文件失败
+     */
+    @Override
+    public void close() throws IOException {
+        if (file == null) {
+            return;
+        }
+        flush();
+        file.close();
+    }
+
+    /**
+     * 查找键所在的槽位。
+     * 从键的理想位置开始线性探测，直到找到该键或者遇到空槽。
+     *
+     * @param key 要查找的键，不能为 0
+     * @return 找到时返回槽位索引；否则返回 -(空槽索引) - 1
+     */
+    private long slot(int key) {
+        long index = hash(key) & mask;
+        int k;
+        while ((k = keyAt(index)) != 0) {
+            if (k == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -index - 1;
+    }
+
+    /**
+     * 向后移位删除。
+     * 删除 index 处的键之后，将后续探测链上可以前移的键依次前移，
+     * 保证所有键都能从其理想位置探测到，因此不需要墓碑标记。
+     *
+     * @param index 被删除的槽位
+     */
+    private void shiftKeys(long index) {
+        long last;
+        int k;
+        while (true) {
+            last = index;
+            index = (index + 1) & mask;
+            while (true) {
+                if ((k = keyAt(index)) == 0) {
+                    setKey(last, 0);
+                    setValue(last, 0);
+                    return;
+                }
+                long ideal = hash(k) & mask;
+                // 理想位置不在 (last, index] 区间内的键，可以移动到 last
+                if (last <= index ? last >= ideal || ideal > index : last >= ideal && ideal > index) {
+                    break;
+                }
+                index = (index + 1) & mask;
+            }
+            setKey(last, k);
+            setValue(last, valueAt(index));
+        }
+    }
+
+    /**
+     * 读取槽位中的键
+     *
+     * @param index 槽位索引
+     * @return 键，0 表示空槽
+     */
+    private int keyAt(long index) {
+        return segments[(int) (index >>> SEGMENT_SHIFT)].getInt(offset(index));
+    }
+
+    /**
+     * 读取槽位中的值
+     *
+     * @param index 槽位索引
+     * @return 值
+     */
+    private long valueAt(long index) {
+        return segments[(int) (index >>> SEGMENT_SHIFT)].getLong(offset(index) + 8);
+    }
+
+    /**
+     * 写入槽位中的键
+     *
+     * @param index 槽位索引
+     * @param key   键
+     */
+    private void setKey(long index, int key) {
+        segments[(int) (index >>> SEGMENT_SHIFT)].putInt(offset(index), key);
+    }
+
+    /**
+     * 写入槽位中的值
+     *
+     * @param index 槽位索引
+     * @param value 值
+     */
+    private void setValue(long index, long value) {
+        segments[(int) (index >>> SEGMENT_SHIFT)].putLong(offset(index) + 8, value);
+    }
+
+    /**
+     * 计算槽位在所在段中的字节偏移量
+     *
+     * @param index 槽位索引
+     * @return 字节偏移量
+     */
+    private static int offset(long index) {
+        return (int) (index & ((1L << SEGMENT_SHIFT) - 1)) * SLOT_SIZE;
+    }
+
+    /**
+     * 更新键值对的数量，同时写入文件头
+     *
+     * @param newSize 新的键值对数量
+     */
+    private void setSize(long newSize) {
+        size = newSize;
+        header.putLong(SIZE_OFFSET, newSize);
+    }
+
+    /**
+     * 插入新的键之前检查是否超过容量上限
+     */
+    private void checkCapacity() {
+        if (size >= threshold) {
+            throw new IllegalStateException("map is full, capacity: " + capacity());
+        }
+    }
+
+    /**
+     * 为新建的哈希表写入文件头
+     *
+     * @param capacity 槽位数量
+     */
+    private void writeHeader(long capacity) {
+        header.putLong(MAGIC_OFFSET, MAGIC);
+        header.putInt(VERSION_OFFSET, VERSION);
+        header.putInt(SLOT_SIZE_OFFSET, SLOT_SIZE);
+        header.putLong(CAPACITY_OFFSET, capacity);
+        header.putLong(SIZE_OFFSET, 0);
+    }
+
+    /**
+     * 不通过映射读取已有文件的文件头
+     *
+     * @param channel 文件通道
+     * @return 文件头，字节序为小端
+     * @throws IOException 如果文件比文件头还短，或者读取失败
+     */
+    private static ByteBuffer readHeader(FileChannel channel) throws IOException {
+        if (channel.size() < HEADER_SIZE) {
+            throw new IOException("file is too small");
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                throw new IOException("file is too small");
+            }
+        }
+        return header;
+    }
+
+    /**
+     * 校验已有文件的文件头
+     *
+     * @param header   文件头
+     * @param fileSize 文件的大小
+     * @return 文件中的槽位数量
+     * @throws IOException 如果文件头与当前格式不符，或者文件大小与槽位数量不符
+     */
+    private static long validateHeader(ByteBuffer header, long fileSize) throws IOException {
+        if (header.getLong(MAGIC_OFFSET) != MAGIC) {
+            throw new IOException("not a mapped hash map file");
+        }
+        if (header.getInt(VERSION_OFFSET) != VERSION || header.getInt(SLOT_SIZE_OFFSET) != SLOT_SIZE) {
+            throw new IOException("unsupported file version");
+        }
+        long capacity = header.getLong(CAPACITY_OFFSET);
+        if (capacity < 2 || (capacity & (capacity - 1)) != 0) {
+            throw new IOException("corrupted capacity: " + capacity);
+        }
+        if (fileSize != HEADER_SIZE + capacity * SLOT_SIZE) {
+            throw new IOException("file size does not match capacity");
+        }
+        long storedSize = header.getLong(SIZE_OFFSET);
+        if (storedSize < 0 || storedSize > capacity) {
+            throw new IOException("corrupted size: " + storedSize);
+        }
+        return capacity;
+    }
+
+    /**
+     * 将文件的一部分映射为可读写的内存
+     *
+     * @param channel  文件通道
+     * @param position 起始位置
+     * @param length   映射的长度
+     * @return 映射的内存，字节序为小端
+     * @throws IOException 如果映射失败
+     */
+    private static ByteBuffer map(FileChannel channel, long position, int length) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_WRITE, position, length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * 计算存放指定数量的键值对需要的槽位数量，为 2 的幂
+     *
+     * @param expectedSize 预计存放的键值对数量
+     * @return 槽位数量
+     */
+    private static long capacityFor(long expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize must not be negative");
+        }
+        long n = Math.max((long) Math.ceil(expectedSize / LOAD_FACTOR), 2) - 1;
+        return Long.highestOneBit(n) << 1;
+    }
+
+    /**
+     * 计算槽位分成的段数
+     *
+     * @param capacity 槽位数量
+     * @return 段数
+     */
+    private static int segmentCount(long capacity) {
+        return (int) ((capacity + (1L << SEGMENT_SHIFT) - 1) >>> SEGMENT_SHIFT);
+    }
+
+    /**
+     * 计算第 i 段的字节数
+     *
+     * @param capacity 槽位数量
+     * @param i        段的编号
+     * @return 字节数
+     */
+    private static int segmentBytes(long capacity, int i) {
+        long slots = Math.min(capacity - ((long) i << SEGMENT_SHIFT), 1L << SEGMENT_SHIFT);
+        return (int) (slots * SLOT_SIZE);
+    }
+
+    /**
+     * 计算键的哈希值。
+     * 乘以 64 位黄金分割常数后再混合高位，槽位数量可以超过 2^32。
+     *
+     * @param key 要计算哈希值的键
+     * @return 键的哈希值
+     */
+    private static long hash(int key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    /**
+     * 检查键是否为空
+     *
+     * @param key 键
+     */
+    private void checkKey(Integer key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key must not be null");
+        }
+    }
+}
@@ -0,0 +1,794 @@
+package com.hxqzzxk.map;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * 不可变的持久化哈希表，基于 CHAMP（Compressed Hash-Array Mapped Prefix-tree）实现。
+ * <p>
+ * - 键的哈希值每 5 位作为一层的索引，每个节点最多 32 个分支，树的高度不超过 7；
+ * - 节点用两个位图分别记录哪些分支直接存放键值对（dataMap）、哪些分支指向子节点（nodeMap），
+ * 数组中只存放实际存在的分支：键值对从前往后存放，子节点从后往前存放；
+ * - plus 和 minus 不修改当前版本，只复制从根节点到目标分支路径上的节点（O(log32 n)），
+ * 其余的节点在新旧版本之间共享；
+ * - 所有字段都是 final 的，节点创建之后不再修改，所以任意一个版本都可以作为快照，
+ * 不加锁地发布给其他线程读取。
+ * </p>
+ * Map 接口中会修改映射的方法（put、remove、clear）抛出 UnsupportedOperationException，
+ * 需要修改时使用 plus 和 minus 得到新的版本。与 HashMap 一样允许 null 作为键和值。
+ *
+ * @param <K> 键的类型
+ * @param <V> 值的类型
+ */
+@SuppressWarnings("unchecked")
+public final class PersistentHashMap<K, V> implements Map<K, V> {
+    /**
+     * 每一层使用的哈希值位数
+     */
+    private static final int BITS = 5;
+
+    /**
+     * 每一层哈希值的掩码
+     */
+    private static final int MASK = (1 << BITS) - 1;
+
+    /**
+     * 哈希值的位数，层的偏移量达到该值时，哈希值完全相同的键放入冲突节点
+     */
+    private static final int HASH_LENGTH = 32;
+
+    /**
+     * 查找时表示键不存在的标记，用于区分键不存在和值为 null
+     */
+    private static final Object NOT_FOUND = new Object();
+
+    /**
+     * 空映射
+     */
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(
+            new BitmapNode<>(0, 0, new Object[0]), 0);
+
+    /**
+     * 根节点
+     */
+    private final Node<K, V> root;
+
+    /**
+     * 键值对的数量
+     */
+    private final int size;
+
+    /**
+     * 构造一个版本
+     *
+     * @param root 根节点
+     * @param size 键值对的数量
+     */
+    private PersistentHashMap(Node<K, V> root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * 返回空映射，所有的空映射共享同一个实例
+     *
+     * @param <K> 键的类型
+     * @param <V> 值的类型
+     * @return 空映射
+     */
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    /**
+     * 修改操作的结果，记录键值对数量的变化和旧值
+     */
+    private static class Change {
+        /**
+         * 是否新增了键值对
+         */
+        boolean added;
+
+        /**
+         * 是否删除了键值对
+         */
+        boolean removed;
+    }
+
+    /**
+     * 返回增加或者覆盖一个键值对之后的新版本，当前版本不变
+     *
+     * @param key   要放入的键
+     * @param value 要放入的值
+     * @return 新版本，如果键已经映射到同一个值则返回当前版本
+     */
+    public PersistentHashMap<K, V> plus(K key, V value) {
+        Change change = new Change();
+        Node<K, V> newRoot = root.put(key, value, hash(key), 0, change);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentHashMap<>(newRoot, change.added ? size + 1 : size);
+    }
+
+    /**
+     * 返回删除一个键之后的新版本，当前版本不变
+     *
+     * @param key 要删除的键
+     * @return 新版本，如果键不存在则返回当前版本
+     */
+    public PersistentHashMap<K, V> minus(K key) {
+        Change change = new Change();
+        Node<K, V> newRoot = root.remove(key, hash(key), 0, change);
+        if (!change.removed) {
+            return this;
+        }
+        if (size == 1) {
+            return empty();
+        }
+        if (newRoot.arity() == 1 && newRoot.nodeArity() == 0) {
+            // 从下层提升上来的单个键值对，它在节点中的位置是按照下层的哈希值计算的，需要按照根节点的层重新放置
+            K k = newRoot.keyAt(0);
+            newRoot = new BitmapNode<>(bitpos(hash(k), 0), 0, new Object[] { k, newRoot.valueAt(0) });
+        }
+        return new PersistentHashMap<>(newRoot, size - 1);
+    }
+
+    /**
+     * 不支持，持久化映射不能被清空，使用 {@link #empty()} 获取空映射
+     */
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("PersistentHashMap is immutable, use empty()");
+    }
+
+    /**
+     * 获取键值对的数量。
+     *
+     * @return 键值对的数量
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 判断映射是否为空。
+     *
+     * @return 如果没有键值对则返回 true
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 不支持，使用 {@link #plus(Object, Object)} 得到新的版本
+     */
+    @Override
+    public V put(K key, V value) {
+        throw new UnsupportedOperationException("PersistentHashMap is immutable, use plus()");
+    }
+
+    /**
+     * 通过键获取对应的值。
+     *
+     * @param key 要查找的键
+     * @return 对应的值，如果没有找到则返回 null
+     */
+    @Override
+    public V get(K key) {
+        Object value = root.find(key, hash(key), 0);
+        return value == NOT_FOUND ? null : (V) value;
+    }
+
+    /**
+     * 不支持，使用 {@link #minus(Object)} 得到新的版本
+     */
+    @Override
+    public V remove(K key) {
+        throw new UnsupportedOperationException("PersistentHashMap is immutable, use minus()");
+    }
+
+    /**
+     * 判断映射是否包含指定的键。
+     *
+     * @param key 要检查的键
+     * @return 如果包含该键则返回 true
+     */
+    @Override
+    public boolean containsKey(K key) {
+        return root.find(key, hash(key), 0) != NOT_FOUND;
+    }
+
+    /**
+     * 判断映射是否包含指定的值，需要遍历所有键值对。
+     *
+     * @param value 要检查的值
+     * @return 如果包含该值则返回 true
+     */
+    @Override
+    public boolean containsValue(V value) {
+        for (Map.Entry<K, V> entry : this) {
+            if (Objects.equals(value, entry.getValue())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 深度优先遍历所有键值对，每个节点先访问其中的键值对，再访问子节点。
+     */
+    @Override
+    public void traversal(Visitor<K, V> visitor) {
+        if (visitor == null) {
+            return;
+        }
+        traversal(root, visitor);
+    }
+
+    /**
+     * 遍历节点及其子节点中的所有键值对
+     *
+     * @param node    当前节点
+     * @param visitor 访问者
+     * @return 如果需要停止遍历则返回 true
+     */
+    private boolean traversal(Node<K, V> node, Visitor<K, V> visitor) {
+        for (int i = 0; i < node.arity(); i++) {
+            if (visitor.visit(node.keyAt(i), node.valueAt(i)) || visitor.stop) {
+                return true;
+            }
+        }
+        for (int i = 0; i < node.nodeArity(); i++) {
+            if (traversal(node.nodeAt(i), visitor)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 返回遍历所有键值对的迭代器，使用栈记录尚未访问的子节点，不需要复制键值对。
+     *
+     * @return 键值对的迭代器
+     */
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return new Iterator<Map.Entry<K, V>>() {
+            /**
+             * 尚未访问的节点
+             */
+            private final Deque<Node<K, V>> stack = new ArrayDeque<>();
+
+            /**
+             * 当前正在访问的节点
+             */
+            private Node<K, V> current = root;
+
+            /**
+             * 当前节点中下一个要返回的键值对的索引
+             */
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                while (index >= current.arity()) {
+                    for (int i = current.nodeArity() - 1; i >= 0; i--) {
+                        stack.push(current.nodeAt(i));
+                    }
+                    if (stack.isEmpty()) {
+                        return false;
+                    }
+                    current = stack.pop();
+                    index = 0;
+                }
+                return true;
+            }
+
+            @Override
+            public Map.Entry<K, V> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int i = index++;
+                return new ImmutableEntry<>(current.keyAt(i), current.valueAt(i));
+            }
+        };
+    }
+
+    /**
+     * 计算键的哈希值，对 hashCode 进行再哈希，使高位也参与低层的索引计算
+     *
+     * @param key 键
+     * @return 哈希值
+     */
+    private static int hash(Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * 计算哈希值在指定层的分支编号
+     *
+     * @param hash  哈希值
+     * @param shift 层的偏移量
+     * @return 分支编号，取值范围为 [0, 31]
+     */
+    private static int mask(int hash, int shift) {
+        return (hash >>> shift) & MASK;
+    }
+
+    /**
+     * 计算哈希值在指定层的分支在位图中对应的位
+     *
+     * @param hash  哈希值
+     * @param shift 层的偏移量
+     * @return 只有一位为 1 的位图
+     */
+    private static int bitpos(int hash, int shift) {
+        return 1 << mask(hash, shift);
+    }
+
+    /**
+     * 创建包含两个键值对的节点，两个键的哈希值在当前层相同时继续向下一层创建子节点
+     *
+     * @param k0    第一个键
+     * @param v0    第一个值
+     * @param h0    第一个键的哈希值
+     * @param k1    第二个键
+     * @param v1    第二个值
+     * @param h1    第二个键的哈希值
+     * @param shift 层的偏移量
+     * @return 新节点
+     */
+    private static <K, V> Node<K, V> mergeTwo(K k0, V v0, int h0, K k1, V v1, int h1, int shift) {
+        if (shift >= HASH_LENGTH) {
+            return new CollisionNode<>(new Object[] { k0, k1 }, new Object[] { v0, v1 });
+        }
+        int m0 = mask(h0, shift);
+        int m1 = mask(h1, shift);
+        if (m0 != m1) {
+            int dataMap = (1 << m0) | (1 << m1);
+            // 键值对按照分支编号从小到大存放
+            Object[] content = m0 < m1 ? new Object[] { k0, v0, k1, v1 } : new Object[] { k1, v1, k0, v0 };
+            return new BitmapNode<>(dataMap, 0, content);
+        }
+        Node<K, V> sub = mergeTwo(k0, v0, h0, k1, v1, h1, shift + BITS);
+        return new BitmapNode<>(0, 1 << m0, new Object[] { sub });
+    }
+
+    /**
+     * 树的节点
+     *
+     * @param <K> 键的类型
+     * @param <V> 值的类型
+     */
+    private static abstract class Node<K, V> {
+        /**
+         * 查找键对应的值
+         *
+         * @param key   键
+         * @param hash  键的哈希值
+         * @param shift 当前层的偏移量
+         * @return 对应的值，键不存在时返回 NOT_FOUND
+         */
+        abstract Object find(K key, int hash, int shift);
+
+        /**
+         * 返回放入键值对之后的新节点
+         *
+         * @param key    键
+         * @param value  值
+         * @param hash   键的哈希值
+         * @param shift  当前层的偏移量
+         * @param change 记录是否新增了键值对
+         * @return 新节点，没有变化时返回当前节点
+         */
+        abstract Node<K, V> put(K key, V value, int hash, int shift, Change change);
+
+        /**
+         * 返回删除键之后的新节点
+         *
+         * @param key    键
+         * @param hash   键的哈希值
+         * @param shift  当前层的偏移量
+         * @param change 记录是否删除了键值对
+         * @return 新节点，没有变化时返回当前节点
+         */
+        abstract Node<K, V> remove(K key, int hash, int shift, Change change);
+
+        /**
+         * 直接存放在节点中的键值对数量
+         *
+         * @return 键值对数量
+         */
+        abstract int arity();
+
+        /**
+         * 子节点的数量
+         *
+         * @return 子节点数量
+         */
+        abstract int nodeArity();
+
+        /**
+         * 获取第 i 个键
+         *
+         * @param i 键值对的索引
+         * @return 键
+         */
+        abstract K keyAt(int i);
+
+        /**
+         * 获取第 i 个值
+         *
+         * @param i 键值对的索引
+         * @return 值
+         */
+        abstract V valueAt(int i);
+
+        /**
+         * 获取第 i 个子节点
+         *
+         * @param i 子节点的索引
+         * @return 子节点
+         */
+        abstract Node<K, V> nodeAt(int i);
+    }
+
+    /**
+     * 使用位图压缩的节点
+     *
+     * @param <K> 键的类型
+     * @param <V> 值的类型
+     */
+    private static final class BitmapNode<K, V> extends Node<K, V> {
+        /**
+         * 直接存放键值对的分支
+         */
+        private final int dataMap;
+
+        /**
+         * 指向子节点的分支
+         */
+        private final int nodeMap;
+
+        /**
+         * 键值对从前往后存放（键、值交替），子节点从后往前存放
+         */
+        private final Object[] content;
+
+        /**
+         * 构造一个节点
+         *
+         * @param dataMap 直接存放键值对的分支
+         * @param nodeMap 指向子节点的分支
+         * @param content 键值对和子节点
+         */
+        BitmapNode(int dataMap, int nodeMap, Object[] content) {
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.content = content;
+        }
+
+        @Override
+        Object find(K key, int hash, int shift) {
+            int bit = bitpos(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int index = dataIndex(bit);
+                return Objects.equals(key, keyAt(index)) ? valueAt(index) : NOT_FOUND;
+            }
+            if ((nodeMap & bit) != 0) {
+                return nodeAt(nodeIndex(bit)).find(key, hash, shift + BITS);
+            }
+            return NOT_FOUND;
+        }
+
+        @Override
+        Node<K, V> put(K key, V value, int hash, int shift, Change change) {
+            int bit = bitpos(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int index = dataIndex(bit);
+                K k0 = keyAt(index);
+                if (Objects.equals(key, k0)) {
+                    if (valueAt(index) == value) {
+                        return this;
+                    }
+                    Object[] newContent = content.clone();
+                    newContent[2 * index + 1] = value;
+                    return new BitmapNode<>(dataMap, nodeMap, newContent);
+                }
+                // 分支上已经有另外一个键，把两个键一起下沉到新的子节点中
+                change.added = true;
+                Node<K, V> sub = mergeTwo(k0, valueAt(index), PersistentHashMap.hash(k0), key, value, hash,
+                        shift + BITS);
+                return migrateToNode(bit, sub);
+            }
+            if ((nodeMap & bit) != 0) {
+                int index = nodeIndex(bit);
+                Node<K, V> sub = nodeAt(index);
+                Node<K, V> newSub = sub.put(key, value, hash, shift + BITS, change);
+                return newSub == sub ? this : setNode(index, newSub);
+            }
+            change.added = true;
+            return insertValue(bit, key, value);
+        }
+
+        @Override
+        Node<K, V> remove(K key, int hash, int shift, Change change) {
+            int bit = bitpos(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int index = dataIndex(bit);
+                if (!Objects.equals(key, keyAt(index))) {
+                    return this;
+                }
+                change.removed = true;
+                return removeValue(bit, index);
+            }
+            if ((nodeMap & bit) != 0) {
+                int index = nodeIndex(bit);
+                Node<K, V> sub = nodeAt(index);
+                Node<K, V> newSub = sub.remove(key, hash, shift + BITS, change);
+                if (newSub == sub) {
+                    return this;
+                }
+                if (newSub.arity() == 1 && newSub.nodeArity() == 0) {
+                    // 子节点只剩下一个键值对：当前节点也只有这一个子节点时，把它继续交给上一层处理，
+                    // 否则把这个键值对直接放回当前节点，保证树的形状只由键的集合决定
+                    if (arity() == 0 && nodeArity() == 1) {
+                        return newSub;
+                    }
+                    return migrateToInline(bit, newSub);
+                }
+                return setNode(index, newSub);
+            }
+            return this;
+        }
+
+        @Override
+        int arity() {
+            return Integer.bitCount(dataMap);
+        }
+
+        @Override
+        int nodeArity() {
+            return Integer.bitCount(nodeMap);
+        }
+
+        @Override
+        K keyAt(int i) {
+            return (K) content[2 * i];
+        }
+
+        @Override
+        V valueAt(int i) {
+            return (V) content[2 * i + 1];
+        }
+
+        @Override
+        Node<K, V> nodeAt(int i) {
+            return (Node<K, V>) content[content.length - 1 - i];
+        }
+
+        /**
+         * 计算分支在键值对中的索引
+         *
+         * @param bit 分支对应的位
+         * @return 键值对的索引
+         */
+        private int dataIndex(int bit) {
+            return Integer.bitCount(dataMap & (bit - 1));
+        }
+
+        /**
+         * 计算分支在子节点中的索引
+         *
+         * @param bit 分支对应的位
+         * @return 子节点的索引
+         */
+        private int nodeIndex(int bit) {
+            return Integer.bitCount(nodeMap & (bit - 1));
+        }
+
+        /**
+         * 复制节点并替换一个子节点
+         *
+         * @param index   子节点的索引
+         * @param newNode 新的子节点
+         * @return 新节点
+         */
+        private Node<K, V> setNode(int index, Node<K, V> newNode) {
+            Object[] newContent = content.clone();
+            newContent[content.length - 1 - index] = newNode;
+            return new BitmapNode<>(dataMap, nodeMap, newContent);
+        }
+
+        /**
+         * 复制节点并插入一个键值对
+         *
+         * @param bit   分支对应的位
+         * @param key   键
+         * @param value 值
+         * @return 新节点
+         */
+        private Node<K, V> insertValue(int bit, K key, V value) {
+            int offset = 2 * dataIndex(bit);
+            Object[] newContent = new Object[content.length + 2];
+            System.arraycopy(content, 0, newContent, 0, offset);
+            newContent[offset] = key;
+            newContent[offset + 1] = value;
+            System.arraycopy(content, offset, newContent, offset + 2, content.length - offset);
+            return new BitmapNode<>(dataMap | bit, nodeMap, newContent);
+        }
+
+        /**
+         * 复制节点并删除一个键值对
+         *
+         * @param bit   分支对应的位
+         * @param index 键值对的索引
+         * @return 新节点
+         */
+        private Node<K, V> removeValue(int bit, int index) {
+            int offset = 2 * index;
+            Object[] newContent = new Object[content.length - 2];
+            System.arraycopy(content, 0, newContent, 0, offset);
+            System.arraycopy(content, offset + 2, newContent, offset, content.length - offset - 2);
+            return new BitmapNode<>(dataMap ^ bit, nodeMap, newContent);
+        }
+
+        /**
+         * 复制节点，把一个键值对分支改为子节点分支
+         *
+         * @param bit 分支对应的位
+         * @param sub 新的子节点
+         * @return 新节点
+         */
+        private Node<K, V> migrateToNode(int bit, Node<K, V> sub) {
+            int oldOffset = 2 * dataIndex(bit);
+            // 子节点从后往前存放，删除键值对之后数组长度减 1，新子节点的位置按照新数组计算
+            int newOffset = content.length - 2 - nodeIndex(bit);
+            Object[] newContent = new Object[content.length - 1];
+            System.arraycopy(content, 0, newContent, 0, oldOffset);
+            System.arraycopy(content, oldOffset + 2, newContent, oldOffset, newOffset - oldOffset);
+            newContent[newOffset] = sub;
+            System.arraycopy(content, newOffset + 2, newContent, newOffset + 1, content.length - newOffset - 2);
+            return new BitmapNode<>(dataMap ^ bit, nodeMap | bit, newContent);
+        }
+
+        /**
+         * 复制节点，把一个子节点分支改为键值对分支，键值对来自只剩下一个键值对的子节点
+         *
+         * @param bit 分支对应的位
+         * @param sub 只剩下一个键值对的子节点
+         * @return 新节点
+         */
+        private Node<K, V> migrateToInline(int bit, Node<K, V> sub) {
+            int oldOffset = content.length - 1 - nodeIndex(bit);
+            int newOffset = 2 * dataIndex(bit);
+            Object[] newContent = new Object[content.length + 1];
+            System.arraycopy(content, 0, newContent, 0, newOffset);
+            newContent[newOffset] = sub.keyAt(0);
+            newContent[newOffset + 1] = sub.valueAt(0);
+            System.arraycopy(content, newOffset, newContent, newOffset + 2, oldOffset - newOffset);
+            System.arraycopy(content, oldOffset + 1, newContent, oldOffset + 2, content.length - oldOffset - 1);
+            return new BitmapNode<>(dataMap | bit, nodeMap ^ bit, newContent);
+        }
+    }
+
+    /**
+     * 哈希值完全相同的键所在的节点，线性查找
+     *
+     * @param <K> 键的类型
+     * @param <V> 值的类型
+     */
+    private static final class CollisionNode<K, V> extends Node<K, V> {
+        /**
+         * 键
+         */
+        private final Object[] keys;
+
+        /**
+         * 值，与 keys 一一对应
+         */
+        private final Object[] values;
+
+        /**
+         * 构造一个冲突节点
+         *
+         * @param keys   键
+         * @param values 值
+         */
+        CollisionNode(Object[] keys, Object[] values) {
+            this.keys = keys;
+            this.values = values;
+        }
+
+        @Override
+        Object find(K key, int hash, int shift) {
+            int index = indexOf(key);
+            return index < 0 ? NOT_FOUND : values[index];
+        }
+
+        @Override
+        Node<K, V> put(K key, V value, int hash, int shift, Change change) {
+            int index = indexOf(key);
+            if (index >= 0) {
+                if (values[index] == value) {
+                    return this;
+                }
+                Object[] newValues = values.clone();
+                newValues[index] = value;
+                return new CollisionNode<>(keys, newValues);
+            }
+            change.added = true;
+            Object[] newKeys = new Object[keys.length + 1];
+            Object[] newValues = new Object[values.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, keys.length);
+            System.arraycopy(values, 0, newValues, 0, values.length);
+            newKeys[keys.length] = key;
+            newValues[values.length] = value;
+            return new CollisionNode<>(newKeys, newValues);
+        }
+
+        @Override
+        Node<K, V> remove(K key, int hash, int shift, Change change) {
+            int index = indexOf(key);
+            if (index < 0) {
+                return this;
+            }
+            change.removed = true;
+            Object[] newKeys = new Object[keys.length - 1];
+            Object[] newValues = new Object[values.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(values, 0, newValues, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(values, index + 1, newValues, index, values.length - index - 1);
+            return new CollisionNode<>(newKeys, newValues);
+        }
+
+        @Override
+        int arity() {
+            return keys.length;
+        }
+
+        @Override
+        int nodeArity() {
+            return 0;
+        }
+
+        @Override
+        K keyAt(int i) {
+            return (K) keys[i];
+        }
+
+        @Override
+        V valueAt(int i) {
+            return (V) values[i];
+        }
+
+        @Override
+        Node<K, V> nodeAt(int i) {
+            throw new IndexOutOfBoundsException("Index:" + i + ", Size:0");
+        }
+
+        /**
+         * 查找键的索引
+         *
+         * @param key 键
+         * @return 键的索引，不存在时返回 -1
+         */
+        private int indexOf(Object key) {
+            for (int i = 0; i < keys.length; i++) {
+                if (Objects.equals(key, keys[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
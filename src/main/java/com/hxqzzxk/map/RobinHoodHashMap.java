@@ -0,0 +1,436 @@
+package com.hxqzzxk.map;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 基于 Robin Hood 开放寻址法实现的哈希表。
+ * <p>
+ * - 键、值和键的哈希值分别存放在三个数组中，不为键值对创建节点对象；
+ * - 插入时，如果当前槽位中的键离理想位置的距离（探测长度）比待插入的键短，
+ * 就让待插入的键占据这个槽位，被挤出的键继续向后探测（劫富济贫），
+ * 这样所有键的探测长度都比较接近，即使负载因子达到 0.9 探测长度也很短；
+ * - 查找时先比较缓存的哈希值，只有哈希值相同时才调用 equals，
+ * 并且当槽位中键的探测长度小于当前已探测的长度时，可以提前确定键不存在；
+ * - 删除时使用向后移位（backward shift）的方式，把后续的键依次前移一个位置，不会留下墓碑标记。
+ * </p>
+ * 与 HashMap 一样允许 null 作为键。
+ *
+ * @param <K> 键的类型
+ * @param <V> 值的类型
+ */
+@SuppressWarnings("unchecked")
+public class RobinHoodHashMap<K, V> implements Map<K, V> {
+    /**
+     * 数组的默认容量，默认为 16。
+     */
+    private static final int DEFAULT_CAPACITY = 1 << 4;
+
+    /**
+     * 负载因子，默认值为 0.9。
+     * 当元素数量超过负载因子乘以数组长度时，进行扩容。
+     */
+    private static final float DEFAULT_LOAD_FACTOR = 0.9f;
+
+    /**
+     * 缓存的哈希值的最高位总是 1，所以 0 可以表示空槽
+     */
+    private static final int OCCUPIED = 0x80000000;
+
+    /**
+     * 缓存的键的哈希值，值为 0 的位置表示空槽
+     */
+    private int[] hashes;
+
+    /**
+     * 存储键的数组，与 hashes 数组一一对应
+     */
+    private K[] keys;
+
+    /**
+     * 存储值的数组，与 hashes 数组一一对应
+     */
+    private V[] values;
+
+    /**
+     * 数组长度减 1，用于将哈希值映射为索引
+     */
+    private int mask;
+
+    /**
+     * 负载因子
+     */
+    private final float loadFactor;
+
+    /**
+     * 扩容阈值，键值对的数量超过该值时进行扩容
+     */
+    private int threshold;
+
+    /**
+     * 键值对的数量
+     */
+    private int size;
+
+    /**
+     * 默认构造函数，使用默认的容量和负载因子初始化哈希表。
+     */
+    public RobinHoodHashMap() {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * 使用指定的初始容量和负载因子初始化哈希表，容量会被调整为 2 的幂。
+     *
+     * @param initialCapacity 初始容量
+     * @param loadFactor      负载因子，取值范围为 (0, 1)
+     */
+    public RobinHoodHashMap(int initialCapacity, float loadFactor) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must not be negative");
+        }
+        if (!(loadFactor > 0 && loadFactor < 1)) {
+            throw new IllegalArgumentException("loadFactor must be between 0 and 1");
+        }
+        this.loadFactor = loadFactor;
+        allocate(tableSizeFor(initialCapacity));
+    }
+
+    /**
+     * 清空哈希表中的所有键值对。
+     */
+    @Override
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        Arrays.fill(hashes, 0);
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * 获取哈希表中键值对的数量。
+     *
+     * @return 哈希表中键值对的数量
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 判断哈希表是否为空。
+     *
+     * @return 如果哈希表中没有键值对则返回 true
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 将指定键映射到指定值。
+     *
+     * @param key   要插入的键
+     * @param value 要插入的值
+     * @return 与键关联的旧值，如果没有则返回 null
+     */
+    @Override
+    public V put(K key, V value) {
+        int hash = hash(key);
+        int index = slot(key, hash);
+        if (index >= 0) {
+            V oldValue = values[index];
+            values[index] = value;
+            return oldValue;
+        }
+
+        if (size + 1 > threshold) {
+            resize();
+        }
+        insert(hash, key, value);
+        size++;
+        return null;
+    }
+
+    /**
+     * 通过键获取对应的值。
+     *
+     * @param key 要查找的键
+     * @return 对应的值，如果没有找到则返回 null
+     */
+    @Override
+    public V get(K key) {
+        int index = slot(key, hash(key));
+        return index >= 0 ? values[index] : null;
+    }
+
+    /**
+     * 删除指定键对应的键值对。
+     *
+     * @param key 要删除的键
+     * @return 与键关联的值，如果没有找到则返回 null
+     */
+    @Override
+    public V remove(K key) {
+        int index = slot(key, hash(key));
+        if (index < 0) {
+            return null;
+        }
+        V oldValue = values[index];
+        shiftBackward(index);
+        size--;
+        return oldValue;
+    }
+
+    /**
+     * 判断哈希表是否包含指定的键。
+     *
+     * @param key 要检查的键
+     * @return 如果哈希表包含该键则返回 true
+     */
+    @Override
+    public boolean containsKey(K key) {
+        return slot(key, hash(key)) >= 0;
+    }
+
+    /**
+     * 判断哈希表是否包含指定的值。
+     *
+     * @param value 要检查的值
+     * @return 如果哈希表包含该值则返回 true
+     */
+    @Override
+    public boolean containsValue(V value) {
+        for (int i = 0; i < hashes.length; i++) {
+            if (hashes[i] != 0 && Objects.equals(value, values[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 按照槽位的顺序遍历哈希表中的所有键值对。
+     */
+    @Override
+    public void traversal(Visitor<K, V> visitor) {
+        if (size == 0 || visitor == null) {
+            return;
+        }
+        for (int i = 0; i < hashes.length; i++) {
+            if (hashes[i] == 0) {
+                continue;
+            }
+            if (visitor.visit(keys[i], values[i]) || visitor.stop) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 统计探测长度的分布。
+     * 返回数组的第 i 个元素表示探测长度为 i 的键的数量，
+     * 探测长度是键所在的槽位与理想位置的距离，0 表示键就在理想位置上。
+     *
+     * @return 探测长度的直方图，数组长度为最大探测长度加 1
+     */
+    public int[] probeHistogram() {
+        int[] histogram = new int[maxProbeLength() + 1];
+        for (int i = 0; i < hashes.length; i++) {
+            if (hashes[i] != 0) {
+                histogram[probeLength(hashes[i], i)]++;
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * 获取所有键中最大的探测长度。
+     *
+     * @return 最大探测长度，哈希表为空时返回 0
+     */
+    public int maxProbeLength() {
+        int max = 0;
+        for (int i = 0; i < hashes.length; i++) {
+            if (hashes[i] != 0) {
+                max = Math.max(max, probeLength(hashes[i], i));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * 获取所有键的平均探测长度。
+     *
+     * @return 平均探测长度，哈希表为空时返回 0
+     */
+    public double averageProbeLength() {
+        if (size == 0) {
+            return 0;
+        }
+        long total = 0;
+        for (int i = 0; i < hashes.length; i++) {
+            if (hashes[i] != 0) {
+                total += probeLength(hashes[i], i);
+            }
+        }
+        return (double) total / size;
+    }
+
+    /**
+     * 获取数组的容量。
+     *
+     * @return 数组的容量
+     */
+    public int capacity() {
+        return hashes.length;
+    }
+
+    /**
+     * 查找键所在的槽位。
+     * 从键的理想位置开始探测，遇到空槽，或者遇到探测长度比当前已探测长度短的键时，
+     * 说明键不存在（如果存在，插入时它会把那个键挤走）。
+     *
+     * @param key  要查找的键
+     * @param hash 键的哈希值
+     * @return 找到时返回槽位索引；否则返回 -1
+     */
+    private int slot(Object key, int hash) {
+        int index = hash & mask;
+        for (int distance = 0; ; distance++) {
+            int h = hashes[index];
+            if (h == 0 || probeLength(h, index) < distance) {
+                return -1;
+            }
+            if (h == hash && Objects.equals(key, keys[index])) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * 插入一个不存在的键。
+     * 遇到探测长度比自己短的键时交换位置，被挤出的键继续向后探测，直到遇到空槽。
+     *
+     * @param hash  键的哈希值
+     * @param key   要插入的键
+     * @param value 要插入的值
+     */
+    private void insert(int hash, K key, V value) {
+        int index = hash & mask;
+        int distance = 0;
+        while (true) {
+            int h = hashes[index];
+            if (h == 0) {
+                hashes[index] = hash;
+                keys[index] = key;
+                values[index] = value;
+                return;
+            }
+            int existing = probeLength(h, index);
+            if (existing < distance) {
+                // 当前槽位的键离理想位置更近，把它挤出去，由它继续向后探测
+                K k = keys[index];
+                V v = values[index];
+                hashes[index] = hash;
+                keys[index] = key;
+                values[index] = value;
+                hash = h;
+                key = k;
+                value = v;
+                distance = existing;
+            }
+            index = (index + 1) & mask;
+            distance++;
+        }
+    }
+
+    /**
+     * 向后移位删除。
+     * 删除 index 处的键之后，将后续不在理想位置上的键依次前移一个位置，
+     * 直到遇到空槽或者在理想位置上的键，因此不需要墓碑标记。
+     *
+     * @param index 被删除的槽位
+     */
+    private void shiftBackward(int index) {
+        int next = (index + 1) & mask;
+        int h;
+        while ((h = hashes[next]) != 0 && probeLength(h, next) > 0) {
+            hashes[index] = h;
+            keys[index] = keys[next];
+            values[index] = values[next];
+            index = next;
+            next = (next + 1) & mask;
+        }
+        hashes[index] = 0;
+        keys[index] = null;
+        values[index] = null;
+    }
+
+    /**
+     * 扩容方法，创建一个两倍大小的数组，并将原有的键值对重新插入。
+     */
+    private void resize() {
+        int[] oldHashes = hashes;
+        K[] oldKeys = keys;
+        V[] oldValues = values;
+        allocate(oldHashes.length << 1);
+        for (int i = 0; i < oldHashes.length; i++) {
+            if (oldHashes[i] != 0) {
+                insert(oldHashes[i], oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    /**
+     * 分配指定容量的数组，并更新掩码和扩容阈值。
+     *
+     * @param capacity 数组容量，必须是 2 的幂
+     */
+    private void allocate(int capacity) {
+        hashes = new int[capacity];
+        keys = (K[]) new Object[capacity];
+        values = (V[]) new Object[capacity];
+        mask = capacity - 1;
+        // 至少留出一个空槽，保证探测一定能结束
+        threshold = Math.min((int) (capacity * loadFactor), capacity - 1);
+    }
+
+    /**
+     * 计算 index 处的键的探测长度，即与理想位置的距离
+     *
+     * @param hash  键的哈希值
+     * @param index 键所在的槽位
+     * @return 探测长度
+     */
+    private int probeLength(int hash, int index) {
+        return (index - (hash & mask)) & mask;
+    }
+
+    /**
+     * 返回不小于指定容量的 2 的幂，最小为 2。
+     *
+     * @param capacity 期望的容量
+     * @return 调整后的容量
+     */
+    private static int tableSizeFor(int capacity) {
+        int n = Math.max(capacity, 2) - 1;
+        return Integer.highestOneBit(n) << 1;
+    }
+
+    /**
+     * 计算键的哈希值。
+     * 对 hashCode 进行再哈希，使低位也能均匀分布，并把最高位置为 1 以便和空槽区分。
+     *
+     * @param key 要计算哈希值的键
+     * @return 键的哈希值，不会为 0
+     */
+    private static int hash(Object key) {
+        int h = key == null ? 0 : key.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) | OCCUPIED;
+    }
+}
@@ -0,0 +1,454 @@
+package com.hxqzzxk.map;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 仿照 Swiss Table 布局实现的哈希表，适合读多写少的查找表。
+ * <p>
+ * - 槽位每 8 个分为一组，每个槽位对应一个控制字节，一组的 8 个控制字节正好存放在一个 long 中；
+ * - 控制字节为 EMPTY（空槽）、DELETED（墓碑）或者键的哈希值的低 7 位（h2）；
+ * - 键的哈希值的其余位（h1）决定从哪一组开始探测，组与组之间使用三角数序列探测；
+ * - 查找时用 SWAR（SIMD Within A Register）位运算一次比较一组 8 个控制字节，
+ * 只有控制字节与 h2 相同的槽位才需要比较键，组内存在空槽时探测结束。
+ * </p>
+ * 与 HashMap 沿着红黑树逐个节点比较键相比，一次 get 通常只访问一个 long 和一两个键，
+ * 缓存未命中的次数更少。与 HashMap 一样允许 null 作为键。
+ *
+ * @param <K> 键的类型
+ * @param <V> 值的类型
+ */
+@SuppressWarnings("unchecked")
+public class SwissTableHashMap<K, V> implements Map<K, V> {
+    /**
+     * 每组的槽位数量
+     */
+    private static final int GROUP_SIZE = 8;
+
+    /**
+     * 默认的组数
+     */
+    private static final int DEFAULT_GROUPS = 2;
+
+    /**
+     * 空槽的控制字节
+     */
+    private static final int EMPTY = 0x80;
+
+    /**
+     * 墓碑的控制字节，表示该槽位的键已经被删除，探测时不能在此停止
+     */
+    private static final int DELETED = 0xFE;
+
+    /**
+     * 每个字节都是 0x01 的 long，乘以一个字节的值就能把它复制到 8 个字节中
+     */
+    private static final long LSB = 0x0101010101010101L;
+
+    /**
+     * 每个字节都是 0x80 的 long，用于取出每个字节的最高位
+     */
+    private static final long MSB = 0x8080808080808080L;
+
+    /**
+     * 一组控制字节全部为 EMPTY 时的值
+     */
+    private static final long EMPTY_GROUP = LSB * EMPTY;
+
+    /**
+     * 控制字节数组，每个 long 存放一组 8 个槽位的控制字节，低字节对应组内的第一个槽位
+     */
+    private long[] controls;
+
+    /**
+     * 存储键的数组
+     */
+    private K[] keys;
+
+    /**
+     * 存储值的数组
+     */
+    private V[] values;
+
+    /**
+     * 组数减 1，用于将哈希值映射为组的索引
+     */
+    private int groupMask;
+
+    /**
+     * 键值对的数量
+     */
+    private int size;
+
+    /**
+     * 在需要重新哈希之前还能占用的空槽数量，墓碑也会占用这个额度
+     */
+    private int growthLeft;
+
+    /**
+     * 默认构造函数，使用默认的容量初始化哈希表。
+     */
+    public SwissTableHashMap() {
+        allocate(DEFAULT_GROUPS);
+    }
+
+    /**
+     * 使用指定的初始容量初始化哈希表。
+     *
+     * @param initialCapacity 预计存放的键值对数量
+     */
+    public SwissTableHashMap(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must not be negative");
+        }
+        int groups = DEFAULT_GROUPS;
+        while (maxLoad(groups * GROUP_SIZE) < initialCapacity) {
+            groups <<= 1;
+        }
+        allocate(groups);
+    }
+
+    /**
+     * 清空哈希表中的所有键值对。
+     */
+    @Override
+    public void clear() {
+        if (size == 0 && growthLeft == maxLoad(keys.length)) {
+            return;
+        }
+        Arrays.fill(controls, EMPTY_GROUP);
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null);
+        size = 0;
+        growthLeft = maxLoad(keys.length);
+    }
+
+    /**
+     * 获取哈希表中键值对的数量。
+     *
+     * @return 哈希表中键值对的数量
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 判断哈希表是否为空。
+     *
+     * @return 如果哈希表中没有键值对则返回 true
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 将指定键映射到指定值。
+     *
+     * @param key   要插入的键
+     * @param value 要插入的值
+     * @return 与键关联的旧值，如果没有则返回 null
+     */
+    @Override
+    public V put(K key, V value) {
+        int hash = hash(key);
+        int index = find(key, hash);
+        if (index >= 0) {
+            V oldValue = values[index];
+            values[index] = value;
+            return oldValue;
+        }
+
+        index = findInsertSlot(hash);
+        // 复用墓碑不消耗额度，占用空槽时额度不足则先重新哈希
+        if (controlAt(index) == EMPTY && growthLeft == 0) {
+            rehash();
+            index = findInsertSlot(hash);
+        }
+        if (controlAt(index) == EMPTY) {
+            growthLeft--;
+        }
+        setControl(index, h2(hash));
+        keys[index] = key;
+        values[index] = value;
+        size++;
+        return null;
+    }
+
+    /**
+     * 通过键获取对应的值。
+     *
+     * @param key 要查找的键
+     * @return 对应的值，如果没有找到则返回 null
+     */
+    @Override
+    public V get(K key) {
+        int index = find(key, hash(key));
+        return index >= 0 ? values[index] : null;
+    }
+
+    /**
+     * 删除指定键对应的键值对。
+     * 如果所在的组中还有空槽，说明探测不会越过这一组，直接标记为空槽；否则标记为墓碑。
+     *
+     * @param key 要删除的键
+     * @return 与键关联的值，如果没有找到则返回 null
+     */
+    @Override
+    public V remove(K key) {
+        int index = find(key, hash(key));
+        if (index < 0) {
+            return null;
+        }
+        V oldValue = values[index];
+        if (matchEmpty(controls[index >>> 3]) != 0) {
+            setControl(index, EMPTY);
+            growthLeft++;
+        } else {
+            setControl(index, DELETED);
+        }
+        keys[index] = null;
+        values[index] = null;
+        size--;
+        return oldValue;
+    }
+
+    /**
+     * 判断哈希表是否包含指定的键。
+     *
+     * @param key 要检查的键
+     * @return 如果哈希表包含该键则返回 true
+     */
+    @Override
+    public boolean containsKey(K key) {
+        return find(key, hash(key)) >= 0;
+    }
+
+    /**
+     * 判断哈希表是否包含指定的值。
+     *
+     * @param value 要检查的值
+     * @return 如果哈希表包含该值则返回 true
+     */
+    @Override
+    public boolean containsValue(V value) {
+        for (int g = 0; g < controls.length; g++) {
+            long full = ~controls[g] & MSB;
+            while (full != 0) {
+                int index = (g << 3) + (Long.numberOfTrailingZeros(full) >>> 3);
+                if (Objects.equals(value, values[index])) {
+                    return true;
+                }
+                full &= full - 1;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 按照槽位的顺序遍历哈希表中的所有键值对。
+     */
+    @Override
+    public void traversal(Visitor<K, V> visitor) {
+        if (size == 0 || visitor == null) {
+            return;
+        }
+        for (int g = 0; g < controls.length; g++) {
+            // 控制字节最高位为 0 的槽位存放着键值对
+            long full = ~controls[g] & MSB;
+            while (full != 0) {
+                int index = (g << 3) + (Long.numberOfTrailingZeros(full) >>> 3);
+                if (visitor.visit(keys[index], values[index]) || visitor.stop) {
+                    return;
+                }
+                full &= full - 1;
+            }
+        }
+    }
+
+    /**
+     * 获取槽位的数量。
+     *
+     * @return 槽位的数量
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * 查找键所在的槽位。
+     *
+     * @param key  要查找的键
+     * @param hash 键的哈希值
+     * @return 找到时返回槽位索引；否则返回 -1
+     */
+    private int find(Object key, int hash) {
+        long pattern = LSB * h2(hash);
+        int group = h1(hash) & groupMask;
+        for (int step = 1; ; step++) {
+            long control = controls[group];
+            long match = matchByte(control, pattern);
+            while (match != 0) {
+                int index = (group << 3) + (Long.numberOfTrailingZeros(match) >>> 3);
+                if (Objects.equals(key, keys[index])) {
+                    return index;
+                }
+                match &= match - 1;
+            }
+            if (matchEmpty(control) != 0) {
+                return -1;
+            }
+            // 三角数序列探测，组数是 2 的幂时能访问到每一组
+            group = (group + step) & groupMask;
+        }
+    }
+
+    /**
+     * 查找插入位置：沿着探测序列找到的第一个空槽或者墓碑。
+     *
+     * @param hash 键的哈希值
+     * @return 槽位索引
+     */
+    private int findInsertSlot(int hash) {
+        int group = h1(hash) & groupMask;
+        for (int step = 1; ; step++) {
+            long available = controls[group] & MSB;
+            if (available != 0) {
+                return (group << 3) + (Long.numberOfTrailingZeros(available) >>> 3);
+            }
+            group = (group + step) & groupMask;
+        }
+    }
+
+    /**
+     * 重新哈希：墓碑较多时以原大小重建，清除墓碑；否则扩容为两倍。
+     */
+    private void rehash() {
+        long[] oldControls = controls;
+        K[] oldKeys = keys;
+        V[] oldValues = values;
+        int groups = oldControls.length;
+        if (size >= maxLoad(oldKeys.length) / 2) {
+            groups <<= 1;
+        }
+        allocate(groups);
+        for (int g = 0; g < oldControls.length; g++) {
+            long full = ~oldControls[g] & MSB;
+            while (full != 0) {
+                int oldIndex = (g << 3) + (Long.numberOfTrailingZeros(full) >>> 3);
+                int hash = hash(oldKeys[oldIndex]);
+                int index = findInsertSlot(hash);
+                setControl(index, h2(hash));
+                keys[index] = oldKeys[oldIndex];
+                values[index] = oldValues[oldIndex];
+                full &= full - 1;
+            }
+        }
+        growthLeft -= size;
+    }
+
+    /**
+     * 分配指定组数的数组，所有槽位都是空槽。
+     *
+     * @param groups 组数，必须是 2 的幂
+     */
+    private void allocate(int groups) {
+        controls = new long[groups];
+        Arrays.fill(controls, EMPTY_GROUP);
+        keys = (K[]) new Object[groups * GROUP_SIZE];
+        values = (V[]) new Object[groups * GROUP_SIZE];
+        groupMask = groups - 1;
+        growthLeft = maxLoad(keys.length);
+    }
+
+    /**
+     * 获取槽位的控制字节
+     *
+     * @param index 槽位索引
+     * @return 控制字节
+     */
+    private int controlAt(int index) {
+        return (int) (controls[index >>> 3] >>> ((index & 7) << 3)) & 0xFF;
+    }
+
+    /**
+     * 设置槽位的控制字节
+     *
+     * @param index   槽位索引
+     * @param control 控制字节
+     */
+    private void setControl(int index, int control) {
+        int shift = (index & 7) << 3;
+        int group = index >>> 3;
+        controls[group] = (controls[group] & ~(0xFFL << shift)) | ((long) control << shift);
+    }
+
+    /**
+     * 找出一组控制字节中等于指定字节的位置。
+     * 异或之后相等的字节变为 0，再用“字节减 1 之后最高位变为 1”的技巧找出为 0 的字节。
+     * 结果可能有误报（一个为 0 的字节借位导致它上面的 0x01 字节也被标记），调用方需要再比较键。
+     *
+     * @param control 一组控制字节
+     * @param pattern 8 个字节都是待匹配字节的 long
+     * @return 匹配的字节最高位为 1，其余位为 0
+     */
+    private static long matchByte(long control, long pattern) {
+        long x = control ^ pattern;
+        return (x - LSB) & ~x & MSB;
+    }
+
+    /**
+     * 找出一组控制字节中的空槽。
+     * EMPTY（1000 0000）的最高位为 1 且第 1 位为 0，DELETED（1111 1110）的第 1 位为 1，
+     * 存放键值对的控制字节最高位为 0。
+     *
+     * @param control 一组控制字节
+     * @return 空槽对应的字节最高位为 1，其余位为 0
+     */
+    private static long matchEmpty(long control) {
+        return control & ~(control << 6) & MSB;
+    }
+
+    /**
+     * 计算槽位数量对应的最大键值对数量（负载为 7/8）
+     *
+     * @param capacity 槽位数量
+     * @return 最大键值对数量
+     */
+    private static int maxLoad(int capacity) {
+        return capacity - capacity / 8;
+    }
+
+    /**
+     * 哈希值的高 25 位，决定从哪一组开始探测
+     *
+     * @param hash 键的哈希值
+     * @return 起始组的哈希值
+     */
+    private static int h1(int hash) {
+        return hash >>> 7;
+    }
+
+    /**
+     * 哈希值的低 7 位，存放在控制字节中
+     *
+     * @param hash 键的哈希值
+     * @return 控制字节，取值范围为 [0, 127]
+     */
+    private static int h2(int hash) {
+        return hash & 0x7F;
+    }
+
+    /**
+     * 计算键的哈希值。
+     * 对 hashCode 进行再哈希，使 h1 和 h2 都能均匀分布。
+     *
+     * @param key 要计算哈希值的键
+     * @return 键的哈希值
+     */
+    private static int hash(Object key) {
+        int h = key == null ? 0 : key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -1,8 +1,14 @@
 package com.hxqzzxk.map;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 /**
  * 基于树的Map，底层使用红黑树实现
@@ -35,7 +41,7 @@ public class TreeMap<K extends Comparable, V> implements Map<K, V> {
      * @param <K> 键的类型
      * @param <V> 值的类型
      */
-    private static class Node<K, V> {
+    private static class Node<K, V> implements Map.Entry<K, V> {
         /**
          * 键值对的键
          */
@@ -123,6 +129,26 @@ public class TreeMap<K extends Comparable, V> implements Map<K, V> {
             return null;
         }
 
+        /**
+         * 获取节点的键
+         *
+         * @return 键
+         */
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        /**
+         * 获取节点的值
+         *
+         * @return 值
+         */
+        @Override
+        public V getValue() {
+            return value;
+        }
+
         /**
          * 获取节点的字符串表示
          * 
@@ -134,6 +160,85 @@ public class TreeMap<K extends Comparable, V> implements Map<K, V> {
         }
     }
 
+    /**
+     * 由按键升序排列的键值对在线性时间内构建映射，不需要比较查找插入位置，也不需要旋转和重新染色。
+     * 相邻的重复键会被合并，保留最后一个值；键不是升序时抛出异常。
+     *
+     * @param keys   升序排列的键，不能包含null
+     * @param values 与键一一对应的值
+     * @param <K>    键的类型
+     * @param <V>    值的类型
+     * @return 新的映射
+     */
+    public static <K extends Comparable, V> TreeMap<K, V> fromSorted(K[] keys, V[] values) {
+        if (keys == null || values == null) {
+            throw new IllegalArgumentException("keys and values must not be null");
+        }
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("keys and values must have the same length");
+        }
+        // 检查顺序，同时统计不重复的键的数量
+        int distinct = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == null) {
+                throw new IllegalArgumentException("key must not be null");
+            }
+            if (i > 0) {
+                int cmp = keys[i - 1].compareTo(keys[i]);
+                if (cmp > 0) {
+                    throw new IllegalArgumentException("keys must be sorted in ascending order");
+                }
+                if (cmp == 0) {
+                    continue;
+                }
+            }
+            distinct++;
+        }
+        if (distinct < keys.length) {
+            // 合并重复的键，每组相同的键只保留最后一个
+            K[] distinctKeys = (K[]) new Comparable[distinct];
+            V[] distinctValues = (V[]) new Object[distinct];
+            int j = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (i + 1 < keys.length && keys[i].compareTo(keys[i + 1]) == 0) {
+                    continue;
+                }
+                distinctKeys[j] = keys[i];
+                distinctValues[j++] = values[i];
+            }
+            keys = distinctKeys;
+            values = distinctValues;
+        }
+
+        TreeMap<K, V> map = new TreeMap<>();
+        map.root = buildFromSorted(keys, values, 0, keys.length - 1, 0, redLevel(keys.length), null);
+        map.size = keys.length;
+        return map;
+    }
+
+    /**
+     * 由按键升序排列的键值对构建映射，先把键值对读入数组，再调用 {@link #fromSorted(Comparable[], Object[])}
+     *
+     * @param entries 按键升序排列的键值对
+     * @param <K>     键的类型
+     * @param <V>     值的类型
+     * @return 新的映射
+     */
+    public static <K extends Comparable, V> TreeMap<K, V> fromSorted(
+            Iterator<? extends Map.Entry<K, V>> entries) {
+        if (entries == null) {
+            throw new IllegalArgumentException("entries must not be null");
+        }
+        List<K> keys = new ArrayList<>();
+        List<V> values = new ArrayList<>();
+        while (entries.hasNext()) {
+            Map.Entry<K, V> entry = entries.next();
+            keys.add(entry.getKey());
+            values.add(entry.getValue());
+        }
+        return fromSorted((K[]) keys.toArray(new Comparable[0]), (V[]) values.toArray());
+    }
+
     /**
      * 清空映射中的所有键值对
      */
@@ -302,6 +407,720 @@ public class TreeMap<K extends Comparable, V> implements Map<K, V> {
         traversal(root, visitor);
     }
 
+    /**
+     * 返回按照键从小到大的顺序遍历所有键值对的迭代器
+     *
+     * @return 键值对的迭代器
+     */
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return new Iterator<Map.Entry<K, V>>() {
+            /**
+             * 下一个要返回的节点
+             */
+            private Node<K, V> next = first(root);
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Map.Entry<K, V> next() {
+                Node<K, V> node = next;
+                if (node == null) {
+                    throw new NoSuchElementException();
+                }
+                next = successor(node);
+                return node;
+            }
+        };
+    }
+
+    /**
+     * 返回按照键从小到大的顺序遍历的可分割迭代器，按照子树分割，可以用于并行流：
+     * StreamSupport.stream(map.spliterator(), true)。
+     *
+     * @return 键值对的可分割迭代器
+     */
+    @Override
+    public Spliterator<Map.Entry<K, V>> spliterator() {
+        return new EntrySpliterator(first(root), null, root, size, true);
+    }
+
+    /**
+     * 红黑树的可分割迭代器，负责中序遍历中 [current, fence) 范围内的节点。
+     * <p>
+     * 这个范围由 splitRoot 为根的子树，加上子树之前最多一个节点组成。
+     * 分割时以 splitRoot 为分界：[current, splitRoot) 交给新的可分割迭代器，由 splitRoot.left 继续分割；
+     * 自己保留 [splitRoot, fence)，由 splitRoot.right 继续分割。红黑树是平衡的，所以每次分割都接近一半。
+     * 开始遍历之后不再分割。
+     * </p>
+     */
+    private class EntrySpliterator implements Spliterator<Map.Entry<K, V>> {
+        /**
+         * 下一个要遍历的节点
+         */
+        private Node<K, V> current;
+
+        /**
+         * 结束节点（不包括），为 null 时表示遍历到最后一个节点
+         */
+        private final Node<K, V> fence;
+
+        /**
+         * 用于分割的子树的根节点，为 null 时不能再分割
+         */
+        private Node<K, V> splitRoot;
+
+        /**
+         * 剩余键值对数量的估计值
+         */
+        private long estimate;
+
+        /**
+         * 估计值是否精确，只有未分割过的可分割迭代器是精确的
+         */
+        private boolean exact;
+
+        /**
+         * 构造一个可分割迭代器
+         *
+         * @param current   第一个节点
+         * @param fence     结束节点（不包括）
+         * @param splitRoot 用于分割的子树的根节点
+         * @param estimate  键值对数量的估计值
+         * @param exact     估计值是否精确
+         */
+        EntrySpliterator(Node<K, V> current, Node<K, V> fence, Node<K, V> splitRoot, long estimate,
+                boolean exact) {
+            this.current = current;
+            this.fence = fence;
+            this.splitRoot = splitRoot;
+            this.estimate = estimate;
+            this.exact = exact;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Map.Entry<K, V>> action) {
+            if (action == null) {
+                throw new IllegalArgumentException("action must not be null");
+            }
+            splitRoot = null;
+            if (current == fence) {
+                return false;
+            }
+            Node<K, V> node = current;
+            current = successor(node);
+            action.accept(node);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Map.Entry<K, V>> action) {
+            if (action == null) {
+                throw new IllegalArgumentException("action must not be null");
+            }
+            splitRoot = null;
+            Node<K, V> node = current;
+            current = fence;
+            while (node != fence) {
+                action.accept(node);
+                node = successor(node);
+            }
+        }
+
+        @Override
+        public Spliterator<Map.Entry<K, V>> trySplit() {
+            Node<K, V> s = splitRoot;
+            // splitRoot 没有左子树并且就是第一个节点时，前一半为空，改为以右子节点为分界
+            if (s != null && s == current) {
+                s = s.right;
+            }
+            if (s == null) {
+                splitRoot = null;
+                return null;
+            }
+            EntrySpliterator prefix = new EntrySpliterator(current, s, s.left, estimate >>>= 1, false);
+            current = s;
+            splitRoot = s.right;
+            exact = false;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | DISTINCT | NONNULL | (exact ? SIZED : 0);
+        }
+    }
+
+    /**
+     * 获取键最小的键值对
+     *
+     * @return 键最小的键值对，映射为空时返回null
+     */
+    public Map.Entry<K, V> firstEntry() {
+        return first(root);
+    }
+
+    /**
+     * 获取键最大的键值对
+     *
+     * @return 键最大的键值对，映射为空时返回null
+     */
+    public Map.Entry<K, V> lastEntry() {
+        return last(root);
+    }
+
+    /**
+     * 获取小于等于指定键的最大键值对
+     *
+     * @param key 要比较的键，不能为空
+     * @return 满足条件的键值对，不存在时返回null
+     */
+    public Map.Entry<K, V> floorEntry(K key) {
+        checkKey(key);
+        return floorNode(key, true);
+    }
+
+    /**
+     * 获取大于等于指定键的最小键值对
+     *
+     * @param key 要比较的键，不能为空
+     * @return 满足条件的键值对，不存在时返回null
+     */
+    public Map.Entry<K, V> ceilingEntry(K key) {
+        checkKey(key);
+        return ceilingNode(key, true);
+    }
+
+    /**
+     * 获取严格小于指定键的最大键值对
+     *
+     * @param key 要比较的键，不能为空
+     * @return 满足条件的键值对，不存在时返回null
+     */
+    public Map.Entry<K, V> lowerEntry(K key) {
+        checkKey(key);
+        return floorNode(key, false);
+    }
+
+    /**
+     * 获取严格大于指定键的最小键值对
+     *
+     * @param key 要比较的键，不能为空
+     * @return 满足条件的键值对，不存在时返回null
+     */
+    public Map.Entry<K, V> higherEntry(K key) {
+        checkKey(key);
+        return ceilingNode(key, false);
+    }
+
+    /**
+     * 获取最小的键
+     *
+     * @return 最小的键，映射为空时返回null
+     */
+    public K firstKey() {
+        return keyOf(first(root));
+    }
+
+    /**
+     * 获取最大的键
+     *
+     * @return 最大的键，映射为空时返回null
+     */
+    public K lastKey() {
+        return keyOf(last(root));
+    }
+
+    /**
+     * 获取小于等于指定键的最大键
+     *
+     * @param key 要比较的键，不能为空
+     * @return 满足条件的键，不存在时返回null
+     */
+    public K floorKey(K key) {
+        return keyOf(floorEntry(key));
+    }
+
+    /**
+     * 获取大于等于指定键的最小键
+     *
+     * @param key 要比较的键，不能为空
+     * @return 满足条件的键，不存在时返回null
+     */
+    public K ceilingKey(K key) {
+        return keyOf(ceilingEntry(key));
+    }
+
+    /**
+     * 获取严格小于指定键的最大键
+     *
+     * @param key 要比较的键，不能为空
+     * @return 满足条件的键，不存在时返回null
+     */
+    public K lowerKey(K key) {
+        return keyOf(lowerEntry(key));
+    }
+
+    /**
+     * 获取严格大于指定键的最小键
+     *
+     * @param key 要比较的键，不能为空
+     * @return 满足条件的键，不存在时返回null
+     */
+    public K higherKey(K key) {
+        return keyOf(higherEntry(key));
+    }
+
+    /**
+     * 返回键在 [fromKey, toKey] 范围内的视图，边界是否包含由参数决定。
+     * 视图不复制键值对，对视图的修改会反映到当前映射中，反之亦然。
+     * 视图的查找和迭代从范围的起点开始，代价为 O(log n + k)，k 为访问的键值对数量；
+     * 视图的 size 需要遍历范围内的键值对，代价同样为 O(log n + k)。
+     *
+     * @param fromKey       范围的起点，不能为空
+     * @param fromInclusive 是否包含起点
+     * @param toKey         范围的终点，不能为空
+     * @param toInclusive   是否包含终点
+     * @return 范围视图
+     */
+    public Map<K, V> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+        checkKey(fromKey);
+        checkKey(toKey);
+        if (compare(fromKey, toKey) > 0) {
+            throw new IllegalArgumentException("fromKey must not be greater than toKey");
+        }
+        return new SubMap(fromKey, fromInclusive, toKey, toInclusive);
+    }
+
+    /**
+     * 返回键小于（或等于）toKey 的视图
+     *
+     * @param toKey     范围的终点，不能为空
+     * @param inclusive 是否包含终点
+     * @return 范围视图
+     * @see #subMap(Comparable, boolean, Comparable, boolean)
+     */
+    public Map<K, V> headMap(K toKey, boolean inclusive) {
+        checkKey(toKey);
+        return new SubMap(null, false, toKey, inclusive);
+    }
+
+    /**
+     * 返回键大于（或等于）fromKey 的视图
+     *
+     * @param fromKey   范围的起点，不能为空
+     * @param inclusive 是否包含起点
+     * @return 范围视图
+     * @see #subMap(Comparable, boolean, Comparable, boolean)
+     */
+    public Map<K, V> tailMap(K fromKey, boolean inclusive) {
+        checkKey(fromKey);
+        return new SubMap(fromKey, inclusive, null, false);
+    }
+
+    /**
+     * 映射的范围视图，只记录范围的边界，所有操作都直接作用在红黑树上
+     */
+    private class SubMap implements Map<K, V> {
+        /**
+         * 范围的起点，为null时表示没有下界
+         */
+        private final K fromKey;
+
+        /**
+         * 是否包含起点
+         */
+        private final boolean fromInclusive;
+
+        /**
+         * 范围的终点，为null时表示没有上界
+         */
+        private final K toKey;
+
+        /**
+         * 是否包含终点
+         */
+        private final boolean toInclusive;
+
+        /**
+         * 构造一个范围视图
+         *
+         * @param fromKey       范围的起点
+         * @param fromInclusive 是否包含起点
+         * @param toKey         范围的终点
+         * @param toInclusive   是否包含终点
+         */
+        SubMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+            this.fromKey = fromKey;
+            this.fromInclusive = fromInclusive;
+            this.toKey = toKey;
+            this.toInclusive = toInclusive;
+        }
+
+        /**
+         * 删除范围内的所有键值对
+         */
+        @Override
+        public void clear() {
+            Node<K, V> node = lowestNode();
+            while (node != null) {
+                // 删除度为2的节点时，后继节点的键值对会被移动到当前节点中，所以删除之后需要重新查找
+                K key = node.key;
+                TreeMap.this.remove(node);
+                node = ceilingNode(key, false);
+                if (node != null && tooHigh(node.key)) {
+                    node = null;
+                }
+            }
+        }
+
+        /**
+         * 获取范围内键值对的数量，需要遍历范围内的所有键值对
+         *
+         * @return 键值对数量
+         */
+        @Override
+        public int size() {
+            int count = 0;
+            for (Node<K, V> node = lowestNode(); node != null; node = nextNode(node)) {
+                count++;
+            }
+            return count;
+        }
+
+        /**
+         * 判断范围内是否没有键值对
+         *
+         * @return 如果范围内没有键值对返回true
+         */
+        @Override
+        public boolean isEmpty() {
+            return lowestNode() == null;
+        }
+
+        /**
+         * 添加键值对，键必须在范围内
+         *
+         * @param key   要添加的键
+         * @param value 要添加的值
+         * @return 与键关联的旧值，如果没有则返回null
+         */
+        @Override
+        public V put(K key, V value) {
+            checkRange(key);
+            return TreeMap.this.put(key, value);
+        }
+
+        /**
+         * 获取键对应的值
+         *
+         * @param key 要查找的键
+         * @return 与键关联的值，键不在范围内或不存在时返回null
+         */
+        @Override
+        public V get(K key) {
+            return inRange(key) ? TreeMap.this.get(key) : null;
+        }
+
+        /**
+         * 删除键值对
+         *
+         * @param key 要删除的键
+         * @return 被删除的值，键不在范围内或不存在时返回null
+         */
+        @Override
+        public V remove(K key) {
+            return inRange(key) ? TreeMap.this.remove(key) : null;
+        }
+
+        /**
+         * 判断范围内是否包含指定的键
+         *
+         * @param key 要检查的键
+         * @return 如果包含该键返回true
+         */
+        @Override
+        public boolean containsKey(K key) {
+            return inRange(key) && TreeMap.this.containsKey(key);
+        }
+
+        /**
+         * 判断范围内是否包含指定的值
+         *
+         * @param value 要检查的值
+         * @return 如果包含该值返回true
+         */
+        @Override
+        public boolean containsValue(V value) {
+            for (Node<K, V> node = lowestNode(); node != null; node = nextNode(node)) {
+                if (Objects.equals(value, node.value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * 按照键从小到大的顺序遍历范围内的键值对
+         */
+        @Override
+        public void traversal(Visitor<K, V> visitor) {
+            if (visitor == null) {
+                return;
+            }
+            for (Node<K, V> node = lowestNode(); node != null; node = nextNode(node)) {
+                if (visitor.visit(node.key, node.value) || visitor.stop) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * 返回按照键从小到大的顺序遍历范围内键值对的迭代器
+         *
+         * @return 键值对的迭代器
+         */
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            return new Iterator<Map.Entry<K, V>>() {
+                /**
+                 * 下一个要返回的节点
+                 */
+                private Node<K, V> next = lowestNode();
+
+                @Override
+                public boolean hasNext() {
+                    return next != null;
+                }
+
+                @Override
+                public Map.Entry<K, V> next() {
+                    Node<K, V> node = next;
+                    if (node == null) {
+                        throw new NoSuchElementException();
+                    }
+                    next = nextNode(node);
+                    return node;
+                }
+            };
+        }
+
+        /**
+         * 获取范围内键最小的节点
+         *
+         * @return 范围内键最小的节点，范围内没有键值对时返回null
+         */
+        private Node<K, V> lowestNode() {
+            Node<K, V> node = fromKey == null ? first(root) : ceilingNode(fromKey, fromInclusive);
+            return node == null || tooHigh(node.key) ? null : node;
+        }
+
+        /**
+         * 获取范围内的后继节点
+         *
+         * @param node 当前节点
+         * @return 后继节点，超出范围时返回null
+         */
+        private Node<K, V> nextNode(Node<K, V> node) {
+            Node<K, V> next = successor(node);
+            return next == null || tooHigh(next.key) ? null : next;
+        }
+
+        /**
+         * 判断键是否小于范围的起点
+         *
+         * @param key 键
+         * @return 小于起点时返回true
+         */
+        private boolean tooLow(K key) {
+            if (fromKey == null) {
+                return false;
+            }
+            int cmp = compare(key, fromKey);
+            return cmp < 0 || (cmp == 0 && !fromInclusive);
+        }
+
+        /**
+         * 判断键是否大于范围的终点
+         *
+         * @param key 键
+         * @return 大于终点时返回true
+         */
+        private boolean tooHigh(K key) {
+            if (toKey == null) {
+                return false;
+            }
+            int cmp = compare(key, toKey);
+            return cmp > 0 || (cmp == 0 && !toInclusive);
+        }
+
+        /**
+         * 判断键是否在范围内
+         *
+         * @param key 键
+         * @return 在范围内时返回true
+         */
+        private boolean inRange(K key) {
+            return key != null && !tooLow(key) && !tooHigh(key);
+        }
+
+        /**
+         * 检查键是否在范围内
+         *
+         * @param key 键
+         */
+        private void checkRange(K key) {
+            checkKey(key);
+            if (!inRange(key)) {
+                throw new IllegalArgumentException("key out of range");
+            }
+        }
+    }
+
+    /**
+     * 查找小于（或等于）指定键的最大节点
+     *
+     * @param key       要比较的键
+     * @param inclusive 是否允许等于
+     * @return 满足条件的节点，不存在时返回null
+     */
+    private Node<K, V> floorNode(K key, boolean inclusive) {
+        Node<K, V> node = root;
+        Node<K, V> result = null;
+        while (node != null) {
+            int cmp = compare(key, node.key);
+            if (cmp == 0 && inclusive) {
+                return node;
+            }
+            if (cmp > 0) {
+                // 当前节点满足条件，继续在右子树中找更大的
+                result = node;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 查找大于（或等于）指定键的最小节点
+     *
+     * @param key       要比较的键
+     * @param inclusive 是否允许等于
+     * @return 满足条件的节点，不存在时返回null
+     */
+    private Node<K, V> ceilingNode(K key, boolean inclusive) {
+        Node<K, V> node = root;
+        Node<K, V> result = null;
+        while (node != null) {
+            int cmp = compare(key, node.key);
+            if (cmp == 0 && inclusive) {
+                return node;
+            }
+            if (cmp < 0) {
+                // 当前节点满足条件，继续在左子树中找更小的
+                result = node;
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 获取子树中最大的节点
+     *
+     * @param node 子树的根节点
+     * @return 最右边的节点，子树为空时返回 null
+     */
+    private Node<K, V> last(Node<K, V> node) {
+        if (node == null) {
+            return null;
+        }
+        while (node.right != null) {
+            node = node.right;
+        }
+        return node;
+    }
+
+    /**
+     * 获取键值对的键
+     *
+     * @param entry 键值对
+     * @return 键，键值对为null时返回null
+     */
+    private static <K> K keyOf(Map.Entry<K, ?> entry) {
+        return entry == null ? null : entry.getKey();
+    }
+
+    /**
+     * 递归构建 [lo, hi] 范围内的键值对组成的子树，中间的键值对作为子树的根节点。
+     * 这样得到的树除了最底层以外都是满的，最底层（第 redLevel 层）的节点染成红色，
+     * 其余节点都是黑色，从而满足红黑树的性质。
+     *
+     * @param keys     升序排列的不重复的键
+     * @param values   与键一一对应的值
+     * @param lo       范围的起点
+     * @param hi       范围的终点（包括）
+     * @param level    子树根节点所在的层，根节点为第 0 层
+     * @param redLevel 需要染成红色的层
+     * @param parent   子树根节点的父节点
+     * @return 子树的根节点，范围为空时返回 null
+     */
+    private static <K, V> Node<K, V> buildFromSorted(K[] keys, V[] values, int lo, int hi, int level,
+            int redLevel, Node<K, V> parent) {
+        if (lo > hi) {
+            return null;
+        }
+        int mid = (lo + hi) >>> 1;
+        Node<K, V> node = new Node<>(keys[mid], values[mid], parent);
+        node.color = level == redLevel ? RED : BLACK;
+        node.left = buildFromSorted(keys, values, lo, mid - 1, level + 1, redLevel, node);
+        node.right = buildFromSorted(keys, values, mid + 1, hi, level + 1, redLevel, node);
+        return node;
+    }
+
+    /**
+     * 计算按照中间节点划分构建 size 个节点的树时，最底层所在的层。
+     * 当树不是满二叉树时，这一层的节点数量不足，需要染成红色才能使每条路径的黑色节点数量相同。
+     *
+     * @param size 节点数量
+     * @return 最底层所在的层
+     */
+    private static int redLevel(int size) {
+        int level = 0;
+        for (int m = size - 1; m >= 0; m = m / 2 - 1) {
+            level++;
+        }
+        return level;
+    }
+
+    /**
+     * 获取子树中最小的节点
+     *
+     * @param node 子树的根节点
+     * @return 最左边的节点，子树为空时返回 null
+     */
+    private Node<K, V> first(Node<K, V> node) {
+        if (node == null) {
+            return null;
+        }
+        while (node.left != null) {
+            node = node.left;
+        }
+        return node;
+    }
+
     /**
      * 使用中序遍历访问红黑树节点
      * 通常我们期望通过TreeMap获取按顺序排列的元素
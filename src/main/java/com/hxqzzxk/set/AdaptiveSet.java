@@ -0,0 +1,291 @@
+package com.hxqzzxk.set;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * 根据元素数量自动切换存储方式的集合。
+ * <p>
+ * - 元素较少时与 ListSet 一样线性查找，但元素存放在一个紧凑的数组中，空集合不分配数组；
+ * - 元素数量超过升级阈值时，把所有元素移入 LinkedHashSet，之后查找、添加和删除都是 O(1)；
+ * - 删除之后元素数量不超过降级阈值时，重新移回数组，降级阈值小于升级阈值，
+ * 避免元素数量在阈值附近来回变化时反复切换；降级阈值为 0 时不降级。
+ * </p>
+ * 两种存储方式都按照元素添加的顺序遍历。
+ *
+ * @param <E> 集合中存储的元素类型
+ */
+public class AdaptiveSet<E> implements Set<E> {
+    /**
+     * 默认的升级阈值
+     */
+    public static final int DEFAULT_PROMOTE_THRESHOLD = 8;
+
+    /**
+     * 默认的降级阈值
+     */
+    public static final int DEFAULT_DEMOTE_THRESHOLD = 2;
+
+    /**
+     * 数组第一次分配时的容量
+     */
+    private static final int INITIAL_CAPACITY = 4;
+
+    /**
+     * 空数组，集合为空且没有添加过元素时使用
+     */
+    private static final Object[] EMPTY = {};
+
+    /**
+     * 元素数量超过该值时切换到哈希存储
+     */
+    private final int promoteThreshold;
+
+    /**
+     * 使用哈希存储时，元素数量不超过该值时切换回数组
+     */
+    private final int demoteThreshold;
+
+    /**
+     * 使用数组存储时的元素
+     */
+    private Object[] elements = EMPTY;
+
+    /**
+     * 使用数组存储时的元素数量
+     */
+    private int size;
+
+    /**
+     * 使用哈希存储时的集合，使用数组存储时为 null
+     */
+    private LinkedHashSet<E> hashSet;
+
+    /**
+     * 使用默认的阈值创建集合
+     */
+    public AdaptiveSet() {
+        this(DEFAULT_PROMOTE_THRESHOLD, DEFAULT_DEMOTE_THRESHOLD);
+    }
+
+    /**
+     * 使用指定的阈值创建集合
+     *
+     * @param promoteThreshold 元素数量超过该值时切换到哈希存储，必须为正数
+     * @param demoteThreshold  元素数量不超过该值时切换回数组，必须小于升级阈值，为 0 时不降级
+     */
+    public AdaptiveSet(int promoteThreshold, int demoteThreshold) {
+        if (promoteThreshold < 1) {
+            throw new IllegalArgumentException("promoteThreshold must be positive");
+        }
+        if (demoteThreshold < 0 || demoteThreshold >= promoteThreshold) {
+            throw new IllegalArgumentException("demoteThreshold must be in [0, promoteThreshold)");
+        }
+        this.promoteThreshold = promoteThreshold;
+        this.demoteThreshold = demoteThreshold;
+    }
+
+    /**
+     * 清空集合中的所有元素，并切换回数组存储。
+     */
+    @Override
+    public void clear() {
+        hashSet = null;
+        elements = EMPTY;
+        size = 0;
+    }
+
+    /**
+     * 获取集合中元素的数量。
+     *
+     * @return 当前集合中元素的数量
+     */
+    @Override
+    public int size() {
+        return hashSet != null ? hashSet.size() : size;
+    }
+
+    /**
+     * 判断集合是否为空。
+     *
+     * @return 如果集合没有元素则返回 true
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * 判断是否正在使用哈希存储
+     *
+     * @return 使用哈希存储时返回 true
+     */
+    public boolean isHashed() {
+        return hashSet != null;
+    }
+
+    /**
+     * 判断集合是否包含指定元素。
+     *
+     * @param element 要查找的元素
+     * @return 如果集合中存在该元素则返回 true
+     */
+    @Override
+    public boolean contains(E element) {
+        if (hashSet != null) {
+            return hashSet.contains(element);
+        }
+        return indexOf(element) >= 0;
+    }
+
+    /**
+     * 向集合中添加一个元素。
+     * 如果元素已存在，则用新元素覆盖；否则添加到末尾，元素数量超过升级阈值时切换到哈希存储。
+     *
+     * @param element 要添加的元素
+     */
+    @Override
+    public void add(E element) {
+        if (hashSet != null) {
+            hashSet.add(element);
+            return;
+        }
+        int index = indexOf(element);
+        if (index >= 0) {
+            elements[index] = element;
+            return;
+        }
+        if (size == promoteThreshold) {
+            promote();
+            hashSet.add(element);
+            return;
+        }
+        if (size == elements.length) {
+            int capacity = elements.length == 0 ? INITIAL_CAPACITY : elements.length << 1;
+            elements = Arrays.copyOf(elements, Math.min(capacity, promoteThreshold));
+        }
+        elements[size++] = element;
+    }
+
+    /**
+     * 删除集合中的指定元素。
+     * 使用哈希存储且删除之后元素数量不超过降级阈值时，切换回数组存储；降级阈值为 0 时一直使用哈希存储。
+     *
+     * @param element 要删除的元素
+     */
+    @Override
+    public void remove(E element) {
+        if (hashSet != null) {
+            hashSet.remove(element);
+            if (demoteThreshold > 0 && hashSet.size() <= demoteThreshold) {
+                demote();
+            }
+            return;
+        }
+        int index = indexOf(element);
+        if (index >= 0) {
+            System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+            elements[--size] = null;
+        }
+    }
+
+    /**
+     * 按照添加的顺序遍历集合中的所有元素。
+     *
+     * @param visitor 访问器
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void traversal(Visitor<E> visitor) {
+        if (visitor == null) {
+            return;
+        }
+        if (hashSet != null) {
+            hashSet.traversal(visitor);
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            if (visitor.visit((E) elements[i]) || visitor.stop) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 返回按照添加顺序遍历所有元素的迭代器
+     *
+     * @return 元素的迭代器
+     */
+    @Override
+    public Iterator<E> iterator() {
+        if (hashSet != null) {
+            return hashSet.iterator();
+        }
+        Object[] snapshot = elements;
+        int count = size;
+        return new Iterator<E>() {
+            /**
+             * 下一个元素的下标
+             */
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < count;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (index >= count) {
+                    throw new NoSuchElementException();
+                }
+                return (E) snapshot[index++];
+            }
+        };
+    }
+
+    /**
+     * 把数组中的元素按顺序移入哈希集合
+     */
+    @SuppressWarnings("unchecked")
+    private void promote() {
+        hashSet = new LinkedHashSet<>();
+        for (int i = 0; i < size; i++) {
+            hashSet.add((E) elements[i]);
+        }
+        elements = EMPTY;
+        size = 0;
+    }
+
+    /**
+     * 把哈希集合中的元素按顺序移回数组
+     */
+    private void demote() {
+        Object[] array = new Object[Math.max(hashSet.size(), INITIAL_CAPACITY)];
+        int n = 0;
+        for (E element : hashSet) {
+            array[n++] = element;
+        }
+        hashSet = null;
+        elements = array;
+        size = n;
+    }
+
+    /**
+     * 线性查找元素在数组中的下标
+     *
+     * @param element 要查找的元素
+     * @return 元素的下标，不存在时返回 -1
+     */
+    private int indexOf(E element) {
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(element, elements[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
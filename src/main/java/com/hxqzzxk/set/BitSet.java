@@ -0,0 +1,388 @@
+package com.hxqzzxk.set;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * 基于 long 数组的位集合，元素是非负整数。
+ * <p>
+ * - 元素 i 对应第 i / 64 个 long 的第 i % 64 位，每个元素只占 1 位，是 boolean 数组的 1/8；
+ * - 适合取值范围较小且较稠密的整数，例如图的顶点编号，取值范围大而稀疏时使用 {@link RoaringBitmap}；
+ * - 元素的数量不单独维护，需要时通过 Long.bitCount 逐字统计；
+ * - 集合之间的 and、or、xor、andNot 逐字原地进行，循环体只有一次按位运算，便于 JIT 向量化。
+ * </p>
+ * 数组在添加超出范围的元素时按需扩容，遍历按照从小到大的顺序进行。
+ */
+public class BitSet implements Set<Integer> {
+    /**
+     * 一个 long 包含的位数的对数
+     */
+    private static final int ADDRESS_BITS = 6;
+
+    /**
+     * 存放位的数组
+     */
+    private long[] words;
+
+    /**
+     * 创建一个空的位集合
+     */
+    public BitSet() {
+        this(64);
+    }
+
+    /**
+     * 创建一个能直接存放 [0, nbits) 范围内元素的位集合
+     *
+     * @param nbits 初始的位数
+     */
+    public BitSet(int nbits) {
+        if (nbits < 0) {
+            throw new IllegalArgumentException("nbits must not be negative");
+        }
+        words = new long[wordIndex(nbits - 1) + 1];
+    }
+
+    /**
+     * 清空集合中的所有元素。
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(words, 0);
+    }
+
+    /**
+     * 返回当前集合中元素的数量，等于 {@link #cardinality()}。
+     *
+     * @return 元素个数
+     */
+    @Override
+    public int size() {
+        return cardinality();
+    }
+
+    /**
+     * 逐字统计为 1 的位的数量。
+     *
+     * @return 元素个数
+     */
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * 检查集合是否为空。
+     *
+     * @return 如果集合没有元素则返回 true
+     */
+    @Override
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 判断集合中是否包含指定元素。
+     *
+     * @param element 要查找的元素
+     * @return 如果集合中存在该元素则返回 true
+     */
+    @Override
+    public boolean contains(Integer element) {
+        return element != null && contains(element.intValue());
+    }
+
+    /**
+     * 判断集合中是否包含指定元素，不发生装箱。
+     *
+     * @param element 要查找的元素，负数总是不存在
+     * @return 如果集合中存在该元素则返回 true
+     */
+    public boolean contains(int element) {
+        if (element < 0) {
+            return false;
+        }
+        int index = wordIndex(element);
+        return index < words.length && (words[index] & (1L << element)) != 0;
+    }
+
+    /**
+     * 向集合中添加一个元素。
+     *
+     * @param element 要添加的元素，不能为 null 或者负数
+     */
+    @Override
+    public void add(Integer element) {
+        if (element == null) {
+            throw new IllegalArgumentException("element must not be null");
+        }
+        add(element.intValue());
+    }
+
+    /**
+     * 向集合中添加一个元素，不发生装箱。
+     *
+     * @param element 要添加的元素，不能为负数
+     * @return 如果元素原来不在集合中返回 true
+     */
+    public boolean add(int element) {
+        if (element < 0) {
+            throw new IllegalArgumentException("element must not be negative");
+        }
+        int index = wordIndex(element);
+        ensureCapacity(index + 1);
+        long word = words[index];
+        words[index] = word | (1L << element);
+        return words[index] != word;
+    }
+
+    /**
+     * 从集合中删除指定的元素。
+     *
+     * @param element 要删除的元素
+     */
+    @Override
+    public void remove(Integer element) {
+        if (element != null) {
+            remove(element.intValue());
+        }
+    }
+
+    /**
+     * 从集合中删除指定的元素，不发生装箱。
+     *
+     * @param element 要删除的元素
+     * @return 如果元素原来在集合中返回 true
+     */
+    public boolean remove(int element) {
+        if (!contains(element)) {
+            return false;
+        }
+        words[wordIndex(element)] &= ~(1L << element);
+        return true;
+    }
+
+    /**
+     * 查找不小于 from 的第一个元素
+     *
+     * @param from 起始位置，不能为负数
+     * @return 找到的元素，不存在时返回 -1
+     */
+    public int nextSetBit(int from) {
+        if (from < 0) {
+            throw new IndexOutOfBoundsException("from < 0: " + from);
+        }
+        int index = wordIndex(from);
+        if (index >= words.length) {
+            return -1;
+        }
+        long word = words[index] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                return (index << ADDRESS_BITS) + Long.numberOfTrailingZeros(word);
+            }
+            if (++index == words.length) {
+                return -1;
+            }
+            word = words[index];
+        }
+    }
+
+    /**
+     * 查找不小于 from 的第一个不在集合中的非负整数
+     *
+     * @param from 起始位置，不能为负数
+     * @return 找到的整数
+     */
+    public int nextClearBit(int from) {
+        if (from < 0) {
+            throw new IndexOutOfBoundsException("from < 0: " + from);
+        }
+        int index = wordIndex(from);
+        if (index >= words.length) {
+            return from;
+        }
+        long word = ~words[index] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                return (index << ADDRESS_BITS) + Long.numberOfTrailingZeros(word);
+            }
+            if (++index == words.length) {
+                return index << ADDRESS_BITS;
+            }
+            word = ~words[index];
+        }
+    }
+
+    /**
+     * 原地计算交集，只保留同时在 other 中的元素
+     *
+     * @param other 另一个位集合
+     */
+    public void and(BitSet other) {
+        checkOther(other);
+        long[] w = words;
+        long[] o = other.words;
+        int n = Math.min(w.length, o.length);
+        for (int i = 0; i < n; i++) {
+            w[i] &= o[i];
+        }
+        Arrays.fill(w, n, w.length, 0);
+    }
+
+    /**
+     * 原地计算并集，加入 other 中的所有元素
+     *
+     * @param other 另一个位集合
+     */
+    public void or(BitSet other) {
+        checkOther(other);
+        ensureCapacity(other.words.length);
+        long[] w = words;
+        long[] o = other.words;
+        for (int i = 0; i < o.length; i++) {
+            w[i] |= o[i];
+        }
+    }
+
+    /**
+     * 原地计算对称差，保留只在其中一个集合中的元素
+     *
+     * @param other 另一个位集合
+     */
+    public void xor(BitSet other) {
+        checkOther(other);
+        ensureCapacity(other.words.length);
+        long[] w = words;
+        long[] o = other.words;
+        for (int i = 0; i < o.length; i++) {
+            w[i] ^= o[i];
+        }
+    }
+
+    /**
+     * 原地计算差集，删除在 other 中的元素
+     *
+     * @param other 另一个位集合
+     */
+    public void andNot(BitSet other) {
+        checkOther(other);
+        long[] w = words;
+        long[] o = other.words;
+        int n = Math.min(w.length, o.length);
+        for (int i = 0; i < n; i++) {
+            w[i] &= ~o[i];
+        }
+    }
+
+    /**
+     * 遍历集合中的所有元素，按照从小到大的顺序。
+     *
+     * @param visitor 访问器
+     */
+    @Override
+    public void traversal(Visitor<Integer> visitor) {
+        if (visitor == null) {
+            return;
+        }
+        for (int i = nextSetBit(0); i >= 0; i = i == Integer.MAX_VALUE ? -1 : nextSetBit(i + 1)) {
+            if (visitor.visit(i) || visitor.stop) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 返回按照从小到大的顺序遍历所有元素的迭代器
+     *
+     * @return 元素的迭代器
+     */
+    @Override
+    public Iterator<Integer> iterator() {
+        return intIterator();
+    }
+
+    /**
+     * 返回按照从小到大的顺序遍历所有元素的迭代器，使用 nextInt 时不发生装箱
+     *
+     * @return 元素的迭代器
+     */
+    public PrimitiveIterator.OfInt intIterator() {
+        return new PrimitiveIterator.OfInt() {
+            /**
+             * 下一个元素，-1 表示没有了
+             */
+            private int next = nextSetBit(0);
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+
+            @Override
+            public int nextInt() {
+                if (next < 0) {
+                    throw new NoSuchElementException();
+                }
+                int current = next;
+                next = current == Integer.MAX_VALUE ? -1 : nextSetBit(current + 1);
+                return current;
+            }
+        };
+    }
+
+    /**
+     * 返回按照从小到大的顺序遍历的可分割迭代器
+     *
+     * @return 元素的可分割迭代器
+     */
+    @Override
+    public Spliterator<Integer> spliterator() {
+        return Spliterators.spliterator(intIterator(), cardinality(),
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.SORTED | Spliterator.NONNULL);
+    }
+
+    /**
+     * 保证数组至少有指定数量的 long，不够时扩容为所需数量和原来两倍中的较大者
+     *
+     * @param wordsRequired 需要的 long 的数量
+     */
+    private void ensureCapacity(int wordsRequired) {
+        if (words.length < wordsRequired) {
+            words = Arrays.copyOf(words, Math.max(2 * words.length, wordsRequired));
+        }
+    }
+
+    /**
+     * 计算元素所在的 long 的下标
+     *
+     * @param bitIndex 元素
+     * @return long 的下标
+     */
+    private static int wordIndex(int bitIndex) {
+        return bitIndex >> ADDRESS_BITS;
+    }
+
+    /**
+     * 检查参与运算的集合是否为 null
+     *
+     * @param other 另一个位集合
+     */
+    private static void checkOther(BitSet other) {
+        if (other == null) {
+            throw new IllegalArgumentException("other must not be null");
+        }
+    }
+}
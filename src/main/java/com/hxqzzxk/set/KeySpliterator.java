@@ -0,0 +1,59 @@
+package com.hxqzzxk.set;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import com.hxqzzxk.map.Map;
+
+/**
+ * 将映射的键值对可分割迭代器转换为键的可分割迭代器，
+ * 用于基于映射实现的集合，分割方式与底层映射相同
+ *
+ * @param <E> 元素类型，即映射的键的类型
+ */
+class KeySpliterator<E> implements Spliterator<E> {
+    /**
+     * 底层映射的键值对可分割迭代器
+     */
+    private final Spliterator<Map.Entry<E, Object>> entries;
+
+    /**
+     * 构造一个键的可分割迭代器
+     *
+     * @param entries 底层映射的键值对可分割迭代器
+     */
+    KeySpliterator(Spliterator<Map.Entry<E, Object>> entries) {
+        this.entries = entries;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super E> action) {
+        return entries.tryAdvance(entry -> action.accept(entry.getKey()));
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super E> action) {
+        entries.forEachRemaining(entry -> action.accept(entry.getKey()));
+    }
+
+    @Override
+    public Spliterator<E> trySplit() {
+        Spliterator<Map.Entry<E, Object>> prefix = entries.trySplit();
+        return prefix == null ? null : new KeySpliterator<>(prefix);
+    }
+
+    @Override
+    public long estimateSize() {
+        return entries.estimateSize();
+    }
+
+    /**
+     * 键可以为 null，所以去掉 NONNULL 特征
+     *
+     * @return 特征值
+     */
+    @Override
+    public int characteristics() {
+        return entries.characteristics() & ~NONNULL;
+    }
+}
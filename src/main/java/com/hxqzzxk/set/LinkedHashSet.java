@@ -1,5 +1,9 @@
 package com.hxqzzxk.set;
 
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
 import com.hxqzzxk.map.LinkedHashMap;
 import com.hxqzzxk.map.Map;
 
@@ -95,4 +99,24 @@ public class LinkedHashSet<E> implements Set<E> {
             }
         });
     }
+
+    /**
+     * 返回遍历所有元素的迭代器，直接遍历底层映射的键
+     *
+     * @return 元素的迭代器
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    /**
+     * 返回可分割迭代器，分割方式与底层映射相同
+     *
+     * @return 元素的可分割迭代器
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return new KeySpliterator<>(map.spliterator());
+    }
 }
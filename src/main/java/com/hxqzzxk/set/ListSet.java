@@ -1,5 +1,7 @@
 package com.hxqzzxk.set;
 
+import java.util.Iterator;
+
 import com.hxqzzxk.list.List;
 import com.hxqzzxk.list.SingleLinkedList;
 
@@ -94,4 +96,14 @@ public class ListSet<E> implements Set<E> {
             }
         }
     }
+
+    /**
+     * 返回按照添加顺序遍历所有元素的迭代器
+     *
+     * @return 元素的迭代器
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return list.iterator();
+    }
 }
@@ -0,0 +1,1440 @@
+package com.hxqzzxk.set;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * 压缩位图（Roaring Bitmap）实现的整数集合。
+ * <p>
+ * - 每个 int 按高 16 位分块，高 16 位相同的元素放在同一个容器中，容器只保存低 16 位；
+ * - 容器有三种：元素不超过 4096 个时使用有序的 char 数组（每个元素 2 字节），
+ * 超过 4096 个时使用 1024 个 long 组成的位图（固定 8 KB），
+ * 调用 {@link #runOptimize()} 之后，连续的区间较多的容器会改为行程编码（每个区间 4 字节）；
+ * - 并集、交集、差集逐个容器进行，位图之间的运算是对 long 数组的逐字运算，
+ * 交集的元素数量可以不生成结果直接计算。
+ * </p>
+ * 为了让遍历的顺序与 Integer 的自然顺序一致，高 16 位在分块前先翻转符号位，
+ * 所以负数排在正数之前。元素不能为 null。
+ */
+public class RoaringBitmap implements Set<Integer> {
+    /**
+     * 数组容器的最大元素数量，超过时改为位图容器
+     */
+    private static final int ARRAY_MAX = 4096;
+
+    /**
+     * 位图容器中 long 的数量，共 65536 位
+     */
+    private static final int BITMAP_WORDS = 1024;
+
+    /**
+     * 各个容器的高 16 位，从小到大排列
+     */
+    private char[] keys = new char[4];
+
+    /**
+     * 与 keys 一一对应的容器
+     */
+    private Container[] containers = new Container[4];
+
+    /**
+     * 容器的数量
+     */
+    private int count;
+
+    /**
+     * 元素的数量
+     */
+    private long cardinality;
+
+    /**
+     * 清空集合中的所有元素。
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(containers, 0, count, null);
+        count = 0;
+        cardinality = 0;
+    }
+
+    /**
+     * 获取集合中元素的数量，超过 Integer.MAX_VALUE 时返回 Integer.MAX_VALUE。
+     *
+     * @return 元素的数量
+     */
+    @Override
+    public int size() {
+        return (int) Math.min(cardinality, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 获取集合中元素的数量，最多为 2^32。
+     *
+     * @return 元素的数量
+     */
+    public long cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * 检查集合是否为空。
+     *
+     * @return 如果集合没有元素则返回 true
+     */
+    @Override
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    /**
+     * 判断集合中是否包含指定元素。
+     *
+     * @param element 要查找的元素
+     * @return 如果集合中存在该元素则返回 true
+     */
+    @Override
+    public boolean contains(Integer element) {
+        return element != null && contains(element.intValue());
+    }
+
+    /**
+     * 判断集合中是否包含指定元素，不发生装箱。
+     *
+     * @param element 要查找的元素
+     * @return 如果集合中存在该元素则返回 true
+     */
+    public boolean contains(int element) {
+        int index = indexOf(high(element));
+        return index >= 0 && containers[index].contains(low(element));
+    }
+
+    /**
+     * 向集合中添加一个元素。
+     *
+     * @param element 要添加的元素，不能为 null
+     */
+    @Override
+    public void add(Integer element) {
+        if (element == null) {
+            throw new IllegalArgumentException("element must not be null");
+        }
+        add(element.intValue());
+    }
+
+    /**
+     * 向集合中添加一个元素，不发生装箱。
+     *
+     * @param element 要添加的元素
+     * @return 如果元素原来不在集合中返回 true
+     */
+    public boolean add(int element) {
+        char high = high(element);
+        int index = indexOf(high);
+        if (index < 0) {
+            ArrayContainer container = new ArrayContainer(4);
+            container.add(low(element));
+            insertContainer(-index - 1, high, container);
+            cardinality++;
+            return true;
+        }
+        Container container = containers[index];
+        int before = container.cardinality();
+        containers[index] = container.add(low(element));
+        if (containers[index].cardinality() == before) {
+            return false;
+        }
+        cardinality++;
+        return true;
+    }
+
+    /**
+     * 从集合中删除指定的元素。
+     *
+     * @param element 要删除的元素
+     */
+    @Override
+    public void remove(Integer element) {
+        if (element != null) {
+            remove(element.intValue());
+        }
+    }
+
+    /**
+     * 从集合中删除指定的元素，不发生装箱。
+     * 容器变空时删除该容器。
+     *
+     * @param element 要删除的元素
+     * @return 如果元素原来在集合中返回 true
+     */
+    public boolean remove(int element) {
+        int index = indexOf(high(element));
+        if (index < 0) {
+            return false;
+        }
+        Container container = containers[index];
+        int before = container.cardinality();
+        container = container.remove(low(element));
+        if (container.cardinality() == before) {
+            return false;
+        }
+        cardinality--;
+        if (container.cardinality() == 0) {
+            removeContainer(index);
+        } else {
+            containers[index] = container;
+        }
+        return true;
+    }
+
+    /**
+     * 按照从小到大的顺序遍历集合中的所有元素。
+     *
+     * @param visitor 访问器
+     */
+    @Override
+    public void traversal(Visitor<Integer> visitor) {
+        if (visitor == null) {
+            return;
+        }
+        for (PrimitiveIterator.OfInt it = intIterator(); it.hasNext();) {
+            if (visitor.visit(it.nextInt()) || visitor.stop) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 返回按照从小到大的顺序遍历所有元素的迭代器
+     *
+     * @return 元素的迭代器
+     */
+    @Override
+    public Iterator<Integer> iterator() {
+        return intIterator();
+    }
+
+    /**
+     * 返回按照从小到大的顺序遍历所有元素的迭代器，使用 nextInt 时不发生装箱
+     *
+     * @return 元素的迭代器
+     */
+    public PrimitiveIterator.OfInt intIterator() {
+        return new PrimitiveIterator.OfInt() {
+            /**
+             * 下一个容器的下标
+             */
+            private int index;
+
+            /**
+             * 当前容器的高 16 位，已经左移到高位并翻转了符号位
+             */
+            private int high;
+
+            /**
+             * 当前容器的迭代器
+             */
+            private PrimitiveIterator.OfInt current;
+
+            @Override
+            public boolean hasNext() {
+                while (current == null || !current.hasNext()) {
+                    if (index >= count) {
+                        return false;
+                    }
+                    high = (keys[index] << 16) ^ Integer.MIN_VALUE;
+                    current = containers[index++].iterator();
+                }
+                return true;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return high | current.nextInt();
+            }
+        };
+    }
+
+    /**
+     * 返回按照从小到大的顺序遍历的可分割迭代器
+     *
+     * @return 元素的可分割迭代器
+     */
+    @Override
+    public Spliterator<Integer> spliterator() {
+        return Spliterators.spliterator(intIterator(), cardinality,
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.SORTED | Spliterator.NONNULL);
+    }
+
+    /**
+     * 把每个容器转换为占用空间最小的表示，连续区间较多的容器会改为行程编码。
+     *
+     * @return 如果有容器改变了表示返回 true
+     */
+    public boolean runOptimize() {
+        boolean changed = false;
+        for (int i = 0; i < count; i++) {
+            Container optimized = containers[i].runOptimize();
+            if (optimized != containers[i]) {
+                containers[i] = optimized;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * 估算容器数据占用的字节数，不包括对象头
+     *
+     * @return 字节数
+     */
+    public long sizeInBytes() {
+        long bytes = keys.length * 2L + containers.length * 4L;
+        for (int i = 0; i < count; i++) {
+            bytes += containers[i].sizeInBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * 计算两个集合的并集
+     *
+     * @param a 第一个集合
+     * @param b 第二个集合
+     * @return 新的集合，包含 a 或 b 中的元素
+     */
+    public static RoaringBitmap or(RoaringBitmap a, RoaringBitmap b) {
+        checkBitmaps(a, b);
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.count && j < b.count) {
+            if (a.keys[i] < b.keys[j]) {
+                result.appendContainer(a.keys[i], a.containers[i].copy());
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                result.appendContainer(b.keys[j], b.containers[j].copy());
+                j++;
+            } else {
+                result.appendContainer(a.keys[i], or(a.containers[i], b.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        for (; i < a.count; i++) {
+            result.appendContainer(a.keys[i], a.containers[i].copy());
+        }
+        for (; j < b.count; j++) {
+            result.appendContainer(b.keys[j], b.containers[j].copy());
+        }
+        return result;
+    }
+
+    /**
+     * 计算两个集合的交集
+     *
+     * @param a 第一个集合
+     * @param b 第二个集合
+     * @return 新的集合，包含同时在 a 和 b 中的元素
+     */
+    public static RoaringBitmap and(RoaringBitmap a, RoaringBitmap b) {
+        checkBitmaps(a, b);
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.count && j < b.count) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                Container container = and(a.containers[i], b.containers[j]);
+                if (container.cardinality() > 0) {
+                    result.appendContainer(a.keys[i], container);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 计算两个集合的差集
+     *
+     * @param a 第一个集合
+     * @param b 第二个集合
+     * @return 新的集合，包含在 a 中但不在 b 中的元素
+     */
+    public static RoaringBitmap andNot(RoaringBitmap a, RoaringBitmap b) {
+        checkBitmaps(a, b);
+        RoaringBitmap result = new RoaringBitmap();
+        int j = 0;
+        for (int i = 0; i < a.count; i++) {
+            while (j < b.count && b.keys[j] < a.keys[i]) {
+                j++;
+            }
+            Container container;
+            if (j < b.count && b.keys[j] == a.keys[i]) {
+                container = andNot(a.containers[i], b.containers[j]);
+            } else {
+                container = a.containers[i].copy();
+            }
+            if (container.cardinality() > 0) {
+                result.appendContainer(a.keys[i], container);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 计算两个集合交集的元素数量，不生成交集
+     *
+     * @param a 第一个集合
+     * @param b 第二个集合
+     * @return 交集的元素数量
+     */
+    public static long andCardinality(RoaringBitmap a, RoaringBitmap b) {
+        checkBitmaps(a, b);
+        long result = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.count && j < b.count) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                result += andCardinality(a.containers[i], b.containers[j]);
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 容器，保存高 16 位相同的元素的低 16 位。
+     * 修改操作可能改变容器的表示，返回修改之后的容器。
+     */
+    private static abstract class Container {
+        /**
+         * 获取元素的数量
+         *
+         * @return 元素的数量
+         */
+        abstract int cardinality();
+
+        /**
+         * 判断是否包含指定元素
+         *
+         * @param x 低 16 位
+         * @return 包含时返回 true
+         */
+        abstract boolean contains(char x);
+
+        /**
+         * 添加元素
+         *
+         * @param x 低 16 位
+         * @return 添加之后的容器
+         */
+        abstract Container add(char x);
+
+        /**
+         * 删除元素
+         *
+         * @param x 低 16 位
+         * @return 删除之后的容器
+         */
+        abstract Container remove(char x);
+
+        /**
+         * 复制容器
+         *
+         * @return 新的容器
+         */
+        abstract Container copy();
+
+        /**
+         * 转换为新的位图容器
+         *
+         * @return 新的位图容器
+         */
+        abstract BitmapContainer toBitmap();
+
+        /**
+         * 转换为占用空间最小的表示
+         *
+         * @return 当前容器或者新的容器
+         */
+        abstract Container runOptimize();
+
+        /**
+         * 估算数据占用的字节数
+         *
+         * @return 字节数
+         */
+        abstract int sizeInBytes();
+
+        /**
+         * 返回从小到大遍历低 16 位的迭代器
+         *
+         * @return 迭代器
+         */
+        abstract PrimitiveIterator.OfInt iterator();
+    }
+
+    /**
+     * 数组容器，有序地保存不超过 4096 个元素
+     */
+    private static final class ArrayContainer extends Container {
+        /**
+         * 有序的元素
+         */
+        private char[] content;
+
+        /**
+         * 元素的数量
+         */
+        private int cardinality;
+
+        /**
+         * 创建一个空的数组容器
+         *
+         * @param capacity 初始容量
+         */
+        ArrayContainer(int capacity) {
+            content = new char[capacity];
+        }
+
+        /**
+         * 使用已经排好序的元素创建数组容器
+         *
+         * @param content     有序的元素
+         * @param cardinality 元素的数量
+         */
+        ArrayContainer(char[] content, int cardinality) {
+            this.content = content;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char x) {
+            return Arrays.binarySearch(content, 0, cardinality, x) >= 0;
+        }
+
+        @Override
+        Container add(char x) {
+            int index = Arrays.binarySearch(content, 0, cardinality, x);
+            if (index >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_MAX) {
+                return toBitmap().add(x);
+            }
+            index = -index - 1;
+            if (cardinality == content.length) {
+                content = Arrays.copyOf(content, Math.min(ARRAY_MAX, cardinality + (cardinality >> 1) + 1));
+            }
+            System.arraycopy(content, index, content, index + 1, cardinality - index);
+            content[index] = x;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char x) {
+            int index = Arrays.binarySearch(content, 0, cardinality, x);
+            if (index >= 0) {
+                System.arraycopy(content, index + 1, content, index, cardinality - index - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(content, cardinality), cardinality);
+        }
+
+        @Override
+        BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.words[content[i] >>> 6] |= 1L << content[i];
+            }
+            bitmap.cardinality = cardinality;
+            return bitmap;
+        }
+
+        @Override
+        Container runOptimize() {
+            int runs = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (i == 0 || content[i] != content[i - 1] + 1) {
+                    runs++;
+                }
+            }
+            if (RunContainer.bytesFor(runs) >= sizeInBytes()) {
+                return this;
+            }
+            RunContainer run = new RunContainer(runs);
+            for (int i = 0; i < cardinality; i++) {
+                run.append(content[i], content[i]);
+            }
+            return run;
+        }
+
+        @Override
+        int sizeInBytes() {
+            return cardinality * 2;
+        }
+
+        @Override
+        PrimitiveIterator.OfInt iterator() {
+            return new PrimitiveIterator.OfInt() {
+                /**
+                 * 下一个元素的下标
+                 */
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return index < cardinality;
+                }
+
+                @Override
+                public int nextInt() {
+                    if (index >= cardinality) {
+                        throw new NoSuchElementException();
+                    }
+                    return content[index++];
+                }
+            };
+        }
+    }
+
+    /**
+     * 位图容器，每一位表示一个低 16 位是否存在
+     */
+    private static final class BitmapContainer extends Container {
+        /**
+         * 65536 位的位图
+         */
+        private final long[] words;
+
+        /**
+         * 元素的数量
+         */
+        private int cardinality;
+
+        /**
+         * 创建一个空的位图容器
+         */
+        BitmapContainer() {
+            words = new long[BITMAP_WORDS];
+        }
+
+        /**
+         * 使用已有的位图创建位图容器
+         *
+         * @param words       位图
+         * @param cardinality 元素的数量
+         */
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char x) {
+            return (words[x >>> 6] & (1L << x)) != 0;
+        }
+
+        @Override
+        Container add(char x) {
+            long word = words[x >>> 6];
+            long updated = word | (1L << x);
+            if (updated != word) {
+                words[x >>> 6] = updated;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(char x) {
+            long word = words[x >>> 6];
+            long updated = word & ~(1L << x);
+            if (updated != word) {
+                words[x >>> 6] = updated;
+                cardinality--;
+                if (cardinality <= ARRAY_MAX) {
+                    return toArray();
+                }
+            }
+            return this;
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        BitmapContainer toBitmap() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        Container runOptimize() {
+            int runs = 0;
+            long carry = 0;
+            for (long word : words) {
+                // 前一位为 0、当前位为 1 的位置是一个区间的开始
+                runs += Long.bitCount(word & ~((word << 1) | carry));
+                carry = word >>> 63;
+            }
+            if (RunContainer.bytesFor(runs) >= sizeInBytes()) {
+                return this;
+            }
+            RunContainer run = new RunContainer(runs);
+            for (PrimitiveIterator.OfInt it = iterator(); it.hasNext();) {
+                char x = (char) it.nextInt();
+                run.append(x, x);
+            }
+            return run;
+        }
+
+        @Override
+        int sizeInBytes() {
+            return BITMAP_WORDS * 8;
+        }
+
+        @Override
+        PrimitiveIterator.OfInt iterator() {
+            return new PrimitiveIterator.OfInt() {
+                /**
+                 * 当前 long 的下标
+                 */
+                private int index;
+
+                /**
+                 * 当前 long 中还没有返回的位
+                 */
+                private long word = words[0];
+
+                @Override
+                public boolean hasNext() {
+                    while (word == 0) {
+                        if (++index >= BITMAP_WORDS) {
+                            index = BITMAP_WORDS;
+                            return false;
+                        }
+                        word = words[index];
+                    }
+                    return true;
+                }
+
+                @Override
+                public int nextInt() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    int x = (index << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                    return x;
+                }
+            };
+        }
+
+        /**
+         * 重新计算元素的数量，如果不超过 4096 个则转换为数组容器
+         *
+         * @return 当前容器或者新的数组容器
+         */
+        Container repair() {
+            int c = 0;
+            for (long word : words) {
+                c += Long.bitCount(word);
+            }
+            cardinality = c;
+            return c <= ARRAY_MAX ? toArray() : this;
+        }
+
+        /**
+         * 转换为数组容器
+         *
+         * @return 新的数组容器
+         */
+        ArrayContainer toArray() {
+            char[] content = new char[cardinality];
+            int n = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                for (long word = words[i]; word != 0; word &= word - 1) {
+                    content[n++] = (char) ((i << 6) + Long.numberOfTrailingZeros(word));
+                }
+            }
+            return new ArrayContainer(content, cardinality);
+        }
+
+        /**
+         * 把 [start, end] 范围内的位设为 1，不更新元素的数量
+         *
+         * @param start 起点
+         * @param end   终点（包含）
+         */
+        void setRange(int start, int end) {
+            int first = start >>> 6;
+            int last = end >>> 6;
+            long firstMask = -1L << start;
+            long lastMask = -1L >>> (63 - (end & 63));
+            if (first == last) {
+                words[first] |= firstMask & lastMask;
+                return;
+            }
+            words[first] |= firstMask;
+            Arrays.fill(words, first + 1, last, -1L);
+            words[last] |= lastMask;
+        }
+
+        /**
+         * 把 [start, end] 范围内的位设为 0，不更新元素的数量
+         *
+         * @param start 起点
+         * @param end   终点（包含）
+         */
+        void clearRange(int start, int end) {
+            int first = start >>> 6;
+            int last = end >>> 6;
+            long firstMask = -1L << start;
+            long lastMask = -1L >>> (63 - (end & 63));
+            if (first == last) {
+                words[first] &= ~(firstMask & lastMask);
+                return;
+            }
+            words[first] &= ~firstMask;
+            Arrays.fill(words, first + 1, last, 0L);
+            words[last] &= ~lastMask;
+        }
+    }
+
+    /**
+     * 行程编码容器，保存有序且不相邻的区间 [start, start + length]
+     */
+    private static final class RunContainer extends Container {
+        /**
+         * 区间的起点
+         */
+        private char[] starts;
+
+        /**
+         * 区间的长度减 1
+         */
+        private char[] lengths;
+
+        /**
+         * 区间的数量
+         */
+        private int runs;
+
+        /**
+         * 元素的数量
+         */
+        private int cardinality;
+
+        /**
+         * 创建一个空的行程编码容器
+         *
+         * @param capacity 初始的区间容量
+         */
+        RunContainer(int capacity) {
+            starts = new char[Math.max(capacity, 1)];
+            lengths = new char[Math.max(capacity, 1)];
+        }
+
+        /**
+         * 计算指定数量的区间占用的字节数
+         *
+         * @param runs 区间的数量
+         * @return 字节数
+         */
+        static int bytesFor(int runs) {
+            return 2 + runs * 4;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char x) {
+            int index = runIndex(x);
+            return index >= 0 && x - starts[index] <= lengths[index];
+        }
+
+        @Override
+        Container add(char x) {
+            int index = runIndex(x);
+            if (index >= 0 && x - starts[index] <= lengths[index]) {
+                return this;
+            }
+            cardinality++;
+            boolean extendsPrevious = index >= 0 && x == starts[index] + lengths[index] + 1;
+            boolean extendsNext = index + 1 < runs && x + 1 == starts[index + 1];
+            if (extendsPrevious && extendsNext) {
+                // 与前后两个区间连在一起，合并为一个区间
+                lengths[index] = (char) (starts[index + 1] + lengths[index + 1] - starts[index]);
+                removeRun(index + 1);
+            } else if (extendsPrevious) {
+                lengths[index]++;
+            } else if (extendsNext) {
+                starts[index + 1] = x;
+                lengths[index + 1]++;
+            } else {
+                insertRun(index + 1, x, (char) 0);
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(char x) {
+            int index = runIndex(x);
+            if (index < 0 || x - starts[index] > lengths[index]) {
+                return this;
+            }
+            cardinality--;
+            int start = starts[index];
+            int end = start + lengths[index];
+            if (start == end) {
+                removeRun(index);
+            } else if (x == start) {
+                starts[index]++;
+                lengths[index]--;
+            } else if (x == end) {
+                lengths[index]--;
+            } else {
+                // 从中间删除，区间分成两段
+                lengths[index] = (char) (x - 1 - start);
+                insertRun(index + 1, (char) (x + 1), (char) (end - x - 1));
+            }
+            return this;
+        }
+
+        @Override
+        Container copy() {
+            RunContainer run = new RunContainer(runs);
+            System.arraycopy(starts, 0, run.starts, 0, runs);
+            System.arraycopy(lengths, 0, run.lengths, 0, runs);
+            run.runs = runs;
+            run.cardinality = cardinality;
+            return run;
+        }
+
+        @Override
+        BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < runs; i++) {
+                bitmap.setRange(starts[i], starts[i] + lengths[i]);
+            }
+            bitmap.cardinality = cardinality;
+            return bitmap;
+        }
+
+        @Override
+        Container runOptimize() {
+            int size = sizeInBytes();
+            if (cardinality <= ARRAY_MAX && cardinality * 2 < size) {
+                char[] content = new char[cardinality];
+                int n = 0;
+                for (int i = 0; i < runs; i++) {
+                    for (int x = starts[i], end = starts[i] + lengths[i]; x <= end; x++) {
+                        content[n++] = (char) x;
+                    }
+                }
+                return new ArrayContainer(content, cardinality);
+            }
+            if (cardinality > ARRAY_MAX && BITMAP_WORDS * 8 < size) {
+                return toBitmap();
+            }
+            return this;
+        }
+
+        @Override
+        int sizeInBytes() {
+            return bytesFor(runs);
+        }
+
+        @Override
+        PrimitiveIterator.OfInt iterator() {
+            return new PrimitiveIterator.OfInt() {
+                /**
+                 * 当前区间的下标
+                 */
+                private int index;
+
+                /**
+                 * 下一个元素
+                 */
+                private int next = runs > 0 ? starts[0] : 0;
+
+                @Override
+                public boolean hasNext() {
+                    return index < runs;
+                }
+
+                @Override
+                public int nextInt() {
+                    if (index >= runs) {
+                        throw new NoSuchElementException();
+                    }
+                    int x = next;
+                    if (x == starts[index] + lengths[index]) {
+                        index++;
+                        if (index < runs) {
+                            next = starts[index];
+                        }
+                    } else {
+                        next++;
+                    }
+                    return x;
+                }
+            };
+        }
+
+        /**
+         * 在末尾追加区间 [start, end]，起点不能小于最后一个区间的起点，与最后一个区间重叠或相邻时合并
+         *
+         * @param start 起点
+         * @param end   终点（包含）
+         */
+        void append(char start, char end) {
+            if (runs > 0) {
+                int lastStart = starts[runs - 1];
+                int lastEnd = lastStart + lengths[runs - 1];
+                if (lastEnd + 1 >= start) {
+                    if (end > lastEnd) {
+                        cardinality += end - lastEnd;
+                        lengths[runs - 1] = (char) (end - lastStart);
+                    }
+                    return;
+                }
+            }
+            cardinality += end - start + 1;
+            insertRun(runs, start, (char) (end - start));
+        }
+
+        /**
+         * 查找起点不大于 x 的最后一个区间
+         *
+         * @param x 低 16 位
+         * @return 区间的下标，不存在时返回 -1
+         */
+        private int runIndex(char x) {
+            int low = 0;
+            int high = runs - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] <= x) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low - 1;
+        }
+
+        /**
+         * 在指定位置插入区间
+         *
+         * @param index  插入的位置
+         * @param start  起点
+         * @param length 长度减 1
+         */
+        private void insertRun(int index, char start, char length) {
+            if (runs == starts.length) {
+                int capacity = runs + (runs >> 1) + 1;
+                starts = Arrays.copyOf(starts, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+            }
+            System.arraycopy(starts, index, starts, index + 1, runs - index);
+            System.arraycopy(lengths, index, lengths, index + 1, runs - index);
+            starts[index] = start;
+            lengths[index] = length;
+            runs++;
+        }
+
+        /**
+         * 删除指定位置的区间
+         *
+         * @param index 删除的位置
+         */
+        private void removeRun(int index) {
+            System.arraycopy(starts, index + 1, starts, index, runs - index - 1);
+            System.arraycopy(lengths, index + 1, lengths, index, runs - index - 1);
+            runs--;
+        }
+    }
+
+    /**
+     * 计算两个容器的并集
+     *
+     * @param a 第一个容器
+     * @param b 第二个容器
+     * @return 新的容器
+     */
+    private static Container or(Container a, Container b) {
+        if (a instanceof ArrayContainer && b instanceof ArrayContainer
+                && a.cardinality() + b.cardinality() <= ARRAY_MAX) {
+            ArrayContainer x = (ArrayContainer) a;
+            ArrayContainer y = (ArrayContainer) b;
+            char[] content = new char[x.cardinality + y.cardinality];
+            int i = 0;
+            int j = 0;
+            int n = 0;
+            while (i < x.cardinality && j < y.cardinality) {
+                char u = x.content[i];
+                char v = y.content[j];
+                if (u <= v) {
+                    i++;
+                    if (u == v) {
+                        j++;
+                    }
+                    content[n++] = u;
+                } else {
+                    j++;
+                    content[n++] = v;
+                }
+            }
+            while (i < x.cardinality) {
+                content[n++] = x.content[i++];
+            }
+            while (j < y.cardinality) {
+                content[n++] = y.content[j++];
+            }
+            return new ArrayContainer(content, n);
+        }
+        if (a instanceof RunContainer && b instanceof RunContainer) {
+            RunContainer x = (RunContainer) a;
+            RunContainer y = (RunContainer) b;
+            RunContainer result = new RunContainer(x.runs + y.runs);
+            int i = 0;
+            int j = 0;
+            while (i < x.runs || j < y.runs) {
+                // 按起点从小到大追加区间，重叠或相邻的区间在追加时合并
+                if (j >= y.runs || (i < x.runs && x.starts[i] <= y.starts[j])) {
+                    result.append(x.starts[i], (char) (x.starts[i] + x.lengths[i]));
+                    i++;
+                } else {
+                    result.append(y.starts[j], (char) (y.starts[j] + y.lengths[j]));
+                    j++;
+                }
+            }
+            return result;
+        }
+
+        BitmapContainer result = a instanceof BitmapContainer ? a.toBitmap() : b.toBitmap();
+        Container other = a instanceof BitmapContainer ? b : a;
+        if (other instanceof BitmapContainer) {
+            long[] words = ((BitmapContainer) other).words;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                result.words[i] |= words[i];
+            }
+        } else if (other instanceof ArrayContainer) {
+            ArrayContainer array = (ArrayContainer) other;
+            for (int i = 0; i < array.cardinality; i++) {
+                result.words[array.content[i] >>> 6] |= 1L << array.content[i];
+            }
+        } else {
+            RunContainer run = (RunContainer) other;
+            for (int i = 0; i < run.runs; i++) {
+                result.setRange(run.starts[i], run.starts[i] + run.lengths[i]);
+            }
+        }
+        return result.repair();
+    }
+
+    /**
+     * 计算两个容器的交集
+     *
+     * @param a 第一个容器
+     * @param b 第二个容器
+     * @return 新的容器，可能为空
+     */
+    private static Container and(Container a, Container b) {
+        if (a instanceof ArrayContainer || b instanceof ArrayContainer) {
+            ArrayContainer array = (ArrayContainer) (a instanceof ArrayContainer ? a : b);
+            Container other = array == a ? b : a;
+            char[] content = new char[array.cardinality];
+            int n = 0;
+            if (other instanceof ArrayContainer) {
+                n = intersect(array, (ArrayContainer) other, content);
+            } else {
+                for (int i = 0; i < array.cardinality; i++) {
+                    if (other.contains(array.content[i])) {
+                        content[n++] = array.content[i];
+                    }
+                }
+            }
+            return new ArrayContainer(content, n);
+        }
+        if (a instanceof RunContainer && b instanceof RunContainer) {
+            RunContainer x = (RunContainer) a;
+            RunContainer y = (RunContainer) b;
+            RunContainer result = new RunContainer(x.runs + y.runs);
+            int i = 0;
+            int j = 0;
+            while (i < x.runs && j < y.runs) {
+                int xEnd = x.starts[i] + x.lengths[i];
+                int yEnd = y.starts[j] + y.lengths[j];
+                int start = Math.max(x.starts[i], y.starts[j]);
+                int end = Math.min(xEnd, yEnd);
+                if (start <= end) {
+                    result.append((char) start, (char) end);
+                }
+                if (xEnd < yEnd) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return result;
+        }
+
+        BitmapContainer result = a.toBitmap();
+        long[] words = b instanceof BitmapContainer ? ((BitmapContainer) b).words : b.toBitmap().words;
+        for (int i = 0; i < BITMAP_WORDS; i++) {
+            result.words[i] &= words[i];
+        }
+        return result.repair();
+    }
+
+    /**
+     * 计算两个容器的差集
+     *
+     * @param a 第一个容器
+     * @param b 第二个容器
+     * @return 新的容器，可能为空
+     */
+    private static Container andNot(Container a, Container b) {
+        if (a instanceof ArrayContainer) {
+            ArrayContainer array = (ArrayContainer) a;
+            char[] content = new char[array.cardinality];
+            int n = 0;
+            for (int i = 0; i < array.cardinality; i++) {
+                if (!b.contains(array.content[i])) {
+                    content[n++] = array.content[i];
+                }
+            }
+            return new ArrayContainer(content, n);
+        }
+
+        BitmapContainer result = a.toBitmap();
+        if (b instanceof BitmapContainer) {
+            long[] words = ((BitmapContainer) b).words;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                result.words[i] &= ~words[i];
+            }
+        } else if (b instanceof ArrayContainer) {
+            ArrayContainer array = (ArrayContainer) b;
+            for (int i = 0; i < array.cardinality; i++) {
+                result.words[array.content[i] >>> 6] &= ~(1L << array.content[i]);
+            }
+        } else {
+            RunContainer run = (RunContainer) b;
+            for (int i = 0; i < run.runs; i++) {
+                result.clearRange(run.starts[i], run.starts[i] + run.lengths[i]);
+            }
+        }
+        return result.repair();
+    }
+
+    /**
+     * 计算两个容器交集的元素数量
+     *
+     * @param a 第一个容器
+     * @param b 第二个容器
+     * @return 交集的元素数量
+     */
+    private static int andCardinality(Container a, Container b) {
+        if (a instanceof BitmapContainer && b instanceof BitmapContainer) {
+            long[] x = ((BitmapContainer) a).words;
+            long[] y = ((BitmapContainer) b).words;
+            int c = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                c += Long.bitCount(x[i] & y[i]);
+            }
+            return c;
+        }
+        if (a instanceof ArrayContainer || b instanceof ArrayContainer) {
+            ArrayContainer array = (ArrayContainer) (a instanceof ArrayContainer ? a : b);
+            Container other = array == a ? b : a;
+            if (other instanceof ArrayContainer) {
+                return intersect(array, (ArrayContainer) other, null);
+            }
+            int c = 0;
+            for (int i = 0; i < array.cardinality; i++) {
+                if (other.contains(array.content[i])) {
+                    c++;
+                }
+            }
+            return c;
+        }
+        return and(a, b).cardinality();
+    }
+
+    /**
+     * 计算两个数组容器的交集。
+     * 两个数组的长度相差很大时，遍历较短的数组并在较长的数组中二分查找，否则同时顺序遍历两个数组。
+     *
+     * @param a      第一个数组容器
+     * @param b      第二个数组容器
+     * @param output 保存交集的数组，为 null 时只计数
+     * @return 交集的元素数量
+     */
+    private static int intersect(ArrayContainer a, ArrayContainer b, char[] output) {
+        if (a.cardinality > b.cardinality) {
+            ArrayContainer t = a;
+            a = b;
+            b = t;
+        }
+        int n = 0;
+        if (a.cardinality * 32 < b.cardinality) {
+            int from = 0;
+            for (int i = 0; i < a.cardinality && from < b.cardinality; i++) {
+                int index = Arrays.binarySearch(b.content, from, b.cardinality, a.content[i]);
+                if (index >= 0) {
+                    if (output != null) {
+                        output[n] = a.content[i];
+                    }
+                    n++;
+                    from = index + 1;
+                } else {
+                    from = -index - 1;
+                }
+            }
+            return n;
+        }
+        int i = 0;
+        int j = 0;
+        while (i < a.cardinality && j < b.cardinality) {
+            char u = a.content[i];
+            char v = b.content[j];
+            if (u < v) {
+                i++;
+            } else if (u > v) {
+                j++;
+            } else {
+                if (output != null) {
+                    output[n] = u;
+                }
+                n++;
+                i++;
+                j++;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * 在末尾追加容器，只在生成集合运算的结果时使用
+     *
+     * @param key       容器的高 16 位，必须大于已有的所有容器
+     * @param container 容器
+     */
+    private void appendContainer(char key, Container container) {
+        insertContainer(count, key, container);
+        cardinality += container.cardinality();
+    }
+
+    /**
+     * 在指定位置插入容器
+     *
+     * @param index     插入的位置
+     * @param key       容器的高 16 位
+     * @param container 容器
+     */
+    private void insertContainer(int index, char key, Container container) {
+        if (count == keys.length) {
+            int capacity = count + (count >> 1) + 1;
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, count - index);
+        System.arraycopy(containers, index, containers, index + 1, count - index);
+        keys[index] = key;
+        containers[index] = container;
+        count++;
+    }
+
+    /**
+     * 删除指定位置的容器
+     *
+     * @param index 删除的位置
+     */
+    private void removeContainer(int index) {
+        System.arraycopy(keys, index + 1, keys, index, count - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, count - index - 1);
+        containers[--count] = null;
+    }
+
+    /**
+     * 二分查找高 16 位对应的容器
+     *
+     * @param high 高 16 位
+     * @return 找到时返回下标；否则返回 -(插入位置) - 1
+     */
+    private int indexOf(char high) {
+        return Arrays.binarySearch(keys, 0, count, high);
+    }
+
+    /**
+     * 获取元素翻转符号位之后的高 16 位，使容器的顺序与 int 的顺序一致
+     *
+     * @param element 元素
+     * @return 高 16 位
+     */
+    private static char high(int element) {
+        return (char) ((element ^ Integer.MIN_VALUE) >>> 16);
+    }
+
+    /**
+     * 获取元素的低 16 位
+     *
+     * @param element 元素
+     * @return 低 16 位
+     */
+    private static char low(int element) {
+        return (char) element;
+    }
+
+    /**
+     * 检查参与运算的集合是否为 null
+     *
+     * @param a 第一个集合
+     * @param b 第二个集合
+     */
+    private static void checkBitmaps(RoaringBitmap a, RoaringBitmap b) {
+        if (a == null || b == null) {
+            throw new IllegalArgumentException("bitmap must not be null");
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package com.hxqzzxk.set;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
 /**
  * 集合接口，定义了集合的基本操作方法。
  * 该接口为不同的集合实现提供了统一的 API 规范。
+ * 除了推送式的 traversal，还可以通过 iterator 和 spliterator 拉取元素。
  */
-public interface Set<E> {
+public interface Set<E> extends Iterable<E> {
     /**
      * 清空集合中的所有元素。
      */
@@ -53,6 +58,26 @@ public interface Set<E> {
      */
     void traversal(Visitor<E> visitor);
 
+    /**
+     * 返回遍历所有元素的迭代器。
+     * 默认实现先通过 traversal 把所有元素复制到一个列表中，再遍历这个列表，
+     * 需要 O(n) 的额外空间；具体的实现类可以覆盖该方法，按需遍历底层结构。
+     *
+     * @return 元素的迭代器
+     */
+    @Override
+    default Iterator<E> iterator() {
+        List<E> elements = new ArrayList<>(size());
+        traversal(new Visitor<E>() {
+            @Override
+            boolean visit(E element) {
+                elements.add(element);
+                return false;
+            }
+        });
+        return elements.iterator();
+    }
+
     /**
      * 抽象访问者类，用于遍历集合元素
      * 
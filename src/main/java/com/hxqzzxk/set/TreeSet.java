@@ -1,5 +1,9 @@
 package com.hxqzzxk.set;
 
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
 import com.hxqzzxk.tree.BinaryTree;
 import com.hxqzzxk.tree.RedBlackTree;
 
@@ -14,7 +18,29 @@ public class TreeSet<E extends Comparable> implements Set<E> {
     /**
      * 内部使用的红黑树，用于存储集合元素并保持有序
      */
-    private RedBlackTree<E> tree = new RedBlackTree<>();
+    private RedBlackTree<E> tree;
+
+    /**
+     * 两个集合的大小相差超过该倍数时，交集和差集改为遍历较小的集合、在较大的集合中查找，
+     * 代价为 O(n log m)，不需要遍历较大的集合
+     */
+    private static final int SKEW_RATIO = 32;
+
+    /**
+     * 创建一个空集合
+     */
+    public TreeSet() {
+        this(new RedBlackTree<>());
+    }
+
+    /**
+     * 使用已有的红黑树创建集合
+     *
+     * @param tree 红黑树
+     */
+    private TreeSet(RedBlackTree<E> tree) {
+        this.tree = tree;
+    }
 
     /**
      * 清空集合中的所有元素。
@@ -97,4 +123,495 @@ public class TreeSet<E extends Comparable> implements Set<E> {
             }
         });
     }
-}
\ No newline at end of file
+
+    /**
+     * 返回按照从小到大的顺序遍历所有元素的迭代器
+     *
+     * @return 元素的迭代器
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return tree.iterator();
+    }
+
+    /**
+     * 返回按照从小到大的顺序遍历的可分割迭代器
+     *
+     * @return 元素的可分割迭代器
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(iterator(), size(),
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.SORTED | Spliterator.NONNULL);
+    }
+
+    /**
+     * 获取最小的元素。
+     *
+     * @return 最小的元素，集合为空时返回 null
+     */
+    public E first() {
+        return tree.first();
+    }
+
+    /**
+     * 获取最大的元素。
+     *
+     * @return 最大的元素，集合为空时返回 null
+     */
+    public E last() {
+        return tree.last();
+    }
+
+    /**
+     * 获取小于等于指定元素的最大元素。
+     *
+     * @param element 要比较的元素
+     * @return 满足条件的元素，不存在时返回 null
+     */
+    public E floor(E element) {
+        return tree.floor(element);
+    }
+
+    /**
+     * 获取大于等于指定元素的最小元素。
+     *
+     * @param element 要比较的元素
+     * @return 满足条件的元素，不存在时返回 null
+     */
+    public E ceiling(E element) {
+        return tree.ceiling(element);
+    }
+
+    /**
+     * 获取严格小于指定元素的最大元素。
+     *
+     * @param element 要比较的元素
+     * @return 满足条件的元素，不存在时返回 null
+     */
+    public E lower(E element) {
+        return tree.lower(element);
+    }
+
+    /**
+     * 获取严格大于指定元素的最小元素。
+     *
+     * @param element 要比较的元素
+     * @return 满足条件的元素，不存在时返回 null
+     */
+    public E higher(E element) {
+        return tree.higher(element);
+    }
+
+    /**
+     * 返回元素在 [fromElement, toElement] 范围内的视图，边界是否包含由参数决定。
+     * 视图不复制元素，对视图的修改会反映到当前集合中，反之亦然。
+     * 视图的迭代从范围的起点开始，代价为 O(log n + k)，k 为访问的元素数量；
+     * 视图的 size 需要遍历范围内的元素。
+     *
+     * @param fromElement   范围的起点
+     * @param fromInclusive 是否包含起点
+     * @param toElement     范围的终点
+     * @param toInclusive   是否包含终点
+     * @return 范围视图
+     */
+    public Set<E> subSet(E fromElement, boolean fromInclusive, E toElement, boolean toInclusive) {
+        checkElement(fromElement);
+        checkElement(toElement);
+        if (compare(fromElement, toElement) > 0) {
+            throw new IllegalArgumentException("fromElement must not be greater than toElement");
+        }
+        return new SubSet(fromElement, fromInclusive, toElement, toInclusive);
+    }
+
+    /**
+     * 返回小于（或等于）toElement 的元素的视图
+     *
+     * @param toElement 范围的终点
+     * @param inclusive 是否包含终点
+     * @return 范围视图
+     * @see #subSet(Comparable, boolean, Comparable, boolean)
+     */
+    public Set<E> headSet(E toElement, boolean inclusive) {
+        checkElement(toElement);
+        return new SubSet(null, false, toElement, inclusive);
+    }
+
+    /**
+     * 返回大于（或等于）fromElement 的元素的视图
+     *
+     * @param fromElement 范围的起点
+     * @param inclusive   是否包含起点
+     * @return 范围视图
+     * @see #subSet(Comparable, boolean, Comparable, boolean)
+     */
+    public Set<E> tailSet(E fromElement, boolean inclusive) {
+        checkElement(fromElement);
+        return new SubSet(fromElement, inclusive, null, false);
+    }
+
+    /**
+     * 集合的范围视图，只记录范围的边界，所有操作都直接作用在红黑树上
+     */
+    private class SubSet implements Set<E> {
+        /**
+         * 范围的起点，为 null 时表示没有下界
+         */
+        private final E fromElement;
+
+        /**
+         * 是否包含起点
+         */
+        private final boolean fromInclusive;
+
+        /**
+         * 范围的终点，为 null 时表示没有上界
+         */
+        private final E toElement;
+
+        /**
+         * 是否包含终点
+         */
+        private final boolean toInclusive;
+
+        /**
+         * 构造一个范围视图
+         *
+         * @param fromElement   范围的起点
+         * @param fromInclusive 是否包含起点
+         * @param toElement     范围的终点
+         * @param toInclusive   是否包含终点
+         */
+        SubSet(E fromElement, boolean fromInclusive, E toElement, boolean toInclusive) {
+            this.fromElement = fromElement;
+            this.fromInclusive = fromInclusive;
+            this.toElement = toElement;
+            this.toInclusive = toInclusive;
+        }
+
+        /**
+         * 删除范围内的所有元素
+         */
+        @Override
+        public void clear() {
+            E element;
+            while ((element = lowest()) != null) {
+                tree.remove(element);
+            }
+        }
+
+        /**
+         * 获取范围内元素的数量，需要遍历范围内的所有元素
+         *
+         * @return 元素的个数
+         */
+        @Override
+        public int size() {
+            int count = 0;
+            for (Iterator<E> it = iterator(); it.hasNext(); it.next()) {
+                count++;
+            }
+            return count;
+        }
+
+        /**
+         * 判断范围内是否没有元素
+         *
+         * @return 如果范围内没有元素则返回 true
+         */
+        @Override
+        public boolean isEmpty() {
+            return lowest() == null;
+        }
+
+        /**
+         * 判断范围内是否包含指定元素
+         *
+         * @param element 要查找的元素
+         * @return 如果包含该元素则返回 true
+         */
+        @Override
+        public boolean contains(E element) {
+            return inRange(element) && tree.contains(element);
+        }
+
+        /**
+         * 添加元素，元素必须在范围内
+         *
+         * @param element 要添加的元素
+         */
+        @Override
+        public void add(E element) {
+            checkElement(element);
+            if (!inRange(element)) {
+                throw new IllegalArgumentException("element out of range");
+            }
+            tree.add(element);
+        }
+
+        /**
+         * 删除元素，元素不在范围内时不做任何操作
+         *
+         * @param element 要删除的元素
+         */
+        @Override
+        public void remove(E element) {
+            if (inRange(element)) {
+                tree.remove(element);
+            }
+        }
+
+        /**
+         * 按照从小到大的顺序遍历范围内的元素
+         *
+         * @param visitor 访问器
+         */
+        @Override
+        public void traversal(Visitor<E> visitor) {
+            if (visitor == null) {
+                return;
+            }
+            for (Iterator<E> it = iterator(); it.hasNext();) {
+                if (visitor.visit(it.next()) || visitor.stop) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * 返回按照从小到大的顺序遍历范围内元素的迭代器
+         *
+         * @return 元素的迭代器
+         */
+        @Override
+        public Iterator<E> iterator() {
+            return tree.iterator(fromElement, fromInclusive, toElement, toInclusive);
+        }
+
+        /**
+         * 获取范围内最小的元素
+         *
+         * @return 范围内最小的元素，范围内没有元素时返回 null
+         */
+        private E lowest() {
+            Iterator<E> it = iterator();
+            return it.hasNext() ? it.next() : null;
+        }
+
+        /**
+         * 判断元素是否在范围内
+         *
+         * @param element 元素
+         * @return 在范围内时返回 true
+         */
+        private boolean inRange(E element) {
+            if (element == null) {
+                return false;
+            }
+            if (fromElement != null) {
+                int cmp = compare(element, fromElement);
+                if (cmp < 0 || (cmp == 0 && !fromInclusive)) {
+                    return false;
+                }
+            }
+            if (toElement != null) {
+                int cmp = compare(element, toElement);
+                if (cmp > 0 || (cmp == 0 && !toInclusive)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 计算与另一个集合的并集，两个集合都不会被修改。
+     * 同时按顺序遍历两棵树并归并，结果直接写入一个数组，再通过有序数组批量构建新的红黑树，
+     * 总代价为 O(n + m)，除了结果数组以外不需要额外的数组。
+     *
+     * @param other 另一个集合
+     * @return 新的集合
+     */
+    public TreeSet<E> union(TreeSet<E> other) {
+        checkOther(other);
+        E[] result = newArray(size() + other.size());
+        int n = 0;
+        Iterator<E> ia = iterator();
+        Iterator<E> ib = other.iterator();
+        E a = next(ia);
+        E b = next(ib);
+        while (a != null && b != null) {
+            int cmp = compare(a, b);
+            if (cmp < 0) {
+                result[n++] = a;
+                a = next(ia);
+            } else if (cmp > 0) {
+                result[n++] = b;
+                b = next(ib);
+            } else {
+                result[n++] = a;
+                a = next(ia);
+                b = next(ib);
+            }
+        }
+        for (; a != null; a = next(ia)) {
+            result[n++] = a;
+        }
+        for (; b != null; b = next(ib)) {
+            result[n++] = b;
+        }
+        return fromSorted(result, n);
+    }
+
+    /**
+     * 计算与另一个集合的交集，两个集合都不会被修改。
+     * 大小相近时同时按顺序遍历两棵树并归并，代价为 O(n + m)；
+     * 大小相差很大时遍历较小的集合并在较大的集合中查找，代价为 O(n log m)。
+     *
+     * @param other 另一个集合
+     * @return 新的集合
+     */
+    public TreeSet<E> intersection(TreeSet<E> other) {
+        checkOther(other);
+        TreeSet<E> small = size() <= other.size() ? this : other;
+        TreeSet<E> large = small == this ? other : this;
+        E[] result = newArray(small.size());
+        int n = 0;
+        if ((long) small.size() * SKEW_RATIO < large.size()) {
+            for (E element : small) {
+                if (large.contains(element)) {
+                    result[n++] = element;
+                }
+            }
+            return fromSorted(result, n);
+        }
+
+        Iterator<E> ia = iterator();
+        Iterator<E> ib = other.iterator();
+        E a = next(ia);
+        E b = next(ib);
+        while (a != null && b != null) {
+            int cmp = compare(a, b);
+            if (cmp < 0) {
+                a = next(ia);
+            } else if (cmp > 0) {
+                b = next(ib);
+            } else {
+                result[n++] = a;
+                a = next(ia);
+                b = next(ib);
+            }
+        }
+        return fromSorted(result, n);
+    }
+
+    /**
+     * 计算与另一个集合的差集，即在当前集合中但不在 other 中的元素，两个集合都不会被修改。
+     * 当前集合比 other 小很多时遍历当前集合并在 other 中查找，代价为 O(n log m)；
+     * 否则同时按顺序遍历两棵树并归并，other 遍历完之后当前集合剩余的元素直接写入结果，代价为 O(n + m)。
+     *
+     * @param other 另一个集合
+     * @return 新的集合
+     */
+    public TreeSet<E> difference(TreeSet<E> other) {
+        checkOther(other);
+        E[] result = newArray(size());
+        int n = 0;
+        if ((long) size() * SKEW_RATIO < other.size()) {
+            for (E element : this) {
+                if (!other.contains(element)) {
+                    result[n++] = element;
+                }
+            }
+            return fromSorted(result, n);
+        }
+
+        Iterator<E> ia = iterator();
+        Iterator<E> ib = other.iterator();
+        E a = next(ia);
+        E b = next(ib);
+        while (a != null && b != null) {
+            int cmp = compare(a, b);
+            if (cmp < 0) {
+                result[n++] = a;
+                a = next(ia);
+            } else if (cmp > 0) {
+                b = next(ib);
+            } else {
+                a = next(ia);
+                b = next(ib);
+            }
+        }
+        for (; a != null; a = next(ia)) {
+            result[n++] = a;
+        }
+        return fromSorted(result, n);
+    }
+
+    /**
+     * 获取迭代器的下一个元素，集合中的元素不为 null，所以用 null 表示遍历结束
+     *
+     * @param iterator 迭代器
+     * @return 下一个元素，没有时返回 null
+     */
+    private static <E> E next(Iterator<E> iterator) {
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    /**
+     * 使用有序数组的前 n 个元素批量构建新的集合。
+     * 元素来自两棵红黑树的有序归并，已经保证有序且不重复，所以既不复制数组也不重新检查顺序。
+     *
+     * @param elements 有序且不重复的元素
+     * @param n        元素的数量
+     * @return 新的集合
+     */
+    private static <E extends Comparable> TreeSet<E> fromSorted(E[] elements, int n) {
+        return new TreeSet<>(RedBlackTree.fromSortedDistinct(elements, n));
+    }
+
+    /**
+     * 创建元素数组，元素类型擦除之后为 Comparable
+     *
+     * @param length 数组长度
+     * @return 元素数组
+     */
+    @SuppressWarnings("unchecked")
+    private static <E extends Comparable> E[] newArray(int length) {
+        return (E[]) new Comparable[length];
+    }
+
+    /**
+     * 检查参与运算的集合是否为 null
+     *
+     * @param other 另一个集合
+     */
+    private static void checkOther(TreeSet<?> other) {
+        if (other == null) {
+            throw new IllegalArgumentException("other must not be null");
+        }
+    }
+
+    /**
+     * 比较两个元素
+     *
+     * @param e1 第一个元素
+     * @param e2 第二个元素
+     * @return 比较结果
+     */
+    @SuppressWarnings("unchecked")
+    private int compare(E e1, E e2) {
+        return e1.compareTo(e2);
+    }
+
+    /**
+     * 检查元素是否为 null
+     *
+     * @param element 元素
+     */
+    private void checkElement(E element) {
+        if (element == null) {
+            throw new IllegalArgumentException("element must not be null");
+        }
+    }
+}
\ No newline at end of file
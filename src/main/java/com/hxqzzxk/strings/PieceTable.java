@@ -0,0 +1,363 @@
+package com.hxqzzxk.strings;
+
+import java.util.Arrays;
+
+import com.hxqzzxk.list.GapBufferList;
+
+/**
+ * 片段表（Piece Table），适合在很长的文本中频繁插入和删除。
+ * <p>
+ * - 原始文本保存在只读的数组中，插入的文本依次追加到追加缓冲区，两个缓冲区中的字符都不会被移动或者修改；
+ * - 文档由一串片段组成，每个片段引用某个缓冲区中的一段连续字符，编辑只会拆分、缩短或者删除片段；
+ * - 片段保存在 {@link GapBufferList} 中，在最近一次编辑的位置附近增删片段是均摊 O(1) 的；
+ * - 记住最近一次定位到的片段和它在文档中的起始位置，下一次定位从这里开始向前或者向后查找，
+ * 所以在光标附近连续编辑、顺序读取字符时定位也是均摊 O(1) 的；
+ * - 在上一次插入的末尾继续插入（例如连续输入）时，直接延长上一个片段，不会产生新的片段。
+ * </p>
+ */
+public class PieceTable implements CharSequence {
+    /**
+     * 追加缓冲区的默认容量
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * 文本片段，引用原始缓冲区或者追加缓冲区中的 [start, start + length) 范围
+     */
+    private static class Piece {
+        /**
+         * 为 true 时引用追加缓冲区，否则引用原始缓冲区
+         */
+        final boolean added;
+
+        /**
+         * 在缓冲区中的起始位置
+         */
+        int start;
+
+        /**
+         * 字符数量
+         */
+        int length;
+
+        /**
+         * 创建一个片段
+         *
+         * @param added  是否引用追加缓冲区
+         * @param start  在缓冲区中的起始位置
+         * @param length 字符数量
+         */
+        Piece(boolean added, int start, int length) {
+            this.added = added;
+            this.start = start;
+            this.length = length;
+        }
+    }
+
+    /**
+     * 原始文本
+     */
+    private final char[] original;
+
+    /**
+     * 追加缓冲区，只在末尾追加
+     */
+    private char[] add;
+
+    /**
+     * 追加缓冲区中已经使用的字符数量
+     */
+    private int addLength;
+
+    /**
+     * 按文档顺序排列的片段，不包含长度为 0 的片段
+     */
+    private final GapBufferList<Piece> pieces = new GapBufferList<>();
+
+    /**
+     * 文档的字符数量
+     */
+    private int length;
+
+    /**
+     * 最近一次定位到的片段的下标
+     */
+    private int cachedIndex;
+
+    /**
+     * 最近一次定位到的片段在文档中的起始位置
+     */
+    private int cachedStart;
+
+    /**
+     * 最近一次定位时，位置在片段中的偏移
+     */
+    private int offset;
+
+    /**
+     * 创建一个空文档
+     */
+    public PieceTable() {
+        this("");
+    }
+
+    /**
+     * 以指定的文本作为原始文本创建文档
+     *
+     * @param text 原始文本
+     */
+    public PieceTable(CharSequence text) {
+        if (text == null) {
+            throw new IllegalArgumentException("text must not be null");
+        }
+        original = text.toString().toCharArray();
+        add = new char[DEFAULT_CAPACITY];
+        length = original.length;
+        if (length > 0) {
+            pieces.add(new Piece(false, 0, length));
+        }
+    }
+
+    /**
+     * 返回文档的字符数量
+     *
+     * @return 字符数量
+     */
+    @Override
+    public int length() {
+        return length;
+    }
+
+    /**
+     * 返回片段的数量
+     *
+     * @return 片段的数量
+     */
+    public int pieceCount() {
+        return pieces.size();
+    }
+
+    /**
+     * 获取指定位置的字符
+     *
+     * @param index 字符位置，必须在 [0, length()) 范围内
+     * @return 字符
+     */
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index:" + index + ", Length:" + length);
+        }
+        Piece piece = pieces.get(locate(index));
+        return buffer(piece)[piece.start + offset];
+    }
+
+    /**
+     * 在指定位置插入文本
+     *
+     * @param index 插入位置，必须在 [0, length()] 范围内
+     * @param text  要插入的文本
+     */
+    public void insert(int index, CharSequence text) {
+        if (text == null) {
+            throw new IllegalArgumentException("text must not be null");
+        }
+        if (index < 0 || index > length) {
+            throw new IndexOutOfBoundsException("Index:" + index + ", Length:" + length);
+        }
+        int count = text.length();
+        if (count == 0) {
+            return;
+        }
+        int addStart = appendToBuffer(text);
+        int pieceIndex;
+        if (index == length) {
+            pieceIndex = pieces.size();
+            offset = 0;
+        } else {
+            pieceIndex = locate(index);
+        }
+        if (offset == 0 && pieceIndex > 0) {
+            // 插入到片段之间，如果前一个片段正好以追加缓冲区的末尾结束，直接延长它
+            Piece prev = pieces.get(pieceIndex - 1);
+            if (prev.added && prev.start + prev.length == addStart) {
+                prev.length += count;
+                length += count;
+                cache(pieceIndex - 1, index - (prev.length - count));
+                return;
+            }
+        }
+        if (offset > 0) {
+            // 插入到片段中间，先把片段拆成两个
+            Piece piece = pieces.get(pieceIndex);
+            pieces.add(pieceIndex + 1, new Piece(piece.added, piece.start + offset, piece.length - offset));
+            piece.length = offset;
+            pieceIndex++;
+        }
+        pieces.add(pieceIndex, new Piece(true, addStart, count));
+        length += count;
+        cache(pieceIndex, index);
+    }
+
+    /**
+     * 在文档末尾追加文本
+     *
+     * @param text 要追加的文本
+     */
+    public void append(CharSequence text) {
+        insert(length, text);
+    }
+
+    /**
+     * 删除 [index, index + count) 范围内的字符
+     *
+     * @param index 开始位置
+     * @param count 删除的字符数量，必须满足 0 &lt;= index &lt;= index + count &lt;= length()
+     */
+    public void delete(int index, int count) {
+        if (index < 0 || count < 0 || index > length - count) {
+            throw new IndexOutOfBoundsException("Index:" + index + ", Count:" + count + ", Length:" + length);
+        }
+        if (count == 0) {
+            return;
+        }
+        int pieceIndex = locate(index);
+        if (offset > 0) {
+            // 从片段中间开始删除，先把片段拆成两个，保留前一个
+            Piece piece = pieces.get(pieceIndex);
+            pieces.add(pieceIndex + 1, new Piece(piece.added, piece.start + offset, piece.length - offset));
+            piece.length = offset;
+            pieceIndex++;
+        }
+        int remaining = count;
+        while (remaining > 0) {
+            Piece piece = pieces.get(pieceIndex);
+            if (piece.length <= remaining) {
+                remaining -= piece.length;
+                pieces.remove(pieceIndex);
+            } else {
+                piece.start += remaining;
+                piece.length -= remaining;
+                remaining = 0;
+            }
+        }
+        length -= count;
+        if (pieceIndex < pieces.size()) {
+            cache(pieceIndex, index);
+        } else {
+            cache(0, 0);
+        }
+    }
+
+    /**
+     * 返回 [start, end) 范围内的字符组成的字符串
+     *
+     * @param start 开始位置（包括）
+     * @param end   结束位置（不包括）
+     * @return 子串
+     */
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("start:" + start + ", end:" + end + ", Length:" + length);
+        }
+        StringBuilder stringBuilder = new StringBuilder(end - start);
+        if (start == end) {
+            return stringBuilder.toString();
+        }
+        int pieceIndex = locate(start);
+        int from = offset;
+        int remaining = end - start;
+        while (remaining > 0) {
+            Piece piece = pieces.get(pieceIndex++);
+            int n = Math.min(piece.length - from, remaining);
+            stringBuilder.append(buffer(piece), piece.start + from, n);
+            remaining -= n;
+            from = 0;
+        }
+        return stringBuilder.toString();
+    }
+
+    /**
+     * 按顺序拼接所有片段
+     *
+     * @return 文档的内容
+     */
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder(length);
+        for (Piece piece : pieces) {
+            stringBuilder.append(buffer(piece), piece.start, piece.length);
+        }
+        return stringBuilder.toString();
+    }
+
+    /**
+     * 找到包含指定位置的片段，从最近一次定位到的片段开始向前或者向后查找，
+     * 位置在片段中的偏移保存在 {@link #offset} 中
+     *
+     * @param index 字符位置，必须在 [0, length()) 范围内
+     * @return 片段的下标
+     */
+    private int locate(int index) {
+        int pieceIndex = cachedIndex;
+        int start = cachedStart;
+        while (index < start) {
+            pieceIndex--;
+            start -= pieces.get(pieceIndex).length;
+        }
+        int pieceLength;
+        while (index >= start + (pieceLength = pieces.get(pieceIndex).length)) {
+            start += pieceLength;
+            pieceIndex++;
+        }
+        cache(pieceIndex, start);
+        offset = index - start;
+        return pieceIndex;
+    }
+
+    /**
+     * 记住一个片段和它在文档中的起始位置，作为下一次定位的起点
+     *
+     * @param pieceIndex 片段的下标
+     * @param start      片段在文档中的起始位置
+     */
+    private void cache(int pieceIndex, int start) {
+        cachedIndex = pieceIndex;
+        cachedStart = start;
+    }
+
+    /**
+     * 把文本追加到追加缓冲区，空间不够时扩容到 1.5 倍或者需要的大小
+     *
+     * @param text 要追加的文本
+     * @return 文本在追加缓冲区中的起始位置
+     */
+    private int appendToBuffer(CharSequence text) {
+        int count = text.length();
+        int required = addLength + count;
+        if (required > add.length) {
+            add = Arrays.copyOf(add, Math.max(add.length + (add.length >> 1), required));
+        }
+        int start = addLength;
+        if (text instanceof String) {
+            ((String) text).getChars(0, count, add, start);
+        } else {
+            for (int i = 0; i < count; i++) {
+                add[start + i] = text.charAt(i);
+            }
+        }
+        addLength = required;
+        return start;
+    }
+
+    /**
+     * 获取片段引用的缓冲区
+     *
+     * @param piece 片段
+     * @return 原始缓冲区或者追加缓冲区
+     */
+    private char[] buffer(Piece piece) {
+        return piece.added ? add : original;
+    }
+}
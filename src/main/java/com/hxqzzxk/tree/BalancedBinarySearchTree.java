@@ -87,5 +87,9 @@ public class BalancedBinarySearchTree<E extends Comparable> extends BinarySearch
         }
         // 更新grand
         grand.parent = parent;
+
+        // 更新子树的节点数量，grand现在是parent的子节点，要先更新
+        grand.size = sizeOf(grand.left) + sizeOf(grand.right) + 1;
+        parent.size = sizeOf(parent.left) + sizeOf(parent.right) + 1;
     }
 }
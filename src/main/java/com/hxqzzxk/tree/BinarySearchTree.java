@@ -1,5 +1,8 @@
 package com.hxqzzxk.tree;
 
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
 /**
  * 二叉搜索树实现。
  * 支持添加、删除和查找操作，元素必须是可比较的。
@@ -58,6 +61,10 @@ public class BinarySearchTree<E extends Comparable> extends BinaryTree<E> {
             parent.left = newNode;
         }
         size++;
+        // 新节点的所有祖先节点的子树都多了一个节点
+        for (Node<E> p = parent; p != null; p = p.parent) {
+            p.size++;
+        }
         afterAdd(newNode);
     }
 
@@ -114,6 +121,10 @@ public class BinarySearchTree<E extends Comparable> extends BinaryTree<E> {
         // 2. 如果node不是根节点，那就先判断出node节点是node的父节点的左子节点还是右子节点，
         // 把父节点的相应的子节点置为null即可
         Node<E> replacement = node.left != null ? node.left : node.right;
+        // 真正被删除的节点的所有祖先节点的子树都少了一个节点，需要在修复平衡（旋转）之前更新
+        for (Node<E> p = node.parent; p != null; p = p.parent) {
+            p.size--;
+        }
         // 度为1的节点
         // 删除度为1的节点，核心是让replacement的代替node节点，
         // 第一步，先让replacement的parent指向node的parent
@@ -167,6 +178,291 @@ public class BinarySearchTree<E extends Comparable> extends BinaryTree<E> {
         return node(element) != null;
     }
 
+    /**
+     * 获取小于指定元素的元素数量，即元素在从小到大排列中的位置（从 0 开始）。
+     * 利用节点中记录的子树大小，只需要从根节点向下查找一次，时间复杂度为 O(log n)。
+     *
+     * @param element 要查找的元素，不需要在树中，不能为null
+     * @return 小于该元素的元素数量
+     */
+    public int rank(E element) {
+        checkElement(element);
+        return rank(element, false);
+    }
+
+    /**
+     * 获取从小到大排列的第 k 个元素（从 0 开始），时间复杂度为 O(log n)。
+     *
+     * @param k 元素的位置
+     * @return 第 k 个元素
+     * @throws IndexOutOfBoundsException 如果 k 不在 [0, size) 范围内
+     */
+    public E select(int k) {
+        if (k < 0 || k >= size) {
+            throw new IndexOutOfBoundsException("Index:" + k + ", Size:" + size);
+        }
+        Node<E> node = root;
+        while (true) {
+            int leftSize = sizeOf(node.left);
+            if (k < leftSize) {
+                node = node.left;
+            } else if (k > leftSize) {
+                k -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.element;
+            }
+        }
+    }
+
+    /**
+     * 获取在 [lo, hi] 范围内的元素数量，时间复杂度为 O(log n)。
+     *
+     * @param lo 范围的起点（包括），不能为null
+     * @param hi 范围的终点（包括），不能为null
+     * @return 范围内的元素数量，lo 大于 hi 时返回 0
+     */
+    public int countInRange(E lo, E hi) {
+        checkElement(lo);
+        checkElement(hi);
+        if (compare(lo, hi) > 0) {
+            return 0;
+        }
+        return rank(hi, true) - rank(lo, false);
+    }
+
+    /**
+     * 获取小于（或等于）指定元素的元素数量
+     *
+     * @param element   要查找的元素
+     * @param inclusive 是否统计等于该元素的元素
+     * @return 满足条件的元素数量
+     */
+    private int rank(E element, boolean inclusive) {
+        int rank = 0;
+        Node<E> node = root;
+        while (node != null) {
+            int cmp = compare(element, node.element);
+            if (cmp < 0) {
+                node = node.left;
+            } else if (cmp > 0) {
+                // 当前节点和它的左子树都小于该元素
+                rank += sizeOf(node.left) + 1;
+                node = node.right;
+            } else {
+                return rank + sizeOf(node.left) + (inclusive ? 1 : 0);
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * 获取子树中的节点数量。
+     *
+     * @param node 子树的根节点
+     * @return 节点数量，子树为空时返回 0
+     */
+    protected static int sizeOf(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * 获取最小的元素。
+     *
+     * @return 最小的元素，树为空时返回null
+     */
+    public E first() {
+        Node<E> node = root;
+        if (node == null) {
+            return null;
+        }
+        while (node.left != null) {
+            node = node.left;
+        }
+        return node.element;
+    }
+
+    /**
+     * 获取最大的元素。
+     *
+     * @return 最大的元素，树为空时返回null
+     */
+    public E last() {
+        Node<E> node = root;
+        if (node == null) {
+            return null;
+        }
+        while (node.right != null) {
+            node = node.right;
+        }
+        return node.element;
+    }
+
+    /**
+     * 获取小于等于指定元素的最大元素。
+     *
+     * @param element 要比较的元素，不能为null
+     * @return 满足条件的元素，不存在时返回null
+     */
+    public E floor(E element) {
+        checkElement(element);
+        return elementOf(floorNode(element, true));
+    }
+
+    /**
+     * 获取大于等于指定元素的最小元素。
+     *
+     * @param element 要比较的元素，不能为null
+     * @return 满足条件的元素，不存在时返回null
+     */
+    public E ceiling(E element) {
+        checkElement(element);
+        return elementOf(ceilingNode(element, true));
+    }
+
+    /**
+     * 获取严格小于指定元素的最大元素。
+     *
+     * @param element 要比较的元素，不能为null
+     * @return 满足条件的元素，不存在时返回null
+     */
+    public E lower(E element) {
+        checkElement(element);
+        return elementOf(floorNode(element, false));
+    }
+
+    /**
+     * 获取严格大于指定元素的最小元素。
+     *
+     * @param element 要比较的元素，不能为null
+     * @return 满足条件的元素，不存在时返回null
+     */
+    public E higher(E element) {
+        checkElement(element);
+        return elementOf(ceilingNode(element, false));
+    }
+
+    /**
+     * 返回按照从小到大的顺序遍历指定范围内元素的迭代器。
+     * 先用 O(log n) 找到范围内的第一个节点，然后沿着后继节点遍历，超出范围时结束，
+     * 不会访问范围之外的节点，也不复制元素。
+     *
+     * @param fromElement   范围的起点，为null时表示没有下界
+     * @param fromInclusive 是否包含起点
+     * @param toElement     范围的终点，为null时表示没有上界
+     * @param toInclusive   是否包含终点
+     * @return 元素的迭代器
+     */
+    public Iterator<E> iterator(E fromElement, boolean fromInclusive, E toElement, boolean toInclusive) {
+        Node<E> first;
+        if (fromElement != null) {
+            first = ceilingNode(fromElement, fromInclusive);
+        } else {
+            first = root;
+            while (first != null && first.left != null) {
+                first = first.left;
+            }
+        }
+        Node<E> start = first;
+        return new Iterator<E>() {
+            /**
+             * 下一个要返回的节点
+             */
+            private Node<E> next = inRange(start);
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public E next() {
+                Node<E> node = next;
+                if (node == null) {
+                    throw new NoSuchElementException();
+                }
+                next = inRange(successor(node));
+                return node.element;
+            }
+
+            /**
+             * 检查节点是否超出了范围的终点
+             *
+             * @param node 节点
+             * @return 节点在范围内时返回该节点，否则返回null
+             */
+            private Node<E> inRange(Node<E> node) {
+                if (node == null || toElement == null) {
+                    return node;
+                }
+                int cmp = compare(node.element, toElement);
+                return cmp < 0 || (cmp == 0 && toInclusive) ? node : null;
+            }
+        };
+    }
+
+    /**
+     * 查找小于（或等于）指定元素的最大节点。
+     *
+     * @param element   要比较的元素
+     * @param inclusive 是否允许等于
+     * @return 满足条件的节点，不存在时返回null
+     */
+    private Node<E> floorNode(E element, boolean inclusive) {
+        Node<E> node = root;
+        Node<E> result = null;
+        while (node != null) {
+            int cmp = compare(element, node.element);
+            if (cmp == 0 && inclusive) {
+                return node;
+            }
+            if (cmp > 0) {
+                // 当前节点满足条件，继续在右子树中找更大的
+                result = node;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 查找大于（或等于）指定元素的最小节点。
+     *
+     * @param element   要比较的元素
+     * @param inclusive 是否允许等于
+     * @return 满足条件的节点，不存在时返回null
+     */
+    private Node<E> ceilingNode(E element, boolean inclusive) {
+        Node<E> node = root;
+        Node<E> result = null;
+        while (node != null) {
+            int cmp = compare(element, node.element);
+            if (cmp == 0 && inclusive) {
+                return node;
+            }
+            if (cmp < 0) {
+                // 当前节点满足条件，继续在左子树中找更小的
+                result = node;
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 获取节点的元素。
+     *
+     * @param node 节点
+     * @return 节点的元素，节点为null时返回null
+     */
+    private E elementOf(Node<E> node) {
+        return node == null ? null : node.element;
+    }
+
     /**
      * 查找元素所在的节点。
      *
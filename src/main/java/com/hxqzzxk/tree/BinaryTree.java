@@ -1,6 +1,8 @@
 package com.hxqzzxk.tree;
 
+import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.NoSuchElementException;
 import java.util.Queue;
 import java.util.Stack;
 
@@ -9,7 +11,7 @@ import java.util.Stack;
  *
  * @param <E> 二叉树中存储的元素类型
  */
-public class BinaryTree<E> {
+public class BinaryTree<E> implements Iterable<E> {
     /**
      * 二叉树的节点总数
      */
@@ -41,6 +43,10 @@ public class BinaryTree<E> {
          * 二叉树的节点的父节点
          */
         Node<E> parent;
+        /**
+         * 以该节点为根的子树中的节点数量，由二叉搜索树维护，用于顺序统计
+         */
+        int size = 1;
 
         /**
          * 构造一个新的节点
@@ -630,6 +636,44 @@ public class BinaryTree<E> {
         return new Node<E>(element, parent);
     }
 
+    /**
+     * 返回按照中序遍历的顺序遍历所有元素的迭代器，二叉搜索树中即为从小到大的顺序。
+     * 通过父节点指针查找后继节点，不需要额外的栈。
+     *
+     * @return 元素的迭代器
+     */
+    @Override
+    public Iterator<E> iterator() {
+        Node<E> first = root;
+        if (first != null) {
+            while (first.left != null) {
+                first = first.left;
+            }
+        }
+        Node<E> start = first;
+        return new Iterator<E>() {
+            /**
+             * 下一个要返回的节点
+             */
+            private Node<E> next = start;
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public E next() {
+                Node<E> node = next;
+                if (node == null) {
+                    throw new NoSuchElementException();
+                }
+                next = successor(node);
+                return node.element;
+            }
+        };
+    }
+
     /**
      * 查找节点的前驱节点
      * 1. 首先，先看该节点有没有左子节点，有，看有没有右子节点，没有，那左子节点
@@ -1,5 +1,9 @@
 package com.hxqzzxk.tree;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
 /**
  * 红黑树实现类
  * 红黑树是一种自平衡的二叉搜索树，保证了树的高度大约在 2log(n) 以内，
@@ -48,6 +52,135 @@ public class RedBlackTree<E extends Comparable> extends BalancedBinarySearchTree
         }
     }
 
+    /**
+     * 由升序排列的元素在线性时间内构建红黑树，不需要比较查找插入位置，也不需要旋转和重新染色。
+     * 相邻的重复元素会被合并，只保留最后一个；元素不是升序时抛出异常。
+     *
+     * @param elements 升序排列的元素，不能包含null
+     * @param <E>      元素类型
+     * @return 新的红黑树
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Comparable> RedBlackTree<E> fromSorted(E[] elements) {
+        if (elements == null) {
+            throw new IllegalArgumentException("elements must not be null");
+        }
+        // 检查顺序，同时统计不重复的元素的数量
+        int distinct = 0;
+        for (int i = 0; i < elements.length; i++) {
+            if (elements[i] == null) {
+                throw new IllegalArgumentException("element must not be null");
+            }
+            if (i > 0) {
+                int cmp = elements[i - 1].compareTo(elements[i]);
+                if (cmp > 0) {
+                    throw new IllegalArgumentException("elements must be sorted in ascending order");
+                }
+                if (cmp == 0) {
+                    continue;
+                }
+            }
+            distinct++;
+        }
+        if (distinct < elements.length) {
+            // 合并重复的元素，每组相同的元素只保留最后一个
+            E[] distinctElements = (E[]) new Comparable[distinct];
+            int j = 0;
+            for (int i = 0; i < elements.length; i++) {
+                if (i + 1 < elements.length && elements[i].compareTo(elements[i + 1]) == 0) {
+                    continue;
+                }
+                distinctElements[j++] = elements[i];
+            }
+            elements = distinctElements;
+        }
+        return fromSortedDistinct(elements, elements.length);
+    }
+
+    /**
+     * 由数组中前 length 个升序且不重复的元素构建红黑树，不检查顺序，也不复制数组。
+     * 只用于调用者已经保证有序且不重复的场景，例如 TreeSet 的集合运算归并得到的结果；
+     * 不满足这个前提时得到的树不是合法的二叉搜索树。
+     *
+     * @param elements 升序排列且不重复的元素，不能包含null
+     * @param length   使用的元素数量
+     * @param <E>      元素类型
+     * @return 新的红黑树
+     */
+    public static <E extends Comparable> RedBlackTree<E> fromSortedDistinct(E[] elements, int length) {
+        if (elements == null) {
+            throw new IllegalArgumentException("elements must not be null");
+        }
+        if (length < 0 || length > elements.length) {
+            throw new IllegalArgumentException("length must be in [0, elements.length]");
+        }
+        RedBlackTree<E> tree = new RedBlackTree<>();
+        tree.root = buildFromSorted(elements, 0, length - 1, 0, redLevel(length), null);
+        tree.size = length;
+        return tree;
+    }
+
+    /**
+     * 由升序排列的元素构建红黑树，先把元素读入数组，再调用 {@link #fromSorted(Comparable[])}
+     *
+     * @param elements 升序排列的元素
+     * @param <E>      元素类型
+     * @return 新的红黑树
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Comparable> RedBlackTree<E> fromSorted(Iterator<? extends E> elements) {
+        if (elements == null) {
+            throw new IllegalArgumentException("elements must not be null");
+        }
+        List<E> list = new ArrayList<>();
+        while (elements.hasNext()) {
+            list.add(elements.next());
+        }
+        return fromSorted((E[]) list.toArray(new Comparable[0]));
+    }
+
+    /**
+     * 递归构建 [lo, hi] 范围内的元素组成的子树，中间的元素作为子树的根节点。
+     * 这样得到的树除了最底层以外都是满的，最底层（第 redLevel 层）的节点染成红色，
+     * 其余节点都是黑色，从而满足红黑树的性质。
+     *
+     * @param elements 升序排列的不重复的元素
+     * @param lo       范围的起点
+     * @param hi       范围的终点（包括）
+     * @param level    子树根节点所在的层，根节点为第 0 层
+     * @param redLevel 需要染成红色的层
+     * @param parent   子树根节点的父节点
+     * @return 子树的根节点，范围为空时返回 null
+     */
+    private static <E> Node<E> buildFromSorted(E[] elements, int lo, int hi, int level, int redLevel,
+            Node<E> parent) {
+        if (lo > hi) {
+            return null;
+        }
+        int mid = (lo + hi) >>> 1;
+        RedBlackNode<E> node = new RedBlackNode<>(elements[mid], parent);
+        node.color = level == redLevel ? RED : BLACK;
+        node.size = hi - lo + 1;
+        node.left = buildFromSorted(elements, lo, mid - 1, level + 1, redLevel, node);
+        node.right = buildFromSorted(elements, mid + 1, hi, level + 1, redLevel, node);
+        return node;
+    }
+
+    /**
+     * 计算按照中间节点划分构建 size 个节点的树时，最底层所在的层。
+     * 当树不是满二叉树时，这一层的节点数量不足，需要染成红色才能使每条路径的黑色节点数量相同。
+     *
+     * @param size 节点数量
+     * @return 最底层所在的层
+     */
+    private static int redLevel(int size) {
+        int level = 0;
+        for (int m = size - 1; m >= 0; m = m / 2 - 1) {
+            level++;
+        }
+        return level;
+    }
+
     /**
      * 添加之后的操作，这个添加操作是二叉搜索树的添加操作
      * 首先，排除添加的节点已经在树中的情况，添加的节点都是
@@ -113,7 +246,7 @@ public class RedBlackTree<E extends Comparable> extends BalancedBinarySearchTree
             if (node.isLeftChild()) {
                 // RL
                 black(node);
-                rotateRight(grand);
+                rotateRight(parent);
             } else {
                 // RR
                 black(parent);
@@ -196,8 +329,8 @@ public class RedBlackTree<E extends Comparable> extends BalancedBinarySearchTree
             } else {
                 // sibling的右子节点是黑色，旋转之后，变成sibling的左子节点是红色
                 if (isBlack(sibling.right)) {
-                    rotateLeft(sibling);
-                    sibling = sibling.right;
+                    rotateRight(sibling);
+                    sibling = parent.right;
                 }
                 color(sibling, colorOf(parent));
                 black(sibling.right);
@@ -223,7 +356,7 @@ public class RedBlackTree<E extends Comparable> extends BalancedBinarySearchTree
             } else {
                 if (isBlack(sibling.left)) {
                     rotateLeft(sibling);
-                    sibling = sibling.left;
+                    sibling = parent.left;
                 }
                 color(sibling, colorOf(parent));
                 black(sibling.left);
@@ -305,7 +438,7 @@ public class RedBlackTree<E extends Comparable> extends BalancedBinarySearchTree
      * @param node 要判断颜色的节点
      * @return 如果节点是红色返回 true，否则返回 false
      */
-    private boolean isRed(Node<E> node) {
+    boolean isRed(Node<E> node) {
         return colorOf(node) == RED;
     }
 }
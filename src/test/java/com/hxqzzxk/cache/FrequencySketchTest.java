@@ -0,0 +1,54 @@
+package com.hxqzzxk.cache;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * FrequencySketch 测试类
+ * 用于验证频率估计和老化的正确性
+ */
+public class FrequencySketchTest {
+    /**
+     * 测试频率的估计值
+     */
+    @Test
+    public void testFrequency() {
+        FrequencySketch sketch = new FrequencySketch(512);
+        Assert.assertEquals(0, sketch.frequency(1));
+        for (int i = 0; i < 5; i++) {
+            sketch.increment(1);
+        }
+        // Count-Min Sketch 只会高估，不会低估
+        Assert.assertTrue(sketch.frequency(1) >= 5);
+        Assert.assertTrue(sketch.frequency(2) < sketch.frequency(1));
+    }
+
+    /**
+     * 测试计数器的最大值为 15
+     */
+    @Test
+    public void testSaturation() {
+        FrequencySketch sketch = new FrequencySketch(512);
+        for (int i = 0; i < 100; i++) {
+            sketch.increment("hot");
+        }
+        Assert.assertEquals(15, sketch.frequency("hot"));
+    }
+
+    /**
+     * 测试记录次数达到采样数量之后，计数器减半
+     */
+    @Test
+    public void testAging() {
+        FrequencySketch sketch = new FrequencySketch(16);
+        for (int i = 0; i < 10; i++) {
+            sketch.increment("hot");
+        }
+        int before = sketch.frequency("hot");
+        // 采样数量为 160，访问足够多的其他元素以触发老化
+        for (int i = 0; i < 160; i++) {
+            sketch.increment(i);
+        }
+        Assert.assertTrue(sketch.frequency("hot") < before);
+    }
+}
@@ -0,0 +1,29 @@
+package com.hxqzzxk.cache;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * LruCache 测试类
+ * 用于验证 LRU 淘汰顺序的正确性
+ */
+public class LruCacheTest {
+    /**
+     * 测试淘汰最久未使用的键值对
+     */
+    @Test
+    public void testEviction() {
+        LruCache<Integer, String> cache = new LruCache<>(2);
+        cache.put(1, "one");
+        cache.put(2, "two");
+        Assert.assertEquals("one", cache.get(1));
+        cache.put(3, "three");
+
+        Assert.assertEquals(2, cache.size());
+        Assert.assertNull(cache.get(2));
+        Assert.assertEquals("one", cache.get(1));
+        Assert.assertEquals("three", cache.get(3));
+        cache.clear();
+        Assert.assertEquals(0, cache.size());
+    }
+}
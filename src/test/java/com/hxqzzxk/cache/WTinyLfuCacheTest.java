@@ -0,0 +1,90 @@
+package com.hxqzzxk.cache;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * WTinyLfuCache 测试类
+ * 用于验证基本操作、容量限制，以及在偏斜和循环轨迹上的命中率高于 LRU
+ */
+public class WTinyLfuCacheTest {
+    /**
+     * 测试基本的放入和获取
+     */
+    @Test
+    public void testGetAndPut() {
+        WTinyLfuCache<Integer, String> cache = new WTinyLfuCache<>(100);
+        cache.put(1, "one");
+        cache.put(2, "two");
+        Assert.assertEquals("one", cache.get(1));
+        Assert.assertEquals("two", cache.get(2));
+        cache.put(1, "uno");
+        Assert.assertEquals("uno", cache.get(1));
+        Assert.assertNull(cache.get(3));
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(3, cache.hitCount());
+        Assert.assertEquals(1, cache.missCount());
+    }
+
+    /**
+     * 测试缓存的大小不会超过最大容量
+     */
+    @Test
+    public void testMaximumSize() {
+        WTinyLfuCache<Integer, Integer> cache = new WTinyLfuCache<>(50);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i, i);
+            Assert.assertTrue(cache.size() <= 50);
+        }
+        Assert.assertEquals(50, cache.size());
+        Assert.assertEquals(950, cache.evictionCount());
+    }
+
+    /**
+     * 测试高频的键不会被一次性扫描的冷数据挤掉
+     */
+    @Test
+    public void testScanResistance() {
+        WTinyLfuCache<Integer, Integer> cache = new WTinyLfuCache<>(100);
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 50; i++) {
+                if (cache.get(i) == null) {
+                    cache.put(i, i);
+                }
+            }
+        }
+        for (int i = 1000; i < 2000; i++) {
+            cache.put(i, i);
+        }
+        int retained = 0;
+        for (int i = 0; i < 50; i++) {
+            if (cache.get(i) != null) {
+                retained++;
+            }
+        }
+        Assert.assertTrue(retained >= 45);
+    }
+
+    /**
+     * 测试在 Zipf 轨迹（穿插扫描）上的命中率高于 LRU
+     */
+    @Test
+    public void testSkewedTrace() {
+        long[] trace = CacheSimulator.withScans(CacheSimulator.zipfTrace(200000, 20000, 0.9, 42), 1000, 500);
+        double tinyLfu = CacheSimulator.hitRatio(new WTinyLfuCache<>(500), trace);
+        double lru = CacheSimulator.hitRatio(new LruCache<>(500), trace);
+        Assert.assertTrue(tinyLfu + " <= " + lru, tinyLfu > lru);
+    }
+
+    /**
+     * 测试在循环轨迹上的命中率高于 LRU（循环长度超过容量时 LRU 的命中率为 0）
+     */
+    @Test
+    public void testLoopingTrace() {
+        long[] trace = CacheSimulator.loopTrace(100000, 600);
+        double tinyLfu = CacheSimulator.hitRatio(new WTinyLfuCache<>(500), trace);
+        double lru = CacheSimulator.hitRatio(new LruCache<>(500), trace);
+        Assert.assertEquals(0, lru, 0);
+        Assert.assertTrue(String.valueOf(tinyLfu), tinyLfu > 0.5);
+    }
+}
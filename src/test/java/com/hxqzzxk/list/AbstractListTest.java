@@ -1,5 +1,7 @@
 package com.hxqzzxk.list;
 
+import java.util.stream.StreamSupport;
+
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -178,4 +180,20 @@ public abstract class AbstractListTest implements ListTest {
         list.add(0);
         list.add(2, 0);
     }
+
+    /**
+     * 测试迭代器按照索引顺序遍历，以及通过并行流聚合所有元素
+     */
+    @Test
+    public void testIterator() {
+        for (int i = 0; i < 1000; i++) {
+            list.add(i);
+        }
+        int expected = 0;
+        for (Integer element : list) {
+            Assert.assertEquals(Integer.valueOf(expected++), element);
+        }
+        Assert.assertEquals(1000, expected);
+        Assert.assertEquals(499500, StreamSupport.stream(list.spliterator(), true).mapToInt(Integer::intValue).sum());
+    }
 }
@@ -1,6 +1,9 @@
 
 package com.hxqzzxk.list;
 
+import java.util.Arrays;
+import java.util.Random;
+
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -32,4 +35,145 @@ public class ArrayListTest extends AbstractListTest {
         list.add(2);
         Assert.assertEquals("size: 3, elements: [0, 1, 2]", list.toString());
     }
+
+    /**
+     * 测试在数组已满时插入到中间位置
+     */
+    @Test
+    public void testAddInMiddleWhenFull() {
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+        list.add(5, 100);
+        Assert.assertEquals("size: 11, elements: [0, 1, 2, 3, 4, 100, 5, 6, 7, 8, 9]", list.toString());
+    }
+
+    /**
+     * 测试批量添加、范围删除和条件删除
+     */
+    @Test
+    public void testBulkOperations() {
+        ArrayList<Integer> arrayList = (ArrayList<Integer>) list;
+        arrayList.addAll(new Integer[]{1, 2, 3});
+        arrayList.addAll(0, Arrays.asList(-2, -1));
+        arrayList.addAll(2, new Integer[]{0});
+        arrayList.addAll(Arrays.<Integer>asList());
+        Assert.assertEquals("size: 6, elements: [-2, -1, 0, 1, 2, 3]", list.toString());
+        arrayList.removeRange(1, 3);
+        Assert.assertEquals("size: 4, elements: [-2, 1, 2, 3]", list.toString());
+        arrayList.removeRange(4, 4);
+        Assert.assertFalse(arrayList.removeIf(e -> e > 10));
+        Assert.assertTrue(arrayList.removeIf(e -> e % 2 == 0));
+        Assert.assertEquals("size: 2, elements: [1, 3]", list.toString());
+        try {
+            arrayList.removeRange(1, 3);
+            Assert.fail();
+        } catch (IndexOutOfBoundsException e) {
+            Assert.assertEquals("fromIndex:1, toIndex:3, Size:2", e.getMessage());
+        }
+        try {
+            arrayList.addAll(3, new Integer[]{1});
+            Assert.fail();
+        } catch (IndexOutOfBoundsException e) {
+            Assert.assertEquals("Index:3, Size:2", e.getMessage());
+        }
+        try {
+            arrayList.removeIf(null);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("filter must not be null", e.getMessage());
+        }
+    }
+
+    /**
+     * 测试和 java.util.ArrayList 随机对比批量操作
+     */
+    @Test
+    public void testRandomBulkOperations() {
+        ArrayList<Integer> arrayList = (ArrayList<Integer>) list;
+        java.util.ArrayList<Integer> expected = new java.util.ArrayList<>();
+        Random random = new Random(22);
+        for (int round = 0; round < 2000; round++) {
+            int op = random.nextInt(4);
+            if (op == 0) {
+                int index = random.nextInt(expected.size() + 1);
+                Integer[] values = new Integer[random.nextInt(20)];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = random.nextInt(100);
+                }
+                arrayList.addAll(index, values);
+                expected.addAll(index, Arrays.asList(values));
+            } else if (op == 1) {
+                int from = random.nextInt(expected.size() + 1);
+                int to = from + random.nextInt(expected.size() - from + 1);
+                arrayList.removeRange(from, to);
+                expected.subList(from, to).clear();
+            } else if (op == 2) {
+                int mod = 2 + random.nextInt(20);
+                Assert.assertEquals(expected.removeIf(e -> e % mod == 0), arrayList.removeIf(e -> e % mod == 0));
+            } else {
+                int index = random.nextInt(expected.size() + 1);
+                arrayList.add(index, round);
+                expected.add(index, round);
+            }
+            Assert.assertEquals(expected.size(), list.size());
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertEquals(expected.get(i), list.get(i));
+        }
+    }
+
+    /**
+     * 测试 ensureCapacity、trimToSize 和缩容的滞后
+     */
+    @Test
+    public void testCapacity() {
+        ArrayList<Integer> arrayList = (ArrayList<Integer>) list;
+        Assert.assertEquals(10, arrayList.capacity());
+        arrayList.ensureCapacity(1000);
+        Assert.assertEquals(1000, arrayList.capacity());
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+        arrayList.trimToSize();
+        Assert.assertEquals(100, arrayList.capacity());
+        list.add(100);
+        Assert.assertEquals(150, arrayList.capacity());
+        // 在扩容的边界附近交替删除、添加，容量保持不变
+        for (int i = 0; i < 10; i++) {
+            list.remove(list.size() - 1);
+            Assert.assertEquals(150, arrayList.capacity());
+            list.add(i);
+            Assert.assertEquals(150, arrayList.capacity());
+        }
+        // 元素数量降到容量的 1/4 时才缩容到一半
+        arrayList.removeRange(38, list.size());
+        Assert.assertEquals(150, arrayList.capacity());
+        list.remove(0);
+        Assert.assertEquals(75, arrayList.capacity());
+        list.clear();
+        arrayList.trimToSize();
+        Assert.assertEquals(10, arrayList.capacity());
+    }
+
+    /**
+     * 测试 removeIf 的条件抛出异常时线性表保持不变
+     */
+    @Test
+    public void testRemoveIfThrows() {
+        ArrayList<Integer> arrayList = (ArrayList<Integer>) list;
+        arrayList.addAll(new Integer[]{1, 2, 3, 4, 5});
+        try {
+            arrayList.removeIf(e -> {
+                if (e == 4) {
+                    throw new IllegalStateException("stop");
+                }
+                return e % 2 == 1;
+            });
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("stop", e.getMessage());
+        }
+        Assert.assertEquals("size: 5, elements: [1, 2, 3, 4, 5]", list.toString());
+    }
 }
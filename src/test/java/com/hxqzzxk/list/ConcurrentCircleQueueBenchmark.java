@@ -0,0 +1,254 @@
+package com.hxqzzxk.list;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ConcurrentCircleQueue 的吞吐量基准，与用 synchronized 保护的 CircleQueue 对比。
+ * <p>
+ * 不属于单元测试（mvn test 不会执行），需要手动运行 main 方法。
+ * 对 1 到 32 个生产者和消费者的各种组合，测量传递固定数量元素的吞吐量（百万个元素每秒）：
+ * - Locked：CircleQueue 加 synchronized，队列满或者空时让出 CPU 重试；
+ * - LockFree：ConcurrentCircleQueue 的 offer 和 poll；
+ * - Batch：ConcurrentCircleQueue 的批量 offer 和 drain，每批最多 BATCH 个元素。
+ * 可以用参数指定只测量一种队列（Locked、LockFree、Batch）。
+ * </p>
+ */
+public class ConcurrentCircleQueueBenchmark {
+    /**
+     * 生产者和消费者线程数量
+     */
+    private static final int[] THREADS = { 1, 2, 4, 8, 16, 32 };
+
+    /**
+     * 队列容量
+     */
+    private static final int CAPACITY = 1024;
+
+    /**
+     * 每次测量传递的元素总数
+     */
+    private static final int ITEMS = 2_000_000;
+
+    /**
+     * 批量操作每批的元素数量
+     */
+    private static final int BATCH = 32;
+
+    /**
+     * 预热的轮数
+     */
+    private static final int WARMUP_ROUNDS = 2;
+
+    /**
+     * 计时的轮数
+     */
+    private static final int MEASURE_ROUNDS = 3;
+
+    /**
+     * 参与比较的队列
+     */
+    private static final String[] NAMES = { "Locked", "LockFree", "Batch" };
+
+    /**
+     * 被传递的元素，预先创建以免测量装箱
+     */
+    private static final Integer ITEM = 1;
+
+    /**
+     * 一种队列的测量方式
+     */
+    private interface Pipe {
+        /**
+         * 生产者线程的工作
+         *
+         * @param count 要入队的元素数量
+         */
+        void produce(int count);
+
+        /**
+         * 消费者线程的工作，直到所有元素都出队
+         *
+         * @param remaining 还没有出队的元素数量，所有消费者共享
+         */
+        void consume(AtomicLong remaining);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String only = args.length > 0 ? args[0] : null;
+        System.out.printf("%-10s %-10s", "producers", "consumers");
+        for (String name : NAMES) {
+            if (only == null || only.equals(name)) {
+                System.out.printf(" %10s", name);
+            }
+        }
+        System.out.println("   (M items/s)");
+        for (int producers : THREADS) {
+            for (int consumers : THREADS) {
+                System.out.printf("%-10d %-10d", producers, consumers);
+                for (String name : NAMES) {
+                    if (only != null && !only.equals(name)) {
+                        continue;
+                    }
+                    double total = 0;
+                    for (int round = 0; round < WARMUP_ROUNDS + MEASURE_ROUNDS; round++) {
+                        double throughput = measure(pipe(name), producers, consumers);
+                        if (round >= WARMUP_ROUNDS) {
+                            total += throughput;
+                        }
+                    }
+                    System.out.printf(" %10.2f", total / MEASURE_ROUNDS);
+                }
+                System.out.println();
+            }
+        }
+    }
+
+    /**
+     * 根据名称创建队列的测量方式
+     *
+     * @param name 队列的名称
+     * @return 测量方式
+     */
+    private static Pipe pipe(String name) {
+        if (name.equals("Locked")) {
+            CircleQueue<Integer> queue = new CircleQueue<>(CAPACITY);
+            return new Pipe() {
+                @Override
+                public void produce(int count) {
+                    while (count > 0) {
+                        synchronized (queue) {
+                            if (queue.size() < CAPACITY) {
+                                queue.enQueue(ITEM);
+                                count--;
+                                continue;
+                            }
+                        }
+                        Thread.yield();
+                    }
+                }
+
+                @Override
+                public void consume(AtomicLong remaining) {
+                    while (remaining.get() > 0) {
+                        Integer item = null;
+                        synchronized (queue) {
+                            if (!queue.isEmpty()) {
+                                item = queue.deQueue();
+                            }
+                        }
+                        if (item == null) {
+                            Thread.yield();
+                        } else {
+                            remaining.decrementAndGet();
+                        }
+                    }
+                }
+            };
+        }
+        ConcurrentCircleQueue<Integer> queue = new ConcurrentCircleQueue<>(CAPACITY);
+        if (name.equals("LockFree")) {
+            return new Pipe() {
+                @Override
+                public void produce(int count) {
+                    while (count > 0) {
+                        if (queue.offer(ITEM)) {
+                            count--;
+                        } else {
+                            Thread.yield();
+                        }
+                    }
+                }
+
+                @Override
+                public void consume(AtomicLong remaining) {
+                    while (remaining.get() > 0) {
+                        if (queue.poll() == null) {
+                            Thread.yield();
+                        } else {
+                            remaining.decrementAndGet();
+                        }
+                    }
+                }
+            };
+        }
+        return new Pipe() {
+            @Override
+            public void produce(int count) {
+                Integer[] batch = new Integer[BATCH];
+                Arrays.fill(batch, ITEM);
+                while (count > 0) {
+                    int n = queue.offer(batch, 0, Math.min(BATCH, count));
+                    if (n == 0) {
+                        Thread.yield();
+                    }
+                    count -= n;
+                }
+            }
+
+            @Override
+            public void consume(AtomicLong remaining) {
+                Integer[] batch = new Integer[BATCH];
+                while (remaining.get() > 0) {
+                    int n = queue.drain(batch, 0, BATCH);
+                    if (n == 0) {
+                        Thread.yield();
+                    } else {
+                        remaining.addAndGet(-n);
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * 启动生产者和消费者线程，测量传递所有元素的吞吐量
+     *
+     * @param pipe      测量方式
+     * @param producers 生产者数量
+     * @param consumers 消费者数量
+     * @return 百万个元素每秒
+     * @throws InterruptedException 等待线程时被中断
+     */
+    private static double measure(Pipe pipe, int producers, int consumers) throws InterruptedException {
+        AtomicLong remaining = new AtomicLong(ITEMS);
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[producers + consumers];
+        for (int i = 0; i < producers; i++) {
+            int count = ITEMS / producers + (i < ITEMS % producers ? 1 : 0);
+            threads[i] = new Thread(() -> {
+                await(start);
+                pipe.produce(count);
+            });
+        }
+        for (int i = 0; i < consumers; i++) {
+            threads[producers + i] = new Thread(() -> {
+                await(start);
+                pipe.consume(remaining);
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return ITEMS * 1000.0 / (System.nanoTime() - begin);
+    }
+
+    /**
+     * 等待所有线程同时开始
+     *
+     * @param start 开始信号
+     */
+    private static void await(CountDownLatch start) {
+        try {
+            start.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
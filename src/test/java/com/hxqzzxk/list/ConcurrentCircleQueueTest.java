@@ -0,0 +1,168 @@
+package com.hxqzzxk.list;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 无锁循环队列测试类
+ */
+public class ConcurrentCircleQueueTest {
+
+    /**
+     * 测试单线程下的先进先出、队列满和队列空
+     */
+    @Test
+    public void testOfferAndPoll() {
+        ConcurrentCircleQueue<Integer> queue = new ConcurrentCircleQueue<>(5);
+        Assert.assertEquals(8, queue.capacity());
+        Assert.assertTrue(queue.isEmpty());
+        Assert.assertNull(queue.poll());
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 8; i++) {
+                Assert.assertTrue(queue.offer(i));
+            }
+            Assert.assertFalse(queue.offer(8));
+            Assert.assertEquals(8, queue.size());
+            for (int i = 0; i < 8; i++) {
+                Assert.assertEquals(Integer.valueOf(i), queue.poll());
+            }
+            Assert.assertNull(queue.poll());
+            Assert.assertEquals(0, queue.size());
+        }
+        Assert.assertEquals(2, new ConcurrentCircleQueue<Integer>(1).capacity());
+        Assert.assertEquals(1024, new ConcurrentCircleQueue<Integer>(1024).capacity());
+    }
+
+    /**
+     * 测试批量入队和出队
+     */
+    @Test
+    public void testBatch() {
+        ConcurrentCircleQueue<Integer> queue = new ConcurrentCircleQueue<>(8);
+        Integer[] values = new Integer[12];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+        Assert.assertEquals(3, queue.offer(values, 0, 3));
+        Assert.assertEquals(5, queue.offer(values, 3, 9));
+        Assert.assertEquals(0, queue.offer(values, 8, 4));
+        Assert.assertEquals(0, queue.offer(values, 0, 0));
+        Integer[] out = new Integer[10];
+        Assert.assertEquals(4, queue.drain(out, 1, 4));
+        Assert.assertArrayEquals(new Integer[]{null, 0, 1, 2, 3, null, null, null, null, null}, out);
+        Assert.assertEquals(4, queue.offer(values, 8, 4));
+        StringBuilder stringBuilder = new StringBuilder();
+        Assert.assertEquals(8, queue.drain(e -> stringBuilder.append(e).append(','), 100));
+        Assert.assertEquals("4,5,6,7,8,9,10,11,", stringBuilder.toString());
+        Assert.assertEquals(0, queue.drain(out, 0, 10));
+        Assert.assertEquals(0, queue.drain(e -> Assert.fail(), 0));
+    }
+
+    /**
+     * 测试参数检查
+     */
+    @Test
+    public void testInvalidArguments() {
+        ConcurrentCircleQueue<Integer> queue = new ConcurrentCircleQueue<>(4);
+        try {
+            queue.offer(null);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("element must not be null", e.getMessage());
+        }
+        try {
+            queue.offer(new Integer[]{1, null}, 0, 2);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("element must not be null", e.getMessage());
+        }
+        Assert.assertTrue(queue.isEmpty());
+        try {
+            new ConcurrentCircleQueue<Integer>(0);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("capacity must be in [1, 1073741824]", e.getMessage());
+        }
+    }
+
+    /**
+     * 多个生产者和消费者同时使用单个和批量操作，检查每个元素恰好出队一次，
+     * 并且同一个生产者的元素在同一个消费者看来是按顺序出队的
+     *
+     * @throws InterruptedException 等待线程时被中断
+     */
+    @Test(timeout = 60000)
+    public void testConcurrent() throws InterruptedException {
+        int producers = 4;
+        int consumers = 4;
+        int perProducer = 50000;
+        ConcurrentCircleQueue<Integer> queue = new ConcurrentCircleQueue<>(64);
+        AtomicInteger[] seen = new AtomicInteger[producers * perProducer];
+        for (int i = 0; i < seen.length; i++) {
+            seen[i] = new AtomicInteger();
+        }
+        AtomicInteger remaining = new AtomicInteger(seen.length);
+        AtomicInteger orderErrors = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(producers + consumers);
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            boolean batch = p % 2 == 0;
+            new Thread(() -> {
+                Integer[] values = new Integer[16];
+                int next = 0;
+                while (next < perProducer) {
+                    if (batch) {
+                        int n = Math.min(values.length, perProducer - next);
+                        for (int i = 0; i < n; i++) {
+                            values[i] = base + next + i;
+                        }
+                        next += queue.offer(values, 0, n);
+                    } else if (queue.offer(base + next)) {
+                        next++;
+                    }
+                    Thread.yield();
+                }
+                done.countDown();
+            }).start();
+        }
+        for (int c = 0; c < consumers; c++) {
+            boolean batch = c % 2 == 0;
+            new Thread(() -> {
+                int[] last = new int[producers];
+                Arrays.fill(last, -1);
+                Consumer<Integer> check = value -> {
+                    seen[value].incrementAndGet();
+                    int producer = value / perProducer;
+                    if (value <= last[producer]) {
+                        orderErrors.incrementAndGet();
+                    }
+                    last[producer] = value;
+                    remaining.decrementAndGet();
+                };
+                while (remaining.get() > 0) {
+                    if (batch) {
+                        queue.drain(check, 16);
+                    } else {
+                        Integer value = queue.poll();
+                        if (value != null) {
+                            check.accept(value);
+                        }
+                    }
+                    Thread.yield();
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+        Assert.assertEquals(0, orderErrors.get());
+        for (AtomicInteger count : seen) {
+            Assert.assertEquals(1, count.get());
+        }
+        Assert.assertTrue(queue.isEmpty());
+    }
+}
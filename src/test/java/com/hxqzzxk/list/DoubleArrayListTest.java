@@ -0,0 +1,63 @@
+package com.hxqzzxk.list;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * DoubleArrayList 测试类
+ */
+public class DoubleArrayListTest {
+    /**
+     * 被测试的动态数组
+     */
+    private DoubleArrayList list;
+
+    /**
+     * 创建 DoubleArrayList 实例
+     */
+    @Before
+    public void createList() {
+        list = new DoubleArrayList();
+    }
+
+    /**
+     * 测试添加、获取、修改、删除和查找
+     */
+    @Test
+    public void testBasicOperations() {
+        for (int i = 0; i < 30; i++) {
+            list.add(i / 2.0);
+        }
+        list.add(1, -0.5);
+        Assert.assertEquals(31, list.size());
+        Assert.assertEquals(-0.5, list.get(1), 0);
+        Assert.assertEquals(-0.5, list.set(1, 100.25), 0);
+        Assert.assertEquals(1, list.indexOf(100.25));
+        Assert.assertEquals(100.25, list.remove(1), 0);
+        while (list.size() > 2) {
+            list.remove(list.size() - 1);
+        }
+        Assert.assertEquals("[0.0, 0.5]", list.toString());
+    }
+
+    /**
+     * 测试 NaN 和 -0.0 的查找规则和 sort、binarySearch 一致
+     */
+    @Test
+    public void testSpecialValues() {
+        list.addAll(new double[]{Double.NaN, 0.0, 1.5, -0.0});
+        Assert.assertEquals(0, list.indexOf(Double.NaN));
+        Assert.assertEquals(1, list.indexOf(0.0));
+        Assert.assertEquals(3, list.indexOf(-0.0));
+        list.sort();
+        Assert.assertArrayEquals(new double[]{-0.0, 0.0, 1.5, Double.NaN}, list.toArray(), 0);
+        Assert.assertEquals(0, list.binarySearch(-0.0));
+        Assert.assertEquals(3, list.binarySearch(Double.NaN));
+        double sum = 0;
+        for (double value : list) {
+            sum += value;
+        }
+        Assert.assertTrue(Double.isNaN(sum));
+    }
+}
@@ -0,0 +1,76 @@
+package com.hxqzzxk.list;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * 间隙缓冲区线性表测试类
+ */
+public class GapBufferListTest extends AbstractListTest {
+
+    /**
+     * 创建间隙缓冲区线性表实例
+     */
+    @Before
+    public void createList() {
+        list = new GapBufferList<>();
+    }
+
+    /**
+     * 测试 toString 方法，验证光标跟随编辑位置移动
+     */
+    @Test
+    @Override
+    public void testToString() {
+        Assert.assertEquals("size: 0, cursor: 0, elements: []", list.toString());
+        list.add(0);
+        list.add(1);
+        list.add(2);
+        Assert.assertEquals("size: 3, cursor: 3, elements: [0, 1, 2]", list.toString());
+        list.add(1, 9);
+        Assert.assertEquals("size: 4, cursor: 2, elements: [0, 9, 1, 2]", list.toString());
+        list.remove(3);
+        Assert.assertEquals("size: 3, cursor: 3, elements: [0, 9, 1]", list.toString());
+        list.set(0, 5);
+        Assert.assertEquals("size: 3, cursor: 3, elements: [5, 9, 1]", list.toString());
+    }
+
+    /**
+     * 测试和 java.util.ArrayList 随机对比，编辑位置在光标附近随机游走，偶尔跳到随机位置
+     */
+    @Test
+    public void testRandom() {
+        GapBufferList<Integer> gapBuffer = new GapBufferList<>();
+        java.util.ArrayList<Integer> expected = new java.util.ArrayList<>();
+        Random random = new Random(24);
+        int cursor = 0;
+        for (int i = 0; i < 20000; i++) {
+            if (random.nextInt(50) == 0) {
+                cursor = random.nextInt(expected.size() + 1);
+            } else {
+                cursor = Math.max(0, Math.min(expected.size(), cursor + random.nextInt(5) - 2));
+            }
+            int op = random.nextInt(10);
+            if (op < 6 || cursor == expected.size()) {
+                gapBuffer.add(cursor, i);
+                expected.add(cursor, i);
+                cursor++;
+            } else if (op < 9) {
+                Assert.assertEquals(expected.remove(cursor), gapBuffer.remove(cursor));
+            } else {
+                Assert.assertEquals(expected.set(cursor, -i), gapBuffer.set(cursor, -i));
+            }
+            Assert.assertEquals(expected.size(), gapBuffer.size());
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertEquals(expected.get(i), gapBuffer.get(i));
+        }
+        Integer last = expected.get(expected.size() - 1);
+        Assert.assertEquals(expected.indexOf(last), gapBuffer.indexOf(last));
+        Integer first = expected.get(0);
+        Assert.assertEquals(expected.indexOf(first), gapBuffer.indexOf(first));
+    }
+}
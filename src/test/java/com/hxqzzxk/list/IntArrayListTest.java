@@ -0,0 +1,140 @@
+package com.hxqzzxk.list;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * IntArrayList 测试类
+ */
+public class IntArrayListTest {
+    /**
+     * 被测试的动态数组
+     */
+    private IntArrayList list;
+
+    /**
+     * 创建 IntArrayList 实例
+     */
+    @Before
+    public void createList() {
+        list = new IntArrayList();
+    }
+
+    /**
+     * 测试添加、获取、修改、删除和查找
+     */
+    @Test
+    public void testBasicOperations() {
+        Assert.assertTrue(list.isEmpty());
+        for (int i = 0; i < 5; i++) {
+            list.add(i);
+        }
+        list.add(0, -1);
+        list.add(3, 100);
+        Assert.assertEquals("[-1, 0, 1, 100, 2, 3, 4]", list.toString());
+        Assert.assertEquals(100, list.get(3));
+        Assert.assertEquals(100, list.set(3, 200));
+        Assert.assertEquals(3, list.indexOf(200));
+        Assert.assertEquals(-1, list.indexOf(100));
+        Assert.assertTrue(list.contains(4));
+        Assert.assertEquals(200, list.remove(3));
+        Assert.assertEquals(-1, list.remove(0));
+        Assert.assertEquals("[0, 1, 2, 3, 4]", list.toString());
+        list.clear();
+        Assert.assertEquals(0, list.size());
+        Assert.assertFalse(list.contains(0));
+    }
+
+    /**
+     * 测试索引越界
+     */
+    @Test
+    public void testOutOfBounds() {
+        list.add(1);
+        try {
+            list.get(1);
+            Assert.fail();
+        } catch (IndexOutOfBoundsException e) {
+            Assert.assertEquals("Index:1, Size:1", e.getMessage());
+        }
+        try {
+            list.add(2, 0);
+            Assert.fail();
+        } catch (IndexOutOfBoundsException e) {
+            Assert.assertEquals("Index:2, Size:1", e.getMessage());
+        }
+        try {
+            list.remove(-1);
+            Assert.fail();
+        } catch (IndexOutOfBoundsException e) {
+            Assert.assertEquals("Index:-1, Size:1", e.getMessage());
+        }
+    }
+
+    /**
+     * 测试和 java.util.ArrayList 随机对比，覆盖扩容和缩容
+     */
+    @Test
+    public void testRandom() {
+        java.util.ArrayList<Integer> expected = new java.util.ArrayList<>();
+        Random random = new Random(21);
+        for (int i = 0; i < 20000; i++) {
+            int op = random.nextInt(10);
+            if (op < 6 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                int value = random.nextInt(1000);
+                list.add(index, value);
+                expected.add(index, value);
+            } else {
+                int index = random.nextInt(expected.size());
+                Assert.assertEquals((int) expected.remove(index), list.remove(index));
+            }
+            Assert.assertEquals(expected.size(), list.size());
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertEquals((int) expected.get(i), list.get(i));
+        }
+        while (!list.isEmpty()) {
+            list.remove(list.size() - 1);
+        }
+    }
+
+    /**
+     * 测试批量添加、转换成数组、排序、二分查找和迭代器
+     */
+    @Test
+    public void testBulkOperations() {
+        list.add(5);
+        list.addAll(new int[]{9, 1, 7, 3});
+        list.addAll(new int[0]);
+        Assert.assertArrayEquals(new int[]{5, 9, 1, 7, 3}, list.toArray());
+        list.sort();
+        Assert.assertArrayEquals(new int[]{1, 3, 5, 7, 9}, list.toArray());
+        Assert.assertEquals(2, list.binarySearch(5));
+        Assert.assertEquals(-3, list.binarySearch(4));
+        Assert.assertEquals(-6, list.binarySearch(10));
+        int sum = 0;
+        for (int value : list) {
+            sum += value;
+        }
+        Assert.assertEquals(25, sum);
+
+        int[] values = new int[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+        list.clear();
+        list.addAll(values);
+        Assert.assertEquals(1000, list.size());
+        Assert.assertEquals(999, list.get(999));
+        try {
+            list.addAll(null);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("values must not be null", e.getMessage());
+        }
+    }
+}
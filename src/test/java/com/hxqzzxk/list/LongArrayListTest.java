@@ -0,0 +1,62 @@
+package com.hxqzzxk.list;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * LongArrayList 测试类
+ */
+public class LongArrayListTest {
+    /**
+     * 被测试的动态数组
+     */
+    private LongArrayList list;
+
+    /**
+     * 创建 LongArrayList 实例
+     */
+    @Before
+    public void createList() {
+        list = new LongArrayList();
+    }
+
+    /**
+     * 测试添加、获取、修改、删除和查找
+     */
+    @Test
+    public void testBasicOperations() {
+        for (int i = 0; i < 100; i++) {
+            list.add(i * 10000000000L);
+        }
+        list.add(0, -1L);
+        Assert.assertEquals(101, list.size());
+        Assert.assertEquals(-1L, list.get(0));
+        Assert.assertEquals(990000000000L, list.get(100));
+        Assert.assertEquals(990000000000L, list.set(100, 7L));
+        Assert.assertEquals(100, list.indexOf(7L));
+        Assert.assertTrue(list.contains(10000000000L));
+        Assert.assertEquals(-1L, list.remove(0));
+        while (list.size() > 1) {
+            list.remove(0);
+        }
+        Assert.assertEquals("[7]", list.toString());
+    }
+
+    /**
+     * 测试批量添加、排序、二分查找和迭代器
+     */
+    @Test
+    public void testBulkOperations() {
+        list.addAll(new long[]{Long.MAX_VALUE, 3L, Long.MIN_VALUE});
+        list.sort();
+        Assert.assertArrayEquals(new long[]{Long.MIN_VALUE, 3L, Long.MAX_VALUE}, list.toArray());
+        Assert.assertEquals(1, list.binarySearch(3L));
+        Assert.assertEquals(-2, list.binarySearch(0L));
+        long count = 0;
+        for (long value : list) {
+            count += value == 3L ? 1 : 0;
+        }
+        Assert.assertEquals(1L, count);
+    }
+}
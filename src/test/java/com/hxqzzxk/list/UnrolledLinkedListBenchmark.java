@@ -0,0 +1,134 @@
+package com.hxqzzxk.list;
+
+import java.util.Random;
+
+/**
+ * UnrolledLinkedList 与 DoubleLinkedList、SingleLinkedList、ArrayList 的对比基准。
+ * <p>
+ * 不属于单元测试（mvn test 不会执行），需要手动运行 main 方法。
+ * 对每种线性表测量：顺序追加、迭代器遍历、随机位置读取、随机位置插入再删除。
+ * 同一个 JVM 中测量多种线性表时，List 接口的调用点会变成多态的，影响后测量的线性表，
+ * 可以用参数指定只测量一种线性表（Unrolled、DoubleLinked、SingleLinked、ArrayList），每种分别运行一次。
+ * </p>
+ */
+public class UnrolledLinkedListBenchmark {
+    /**
+     * 线性表中的元素数量
+     */
+    private static final int SIZE = 100_000;
+
+    /**
+     * 随机读取、插入和删除的次数
+     */
+    private static final int RANDOM_OPS = 10_000;
+
+    /**
+     * 预热的轮数
+     */
+    private static final int WARMUP_ROUNDS = 3;
+
+    /**
+     * 计时的轮数
+     */
+    private static final int MEASURE_ROUNDS = 5;
+
+    /**
+     * 参与比较的线性表
+     */
+    private static final String[] NAMES = { "Unrolled", "DoubleLinked", "SingleLinked", "ArrayList" };
+
+    /**
+     * 防止结果被 JIT 优化掉
+     */
+    private static long sink;
+
+    public static void main(String[] args) {
+        String only = args.length > 0 ? args[0] : null;
+        Integer[] elements = new Integer[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            elements[i] = i;
+        }
+        int[] indexes = new int[RANDOM_OPS];
+        Random random = new Random(23);
+        for (int i = 0; i < RANDOM_OPS; i++) {
+            indexes[i] = random.nextInt(SIZE);
+        }
+        System.out.printf("%-14s %12s %12s %12s %16s%n", "list", "append", "iterate", "get", "insert+remove");
+        System.out.printf("%-14s %12s %12s %12s %16s%n", "", "(ns/elem)", "(ns/elem)", "(ns/op)", "(ns/op)");
+        for (String name : NAMES) {
+            if (only != null && !only.equals(name)) {
+                continue;
+            }
+            double[] result = new double[4];
+            for (int round = 0; round < WARMUP_ROUNDS + MEASURE_ROUNDS; round++) {
+                double[] times = run(name, elements, indexes);
+                if (round >= WARMUP_ROUNDS) {
+                    for (int i = 0; i < result.length; i++) {
+                        result[i] += times[i] / MEASURE_ROUNDS;
+                    }
+                }
+            }
+            System.out.printf("%-14s %12.1f %12.1f %12.1f %16.1f%n", name, result[0], result[1], result[2], result[3]);
+        }
+        System.out.println(sink == 42 ? "" : "done");
+    }
+
+    /**
+     * 根据名称创建线性表
+     *
+     * @param name 线性表的名称
+     * @return 空的线性表
+     */
+    private static List<Integer> create(String name) {
+        switch (name) {
+            case "Unrolled":
+                return new UnrolledLinkedList<>();
+            case "DoubleLinked":
+                return new DoubleLinkedList<>();
+            case "SingleLinked":
+                return new SingleLinkedList<>();
+            default:
+                return new ArrayList<>();
+        }
+    }
+
+    /**
+     * 运行一轮所有的操作
+     *
+     * @param name     线性表的名称
+     * @param elements 要追加的元素
+     * @param indexes  随机操作的位置
+     * @return 每种操作的平均纳秒数
+     */
+    private static double[] run(String name, Integer[] elements, int[] indexes) {
+        double[] times = new double[4];
+        long start = System.nanoTime();
+        List<Integer> list = create(name);
+        for (Integer element : elements) {
+            list.add(element);
+        }
+        times[0] = (double) (System.nanoTime() - start) / elements.length;
+
+        start = System.nanoTime();
+        long sum = 0;
+        for (Integer element : list) {
+            sum += element;
+        }
+        times[1] = (double) (System.nanoTime() - start) / elements.length;
+
+        start = System.nanoTime();
+        for (int index : indexes) {
+            sum += list.get(index);
+        }
+        times[2] = (double) (System.nanoTime() - start) / indexes.length;
+
+        start = System.nanoTime();
+        for (int index : indexes) {
+            list.add(index, index);
+            sum += list.remove(index);
+        }
+        times[3] = (double) (System.nanoTime() - start) / indexes.length;
+        sink += sum;
+        return times;
+    }
+}
@@ -0,0 +1,107 @@
+package com.hxqzzxk.list;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * 展开链表测试类
+ */
+public class UnrolledLinkedListTest extends AbstractListTest {
+
+    /**
+     * 创建节点容量为 4 的展开链表，少量元素就会发生分裂和合并
+     */
+    @Before
+    public void createList() {
+        list = new UnrolledLinkedList<>(4);
+    }
+
+    /**
+     * 测试 toString 方法，验证节点的分裂
+     */
+    @Test
+    @Override
+    public void testToString() {
+        Assert.assertEquals("size: 0, nodes: []", list.toString());
+        for (int i = 0; i < 5; i++) {
+            list.add(i);
+        }
+        Assert.assertEquals("size: 5, nodes: [[0, 1, 2, 3], [4]]", list.toString());
+        list.add(1, 9);
+        Assert.assertEquals("size: 6, nodes: [[0, 9, 1], [2, 3], [4]]", list.toString());
+        list.remove(3);
+        Assert.assertEquals("size: 5, nodes: [[0, 9, 1], [3, 4]]", list.toString());
+        list.remove(0);
+        list.remove(0);
+        Assert.assertEquals("size: 3, nodes: [[1, 3, 4]]", list.toString());
+    }
+
+    /**
+     * 测试节点容量的参数检查
+     */
+    @Test
+    public void testInvalidNodeCapacity() {
+        try {
+            new UnrolledLinkedList<Integer>(3);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("nodeCapacity must be at least 4", e.getMessage());
+        }
+    }
+
+    /**
+     * 测试和 java.util.ArrayList 随机对比，并检查除尾节点以外的节点都至少半满
+     */
+    @Test
+    public void testRandom() {
+        for (int capacity : new int[]{4, 5, 64}) {
+            UnrolledLinkedList<Integer> unrolled = new UnrolledLinkedList<>(capacity);
+            java.util.ArrayList<Integer> expected = new java.util.ArrayList<>();
+            Random random = new Random(23);
+            for (int i = 0; i < 20000; i++) {
+                int op = random.nextInt(10);
+                if (op < 5 || expected.isEmpty()) {
+                    int index = random.nextInt(expected.size() + 1);
+                    unrolled.add(index, i);
+                    expected.add(index, i);
+                } else if (op < 8) {
+                    int index = random.nextInt(expected.size());
+                    Assert.assertEquals(expected.remove(index), unrolled.remove(index));
+                } else {
+                    int index = random.nextInt(expected.size());
+                    Assert.assertEquals(expected.get(index), unrolled.get(index));
+                    Assert.assertEquals(expected.set(index, -i), unrolled.set(index, -i));
+                }
+                Assert.assertEquals(expected.size(), unrolled.size());
+                // 除尾节点以外至少半满，节点数量不超过 size / (capacity / 2) + 1
+                Assert.assertTrue(unrolled.nodeCount() <= unrolled.size() / (capacity >> 1) + 1);
+            }
+            int index = 0;
+            for (Integer element : unrolled) {
+                Assert.assertEquals(expected.get(index++), element);
+            }
+            Assert.assertEquals(expected.size(), index);
+            Integer last = expected.get(expected.size() - 1);
+            Assert.assertEquals(expected.indexOf(last), unrolled.indexOf(last));
+            Assert.assertEquals(-1, unrolled.indexOf(Integer.MIN_VALUE));
+        }
+    }
+
+    /**
+     * 测试顺序追加时节点都是满的
+     */
+    @Test
+    public void testAppendFillsNodes() {
+        UnrolledLinkedList<Integer> unrolled = new UnrolledLinkedList<>();
+        for (int i = 0; i < 64 * 100; i++) {
+            unrolled.add(i);
+        }
+        Assert.assertEquals(100, unrolled.nodeCount());
+        for (int i = 0; i < 64 * 100; i++) {
+            Assert.assertEquals(Integer.valueOf(i), unrolled.get(i));
+        }
+    }
+}
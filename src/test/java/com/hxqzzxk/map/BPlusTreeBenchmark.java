@@ -0,0 +1,137 @@
+package com.hxqzzxk.map;
+
+import java.util.Iterator;
+import java.util.Random;
+
+/**
+ * BPlusTreeMap 与 TreeMap 的性能对比基准。
+ * <p>
+ * 不属于单元测试（mvn test 不会执行），需要手动运行 main 方法。
+ * 对于不同数量的键，分别测量随机插入、随机查找和范围扫描（从随机位置开始顺序读取 RANGE 个键值对）的平均耗时。
+ * 默认测量 1M 和 4M 个键，可以通过参数指定其他数量，例如 100000000（需要足够大的 -Xmx）。
+ * </p>
+ */
+public class BPlusTreeBenchmark {
+    /**
+     * 每轮查找的次数
+     */
+    private static final int LOOKUPS = 1 << 21;
+
+    /**
+     * 每轮范围扫描的次数
+     */
+    private static final int SCANS = 1 << 14;
+
+    /**
+     * 每次范围扫描读取的键值对数量
+     */
+    private static final int RANGE = 100;
+
+    /**
+     * 防止结果被 JIT 优化掉
+     */
+    private static long sink;
+
+    public static void main(String[] args) {
+        int[] sizes = { 1 << 20, 1 << 22 };
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+        System.out.printf("%-10s %-8s %14s %14s%n", "size", "op", "TreeMap ns/op", "B+tree ns/op");
+        for (int size : sizes) {
+            Integer[] keys = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = i * 2;
+            }
+            shuffle(keys, new Random(42));
+
+            long start = System.nanoTime();
+            TreeMap<Integer, Integer> treeMap = new TreeMap<>();
+            for (Integer key : keys) {
+                treeMap.put(key, key);
+            }
+            double treePut = (double) (System.nanoTime() - start) / size;
+            start = System.nanoTime();
+            BPlusTreeMap<Integer, Integer> bPlusTree = new BPlusTreeMap<>();
+            for (Integer key : keys) {
+                bPlusTree.put(key, key);
+            }
+            double bPlusPut = (double) (System.nanoTime() - start) / size;
+            System.out.printf("%-10d %-8s %14.1f %14.1f%n", size, "put", treePut, bPlusPut);
+
+            System.out.printf("%-10d %-8s %14.1f %14.1f%n", size, "get",
+                    measureGet(treeMap, keys), measureGet(bPlusTree, keys));
+            System.out.printf("%-10d %-8s %14.1f %14.1f%n", size, "scan" + RANGE,
+                    measureScan(treeMap, null, keys), measureScan(null, bPlusTree, keys));
+        }
+        System.out.println(sink == 42 ? "" : "done");
+    }
+
+    /**
+     * 测量随机查找的平均耗时，先运行一轮预热
+     *
+     * @param map  被测量的映射
+     * @param keys 要查找的键
+     * @return 每次查找的平均纳秒数
+     */
+    private static double measureGet(Map<Integer, Integer> map, Integer[] keys) {
+        double result = 0;
+        for (int round = 0; round < 2; round++) {
+            long sum = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < LOOKUPS; i++) {
+                sum += map.get(keys[i % keys.length]);
+            }
+            result = (double) (System.nanoTime() - start) / LOOKUPS;
+            sink += sum;
+        }
+        return result;
+    }
+
+    /**
+     * 测量范围扫描的平均耗时，先运行一轮预热，两个映射只需传入其中一个
+     *
+     * @param treeMap   被测量的 TreeMap
+     * @param bPlusTree 被测量的 BPlusTreeMap
+     * @param keys      范围的起点
+     * @return 每次扫描的平均纳秒数
+     */
+    private static double measureScan(TreeMap<Integer, Integer> treeMap, BPlusTreeMap<Integer, Integer> bPlusTree,
+            Integer[] keys) {
+        double result = 0;
+        for (int round = 0; round < 2; round++) {
+            long sum = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < SCANS; i++) {
+                Integer from = keys[i % keys.length];
+                Iterator<Map.Entry<Integer, Integer>> iterator = treeMap != null
+                        ? treeMap.tailMap(from, true).iterator()
+                        : bPlusTree.iterator(from, true, null, false);
+                for (int j = 0; j < RANGE && iterator.hasNext(); j++) {
+                    sum += iterator.next().getValue();
+                }
+            }
+            result = (double) (System.nanoTime() - start) / SCANS;
+            sink += sum;
+        }
+        return result;
+    }
+
+    /**
+     * 打乱数组的顺序
+     *
+     * @param keys   数组
+     * @param random 随机数生成器
+     */
+    private static void shuffle(Integer[] keys, Random random) {
+        for (int i = keys.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Integer temp = keys[i];
+            keys[i] = keys[j];
+            keys[j] = temp;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.hxqzzxk.map;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * BPlusTreeMap 测试类，继承自 MapTest
+ */
+public class BPlusTreeMapTest extends MapTest {
+    /**
+     * 创建阶数较小的 BPlusTreeMap 实例，使少量的键也能触发分裂和合并
+     */
+    @Override
+    public void setUp() {
+        map = new BPlusTreeMap<>(4);
+    }
+
+    /**
+     * 随机插入和删除，与 java.util.TreeMap 对比结果
+     */
+    @Test
+    public void testRandomAgainstTreeMap() {
+        for (int order : new int[] { 3, 4, 5, 64 }) {
+            BPlusTreeMap<Integer, Integer> tree = new BPlusTreeMap<>(order);
+            java.util.TreeMap<Integer, Integer> expected = new java.util.TreeMap<>();
+            Random random = new Random(order);
+            for (int i = 0; i < 20000; i++) {
+                int key = random.nextInt(3000);
+                if (random.nextInt(3) == 0) {
+                    Assert.assertEquals(expected.remove(key), tree.remove(key));
+                } else {
+                    Assert.assertEquals(expected.put(key, i), tree.put(key, i));
+                }
+            }
+            assertSameContent(expected, tree);
+            for (Integer key : new ArrayList<>(expected.keySet())) {
+                Assert.assertEquals(expected.remove(key), tree.remove(key));
+            }
+            Assert.assertTrue(tree.isEmpty());
+            Assert.assertEquals(0, tree.height());
+        }
+    }
+
+    /**
+     * 测试范围迭代器
+     */
+    @Test
+    public void testRangeIterator() {
+        BPlusTreeMap<Integer, String> tree = (BPlusTreeMap<Integer, String>) map;
+        for (int i = 0; i < 1000; i += 2) {
+            map.put(i, String.valueOf(i));
+        }
+        Assert.assertEquals(Integer.valueOf(100), tree.iterator(100, true, null, false).next().getKey());
+        Assert.assertEquals(Integer.valueOf(102), tree.iterator(100, false, null, false).next().getKey());
+        Assert.assertEquals(Integer.valueOf(102), tree.iterator(101, true, null, false).next().getKey());
+        Assert.assertFalse(tree.iterator(999, true, null, false).hasNext());
+
+        List<Integer> keys = new ArrayList<>();
+        Iterator<Map.Entry<Integer, String>> iterator = tree.iterator(100, true, 200, false);
+        while (iterator.hasNext()) {
+            keys.add(iterator.next().getKey());
+        }
+        Assert.assertEquals(50, keys.size());
+        Assert.assertEquals(Integer.valueOf(100), keys.get(0));
+        Assert.assertEquals(Integer.valueOf(198), keys.get(49));
+
+        keys.clear();
+        iterator = tree.iterator(null, false, 10, true);
+        while (iterator.hasNext()) {
+            keys.add(iterator.next().getKey());
+        }
+        Assert.assertEquals("[0, 2, 4, 6, 8, 10]", keys.toString());
+    }
+
+    /**
+     * 测试批量构建，构建之后可以继续修改
+     */
+    @Test
+    public void testFromSorted() {
+        for (int count : new int[] { 0, 1, 3, 4, 5, 17, 1000 }) {
+            Integer[] keys = new Integer[count * 2];
+            Integer[] values = new Integer[count * 2];
+            for (int i = 0; i < keys.length; i++) {
+                // 每个键出现两次，保留后一个值
+                keys[i] = i / 2;
+                values[i] = i;
+            }
+            BPlusTreeMap<Integer, Integer> tree = BPlusTreeMap.fromSorted(keys, values, 4);
+            java.util.TreeMap<Integer, Integer> expected = new java.util.TreeMap<>();
+            for (int i = 0; i < count; i++) {
+                expected.put(i, i * 2 + 1);
+            }
+            assertSameContent(expected, tree);
+
+            Random random = new Random(count);
+            for (int i = 0; i < 3000; i++) {
+                int key = random.nextInt(count * 2 + 1);
+                if (random.nextBoolean()) {
+                    Assert.assertEquals(expected.remove(key), tree.remove(key));
+                } else {
+                    Assert.assertEquals(expected.put(key, i), tree.put(key, i));
+                }
+            }
+            assertSameContent(expected, tree);
+        }
+        try {
+            BPlusTreeMap.fromSorted(new Integer[] { 2, 1 }, new Integer[] { 2, 1 }, 4);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // 期望的异常
+        }
+    }
+
+    /**
+     * 检查 B+ 树与期望的内容相同，并且按照键的顺序遍历
+     *
+     * @param expected 期望的内容
+     * @param actual   B+ 树
+     */
+    private static void assertSameContent(java.util.TreeMap<Integer, Integer> expected,
+            BPlusTreeMap<Integer, Integer> actual) {
+        Assert.assertEquals(expected.size(), actual.size());
+        Iterator<java.util.Map.Entry<Integer, Integer>> expectedIterator = expected.entrySet().iterator();
+        for (Map.Entry<Integer, Integer> entry : actual) {
+            java.util.Map.Entry<Integer, Integer> next = expectedIterator.next();
+            Assert.assertEquals(next.getKey(), entry.getKey());
+            Assert.assertEquals(next.getValue(), entry.getValue());
+        }
+        Assert.assertFalse(expectedIterator.hasNext());
+        for (java.util.Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            Assert.assertEquals(entry.getValue(), actual.get(entry.getKey()));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.hxqzzxk.map;
+
+/**
+ * TreeMap 与 CompactTreeMap 实际占用堆内存的对比基准。
+ * <p>
+ * 不属于单元测试（mvn test 不会执行），需要手动运行 main 方法。
+ * 通过多次垃圾回收前后已使用堆内存的差值估算占用，结果受 JVM 和垃圾回收器影响，
+ * 单元测试中按照对象布局计算的结果见 CompactTreeMapTest#testMemoryFootprint。
+ * </p>
+ */
+public class CompactTreeMapBenchmark {
+    /**
+     * 防止映射在测量之前被回收
+     */
+    private static Object sink;
+
+    public static void main(String[] args) {
+        System.out.printf("%-10s %16s %20s %8s%n", "size", "TreeMap bytes", "CompactTreeMap bytes", "ratio");
+        for (int count : new int[] { 1 << 16, 1 << 18, 1 << 20 }) {
+            Integer[] keys = new Integer[count];
+            for (int i = 0; i < count; i++) {
+                keys[i] = i;
+            }
+            String value = "value";
+
+            long base = usedMemory();
+            TreeMap<Integer, String> treeMap = new TreeMap<>();
+            for (Integer key : keys) {
+                treeMap.put(key, value);
+            }
+            sink = treeMap;
+            long treeMapBytes = usedMemory() - base;
+            sink = null;
+
+            base = usedMemory();
+            CompactTreeMap<Integer, String> compact = new CompactTreeMap<>();
+            for (Integer key : keys) {
+                compact.put(key, value);
+            }
+            compact.trimToSize();
+            sink = compact;
+            long compactBytes = usedMemory() - base;
+            sink = null;
+
+            System.out.printf("%-10d %16d %20d %7.2f%n", count, treeMapBytes, compactBytes,
+                    (double) compactBytes / treeMapBytes);
+        }
+    }
+
+    /**
+     * 多次垃圾回收之后获取已经使用的堆内存
+     *
+     * @return 已经使用的堆内存字节数
+     */
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+}
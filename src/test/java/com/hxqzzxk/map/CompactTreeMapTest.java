@@ -0,0 +1,117 @@
+package com.hxqzzxk.map;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * CompactTreeMap 测试类，继承自 MapTest
+ */
+public class CompactTreeMapTest extends MapTest {
+    /**
+     * 创建 CompactTreeMap 实例
+     */
+    @Override
+    public void setUp() {
+        map = new CompactTreeMap<>();
+    }
+
+    /**
+     * 随机插入和删除，与 java.util.TreeMap 对比结果
+     */
+    @Test
+    public void testRandomAgainstTreeMap() {
+        CompactTreeMap<Integer, Integer> tree = new CompactTreeMap<>(0);
+        java.util.TreeMap<Integer, Integer> expected = new java.util.TreeMap<>();
+        Random random = new Random(15);
+        for (int i = 0; i < 50000; i++) {
+            int key = random.nextInt(3000);
+            if (random.nextInt(3) == 0) {
+                Assert.assertEquals(expected.remove(key), tree.remove(key));
+            } else {
+                Assert.assertEquals(expected.put(key, i), tree.put(key, i));
+            }
+        }
+        assertSameContent(expected, tree);
+
+        tree.trimToSize();
+        Assert.assertEquals(expected.size(), tree.capacity());
+        assertSameContent(expected, tree);
+
+        for (Integer key : new ArrayList<>(expected.keySet())) {
+            Assert.assertEquals(expected.remove(key), tree.remove(key));
+        }
+        Assert.assertTrue(tree.isEmpty());
+        Assert.assertFalse(tree.iterator().hasNext());
+    }
+
+    /**
+     * 删除后释放的槽位会被再次使用，数组不会继续扩容
+     */
+    @Test
+    public void testFreeListReuse() {
+        CompactTreeMap<Integer, String> tree = new CompactTreeMap<>(100);
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 100; i++) {
+                tree.put(round * 100 + i, String.valueOf(i));
+            }
+            Assert.assertEquals(100, tree.size());
+            Assert.assertEquals(100, tree.capacity());
+            for (int i = 0; i < 100; i++) {
+                Assert.assertEquals(String.valueOf(i), tree.remove(round * 100 + i));
+            }
+            Assert.assertTrue(tree.isEmpty());
+        }
+    }
+
+    /**
+     * 按照 64 位 JVM 的对象布局比较 TreeMap 和 CompactTreeMap 存放相同键值对时占用的内存，键值对本身的对象不计算在内。
+     * TreeMap 的每个键值对是一个 Node 对象：12 字节对象头、key、value、left、right、parent 五个引用和一个 boolean，按 8 字节对齐
+     */
+    @Test
+    public void testMemoryFootprint() {
+        int count = 200000;
+        String value = "value";
+        TreeMap<Integer, String> treeMap = new TreeMap<>();
+        CompactTreeMap<Integer, String> compact = new CompactTreeMap<>();
+        for (int i = 0; i < count; i++) {
+            treeMap.put(i, value);
+            compact.put(i, value);
+        }
+        compact.trimToSize();
+        Assert.assertEquals(count, treeMap.size());
+        Assert.assertEquals(count, compact.size());
+
+        for (int referenceSize : new int[] { 4, 8 }) {
+            long nodeBytes = (12 + 5L * referenceSize + 1 + 7) & ~7L;
+            long treeMapBytes = treeMap.size() * nodeBytes;
+            long compactBytes = compact.arrayBytes(referenceSize);
+            Assert.assertTrue("reference " + referenceSize + " bytes, TreeMap: " + treeMapBytes
+                    + " bytes, CompactTreeMap: " + compactBytes + " bytes", compactBytes * 2 <= treeMapBytes);
+        }
+    }
+
+    /**
+     * 检查映射与期望的内容相同，并且按照键的顺序遍历
+     *
+     * @param expected 期望的内容
+     * @param actual   映射
+     */
+    private static void assertSameContent(java.util.TreeMap<Integer, Integer> expected,
+            CompactTreeMap<Integer, Integer> actual) {
+        Assert.assertEquals(expected.size(), actual.size());
+        Iterator<java.util.Map.Entry<Integer, Integer>> expectedIterator = expected.entrySet().iterator();
+        for (Map.Entry<Integer, Integer> entry : actual) {
+            java.util.Map.Entry<Integer, Integer> next = expectedIterator.next();
+            Assert.assertEquals(next.getKey(), entry.getKey());
+            Assert.assertEquals(next.getValue(), entry.getValue());
+        }
+        Assert.assertFalse(expectedIterator.hasNext());
+        for (java.util.Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            Assert.assertEquals(entry.getValue(), actual.get(entry.getKey()));
+        }
+    }
+}
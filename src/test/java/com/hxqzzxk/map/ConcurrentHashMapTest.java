@@ -0,0 +1,147 @@
+package com.hxqzzxk.map;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.hxqzzxk.map.Map.Visitor;
+
+/**
+ * ConcurrentHashMap 测试类，继承自 MapTest
+ * 用于验证 ConcurrentHashMap 实现类的基本功能、红黑树桶以及并发写入的正确性
+ */
+public class ConcurrentHashMapTest extends MapTest {
+    /**
+     * 初始化 ConcurrentHashMap 实例
+     * 在每次测试方法执行前调用，用于准备测试环境
+     */
+    @Override
+    public void setUp() {
+        map = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    @Test
+    public void testTraversal() {
+        map.put(1, "one");
+        map.put(2, "two");
+        map.put(3, "three");
+
+        List<String> results = new ArrayList<>();
+        map.traversal(new Visitor<Integer, String>() {
+            @Override
+            public boolean visit(Integer key, String value) {
+                results.add(String.format("%d-%s", key, value));
+                return false;
+            }
+        });
+
+        // 检查遍历结果中包含所有的键值对
+        Assert.assertTrue(results.contains("1-one"));
+        Assert.assertTrue(results.contains("2-two"));
+        Assert.assertTrue(results.contains("3-three"));
+
+        // 确保结果大小一致
+        Assert.assertEquals(3, results.size());
+    }
+
+    /**
+     * 哈希值全部相同的键，用于测试红黑树桶
+     */
+    private static class CollidingKey {
+        /**
+         * 键的编号
+         */
+        final int id;
+
+        CollidingKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CollidingKey && ((CollidingKey) o).id == id;
+        }
+    }
+
+    /**
+     * 测试大量冲突的键转换为红黑树之后的添加、查找和删除
+     */
+    @Test
+    public void testTreeBin() {
+        ConcurrentHashMap<CollidingKey, Integer> treeMap = new ConcurrentHashMap<>();
+        for (int i = 0; i < 200; i++) {
+            Assert.assertNull(treeMap.put(new CollidingKey(i), i));
+        }
+        Assert.assertEquals(200, treeMap.size());
+        for (int i = 0; i < 200; i++) {
+            Assert.assertEquals(Integer.valueOf(i), treeMap.get(new CollidingKey(i)));
+        }
+        for (int i = 0; i < 200; i += 2) {
+            Assert.assertEquals(Integer.valueOf(i), treeMap.remove(new CollidingKey(i)));
+        }
+        for (int i = 0; i < 200; i++) {
+            Assert.assertEquals(i % 2 == 1, treeMap.containsKey(new CollidingKey(i)));
+        }
+        Assert.assertEquals(100, treeMap.size());
+    }
+
+    /**
+     * 测试 putIfAbsent 和 computeIfAbsent
+     */
+    @Test
+    public void testAtomicOperations() {
+        ConcurrentHashMap<Integer, String> cache = new ConcurrentHashMap<>();
+        Assert.assertNull(cache.putIfAbsent(1, "one"));
+        Assert.assertEquals("one", cache.putIfAbsent(1, "uno"));
+        Assert.assertEquals("one", cache.get(1));
+
+        Assert.assertEquals("two", cache.computeIfAbsent(2, k -> "two"));
+        Assert.assertEquals("two", cache.computeIfAbsent(2, k -> "dos"));
+        Assert.assertNull(cache.computeIfAbsent(3, k -> null));
+        Assert.assertFalse(cache.containsKey(3));
+        Assert.assertEquals(2, cache.size());
+    }
+
+    /**
+     * 测试多个线程同时写入以及 computeIfAbsent 对每个键只计算一次
+     */
+    @Test
+    public void testConcurrentWrites() throws InterruptedException {
+        ConcurrentHashMap<Integer, Integer> concurrentMap = new ConcurrentHashMap<>();
+        AtomicInteger computed = new AtomicInteger();
+        int threads = 8;
+        int perThread = 20000;
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int offset = t * perThread;
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    concurrentMap.put(offset + i, offset + i);
+                    concurrentMap.computeIfAbsent(-(i + 1), k -> {
+                        computed.incrementAndGet();
+                        return k;
+                    });
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        Assert.assertEquals(threads * perThread + perThread, concurrentMap.size());
+        Assert.assertEquals(perThread, computed.get());
+        for (int i = 0; i < threads * perThread; i++) {
+            Assert.assertEquals(Integer.valueOf(i), concurrentMap.get(i));
+        }
+    }
+}
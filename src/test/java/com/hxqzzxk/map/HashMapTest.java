@@ -46,4 +46,106 @@ public class HashMapTest extends MapTest {
         // 确保结果大小一致
         Assert.assertEquals(3, results.size());
     }
+
+    /**
+     * 测试扩容之后所有键值对仍然可以被找到
+     */
+    @Test
+    public void testResize() {
+        for (int i = 0; i < 10000; i++) {
+            map.put(i, String.valueOf(i));
+        }
+        Assert.assertEquals(10000, map.size());
+        for (int i = 0; i < 10000; i++) {
+            Assert.assertEquals(String.valueOf(i), map.get(i));
+        }
+    }
+
+    /**
+     * 测试渐进式扩容：迁移过程中的读写以及迁移进度
+     */
+    @Test
+    public void testIncrementalRehash() {
+        HashMap<Integer, String> hashMap = new HashMap<>(true, 2);
+        Assert.assertEquals(2, hashMap.rehashBudget());
+        boolean rehashed = false;
+        for (int i = 0; i < 10000; i++) {
+            hashMap.put(i, String.valueOf(i));
+            if (hashMap.isRehashing()) {
+                rehashed = true;
+                Assert.assertTrue(hashMap.rehashProgress() < 1.0f);
+                // 迁移过程中查找之前插入的键
+                Assert.assertEquals(String.valueOf(i / 2), hashMap.get(i / 2));
+            }
+        }
+        Assert.assertTrue(rehashed);
+        Assert.assertTrue(hashMap.containsValue("9999"));
+        for (int i = 0; i < 10000; i += 2) {
+            Assert.assertEquals(String.valueOf(i), hashMap.remove(i));
+        }
+        Assert.assertEquals(5000, hashMap.size());
+        for (int i = 0; i < 10000; i++) {
+            Assert.assertEquals(i % 2 == 1, hashMap.containsKey(i));
+        }
+
+        List<Integer> keys = new ArrayList<>();
+        hashMap.traversal(new Visitor<Integer, String>() {
+            @Override
+            public boolean visit(Integer key, String value) {
+                keys.add(key);
+                return false;
+            }
+        });
+        Assert.assertEquals(5000, keys.size());
+        Assert.assertTrue(hashMap.maxRehashNodes() > 0);
+    }
+
+    /**
+     * 测试渐进式扩容过程中创建迭代器，遍历结果完整且没有重复
+     */
+    @Test
+    public void testIteratorDuringRehash() {
+        HashMap<Integer, String> hashMap = new HashMap<>(true, 1);
+        int count = 0;
+        while (!hashMap.isRehashing() || count < 100) {
+            hashMap.put(count, String.valueOf(count));
+            count++;
+        }
+        Assert.assertTrue(hashMap.isRehashing());
+
+        java.util.Set<Integer> keys = new java.util.HashSet<>();
+        for (Map.Entry<Integer, String> entry : hashMap) {
+            Assert.assertTrue(keys.add(entry.getKey()));
+        }
+        Assert.assertEquals(count, keys.size());
+        Assert.assertFalse(hashMap.isRehashing());
+    }
+
+    /**
+     * 测试预算为 1 时渐进式扩容：每次扩容前上一轮迁移已经完成，不会一次性迁移剩余的旧桶；
+     * 迭代器一次性完成迁移时，迁移的节点数量计入 maxRehashNodes
+     */
+    @Test
+    public void testRehashBudgetOne() {
+        HashMap<Integer, String> hashMap = new HashMap<>(true, 1);
+        for (int i = 0; i < 200000; i++) {
+            hashMap.put(i, String.valueOf(i));
+        }
+        Assert.assertEquals(200000, hashMap.size());
+        Assert.assertTrue(hashMap.maxRehashNodes() < 100);
+        for (int i = 0; i < 200000; i++) {
+            Assert.assertEquals(String.valueOf(i), hashMap.get(i));
+        }
+
+        hashMap = new HashMap<>(true, 1);
+        int count = 0;
+        while (!hashMap.isRehashing() || count < 10000) {
+            hashMap.put(count, String.valueOf(count));
+            count++;
+        }
+        int before = hashMap.maxRehashNodes();
+        Assert.assertTrue(hashMap.iterator().hasNext());
+        Assert.assertFalse(hashMap.isRehashing());
+        Assert.assertTrue(hashMap.maxRehashNodes() > before);
+    }
 }
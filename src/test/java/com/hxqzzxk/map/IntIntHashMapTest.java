@@ -0,0 +1,87 @@
+package com.hxqzzxk.map;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * IntIntHashMap 测试类
+ * 用于验证原始类型重载方法、扩容以及删除的正确性
+ */
+public class IntIntHashMapTest {
+    /**
+     * 被测试的哈希表实例
+     */
+    private IntIntHashMap map;
+
+    /**
+     * 初始化 IntIntHashMap 实例
+     */
+    @Before
+    public void setUp() {
+        map = new IntIntHashMap();
+    }
+
+    /**
+     * 测试原始类型的添加、查找和删除
+     */
+    @Test
+    public void testPrimitive() {
+        Assert.assertEquals(0, map.put(1, 10));
+        Assert.assertEquals(10, map.put(1, 11));
+        Assert.assertEquals(0, map.put(0, 5));
+        Assert.assertEquals(11, map.get(1));
+        Assert.assertEquals(5, map.get(0));
+        Assert.assertEquals(-1, map.getOrDefault(2, -1));
+        Assert.assertTrue(map.containsValue(5));
+        Assert.assertEquals(2, map.size());
+
+        Assert.assertEquals(5, map.remove(0));
+        Assert.assertFalse(map.containsKey(0));
+        Assert.assertEquals(1, map.size());
+    }
+
+    /**
+     * 测试装箱方法对不存在的键返回 null
+     */
+    @Test
+    public void testBoxed() {
+        Assert.assertNull(map.put(Integer.valueOf(3), Integer.valueOf(30)));
+        Assert.assertEquals(Integer.valueOf(30), map.put(Integer.valueOf(3), Integer.valueOf(31)));
+        Assert.assertNull(map.get(Integer.valueOf(4)));
+        Assert.assertNull(map.remove(Integer.valueOf(4)));
+        Assert.assertEquals(Integer.valueOf(31), map.remove(Integer.valueOf(3)));
+        Assert.assertTrue(map.isEmpty());
+    }
+
+    /**
+     * 测试扩容和向后移位删除之后，所有键仍然可以被找到
+     */
+    @Test
+    public void testResizeAndRemove() {
+        for (int i = -5000; i < 5000; i++) {
+            map.put(i, i * 2);
+        }
+        Assert.assertEquals(10000, map.size());
+        for (int i = -5000; i < 5000; i += 3) {
+            Assert.assertEquals(i * 2, map.remove(i));
+        }
+        for (int i = -5000; i < 5000; i++) {
+            boolean removed = (i + 5000) % 3 == 0;
+            Assert.assertEquals(!removed, map.containsKey(i));
+            if (!removed) {
+                Assert.assertEquals(i * 2, map.get(i));
+            }
+        }
+
+        final int[] sum = new int[1];
+        map.traversal(new IntIntHashMap.IntIntVisitor() {
+            @Override
+            public boolean visit(int key, int value) {
+                sum[0]++;
+                return false;
+            }
+        });
+        Assert.assertEquals(map.size(), sum[0]);
+    }
+}
@@ -0,0 +1,70 @@
+package com.hxqzzxk.map;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.hxqzzxk.map.Map.Visitor;
+
+/**
+ * IntObjectHashMap 测试类，继承自 MapTest
+ * 用于验证 IntObjectHashMap 实现类的基本功能和正确性
+ */
+public class IntObjectHashMapTest extends MapTest {
+    /**
+     * 初始化 IntObjectHashMap 实例
+     * 在每次测试方法执行前调用，用于准备测试环境
+     */
+    @Override
+    public void setUp() {
+        map = new IntObjectHashMap<>();
+    }
+
+    @Override
+    @Test
+    public void testTraversal() {
+        map.put(1, "one");
+        map.put(2, "two");
+        map.put(3, "three");
+
+        List<String> results = new ArrayList<>();
+        map.traversal(new Visitor<Integer, String>() {
+            @Override
+            public boolean visit(Integer key, String value) {
+                results.add(String.format("%d-%s", key, value));
+                return false;
+            }
+        });
+
+        // 检查遍历结果中包含所有的键值对
+        Assert.assertTrue(results.contains("1-one"));
+        Assert.assertTrue(results.contains("2-two"));
+        Assert.assertTrue(results.contains("3-three"));
+
+        // 确保结果大小一致
+        Assert.assertEquals(3, results.size());
+    }
+
+    /**
+     * 测试键 0、扩容以及向后移位删除之后的查找
+     */
+    @Test
+    public void testPrimitiveKeys() {
+        IntObjectHashMap<String> intMap = new IntObjectHashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertNull(intMap.put(i, String.valueOf(i)));
+        }
+        Assert.assertEquals(1000, intMap.size());
+        Assert.assertEquals("0", intMap.get(0));
+
+        for (int i = 0; i < 1000; i += 2) {
+            Assert.assertEquals(String.valueOf(i), intMap.remove(i));
+        }
+        Assert.assertEquals(500, intMap.size());
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(i % 2 == 1, intMap.containsKey(i));
+        }
+    }
+}
@@ -1,5 +1,13 @@
 package com.hxqzzxk.map;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.hxqzzxk.map.Map.Visitor;
+
 /**
  * LinkedHashMap 测试类，继承自 MapTest
  * 用于验证 LinkedHashMap 实现类的基本功能和正确性
@@ -13,4 +21,86 @@ public class LinkedHashMapTest extends MapTest {
     public void setUp() {
         map = new LinkedHashMap<>();
     }
+
+    /**
+     * 测试大量插入和删除之后仍然保持插入顺序
+     */
+    @Test
+    public void testInsertionOrderAfterRemove() {
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, String.valueOf(i));
+        }
+        for (int i = 0; i < 1000; i += 3) {
+            map.remove(i);
+        }
+
+        List<Integer> keys = keys(map);
+        Assert.assertEquals(map.size(), keys.size());
+        for (int i = 1; i < keys.size(); i++) {
+            Assert.assertTrue(keys.get(i - 1) < keys.get(i));
+        }
+    }
+
+    /**
+     * 测试访问顺序和按数量淘汰
+     */
+    @Test
+    public void testAccessOrderEviction() {
+        LinkedHashMap<Integer, String> cache = new LinkedHashMap<>(true, 3);
+        cache.put(1, "one");
+        cache.put(2, "two");
+        cache.put(3, "three");
+        // 访问 1 之后，最久未使用的是 2
+        Assert.assertEquals("one", cache.get(1));
+        cache.put(4, "four");
+
+        Assert.assertFalse(cache.containsKey(2));
+        Assert.assertEquals("[3, 1, 4]", keys(cache).toString());
+        Assert.assertEquals(1, cache.hitCount());
+        Assert.assertNull(cache.get(2));
+        Assert.assertEquals(1, cache.missCount());
+        Assert.assertEquals(1, cache.evictionCount());
+    }
+
+    /**
+     * 测试按权重淘汰以及淘汰回调
+     */
+    @Test
+    public void testWeigherAndListener() {
+        List<String> evicted = new ArrayList<>();
+        LinkedHashMap<Integer, String> cache = new LinkedHashMap<>(true, 10,
+                (key, value) -> value.length(), (key, value) -> evicted.add(key + "-" + value));
+        cache.put(1, "aaaa");
+        cache.put(2, "bbbb");
+        Assert.assertEquals(8, cache.weightedSize());
+        cache.put(3, "cccc");
+
+        Assert.assertEquals("[1-aaaa]", evicted.toString());
+        Assert.assertEquals(8, cache.weightedSize());
+
+        // 覆盖值也会更新权重
+        cache.put(2, "b");
+        Assert.assertEquals(5, cache.weightedSize());
+        Assert.assertEquals("[3, 2]", keys(cache).toString());
+        cache.remove(3);
+        Assert.assertEquals(1, cache.weightedSize());
+    }
+
+    /**
+     * 按照遍历顺序获取所有的键
+     *
+     * @param linkedMap 要遍历的映射
+     * @return 所有的键
+     */
+    private static List<Integer> keys(Map<Integer, String> linkedMap) {
+        List<Integer> keys = new ArrayList<>();
+        linkedMap.traversal(new Visitor<Integer, String>() {
+            @Override
+            public boolean visit(Integer key, String value) {
+                keys.add(key);
+                return false;
+            }
+        });
+        return keys;
+    }
 }
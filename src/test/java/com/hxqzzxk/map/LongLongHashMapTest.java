@@ -0,0 +1,89 @@
+package com.hxqzzxk.map;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * LongLongHashMap 测试类
+ * 用于验证原始类型重载方法、扩容以及删除的正确性
+ */
+public class LongLongHashMapTest {
+    /**
+     * 被测试的哈希表实例
+     */
+    private LongLongHashMap map;
+
+    /**
+     * 初始化 LongLongHashMap 实例
+     */
+    @Before
+    public void setUp() {
+        map = new LongLongHashMap();
+    }
+
+    /**
+     * 测试原始类型的添加、查找和删除
+     */
+    @Test
+    public void testPrimitive() {
+        Assert.assertEquals(0L, map.put(1L, 10L));
+        Assert.assertEquals(10L, map.put(1L, 11L));
+        Assert.assertEquals(0L, map.put(0L, 5L));
+        Assert.assertEquals(0L, map.put(1L << 40, 1L));
+        Assert.assertEquals(11L, map.get(1L));
+        Assert.assertEquals(1L, map.get(1L << 40));
+        Assert.assertEquals(5L, map.get(0L));
+        Assert.assertEquals(-1L, map.getOrDefault(2L, -1L));
+        Assert.assertTrue(map.containsValue(5L));
+        Assert.assertEquals(3, map.size());
+
+        Assert.assertEquals(5L, map.remove(0L));
+        Assert.assertFalse(map.containsKey(0L));
+        Assert.assertEquals(2, map.size());
+    }
+
+    /**
+     * 测试装箱方法对不存在的键返回 null
+     */
+    @Test
+    public void testBoxed() {
+        Assert.assertNull(map.put(Long.valueOf(3), Long.valueOf(30)));
+        Assert.assertEquals(Long.valueOf(30), map.put(Long.valueOf(3), Long.valueOf(31)));
+        Assert.assertNull(map.get(Long.valueOf(4)));
+        Assert.assertNull(map.remove(Long.valueOf(4)));
+        Assert.assertEquals(Long.valueOf(31), map.remove(Long.valueOf(3)));
+        Assert.assertTrue(map.isEmpty());
+    }
+
+    /**
+     * 测试扩容和向后移位删除之后，所有键仍然可以被找到
+     */
+    @Test
+    public void testResizeAndRemove() {
+        for (long i = -5000; i < 5000; i++) {
+            map.put(i, i * 2);
+        }
+        Assert.assertEquals(10000, map.size());
+        for (long i = -5000; i < 5000; i += 3) {
+            Assert.assertEquals(i * 2, map.remove(i));
+        }
+        for (long i = -5000; i < 5000; i++) {
+            boolean removed = (i + 5000) % 3 == 0;
+            Assert.assertEquals(!removed, map.containsKey(i));
+            if (!removed) {
+                Assert.assertEquals(i * 2, map.get(i));
+            }
+        }
+
+        final int[] sum = new int[1];
+        map.traversal(new LongLongHashMap.LongLongVisitor() {
+            @Override
+            public boolean visit(long key, long value) {
+                sum[0]++;
+                return false;
+            }
+        });
+        Assert.assertEquals(map.size(), sum[0]);
+    }
+}
@@ -0,0 +1,66 @@
+package com.hxqzzxk.map;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * LongObjectHashMap 测试类
+ * 用于验证原始类型重载方法、扩容以及删除的正确性
+ */
+public class LongObjectHashMapTest {
+    /**
+     * 被测试的哈希表实例
+     */
+    private LongObjectHashMap<String> map;
+
+    /**
+     * 初始化 LongObjectHashMap 实例
+     */
+    @Before
+    public void setUp() {
+        map = new LongObjectHashMap<>();
+    }
+
+    /**
+     * 测试添加、查找和删除
+     */
+    @Test
+    public void testPutGetRemove() {
+        Assert.assertNull(map.put(0L, "zero"));
+        Assert.assertNull(map.put(Long.MAX_VALUE, "max"));
+        Assert.assertNull(map.put(Long.valueOf(-1), "minus"));
+        Assert.assertEquals("max", map.put(Long.MAX_VALUE, "MAX"));
+        Assert.assertEquals(3, map.size());
+
+        Assert.assertEquals("zero", map.get(0L));
+        Assert.assertEquals("MAX", map.get(Long.MAX_VALUE));
+        Assert.assertEquals("minus", map.get(Long.valueOf(-1)));
+        Assert.assertTrue(map.containsValue("MAX"));
+        Assert.assertFalse(map.containsKey(1L));
+
+        Assert.assertEquals("zero", map.remove(0L));
+        Assert.assertNull(map.remove(0L));
+        Assert.assertEquals(2, map.size());
+        map.clear();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertNull(map.get(Long.MAX_VALUE));
+    }
+
+    /**
+     * 测试扩容和向后移位删除之后，所有键仍然可以被找到
+     */
+    @Test
+    public void testResizeAndRemove() {
+        for (long i = 0; i < 10000; i++) {
+            map.put(i << 32, String.valueOf(i));
+        }
+        for (long i = 0; i < 10000; i += 2) {
+            Assert.assertEquals(String.valueOf(i), map.remove(i << 32));
+        }
+        Assert.assertEquals(5000, map.size());
+        for (long i = 0; i < 10000; i++) {
+            Assert.assertEquals(i % 2 == 1 ? String.valueOf(i) : null, map.get(i << 32));
+        }
+    }
+}
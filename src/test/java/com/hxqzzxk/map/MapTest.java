@@ -5,7 +5,9 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.StreamSupport;
 import com.hxqzzxk.map.Map.Visitor;
 
 /**
@@ -160,4 +162,41 @@ public abstract class MapTest {
         });
         Assert.assertEquals("[1-one, 2-two, 3-three]", results.toString());
     }
+
+    /**
+     * 测试通过迭代器拉取所有键值对
+     */
+    @Test
+    public void testIterator() {
+        for (int i = 0; i < 100; i++) {
+            map.put(i, String.valueOf(i));
+        }
+        java.util.Set<Integer> keys = new java.util.HashSet<>();
+        for (Map.Entry<Integer, String> entry : map) {
+            Assert.assertEquals(String.valueOf(entry.getKey()), entry.getValue());
+            keys.add(entry.getKey());
+        }
+        Assert.assertEquals(100, keys.size());
+
+        Iterator<Map.Entry<Integer, String>> iterator = map.iterator();
+        for (int i = 0; i < 100; i++) {
+            iterator.next();
+        }
+        Assert.assertFalse(iterator.hasNext());
+    }
+
+    /**
+     * 测试通过并行流聚合所有键值对
+     */
+    @Test
+    public void testParallelStream() {
+        long expected = 0;
+        for (int i = 0; i < 10000; i++) {
+            map.put(i, String.valueOf(i));
+            expected += i;
+        }
+        long sum = StreamSupport.stream(map.spliterator(), true).mapToLong(Map.Entry::getKey).sum();
+        Assert.assertEquals(expected, sum);
+        Assert.assertEquals(10000, StreamSupport.stream(map.spliterator(), true).count());
+    }
 }
@@ -0,0 +1,321 @@
+package com.hxqzzxk.map;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * MappedBPlusTreeMap 测试类
+ * 用于验证文件中的 B+ 树的基本功能、写时复制的提交和崩溃恢复
+ */
+public class MappedBPlusTreeMapTest {
+    /**
+     * 每个测试使用的临时目录
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * 测试基本操作
+     */
+    @Test
+    public void testBasic() throws IOException {
+        try (MappedBPlusTreeMap tree = new MappedBPlusTreeMap(folder.newFile())) {
+            Assert.assertTrue(tree.isEmpty());
+            Assert.assertNull(tree.put(Long.valueOf(1L), Long.valueOf(10L)));
+            Assert.assertEquals(10L, tree.put(1L, 11L));
+            Assert.assertEquals(0L, tree.put(-5, 50L));
+            Assert.assertEquals(Long.valueOf(11L), tree.get(Long.valueOf(1L)));
+            Assert.assertNull(tree.get(Long.valueOf(2L)));
+            Assert.assertEquals(-1L, tree.getOrDefault(2, -1L));
+            Assert.assertTrue(tree.containsKey(-5L));
+            Assert.assertTrue(tree.containsValue(50L));
+            Assert.assertEquals(2, tree.size());
+
+            Assert.assertEquals(Long.valueOf(50L), tree.remove(Long.valueOf(-5L)));
+            Assert.assertNull(tree.remove(Long.valueOf(-5L)));
+            Assert.assertEquals(1, tree.size());
+            tree.clear();
+            Assert.assertTrue(tree.isEmpty());
+            Assert.assertFalse(tree.containsKey(1L));
+            Assert.assertEquals(0, tree.height());
+        }
+    }
+
+    /**
+     * 使用很小的页和页缓存随机插入和删除，与 java.util.TreeMap 对比结果，
+     * 中间多次提交、重新打开文件
+     */
+    @Test
+    public void testRandomAgainstTreeMap() throws IOException {
+        File file = folder.newFile();
+        java.util.TreeMap<Long, Long> expected = new java.util.TreeMap<>();
+        Random random = new Random(16);
+        for (int round = 0; round < 5; round++) {
+            try (MappedBPlusTreeMap tree = new MappedBPlusTreeMap(file, 64, 4)) {
+                assertSameContent(expected, tree);
+                for (int i = 0; i < 4000; i++) {
+                    long key = random.nextInt(2000);
+                    if (random.nextInt(3) == 0) {
+                        Assert.assertEquals(expected.remove(key), tree.remove(Long.valueOf(key)));
+                    } else {
+                        Assert.assertEquals(expected.put(key, (long) i), tree.put(Long.valueOf(key), Long.valueOf(i)));
+                    }
+                    if (i % 1000 == 0) {
+                        tree.commit();
+                    }
+                }
+                assertSameContent(expected, tree);
+            }
+        }
+
+        try (MappedBPlusTreeMap tree = new MappedBPlusTreeMap(file, 64, 4)) {
+            for (Long key : new java.util.ArrayList<>(expected.keySet())) {
+                Assert.assertEquals(expected.remove(key), tree.remove(key));
+            }
+            Assert.assertTrue(tree.isEmpty());
+            Assert.assertEquals(0, tree.height());
+            Assert.assertFalse(tree.iterator().hasNext());
+        }
+    }
+
+    /**
+     * 测试范围游标
+     */
+    @Test
+    public void testCursor() throws IOException {
+        try (MappedBPlusTreeMap tree = new MappedBPlusTreeMap(folder.newFile(), 64, 8)) {
+            for (long i = 0; i < 1000; i += 2) {
+                tree.put(i, i * 10);
+            }
+            MappedBPlusTreeMap.Cursor cursor = tree.cursor(100, true, 200, false);
+            int count = 0;
+            long last = 0;
+            while (cursor.next()) {
+                Assert.assertEquals(cursor.key() * 10, cursor.value());
+                if (count++ == 0) {
+                    Assert.assertEquals(100L, cursor.key());
+                }
+                last = cursor.key();
+            }
+            Assert.assertEquals(50, count);
+            Assert.assertEquals(198L, last);
+            Assert.assertFalse(cursor.next());
+
+            cursor = tree.cursor(101, false, 105, true);
+            Assert.assertTrue(cursor.next());
+            Assert.assertEquals(102L, cursor.key());
+            Assert.assertTrue(cursor.next());
+            Assert.assertEquals(104L, cursor.key());
+            Assert.assertFalse(cursor.next());
+
+            Assert.assertFalse(tree.cursor(998, false, Long.MAX_VALUE, true).next());
+            Assert.assertFalse(tree.cursor(50, false, 52, false).next());
+        }
+    }
+
+    /**
+     * 测试批量构建，以及重新打开之后只读取查找路径上的页
+     */
+    @Test
+    public void testFromSortedAndColdStart() throws IOException {
+        File file = folder.newFile();
+        int count = 200000;
+        long[] keys = new long[count];
+        long[] values = new long[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = i * 3L;
+            values[i] = i;
+        }
+        int height;
+        try (MappedBPlusTreeMap tree = MappedBPlusTreeMap.fromSorted(file, keys, values, 4096, 16)) {
+            Assert.assertEquals(count, tree.size());
+            height = tree.height();
+            Assert.assertEquals(3, height);
+        }
+
+        try (MappedBPlusTreeMap tree = new MappedBPlusTreeMap(file, 4096, 16)) {
+            Assert.assertEquals(0, tree.cacheMisses());
+            Assert.assertEquals(12345L, tree.get(12345 * 3L));
+            Assert.assertEquals(height, tree.cacheMisses());
+            Assert.assertFalse(tree.containsKey(1L));
+
+            MappedBPlusTreeMap.Cursor cursor = tree.cursor(300000, true, Long.MAX_VALUE, true);
+            int n = 0;
+            while (cursor.next()) {
+                Assert.assertEquals(100000L + n, cursor.value());
+                n++;
+            }
+            Assert.assertEquals(count - 100000, n);
+        }
+
+        try (MappedBPlusTreeMap tree = MappedBPlusTreeMap.fromSorted(file, new long[] { 1, 1, 2, 3, 3 },
+                new long[] { 1, 2, 3, 4, 5 }, 64, 4)) {
+            Assert.assertEquals(3, tree.size());
+            Assert.assertEquals(2L, tree.get(1));
+            Assert.assertEquals(5L, tree.get(3));
+        }
+        try {
+            MappedBPlusTreeMap.fromSorted(file, new long[] { 2, 1 }, new long[] { 2, 1 }, 64, 4);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // 期望的异常
+        }
+        // 构建使用的临时文件已经重命名，失败的构建不影响原来的树
+        Assert.assertFalse(new File(file.getPath() + ".tmp").exists());
+        try (MappedBPlusTreeMap tree = new MappedBPlusTreeMap(file, 64, 4)) {
+            Assert.assertEquals(3, tree.size());
+        }
+    }
+
+    /**
+     * 未提交的修改在崩溃后丢失，最新的元数据页损坏时恢复到上一次提交
+     */
+    @Test
+    public void testCrashRecovery() throws IOException {
+        File file = folder.newFile();
+        File crashed = new File(folder.getRoot(), "crashed.bin");
+        try (MappedBPlusTreeMap tree = new MappedBPlusTreeMap(file, 64, 4)) {
+            for (long i = 0; i < 100; i++) {
+                tree.put(i, i);
+            }
+            tree.commit();
+            for (long i = 100; i < 200; i++) {
+                tree.put(i, i);
+            }
+            tree.remove(0);
+            tree.commit();
+            for (long i = 200; i < 300; i++) {
+                tree.put(i, i);
+            }
+            // 在没有提交的情况下复制文件，相当于进程在这里崩溃
+            Files.copy(file.toPath(), crashed.toPath());
+        }
+
+        try (MappedBPlusTreeMap tree = new MappedBPlusTreeMap(crashed, 64, 4)) {
+            Assert.assertEquals(199, tree.size());
+            Assert.assertFalse(tree.containsKey(0L));
+            Assert.assertTrue(tree.containsKey(199L));
+            Assert.assertFalse(tree.containsKey(200L));
+        }
+
+        // 破坏最新的元数据页，回退到上一次提交
+        try (RandomAccessFile raf = new RandomAccessFile(crashed, "rw")) {
+            long newest = Math.max(readGeneration(raf, 0), readGeneration(raf, 64)) == readGeneration(raf, 0) ? 0 : 64;
+            raf.seek(newest + 24);
+            raf.writeLong(12345);
+        }
+        try (MappedBPlusTreeMap tree = new MappedBPlusTreeMap(crashed, 64, 4)) {
+            Assert.assertEquals(100, tree.size());
+            Assert.assertTrue(tree.containsKey(0L));
+            Assert.assertFalse(tree.containsKey(100L));
+        }
+
+        try (MappedBPlusTreeMap tree = new MappedBPlusTreeMap(file, 64, 4)) {
+            Assert.assertEquals(299, tree.size());
+        }
+    }
+
+    /**
+     * 测试两个元数据页都损坏，或者页大小不一致时拒绝打开
+     */
+    @Test
+    public void testInvalidFile() throws IOException {
+        File file = folder.newFile();
+        new MappedBPlusTreeMap(file, 64, 4).close();
+        try {
+            new MappedBPlusTreeMap(file, 128, 4).close();
+            Assert.fail();
+        } catch (IOException e) {
+            // 期望的异常
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.writeLong(0);
+            raf.seek(64);
+            raf.writeLong(0);
+        }
+        try {
+            new MappedBPlusTreeMap(file, 64, 4).close();
+            Assert.fail();
+        } catch (IOException e) {
+            // 期望的异常
+        }
+    }
+
+    /**
+     * 新文件先在临时文件中初始化再重命名，上次初始化时崩溃留下的临时文件不影响再次创建
+     */
+    @Test
+    public void testCreateIsAtomic() throws IOException {
+        File file = new File(folder.getRoot(), "tree.bin");
+        File init = new File(folder.getRoot(), "tree.bin.init");
+        Files.write(init.toPath(), new byte[1000]);
+        try (MappedBPlusTreeMap tree = new MappedBPlusTreeMap(file, 64, 4)) {
+            Assert.assertTrue(tree.isEmpty());
+            Assert.assertFalse(init.exists());
+            tree.put(1, 10);
+        }
+        try (MappedBPlusTreeMap tree = new MappedBPlusTreeMap(file, 64, 4)) {
+            Assert.assertEquals(10L, tree.get(1));
+        }
+    }
+
+    /**
+     * 页很小时段按字节数确定大小，映射的数量只与文件大小有关，远低于进程可用的映射数量
+     */
+    @Test
+    public void testMappedSegments() throws IOException {
+        try (MappedBPlusTreeMap tree = new MappedBPlusTreeMap(folder.newFile(), 64, 4)) {
+            for (long i = 0; i < 20000; i++) {
+                tree.put(i * 7919 % 20000, i);
+                if (i % 100 == 0) {
+                    tree.commit();
+                }
+            }
+            long fileBytes = tree.pageCount() * 64;
+            Assert.assertTrue(tree.pageCount() > 64 * 1024);
+            Assert.assertTrue(tree.mappedSegments() <= fileBytes / (4 << 20) + 1);
+        }
+    }
+
+    /**
+     * 读取元数据页中的版本号，元数据使用小端字节序
+     *
+     * @param raf    文件
+     * @param offset 元数据页的偏移量
+     * @return 版本号
+     * @throws IOException 如果读取失败
+     */
+    private static long readGeneration(RandomAccessFile raf, long offset) throws IOException {
+        raf.seek(offset + 16);
+        return Long.reverseBytes(raf.readLong());
+    }
+
+    /**
+     * 检查树与期望的内容相同，并且按照键的顺序遍历
+     *
+     * @param expected 期望的内容
+     * @param actual   树
+     */
+    private static void assertSameContent(java.util.TreeMap<Long, Long> expected, MappedBPlusTreeMap actual) {
+        Assert.assertEquals(expected.size(), actual.size());
+        Iterator<java.util.Map.Entry<Long, Long>> expectedIterator = expected.entrySet().iterator();
+        for (Map.Entry<Long, Long> entry : actual) {
+            java.util.Map.Entry<Long, Long> next = expectedIterator.next();
+            Assert.assertEquals(next.getKey(), entry.getKey());
+            Assert.assertEquals(next.getValue(), entry.getValue());
+        }
+        Assert.assertFalse(expectedIterator.hasNext());
+        for (java.util.Map.Entry<Long, Long> entry : expected.entrySet()) {
+            Assert.assertEquals(entry.getValue(), actual.get(entry.getKey()));
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.hxqzzxk.map;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * MappedIntLongHashMap 测试类
+ * 用于验证堆外哈希表的基本功能，以及通过内存映射文件持久化的正确性
+ */
+public class MappedIntLongHashMapTest {
+    /**
+     * 每个测试使用的临时目录
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * 测试直接内存中的基本操作
+     */
+    @Test
+    public void testOffHeap() {
+        MappedIntLongHashMap map = new MappedIntLongHashMap(100);
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertEquals(0L, map.put(1, 10L));
+        Assert.assertEquals(0L, map.put(0, 20L));
+        Assert.assertEquals(10L, map.put(1, 11L));
+        Assert.assertEquals(11L, map.get(1));
+        Assert.assertEquals(20L, map.get(0));
+        Assert.assertEquals(-1L, map.getOrDefault(2, -1L));
+        Assert.assertNull(map.get(Integer.valueOf(2)));
+        Assert.assertTrue(map.containsValue(20L));
+        Assert.assertEquals(2, map.size());
+
+        Assert.assertEquals(Long.valueOf(11L), map.remove(Integer.valueOf(1)));
+        Assert.assertFalse(map.containsKey(1));
+        map.clear();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertFalse(map.containsKey(0));
+    }
+
+    /**
+     * 随机插入和删除，与 java.util.HashMap 的结果比较，验证向后移位删除的正确性
+     */
+    @Test
+    public void testRandomOperations() {
+        MappedIntLongHashMap map = new MappedIntLongHashMap(4000);
+        java.util.Map<Integer, Long> expected = new java.util.HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 100000; i++) {
+            int key = random.nextInt(4000) - 2000;
+            if (random.nextInt(3) == 0) {
+                Assert.assertEquals(expected.remove(key), map.remove(Integer.valueOf(key)));
+            } else {
+                Assert.assertEquals(expected.put(key, (long) i), map.put(Integer.valueOf(key), Long.valueOf(i)));
+            }
+        }
+        Assert.assertEquals(expected.size(), map.size());
+        for (int key = -2000; key < 2000; key++) {
+            Assert.assertEquals(expected.get(key), map.get(Integer.valueOf(key)));
+        }
+    }
+
+    /**
+     * 测试键值对数量达到容量上限时拒绝插入
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testFull() {
+        MappedIntLongHashMap map = new MappedIntLongHashMap(12);
+        for (int i = 1; i <= 13; i++) {
+            map.put(i, i);
+        }
+    }
+
+    /**
+     * 测试关闭之后重新映射文件，数据保持不变
+     */
+    @Test
+    public void testReopen() throws IOException {
+        File file = new File(folder.getRoot(), "table.bin");
+        try (MappedIntLongHashMap map = new MappedIntLongHashMap(file, 10000)) {
+            for (int i = 0; i < 10000; i++) {
+                map.put(i, i * 3L);
+            }
+            map.remove(5);
+        }
+
+        try (MappedIntLongHashMap map = new MappedIntLongHashMap(file, 0)) {
+            Assert.assertEquals(9999, map.size());
+            Assert.assertEquals(0L, map.get(0));
+            Assert.assertTrue(map.containsKey(0));
+            Assert.assertFalse(map.containsKey(5));
+            for (int i = 6; i < 10000; i++) {
+                Assert.assertEquals(i * 3L, map.get(i));
+            }
+            map.put(5, 15L);
+        }
+
+        try (MappedIntLongHashMap map = new MappedIntLongHashMap(file, 0)) {
+            Assert.assertEquals(10000, map.size());
+            Assert.assertEquals(15L, map.get(5));
+        }
+    }
+
+    /**
+     * 测试文件头损坏时拒绝映射
+     */
+    @Test(expected = IOException.class)
+    public void testCorruptedHeader() throws IOException {
+        File file = new File(folder.getRoot(), "table.bin");
+        new MappedIntLongHashMap(file, 100).close();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.writeLong(0);
+        }
+        new MappedIntLongHashMap(file, 100).close();
+    }
+
+    /**
+     * 测试打开过短或者格式不符的文件时拒绝映射，并且不修改文件
+     */
+    @Test
+    public void testForeignFileUntouched() throws IOException {
+        File shortFile = new File(folder.getRoot(), "short.bin");
+        byte[] shortContent = { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 };
+        Files.write(shortFile.toPath(), shortContent);
+        File foreignFile = new File(folder.getRoot(), "foreign.bin");
+        byte[] foreignContent = new byte[100];
+        Arrays.fill(foreignContent, (byte) 7);
+        Files.write(foreignFile.toPath(), foreignContent);
+
+        for (File file : new File[] { shortFile, foreignFile }) {
+            try {
+                new MappedIntLongHashMap(file, 100).close();
+                Assert.fail();
+            } catch (IOException e) {
+                // 期望的异常
+            }
+        }
+        Assert.assertArrayEquals(shortContent, Files.readAllBytes(shortFile.toPath()));
+        Assert.assertArrayEquals(foreignContent, Files.readAllBytes(foreignFile.toPath()));
+    }
+}
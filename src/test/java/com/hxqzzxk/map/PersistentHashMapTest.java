@@ -0,0 +1,239 @@
+package com.hxqzzxk.map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PersistentHashMap 持久化哈希表测试类
+ */
+public class PersistentHashMapTest {
+    /**
+     * 测试 plus 和 minus 返回新版本，旧版本保持不变
+     */
+    @Test
+    public void testVersions() {
+        PersistentHashMap<Integer, String> empty = PersistentHashMap.empty();
+        PersistentHashMap<Integer, String> v1 = empty.plus(1, "one");
+        PersistentHashMap<Integer, String> v2 = v1.plus(2, "two");
+        PersistentHashMap<Integer, String> v3 = v2.plus(1, "uno");
+        PersistentHashMap<Integer, String> v4 = v3.minus(2);
+
+        Assert.assertTrue(empty.isEmpty());
+        Assert.assertEquals(1, v1.size());
+        Assert.assertEquals("one", v1.get(1));
+        Assert.assertNull(v1.get(2));
+        Assert.assertEquals(2, v2.size());
+        Assert.assertEquals("one", v2.get(1));
+        Assert.assertEquals("two", v2.get(2));
+        Assert.assertEquals(2, v3.size());
+        Assert.assertEquals("uno", v3.get(1));
+        Assert.assertEquals(1, v4.size());
+        Assert.assertFalse(v4.containsKey(2));
+        Assert.assertEquals("two", v3.get(2));
+    }
+
+    /**
+     * 测试没有变化的修改返回当前版本
+     */
+    @Test
+    public void testUnchanged() {
+        String one = "one";
+        PersistentHashMap<Integer, String> map = PersistentHashMap.<Integer, String>empty().plus(1, one);
+        Assert.assertSame(map, map.plus(1, one));
+        Assert.assertSame(map, map.minus(2));
+        Assert.assertSame(PersistentHashMap.empty(), map.minus(1).minus(1).plus(1, one).minus(1).minus(1));
+    }
+
+    /**
+     * 测试 null 键、null 值和包含判断
+     */
+    @Test
+    public void testNull() {
+        PersistentHashMap<String, String> map = PersistentHashMap.<String, String>empty()
+                .plus(null, "null")
+                .plus("a", null);
+        Assert.assertEquals("null", map.get(null));
+        Assert.assertTrue(map.containsKey("a"));
+        Assert.assertNull(map.get("a"));
+        Assert.assertTrue(map.containsValue(null));
+        Assert.assertTrue(map.containsValue("null"));
+        Assert.assertFalse(map.containsValue("b"));
+        Assert.assertFalse(map.minus(null).containsKey(null));
+    }
+
+    /**
+     * 测试哈希值完全相同的键
+     */
+    @Test
+    public void testCollision() {
+        // "Aa" 和 "BB" 的 hashCode 相同
+        PersistentHashMap<String, Integer> map = PersistentHashMap.<String, Integer>empty()
+                .plus("Aa", 1)
+                .plus("BB", 2)
+                .plus("AaAa", 3)
+                .plus("BBBB", 4)
+                .plus("AaBB", 5);
+        Assert.assertEquals(5, map.size());
+        Assert.assertEquals(Integer.valueOf(1), map.get("Aa"));
+        Assert.assertEquals(Integer.valueOf(2), map.get("BB"));
+        Assert.assertEquals(Integer.valueOf(5), map.get("AaBB"));
+        PersistentHashMap<String, Integer> removed = map.minus("Aa").minus("BBBB");
+        Assert.assertEquals(3, removed.size());
+        Assert.assertNull(removed.get("Aa"));
+        Assert.assertEquals(Integer.valueOf(2), removed.get("BB"));
+        Assert.assertEquals(Integer.valueOf(3), removed.get("AaAa"));
+        Assert.assertEquals(Integer.valueOf(1), map.get("Aa"));
+    }
+
+    /**
+     * 测试修改方法不被支持
+     */
+    @Test
+    public void testImmutable() {
+        PersistentHashMap<Integer, String> map = PersistentHashMap.<Integer, String>empty().plus(1, "one");
+        try {
+            map.put(2, "two");
+            Assert.fail();
+        } catch (UnsupportedOperationException e) {
+            // 期望的异常
+        }
+        try {
+            map.remove(1);
+            Assert.fail();
+        } catch (UnsupportedOperationException e) {
+            // 期望的异常
+        }
+        try {
+            map.clear();
+            Assert.fail();
+        } catch (UnsupportedOperationException e) {
+            // 期望的异常
+        }
+        Assert.assertEquals(1, map.size());
+    }
+
+    /**
+     * 测试遍历和迭代器访问所有键值对
+     */
+    @Test
+    public void testTraversal() {
+        PersistentHashMap<Integer, Integer> map = PersistentHashMap.empty();
+        for (int i = 0; i < 1000; i++) {
+            map = map.plus(i, i * 2);
+        }
+        boolean[] visited = new boolean[1000];
+        AtomicInteger count = new AtomicInteger();
+        map.traversal(new Map.Visitor<Integer, Integer>() {
+            @Override
+            public boolean visit(Integer key, Integer value) {
+                Assert.assertEquals(key * 2, value.intValue());
+                visited[key] = true;
+                return count.incrementAndGet() == 500;
+            }
+        });
+        Assert.assertEquals(500, count.get());
+
+        List<Integer> keys = new ArrayList<>();
+        for (Map.Entry<Integer, Integer> entry : map) {
+            Assert.assertEquals(entry.getKey() * 2, entry.getValue().intValue());
+            keys.add(entry.getKey());
+        }
+        Assert.assertEquals(1000, keys.size());
+        Assert.assertEquals(1000, keys.stream().distinct().count());
+    }
+
+    /**
+     * 随机插入和删除，与 java.util.HashMap 对比结果，并检查旧版本没有被修改
+     */
+    @Test
+    public void testRandomAgainstHashMap() {
+        Random random = new Random(42);
+        java.util.HashMap<Integer, Integer> expected = new java.util.HashMap<>();
+        PersistentHashMap<Integer, Integer> map = PersistentHashMap.empty();
+        List<PersistentHashMap<Integer, Integer>> versions = new ArrayList<>();
+        List<java.util.HashMap<Integer, Integer>> snapshots = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            // 键乘以 2^20 使低位相同，让键在树的深层分叉
+            int key = random.nextInt(2000) << 20;
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.minus(key);
+            } else {
+                expected.put(key, i);
+                map = map.plus(key, i);
+            }
+            if (i % 2000 == 0) {
+                versions.add(map);
+                snapshots.add(new java.util.HashMap<>(expected));
+            }
+        }
+        assertSameContent(expected, map);
+        for (int i = 0; i < versions.size(); i++) {
+            assertSameContent(snapshots.get(i), versions.get(i));
+        }
+        for (Integer key : new ArrayList<>(expected.keySet())) {
+            map = map.minus(key);
+        }
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertFalse(map.iterator().hasNext());
+    }
+
+    /**
+     * 测试多个线程同时读取同一个快照
+     */
+    @Test
+    public void testConcurrentReaders() throws InterruptedException {
+        PersistentHashMap<Integer, Integer> map = PersistentHashMap.empty();
+        for (int i = 0; i < 10000; i++) {
+            map = map.plus(i, i);
+        }
+        final PersistentHashMap<Integer, Integer> snapshot = map;
+        AtomicInteger errors = new AtomicInteger();
+        Thread[] readers = new Thread[4];
+        for (int t = 0; t < readers.length; t++) {
+            readers[t] = new Thread(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    if (snapshot.get(i) != i) {
+                        errors.incrementAndGet();
+                    }
+                }
+            });
+            readers[t].start();
+        }
+        // 读取的同时继续产生新版本，不影响快照
+        for (int i = 0; i < 10000; i++) {
+            map = map.minus(i);
+        }
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        Assert.assertEquals(0, errors.get());
+        Assert.assertEquals(10000, snapshot.size());
+        Assert.assertTrue(map.isEmpty());
+    }
+
+    /**
+     * 检查持久化映射与期望的内容相同
+     *
+     * @param expected 期望的内容
+     * @param actual   持久化映射
+     */
+    private static void assertSameContent(java.util.HashMap<Integer, Integer> expected,
+                                          PersistentHashMap<Integer, Integer> actual) {
+        Assert.assertEquals(expected.size(), actual.size());
+        for (java.util.Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            Assert.assertEquals(entry.getValue(), actual.get(entry.getKey()));
+        }
+        int count = 0;
+        for (Map.Entry<Integer, Integer> entry : actual) {
+            Assert.assertEquals(expected.get(entry.getKey()), entry.getValue());
+            count++;
+        }
+        Assert.assertEquals(expected.size(), count);
+    }
+}
@@ -0,0 +1,117 @@
+package com.hxqzzxk.map;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.hxqzzxk.map.Map.Visitor;
+
+/**
+ * RobinHoodHashMap 测试类，继承自 MapTest
+ * 用于验证 RobinHoodHashMap 实现类的基本功能和正确性
+ */
+public class RobinHoodHashMapTest extends MapTest {
+    /**
+     * 初始化 RobinHoodHashMap 实例
+     * 在每次测试方法执行前调用，用于准备测试环境
+     */
+    @Override
+    public void setUp() {
+        map = new RobinHoodHashMap<>();
+    }
+
+    @Override
+    @Test
+    public void testTraversal() {
+        map.put(1, "one");
+        map.put(2, "two");
+        map.put(3, "three");
+
+        List<String> results = new ArrayList<>();
+        map.traversal(new Visitor<Integer, String>() {
+            @Override
+            public boolean visit(Integer key, String value) {
+                results.add(String.format("%d-%s", key, value));
+                return false;
+            }
+        });
+
+        // 检查遍历结果中包含所有的键值对
+        Assert.assertTrue(results.contains("1-one"));
+        Assert.assertTrue(results.contains("2-two"));
+        Assert.assertTrue(results.contains("3-three"));
+
+        // 确保结果大小一致
+        Assert.assertEquals(3, results.size());
+    }
+
+    /**
+     * 测试 null 键以及哈希值冲突的键
+     */
+    @Test
+    public void testNullAndCollidingKeys() {
+        RobinHoodHashMap<String, Integer> robinHood = new RobinHoodHashMap<>();
+        robinHood.put(null, 0);
+        // "Aa" 和 "BB" 的 hashCode 相同
+        robinHood.put("Aa", 1);
+        robinHood.put("BB", 2);
+        Assert.assertEquals(Integer.valueOf(0), robinHood.get(null));
+        Assert.assertEquals(Integer.valueOf(1), robinHood.get("Aa"));
+        Assert.assertEquals(Integer.valueOf(2), robinHood.get("BB"));
+
+        Assert.assertEquals(Integer.valueOf(1), robinHood.remove("Aa"));
+        Assert.assertNull(robinHood.get("Aa"));
+        Assert.assertEquals(Integer.valueOf(2), robinHood.get("BB"));
+        Assert.assertEquals(Integer.valueOf(0), robinHood.remove(null));
+        Assert.assertEquals(1, robinHood.size());
+    }
+
+    /**
+     * 随机插入和删除，与 java.util.HashMap 的结果比较，验证向后移位删除的正确性
+     */
+    @Test
+    public void testRandomOperations() {
+        RobinHoodHashMap<Integer, Integer> robinHood = new RobinHoodHashMap<>();
+        java.util.Map<Integer, Integer> expected = new java.util.HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 100000; i++) {
+            int key = random.nextInt(5000);
+            if (random.nextInt(3) == 0) {
+                Assert.assertEquals(expected.remove(key), robinHood.remove(key));
+            } else {
+                Assert.assertEquals(expected.put(key, i), robinHood.put(key, i));
+            }
+        }
+        Assert.assertEquals(expected.size(), robinHood.size());
+        for (int key = 0; key < 5000; key++) {
+            Assert.assertEquals(expected.get(key), robinHood.get(key));
+        }
+    }
+
+    /**
+     * 测试负载因子为 0.9 时探测长度的分布
+     */
+    @Test
+    public void testProbeHistogram() {
+        RobinHoodHashMap<Integer, Integer> robinHood = new RobinHoodHashMap<>(1 << 16, 0.9f);
+        int count = (int) ((1 << 16) * 0.9f);
+        Random random = new Random(11);
+        for (int i = 0; i < count; i++) {
+            robinHood.put(random.nextInt(), i);
+        }
+        Assert.assertEquals(1 << 16, robinHood.capacity());
+
+        int[] histogram = robinHood.probeHistogram();
+        int total = 0;
+        for (int n : histogram) {
+            total += n;
+        }
+        Assert.assertEquals(robinHood.size(), total);
+        Assert.assertEquals(robinHood.maxProbeLength(), histogram.length - 1);
+        Assert.assertTrue(robinHood.averageProbeLength() < 5);
+        Assert.assertTrue(robinHood.maxProbeLength() < 64);
+    }
+}
@@ -0,0 +1,98 @@
+package com.hxqzzxk.map;
+
+import java.util.Random;
+
+/**
+ * SwissTableHashMap 与 HashMap 查找性能的对比基准。
+ * <p>
+ * 不属于单元测试（mvn test 不会执行），需要手动运行 main 方法。
+ * 对于不同的负载（键的数量占 SwissTableHashMap 槽位数量的比例），
+ * 分别测量查找存在的键（命中）和不存在的键（未命中）的平均耗时。
+ * </p>
+ */
+public class SwissTableBenchmark {
+    /**
+     * SwissTableHashMap 的槽位数量
+     */
+    private static final int CAPACITY = 1 << 20;
+
+    /**
+     * 每轮查找的次数
+     */
+    private static final int LOOKUPS = 1 << 22;
+
+    /**
+     * 预热的轮数
+     */
+    private static final int WARMUP_ROUNDS = 3;
+
+    /**
+     * 计时的轮数
+     */
+    private static final int MEASURE_ROUNDS = 5;
+
+    /**
+     * 防止查找结果被 JIT 优化掉
+     */
+    private static long sink;
+
+    public static void main(String[] args) {
+        System.out.printf("%-6s %-8s %14s %14s%n", "load", "lookup", "HashMap ns/op", "Swiss ns/op");
+        for (double load : new double[] { 0.5, 0.75, 0.875 }) {
+            int count = (int) (CAPACITY * load) - 1;
+            Random random = new Random(42);
+            Integer[] present = new Integer[count];
+            Integer[] absent = new Integer[count];
+            HashMap<Integer, Integer> hashMap = new HashMap<>();
+            SwissTableHashMap<Integer, Integer> swiss = new SwissTableHashMap<>(CAPACITY * 7 / 8);
+            for (int i = 0; i < count; i++) {
+                // 偶数是存在的键，奇数是不存在的键
+                present[i] = random.nextInt() & ~1;
+                absent[i] = random.nextInt() | 1;
+                hashMap.put(present[i], i);
+                swiss.put(present[i], i);
+            }
+
+            System.out.printf("%-6.3f %-8s %14.1f %14.1f%n", load, "hit",
+                    measure(hashMap, present), measure(swiss, present));
+            System.out.printf("%-6.3f %-8s %14.1f %14.1f%n", load, "miss",
+                    measure(hashMap, absent), measure(swiss, absent));
+        }
+        System.out.println(sink == 42 ? "" : "done");
+    }
+
+    /**
+     * 测量每次查找的平均耗时
+     *
+     * @param map  被测量的哈希表
+     * @param keys 要查找的键
+     * @return 每次查找的平均纳秒数
+     */
+    private static double measure(Map<Integer, Integer> map, Integer[] keys) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            run(map, keys);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            run(map, keys);
+        }
+        return (double) (System.nanoTime() - start) / ((long) MEASURE_ROUNDS * LOOKUPS);
+    }
+
+    /**
+     * 执行一轮查找
+     *
+     * @param map  被测量的哈希表
+     * @param keys 要查找的键
+     */
+    private static void run(Map<Integer, Integer> map, Integer[] keys) {
+        long sum = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            Integer value = map.get(keys[i % keys.length]);
+            if (value != null) {
+                sum += value;
+            }
+        }
+        sink += sum;
+    }
+}
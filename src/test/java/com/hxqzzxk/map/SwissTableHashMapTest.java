@@ -0,0 +1,110 @@
+package com.hxqzzxk.map;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.hxqzzxk.map.Map.Visitor;
+
+/**
+ * SwissTableHashMap 测试类，继承自 MapTest
+ * 用于验证 SwissTableHashMap 实现类的基本功能和正确性
+ */
+public class SwissTableHashMapTest extends MapTest {
+    /**
+     * 初始化 SwissTableHashMap 实例
+     * 在每次测试方法执行前调用，用于准备测试环境
+     */
+    @Override
+    public void setUp() {
+        map = new SwissTableHashMap<>();
+    }
+
+    @Override
+    @Test
+    public void testTraversal() {
+        map.put(1, "one");
+        map.put(2, "two");
+        map.put(3, "three");
+
+        List<String> results = new ArrayList<>();
+        map.traversal(new Visitor<Integer, String>() {
+            @Override
+            public boolean visit(Integer key, String value) {
+                results.add(String.format("%d-%s", key, value));
+                return false;
+            }
+        });
+
+        // 检查遍历结果中包含所有的键值对
+        Assert.assertTrue(results.contains("1-one"));
+        Assert.assertTrue(results.contains("2-two"));
+        Assert.assertTrue(results.contains("3-three"));
+
+        // 确保结果大小一致
+        Assert.assertEquals(3, results.size());
+    }
+
+    /**
+     * 测试 null 键以及哈希值冲突的键
+     */
+    @Test
+    public void testNullAndCollidingKeys() {
+        SwissTableHashMap<String, Integer> swiss = new SwissTableHashMap<>();
+        swiss.put(null, 0);
+        // "Aa" 和 "BB" 的 hashCode 相同
+        swiss.put("Aa", 1);
+        swiss.put("BB", 2);
+        Assert.assertEquals(Integer.valueOf(0), swiss.get(null));
+        Assert.assertEquals(Integer.valueOf(1), swiss.get("Aa"));
+        Assert.assertEquals(Integer.valueOf(2), swiss.get("BB"));
+
+        Assert.assertEquals(Integer.valueOf(1), swiss.remove("Aa"));
+        Assert.assertNull(swiss.get("Aa"));
+        Assert.assertEquals(Integer.valueOf(2), swiss.get("BB"));
+        Assert.assertEquals(Integer.valueOf(0), swiss.remove(null));
+        Assert.assertEquals(1, swiss.size());
+    }
+
+    /**
+     * 随机插入和删除，与 java.util.HashMap 的结果比较，验证墓碑和重新哈希的正确性
+     */
+    @Test
+    public void testRandomOperations() {
+        SwissTableHashMap<Integer, Integer> swiss = new SwissTableHashMap<>();
+        java.util.Map<Integer, Integer> expected = new java.util.HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 200000; i++) {
+            int key = random.nextInt(5000);
+            if (random.nextInt(3) == 0) {
+                Assert.assertEquals(expected.remove(key), swiss.remove(key));
+            } else {
+                Assert.assertEquals(expected.put(key, i), swiss.put(key, i));
+            }
+        }
+        Assert.assertEquals(expected.size(), swiss.size());
+        for (int key = 0; key < 5000; key++) {
+            Assert.assertEquals(expected.get(key), swiss.get(key));
+        }
+    }
+
+    /**
+     * 测试反复插入删除不同的键时，墓碑被清理而不是无限扩容
+     */
+    @Test
+    public void testChurnDoesNotGrow() {
+        SwissTableHashMap<Integer, Integer> swiss = new SwissTableHashMap<>(100);
+        int capacity = swiss.capacity();
+        for (int i = 0; i < 100000; i++) {
+            swiss.put(i, i);
+            if (i >= 50) {
+                Assert.assertEquals(Integer.valueOf(i - 50), swiss.remove(i - 50));
+            }
+        }
+        Assert.assertEquals(50, swiss.size());
+        Assert.assertEquals(capacity, swiss.capacity());
+    }
+}
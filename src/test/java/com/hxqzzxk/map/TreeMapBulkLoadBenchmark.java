@@ -0,0 +1,64 @@
+package com.hxqzzxk.map;
+
+/**
+ * TreeMap 批量构建与逐个 put 的性能对比基准。
+ * <p>
+ * 不属于单元测试（mvn test 不会执行），需要手动运行 main 方法。
+ * 对于不同数量的有序键，分别测量逐个 put 和 fromSorted 构建整个映射的平均耗时。
+ * </p>
+ */
+public class TreeMapBulkLoadBenchmark {
+    /**
+     * 预热的轮数
+     */
+    private static final int WARMUP_ROUNDS = 3;
+
+    /**
+     * 计时的轮数
+     */
+    private static final int MEASURE_ROUNDS = 5;
+
+    /**
+     * 防止构建结果被 JIT 优化掉
+     */
+    private static long sink;
+
+    public static void main(String[] args) {
+        System.out.printf("%-10s %14s %14s %8s%n", "size", "put ms", "fromSorted ms", "speedup");
+        for (int size : new int[] { 1 << 16, 1 << 20, 1 << 22 }) {
+            Integer[] keys = new Integer[size];
+            Integer[] values = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = i;
+                values[i] = i;
+            }
+            double put = measure(() -> {
+                TreeMap<Integer, Integer> map = new TreeMap<>();
+                for (int i = 0; i < keys.length; i++) {
+                    map.put(keys[i], values[i]);
+                }
+                sink += map.size();
+            });
+            double bulk = measure(() -> sink += TreeMap.fromSorted(keys, values).size());
+            System.out.printf("%-10d %14.1f %14.1f %7.1fx%n", size, put, bulk, put / bulk);
+        }
+        System.out.println(sink == 42 ? "" : "done");
+    }
+
+    /**
+     * 测量每轮构建的平均耗时
+     *
+     * @param build 构建映射的操作
+     * @return 每轮的平均毫秒数
+     */
+    private static double measure(Runnable build) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            build.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            build.run();
+        }
+        return (System.nanoTime() - start) / 1e6 / MEASURE_ROUNDS;
+    }
+}
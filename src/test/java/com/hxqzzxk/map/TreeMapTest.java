@@ -1,5 +1,13 @@
 package com.hxqzzxk.map;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+
+import org.junit.Assert;
+import org.junit.Test;
+
 /**
  * TreeMap 测试类，继承自 MapTest
  * 用于验证 TreeMap 实现类的基本功能和正确性
@@ -12,4 +20,178 @@ public class TreeMapTest extends MapTest {
     public void setUp() {
         map = new TreeMap<>();
     }
+
+    /**
+     * 测试迭代器按照键从小到大的顺序遍历
+     */
+    @Test
+    public void testIteratorOrder() {
+        for (int i = 99; i >= 0; i--) {
+            map.put(i, String.valueOf(i));
+        }
+        int expected = 0;
+        for (Map.Entry<Integer, String> entry : map) {
+            Assert.assertEquals(Integer.valueOf(expected++), entry.getKey());
+        }
+        Assert.assertEquals(100, expected);
+    }
+
+    /**
+     * 测试按照子树分割：不断分割直到不能再分割，依次遍历所有部分，结果仍然是有序且完整的
+     */
+    @Test
+    public void testSpliteratorSplit() {
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, String.valueOf(i));
+        }
+        List<Spliterator<Map.Entry<Integer, String>>> parts = new ArrayList<>();
+        split(map.spliterator(), parts);
+        Assert.assertTrue(parts.size() > 100);
+
+        List<Integer> keys = new ArrayList<>();
+        for (Spliterator<Map.Entry<Integer, String>> part : parts) {
+            part.forEachRemaining(entry -> keys.add(entry.getKey()));
+        }
+        Assert.assertEquals(1000, keys.size());
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(Integer.valueOf(i), keys.get(i));
+        }
+    }
+
+    /**
+     * 递归分割可分割迭代器，按照顺序收集不能再分割的部分
+     *
+     * @param spliterator 要分割的可分割迭代器
+     * @param parts       收集的结果
+     */
+    private void split(Spliterator<Map.Entry<Integer, String>> spliterator,
+            List<Spliterator<Map.Entry<Integer, String>>> parts) {
+        Spliterator<Map.Entry<Integer, String>> prefix = spliterator.trySplit();
+        if (prefix == null) {
+            parts.add(spliterator);
+            return;
+        }
+        split(prefix, parts);
+        split(spliterator, parts);
+    }
+
+    /**
+     * 测试 floor、ceiling、lower、higher、first、last
+     */
+    @Test
+    public void testNavigation() {
+        TreeMap<Integer, String> treeMap = (TreeMap<Integer, String>) map;
+        Assert.assertNull(treeMap.firstEntry());
+        Assert.assertNull(treeMap.lastKey());
+        for (int i = 0; i < 100; i += 10) {
+            map.put(i, String.valueOf(i));
+        }
+        Assert.assertEquals(Integer.valueOf(0), treeMap.firstKey());
+        Assert.assertEquals(Integer.valueOf(90), treeMap.lastKey());
+        Assert.assertEquals("90", treeMap.lastEntry().getValue());
+        Assert.assertEquals(Integer.valueOf(20), treeMap.floorKey(25));
+        Assert.assertEquals(Integer.valueOf(20), treeMap.floorKey(20));
+        Assert.assertEquals(Integer.valueOf(10), treeMap.lowerKey(20));
+        Assert.assertEquals(Integer.valueOf(30), treeMap.ceilingKey(25));
+        Assert.assertEquals(Integer.valueOf(30), treeMap.ceilingKey(30));
+        Assert.assertEquals(Integer.valueOf(40), treeMap.higherKey(30));
+        Assert.assertEquals("40", treeMap.higherEntry(30).getValue());
+        Assert.assertNull(treeMap.lowerKey(0));
+        Assert.assertNull(treeMap.floorKey(-1));
+        Assert.assertNull(treeMap.higherKey(90));
+        Assert.assertNull(treeMap.ceilingEntry(91));
+    }
+
+    /**
+     * 测试 subMap、headMap、tailMap 范围视图
+     */
+    @Test
+    public void testRangeViews() {
+        TreeMap<Integer, String> treeMap = (TreeMap<Integer, String>) map;
+        for (int i = 0; i < 100; i++) {
+            map.put(i, String.valueOf(i));
+        }
+        Map<Integer, String> sub = treeMap.subMap(10, true, 20, false);
+        Assert.assertEquals(10, sub.size());
+        Assert.assertTrue(sub.containsKey(10));
+        Assert.assertFalse(sub.containsKey(20));
+        Assert.assertNull(sub.get(5));
+        Assert.assertTrue(sub.containsValue("15"));
+        Assert.assertFalse(sub.containsValue("25"));
+        int expected = 10;
+        for (Map.Entry<Integer, String> entry : sub) {
+            Assert.assertEquals(Integer.valueOf(expected++), entry.getKey());
+        }
+        Assert.assertEquals(20, expected);
+
+        Assert.assertEquals(11, treeMap.headMap(10, true).size());
+        Assert.assertEquals(10, treeMap.headMap(10, false).size());
+        Assert.assertEquals(89, treeMap.tailMap(10, false).size());
+        Assert.assertTrue(treeMap.subMap(50, false, 50, false).isEmpty());
+
+        // 视图的修改反映到映射中
+        Map<Integer, String> tail = treeMap.tailMap(90, true);
+        tail.remove(95);
+        Assert.assertFalse(map.containsKey(95));
+        map.put(200, "200");
+        Assert.assertTrue(tail.containsKey(200));
+        Assert.assertEquals(10, tail.size());
+        try {
+            sub.put(30, "30");
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // 期望的异常
+        }
+        sub.clear();
+        Assert.assertTrue(sub.isEmpty());
+        Assert.assertEquals(90, map.size());
+        Assert.assertTrue(map.containsKey(9));
+        Assert.assertTrue(map.containsKey(20));
+    }
+
+    /**
+     * 测试由有序的键值对批量构建映射，重复的键保留最后一个值，构建之后可以继续修改
+     */
+    @Test
+    public void testFromSorted() {
+        Integer[] keys = new Integer[1001];
+        String[] values = new String[keys.length];
+        for (int i = 0; i < 1000; i++) {
+            keys[i] = i;
+            values[i] = String.valueOf(i);
+        }
+        keys[1000] = 999;
+        values[1000] = "last";
+        TreeMap<Integer, String> treeMap = TreeMap.fromSorted(keys, values);
+        Assert.assertEquals(1000, treeMap.size());
+        Assert.assertEquals("last", treeMap.get(999));
+        Assert.assertEquals(Integer.valueOf(0), treeMap.firstKey());
+
+        java.util.TreeMap<Integer, String> expected = new java.util.TreeMap<>();
+        for (Map.Entry<Integer, String> entry : treeMap) {
+            expected.put(entry.getKey(), entry.getValue());
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            int key = random.nextInt(2000);
+            if (random.nextBoolean()) {
+                Assert.assertEquals(expected.put(key, "v" + i), treeMap.put(key, "v" + i));
+            } else {
+                Assert.assertEquals(expected.remove(key), treeMap.remove(key));
+            }
+        }
+        Assert.assertEquals(expected.size(), treeMap.size());
+        List<Integer> actualKeys = new ArrayList<>();
+        for (Map.Entry<Integer, String> entry : treeMap) {
+            actualKeys.add(entry.getKey());
+        }
+        Assert.assertEquals(new ArrayList<>(expected.keySet()), actualKeys);
+
+        try {
+            TreeMap.fromSorted(new Integer[] { 2, 1 }, new String[] { "2", "1" });
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // 期望的异常
+        }
+    }
 }
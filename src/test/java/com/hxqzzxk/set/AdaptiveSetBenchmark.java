@@ -0,0 +1,159 @@
+package com.hxqzzxk.set;
+
+/**
+ * AdaptiveSet 与 ListSet、HashSet 的对比基准，用于选择升级阈值。
+ * <p>
+ * 不属于单元测试（mvn test 不会执行），需要手动运行 main 方法。
+ * 对于不同的集合大小，测量创建一个集合、添加所有元素、再对每个元素查找两次的平均耗时（按元素数量平均）。
+ * 元素是预先创建好的 Integer，计时中不包括装箱。
+ * 同一个 JVM 中测量多种集合时，Set 接口的调用点会变成多态的，影响后测量的集合，
+ * 可以用参数指定只测量一种集合（ListSet、HashSet、Adaptive8 等），每种集合分别运行一次。
+ * </p>
+ */
+public class AdaptiveSetBenchmark {
+    /**
+     * 测量的集合大小
+     */
+    private static final int[] SIZES = { 2, 4, 8, 16, 32, 64, 256, 4000 };
+
+    /**
+     * 比较的升级阈值
+     */
+    private static final int[] THRESHOLDS = { 8, 16, 32 };
+
+    /**
+     * 每轮处理的元素总数
+     */
+    private static final int ELEMENTS_PER_ROUND = 1 << 20;
+
+    /**
+     * 预热的轮数
+     */
+    private static final int WARMUP_ROUNDS = 5;
+
+    /**
+     * 计时的轮数
+     */
+    private static final int MEASURE_ROUNDS = 5;
+
+    /**
+     * 防止结果被 JIT 优化掉
+     */
+    private static long sink;
+
+    /**
+     * 集合的工厂
+     */
+    private interface Factory {
+        /**
+         * 创建一个空集合
+         *
+         * @return 空集合
+         */
+        Set<Integer> create();
+    }
+
+    public static void main(String[] args) {
+        String only = args.length > 0 ? args[0] : null;
+        System.out.printf("%-6s", "size");
+        for (String name : names()) {
+            if (only == null || only.equals(name)) {
+                System.out.printf(" %12s", name);
+            }
+        }
+        System.out.println("   (ns/element)");
+        for (int size : SIZES) {
+            Integer[] elements = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                elements[i] = i * 7919;
+            }
+            System.out.printf("%-6d", size);
+            for (String name : names()) {
+                if (only != null && !only.equals(name)) {
+                    continue;
+                }
+                if (name.equals("ListSet") && size > 256) {
+                    System.out.printf(" %12s", "-");
+                } else {
+                    System.out.printf(" %12.1f", measure(factory(name), elements));
+                }
+            }
+            System.out.println();
+        }
+        System.out.println(sink == 42 ? "" : "done");
+    }
+
+    /**
+     * 获取所有参与比较的集合的名称
+     *
+     * @return 集合的名称
+     */
+    private static String[] names() {
+        String[] names = new String[THRESHOLDS.length + 2];
+        names[0] = "ListSet";
+        names[1] = "HashSet";
+        for (int i = 0; i < THRESHOLDS.length; i++) {
+            names[i + 2] = "Adaptive" + THRESHOLDS[i];
+        }
+        return names;
+    }
+
+    /**
+     * 根据名称获取集合的工厂
+     *
+     * @param name 集合的名称
+     * @return 集合的工厂
+     */
+    private static Factory factory(String name) {
+        if (name.equals("ListSet")) {
+            return ListSet::new;
+        }
+        if (name.equals("HashSet")) {
+            return HashSet::new;
+        }
+        int threshold = Integer.parseInt(name.substring("Adaptive".length()));
+        return () -> new AdaptiveSet<>(threshold, threshold / 4);
+    }
+
+    /**
+     * 测量每个元素的平均耗时
+     *
+     * @param factory  集合的工厂
+     * @param elements 要添加的元素
+     * @return 每个元素的平均纳秒数
+     */
+    private static double measure(Factory factory, Integer[] elements) {
+        int sets = Math.max(1, ELEMENTS_PER_ROUND / elements.length);
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            run(factory, elements, sets);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            run(factory, elements, sets);
+        }
+        return (double) (System.nanoTime() - start) / ((long) MEASURE_ROUNDS * sets * elements.length);
+    }
+
+    /**
+     * 创建指定数量的集合，每个集合添加所有元素后逐个查找两次
+     *
+     * @param factory  集合的工厂
+     * @param elements 要添加的元素
+     * @param sets     集合的数量
+     */
+    private static void run(Factory factory, Integer[] elements, int sets) {
+        for (int s = 0; s < sets; s++) {
+            Set<Integer> set = factory.create();
+            for (Integer element : elements) {
+                set.add(element);
+            }
+            for (int round = 0; round < 2; round++) {
+                for (Integer element : elements) {
+                    if (set.contains(element)) {
+                        sink++;
+                    }
+                }
+            }
+        }
+    }
+}
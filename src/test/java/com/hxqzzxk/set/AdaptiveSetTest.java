@@ -0,0 +1,121 @@
+package com.hxqzzxk.set;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * AdaptiveSet 测试类，继承自 SetTest
+ */
+public class AdaptiveSetTest extends SetTest {
+    /**
+     * 初始化测试所需的集合实例，使用较小的阈值，使基本测试也会经过两种存储方式
+     */
+    @Override
+    public void setUp() {
+        set = new AdaptiveSet<>(2, 1);
+    }
+
+    /**
+     * 测试超过阈值时升级、删除到阈值以下时降级，并且两种存储方式都保持添加的顺序
+     */
+    @Test
+    public void testPromoteAndDemote() {
+        AdaptiveSet<Integer> adaptive = new AdaptiveSet<>(4, 2);
+        for (int i = 0; i < 4; i++) {
+            adaptive.add(i);
+        }
+        Assert.assertFalse(adaptive.isHashed());
+        adaptive.add(2);
+        Assert.assertFalse(adaptive.isHashed());
+        adaptive.add(4);
+        Assert.assertTrue(adaptive.isHashed());
+        Assert.assertEquals("[0, 1, 2, 3, 4]", toString(adaptive));
+
+        adaptive.remove(0);
+        adaptive.remove(3);
+        Assert.assertTrue(adaptive.isHashed());
+        adaptive.remove(1);
+        Assert.assertFalse(adaptive.isHashed());
+        Assert.assertEquals("[2, 4]", toString(adaptive));
+        adaptive.add(5);
+        Assert.assertEquals("[2, 4, 5]", toString(adaptive));
+
+        adaptive.clear();
+        Assert.assertFalse(adaptive.isHashed());
+        Assert.assertTrue(adaptive.isEmpty());
+
+        AdaptiveSet<Integer> noDemote = new AdaptiveSet<>(2, 0);
+        for (int i = 0; i < 3; i++) {
+            noDemote.add(i);
+        }
+        noDemote.remove(0);
+        noDemote.remove(1);
+        Assert.assertTrue(noDemote.isHashed());
+        Assert.assertEquals("[2]", toString(noDemote));
+
+        try {
+            new AdaptiveSet<Integer>(4, 4);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // 期望的异常
+        }
+    }
+
+    /**
+     * 测试降级阈值为 0 时，删除所有元素之后仍然使用哈希存储
+     */
+    @Test
+    public void testNoDemoteWhenEmptied() {
+        AdaptiveSet<Integer> noDemote = new AdaptiveSet<>(2, 0);
+        for (int i = 0; i < 3; i++) {
+            noDemote.add(i);
+        }
+        for (int i = 0; i < 3; i++) {
+            noDemote.remove(i);
+        }
+        Assert.assertTrue(noDemote.isEmpty());
+        Assert.assertTrue(noDemote.isHashed());
+        noDemote.add(5);
+        Assert.assertTrue(noDemote.contains(5));
+        Assert.assertEquals("[5]", toString(noDemote));
+    }
+
+    /**
+     * 随机添加和删除，与 java.util.LinkedHashSet 对比内容和顺序
+     */
+    @Test
+    public void testRandomAgainstLinkedHashSet() {
+        Random random = new Random(19);
+        AdaptiveSet<Integer> adaptive = new AdaptiveSet<>(8, 3);
+        java.util.LinkedHashSet<Integer> expected = new java.util.LinkedHashSet<>();
+        for (int i = 0; i < 20000; i++) {
+            int element = random.nextInt(random.nextBoolean() ? 12 : 40);
+            if (random.nextInt(5) < 2) {
+                adaptive.remove(element);
+                expected.remove(element);
+            } else {
+                adaptive.add(element);
+                expected.add(element);
+            }
+            Assert.assertEquals(expected.size(), adaptive.size());
+            Assert.assertEquals(expected.contains(element), adaptive.contains(element));
+        }
+        Assert.assertEquals(expected.toString(), toString(adaptive));
+    }
+
+    /**
+     * 按照遍历顺序把集合转换为字符串
+     *
+     * @param set 集合
+     * @return 形如 [1, 2, 3] 的字符串
+     */
+    private static String toString(Set<Integer> set) {
+        java.util.List<Integer> list = new java.util.ArrayList<>();
+        for (Integer element : set) {
+            list.add(element);
+        }
+        return list.toString();
+    }
+}
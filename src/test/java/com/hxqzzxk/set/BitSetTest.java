@@ -0,0 +1,95 @@
+package com.hxqzzxk.set;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * BitSet 测试类，继承自 SetTest
+ */
+public class BitSetTest extends SetTest {
+    /**
+     * 初始化测试所需的集合实例
+     */
+    @Override
+    public void setUp() {
+        set = new BitSet();
+    }
+
+    /**
+     * 测试 nextSetBit、nextClearBit 和负数元素
+     */
+    @Test
+    public void testNextBit() {
+        BitSet bits = new BitSet(0);
+        Assert.assertEquals(-1, bits.nextSetBit(0));
+        Assert.assertEquals(0, bits.nextClearBit(0));
+        Assert.assertTrue(bits.add(3));
+        Assert.assertFalse(bits.add(3));
+        bits.add(64);
+        bits.add(65);
+        bits.add(1000);
+        Assert.assertEquals(3, bits.nextSetBit(0));
+        Assert.assertEquals(64, bits.nextSetBit(4));
+        Assert.assertEquals(1000, bits.nextSetBit(66));
+        Assert.assertEquals(-1, bits.nextSetBit(1001));
+        Assert.assertEquals(66, bits.nextClearBit(64));
+        Assert.assertEquals(4, bits.cardinality());
+
+        Assert.assertFalse(bits.contains(-1));
+        Assert.assertFalse(bits.remove(-1));
+        try {
+            bits.add(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // 期望的异常
+        }
+    }
+
+    /**
+     * 随机生成位集合，与 java.util.BitSet 对比原地的 and、or、xor、andNot
+     */
+    @Test
+    public void testBulkOperations() {
+        Random random = new Random(18);
+        for (int round = 0; round < 20; round++) {
+            BitSet a = new BitSet();
+            BitSet b = new BitSet();
+            java.util.BitSet x = new java.util.BitSet();
+            java.util.BitSet y = new java.util.BitSet();
+            int range = 1 + random.nextInt(5000);
+            for (int i = 0; i < range / 2; i++) {
+                int element = random.nextInt(range);
+                a.add(element);
+                x.set(element);
+                element = random.nextInt(range + 200);
+                b.add(element);
+                y.set(element);
+            }
+
+            int operation = round % 4;
+            if (operation == 0) {
+                a.and(b);
+                x.and(y);
+            } else if (operation == 1) {
+                a.or(b);
+                x.or(y);
+            } else if (operation == 2) {
+                a.xor(b);
+                x.xor(y);
+            } else {
+                a.andNot(b);
+                x.andNot(y);
+            }
+
+            Assert.assertEquals(x.cardinality(), a.size());
+            int expected = x.nextSetBit(0);
+            for (Integer element : a) {
+                Assert.assertEquals(expected, element.intValue());
+                expected = x.nextSetBit(expected + 1);
+            }
+            Assert.assertEquals(-1, expected);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.hxqzzxk.set;
+
+import java.util.Iterator;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * RoaringBitmap 测试类，继承自 SetTest
+ */
+public class RoaringBitmapTest extends SetTest {
+    /**
+     * 初始化测试所需的集合实例
+     */
+    @Override
+    public void setUp() {
+        set = new RoaringBitmap();
+    }
+
+    /**
+     * 随机添加和删除，元素的分布覆盖稀疏、稠密和连续区间三种情况，与 java.util.TreeSet 对比结果
+     */
+    @Test
+    public void testRandomAgainstTreeSet() {
+        Random random = new Random(17);
+        RoaringBitmap bitmap = new RoaringBitmap();
+        java.util.TreeSet<Integer> expected = new java.util.TreeSet<>();
+        for (int i = 0; i < 200000; i++) {
+            int element = randomElement(random);
+            if (random.nextInt(4) == 0) {
+                Assert.assertEquals(expected.remove(element), bitmap.remove(element));
+            } else {
+                Assert.assertEquals(expected.add(element), bitmap.add(element));
+            }
+            if (i % 50000 == 0) {
+                bitmap.runOptimize();
+            }
+        }
+        assertSameContent(expected, bitmap);
+        bitmap.runOptimize();
+        assertSameContent(expected, bitmap);
+        for (int i = 0; i < 100000; i++) {
+            int element = randomElement(random);
+            Assert.assertEquals(expected.contains(element), bitmap.contains(element));
+        }
+    }
+
+    /**
+     * 测试并集、交集、差集和交集的元素数量
+     */
+    @Test
+    public void testSetAlgebra() {
+        Random random = new Random(18);
+        for (int round = 0; round < 6; round++) {
+            RoaringBitmap a = new RoaringBitmap();
+            RoaringBitmap b = new RoaringBitmap();
+            java.util.TreeSet<Integer> x = new java.util.TreeSet<>();
+            java.util.TreeSet<Integer> y = new java.util.TreeSet<>();
+            for (int i = 0; i < 50000; i++) {
+                int element = randomElement(random);
+                a.add(element);
+                x.add(element);
+                element = randomElement(random);
+                b.add(element);
+                y.add(element);
+            }
+            if (round % 2 == 1) {
+                a.runOptimize();
+            }
+            if (round >= 3) {
+                b.runOptimize();
+            }
+
+            java.util.TreeSet<Integer> union = new java.util.TreeSet<>(x);
+            union.addAll(y);
+            assertSameContent(union, RoaringBitmap.or(a, b));
+
+            java.util.TreeSet<Integer> intersection = new java.util.TreeSet<>(x);
+            intersection.retainAll(y);
+            assertSameContent(intersection, RoaringBitmap.and(a, b));
+            Assert.assertEquals(intersection.size(), RoaringBitmap.andCardinality(a, b));
+
+            java.util.TreeSet<Integer> difference = new java.util.TreeSet<>(x);
+            difference.removeAll(y);
+            assertSameContent(difference, RoaringBitmap.andNot(a, b));
+
+            // 运算不修改参与运算的集合
+            assertSameContent(x, a);
+            assertSameContent(y, b);
+        }
+    }
+
+    /**
+     * 遍历顺序与 int 的顺序一致，负数排在正数之前
+     */
+    @Test
+    public void testOrder() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        int[] elements = { Integer.MAX_VALUE, 0, -1, Integer.MIN_VALUE, 65536, -65537, 1 };
+        for (int element : elements) {
+            bitmap.add(element);
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Integer element : bitmap) {
+            sb.append(element).append(' ');
+        }
+        Assert.assertEquals("-2147483648 -65537 -1 0 1 65536 2147483647 ", sb.toString());
+    }
+
+    /**
+     * 连续的整数经过行程编码后只占很少的空间，稠密的整数每个只占约 1 位
+     */
+    @Test
+    public void testCompression() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int i = 0; i < 1000000; i++) {
+            bitmap.add(i);
+        }
+        Assert.assertEquals(1000000, bitmap.cardinality());
+        Assert.assertTrue(bitmap.sizeInBytes() < 1000000 / 8 * 11 / 10);
+        Assert.assertTrue(bitmap.runOptimize());
+        Assert.assertTrue(bitmap.sizeInBytes() < 1024);
+        Assert.assertTrue(bitmap.contains(999999));
+        Assert.assertFalse(bitmap.contains(1000000));
+
+        // 从区间的中间删除，区间分成两段
+        bitmap.remove(500000);
+        Assert.assertFalse(bitmap.contains(500000));
+        Assert.assertTrue(bitmap.contains(499999));
+        Assert.assertTrue(bitmap.contains(500001));
+        Assert.assertEquals(999999, bitmap.cardinality());
+    }
+
+    /**
+     * 生成随机元素：一部分集中在少数几个块中形成稠密的位图和连续区间，一部分分散在整个 int 范围内
+     *
+     * @param random 随机数生成器
+     * @return 随机元素
+     */
+    private static int randomElement(Random random) {
+        switch (random.nextInt(3)) {
+            case 0:
+                return random.nextInt();
+            case 1:
+                return (random.nextInt(4) << 16) + random.nextInt(65536);
+            default:
+                return -(1 << 20) + random.nextInt(3000);
+        }
+    }
+
+    /**
+     * 检查集合与期望的内容相同，并且按照从小到大的顺序遍历
+     *
+     * @param expected 期望的内容
+     * @param actual   集合
+     */
+    private static void assertSameContent(java.util.TreeSet<Integer> expected, RoaringBitmap actual) {
+        Assert.assertEquals(expected.size(), actual.size());
+        Iterator<Integer> iterator = expected.iterator();
+        for (Integer element : actual) {
+            Assert.assertEquals(iterator.next(), element);
+        }
+        Assert.assertFalse(iterator.hasNext());
+    }
+}
@@ -6,6 +6,8 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.StreamSupport;
+
 import com.hxqzzxk.set.Set.Visitor;
 
 /**
@@ -121,4 +123,20 @@ public abstract class SetTest {
         Assert.assertTrue(results.contains(2));
         Assert.assertTrue(results.contains(3));
     }
+
+    /**
+     * 测试通过迭代器和流遍历集合元素
+     */
+    @Test
+    public void testIterator() {
+        for (int i = 0; i < 100; i++) {
+            set.add(i);
+        }
+        java.util.Set<Integer> results = new java.util.HashSet<>();
+        for (Integer element : set) {
+            results.add(element);
+        }
+        Assert.assertEquals(100, results.size());
+        Assert.assertEquals(4950, StreamSupport.stream(set.spliterator(), true).mapToInt(Integer::intValue).sum());
+    }
 }
\ No newline at end of file
@@ -1,5 +1,11 @@
 package com.hxqzzxk.set;
 
+import java.util.Iterator;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
 /**
  * TreeSet 测试类，继承自 SetTest
  */
@@ -11,4 +17,122 @@ public class TreeSetTest extends SetTest {
     public void setUp() {
         set = new TreeSet<>();
     }
+
+    /**
+     * 测试 floor、ceiling、lower、higher、first、last
+     */
+    @Test
+    public void testNavigation() {
+        TreeSet<Integer> treeSet = (TreeSet<Integer>) set;
+        Assert.assertNull(treeSet.first());
+        for (int i = 0; i < 100; i += 10) {
+            set.add(i);
+        }
+        Assert.assertEquals(Integer.valueOf(0), treeSet.first());
+        Assert.assertEquals(Integer.valueOf(90), treeSet.last());
+        Assert.assertEquals(Integer.valueOf(20), treeSet.floor(25));
+        Assert.assertEquals(Integer.valueOf(20), treeSet.floor(20));
+        Assert.assertEquals(Integer.valueOf(10), treeSet.lower(20));
+        Assert.assertEquals(Integer.valueOf(30), treeSet.ceiling(25));
+        Assert.assertEquals(Integer.valueOf(40), treeSet.higher(30));
+        Assert.assertNull(treeSet.lower(0));
+        Assert.assertNull(treeSet.higher(90));
+    }
+
+    /**
+     * 测试 subSet、headSet、tailSet 范围视图
+     */
+    @Test
+    public void testRangeViews() {
+        TreeSet<Integer> treeSet = (TreeSet<Integer>) set;
+        for (int i = 0; i < 100; i++) {
+            set.add(i);
+        }
+        Set<Integer> sub = treeSet.subSet(10, false, 20, true);
+        Assert.assertEquals(10, sub.size());
+        Assert.assertFalse(sub.contains(10));
+        Assert.assertTrue(sub.contains(20));
+        int expected = 11;
+        for (Integer element : sub) {
+            Assert.assertEquals(Integer.valueOf(expected++), element);
+        }
+        Assert.assertEquals(21, expected);
+        Assert.assertEquals(50, treeSet.headSet(50, false).size());
+        Assert.assertEquals(50, treeSet.tailSet(50, true).size());
+
+        set.add(15);
+        sub.remove(15);
+        Assert.assertFalse(set.contains(15));
+        try {
+            sub.add(30);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // 期望的异常
+        }
+        sub.clear();
+        Assert.assertTrue(sub.isEmpty());
+        Assert.assertEquals(90, set.size());
+    }
+
+    /**
+     * 测试并集、交集和差集，包括大小相近和相差很大的情况，与 java.util.TreeSet 对比结果
+     */
+    @Test
+    public void testSetAlgebra() {
+        Random random = new Random(20);
+        int[][] sizes = { { 0, 0 }, { 0, 50 }, { 1000, 1000 }, { 3000, 200 }, { 10, 5000 }, { 5000, 10 } };
+        for (int[] size : sizes) {
+            TreeSet<Integer> a = new TreeSet<>();
+            TreeSet<Integer> b = new TreeSet<>();
+            java.util.TreeSet<Integer> x = new java.util.TreeSet<>();
+            java.util.TreeSet<Integer> y = new java.util.TreeSet<>();
+            for (int i = 0; i < size[0]; i++) {
+                int element = random.nextInt(8000);
+                a.add(element);
+                x.add(element);
+            }
+            for (int i = 0; i < size[1]; i++) {
+                int element = random.nextInt(8000);
+                b.add(element);
+                y.add(element);
+            }
+
+            java.util.TreeSet<Integer> union = new java.util.TreeSet<>(x);
+            union.addAll(y);
+            assertSameContent(union, a.union(b));
+            java.util.TreeSet<Integer> intersection = new java.util.TreeSet<>(x);
+            intersection.retainAll(y);
+            assertSameContent(intersection, a.intersection(b));
+            assertSameContent(intersection, b.intersection(a));
+            java.util.TreeSet<Integer> difference = new java.util.TreeSet<>(x);
+            difference.removeAll(y);
+            assertSameContent(difference, a.difference(b));
+            java.util.TreeSet<Integer> reverse = new java.util.TreeSet<>(y);
+            reverse.removeAll(x);
+            assertSameContent(reverse, b.difference(a));
+
+            // 运算不修改参与运算的集合，结果可以继续修改
+            assertSameContent(x, a);
+            assertSameContent(y, b);
+            TreeSet<Integer> result = a.union(b);
+            result.add(-1);
+            result.remove(-1);
+            assertSameContent(union, result);
+        }
+    }
+
+    /**
+     * 检查集合与期望的内容相同，并且按照从小到大的顺序遍历
+     *
+     * @param expected 期望的内容
+     * @param actual   集合
+     */
+    private static void assertSameContent(java.util.TreeSet<Integer> expected, TreeSet<Integer> actual) {
+        Assert.assertEquals(expected.size(), actual.size());
+        Iterator<Integer> iterator = expected.iterator();
+        for (Integer element : actual) {
+            Assert.assertEquals(iterator.next(), element);
+        }
+        Assert.assertFalse(iterator.hasNext());
+    }
 }
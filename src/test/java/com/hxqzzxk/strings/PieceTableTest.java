@@ -0,0 +1,126 @@
+package com.hxqzzxk.strings;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 片段表测试类
+ */
+public class PieceTableTest {
+
+    /**
+     * 测试插入、删除和读取
+     */
+    @Test
+    public void testEdit() {
+        PieceTable table = new PieceTable("hello world");
+        table.insert(5, ",");
+        table.append("!");
+        Assert.assertEquals("hello, world!", table.toString());
+        table.delete(0, 1);
+        table.insert(0, "H");
+        table.delete(7, 5);
+        table.insert(7, "piece table");
+        Assert.assertEquals("Hello, piece table!", table.toString());
+        Assert.assertEquals(19, table.length());
+        Assert.assertEquals('p', table.charAt(7));
+        Assert.assertEquals("piece", table.subSequence(7, 12).toString());
+        Assert.assertEquals("", table.subSequence(3, 3).toString());
+        table.delete(0, table.length());
+        Assert.assertEquals("", table.toString());
+        Assert.assertEquals(0, table.pieceCount());
+        table.insert(0, "abc");
+        Assert.assertEquals("abc", table.toString());
+    }
+
+    /**
+     * 测试连续输入时延长同一个片段
+     */
+    @Test
+    public void testTypingExtendsPiece() {
+        PieceTable table = new PieceTable("0123456789");
+        table.insert(5, "a");
+        Assert.assertEquals(3, table.pieceCount());
+        for (int i = 0; i < 100; i++) {
+            table.insert(6 + i, "b");
+        }
+        Assert.assertEquals(3, table.pieceCount());
+        Assert.assertEquals(110 + 1, table.length());
+        Assert.assertEquals('a', table.charAt(5));
+        Assert.assertEquals('5', table.charAt(106));
+    }
+
+    /**
+     * 测试参数检查
+     */
+    @Test
+    public void testInvalidArguments() {
+        PieceTable table = new PieceTable("abc");
+        try {
+            table.insert(4, "x");
+            Assert.fail();
+        } catch (IndexOutOfBoundsException e) {
+            Assert.assertEquals("Index:4, Length:3", e.getMessage());
+        }
+        try {
+            table.delete(2, 2);
+            Assert.fail();
+        } catch (IndexOutOfBoundsException e) {
+            Assert.assertEquals("Index:2, Count:2, Length:3", e.getMessage());
+        }
+        try {
+            table.charAt(3);
+            Assert.fail();
+        } catch (IndexOutOfBoundsException e) {
+            Assert.assertEquals("Index:3, Length:3", e.getMessage());
+        }
+        try {
+            table.insert(0, null);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("text must not be null", e.getMessage());
+        }
+    }
+
+    /**
+     * 测试和 StringBuilder 随机对比
+     */
+    @Test
+    public void testRandom() {
+        StringBuilder expected = new StringBuilder("the quick brown fox jumps over the lazy dog");
+        PieceTable table = new PieceTable(expected);
+        Random random = new Random(24);
+        int cursor = 0;
+        for (int i = 0; i < 5000; i++) {
+            if (random.nextInt(20) == 0) {
+                cursor = random.nextInt(expected.length() + 1);
+            }
+            int op = random.nextInt(10);
+            if (op < 6 || cursor == expected.length()) {
+                String text = Integer.toString(i, 36);
+                table.insert(cursor, text);
+                expected.insert(cursor, text);
+                cursor += text.length();
+            } else if (op < 9) {
+                int count = random.nextInt(Math.min(5, expected.length() - cursor) + 1);
+                table.delete(cursor, count);
+                expected.delete(cursor, cursor + count);
+            } else {
+                int index = random.nextInt(expected.length());
+                Assert.assertEquals(expected.charAt(index), table.charAt(index));
+            }
+            Assert.assertEquals(expected.length(), table.length());
+            if (i % 500 == 0) {
+                Assert.assertEquals(expected.toString(), table.toString());
+            }
+        }
+        Assert.assertEquals(expected.toString(), table.toString());
+        for (int i = 0; i < expected.length(); i++) {
+            Assert.assertEquals(expected.charAt(i), table.charAt(i));
+        }
+        int start = expected.length() / 3;
+        Assert.assertEquals(expected.substring(start, start * 2), table.subSequence(start, start * 2).toString());
+    }
+}
@@ -8,7 +8,7 @@ import org.junit.Test;
  * AVL 树测试类
  * 测试 AVLTree 的基本功能，包括添加、删除等操作，并验证其平衡性与结构正确性
  */
-public class AVLTest {
+public class AVLTest extends BalancedBinarySearchTreeTest {
     /**
      * 被测试的 AVL 树实例，用于执行各种添加和删除操作
      */
@@ -19,7 +19,15 @@ public class AVLTest {
      */
     @Before
     public void setUp() {
-        tree = new AVLTree<>();
+        tree = createTree();
+    }
+
+    /**
+     * 创建一个空的 AVL 树
+     */
+    @Override
+    protected AVLTree<Integer> createTree() {
+        return new AVLTree<>();
     }
 
     /**
@@ -0,0 +1,59 @@
+package com.hxqzzxk.tree;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 平衡二叉搜索树测试基类，定义 AVL 树和红黑树共同的测试方法
+ */
+public abstract class BalancedBinarySearchTreeTest {
+    /**
+     * 创建一个空的被测试的树
+     *
+     * @return 空树
+     */
+    protected abstract BalancedBinarySearchTree<Integer> createTree();
+
+    /**
+     * 测试顺序统计：rank、select 和 countInRange。
+     * 随机添加和删除元素之后（会触发各种旋转），与排好序的期望结果对比。
+     */
+    @Test
+    public void testOrderStatistics() {
+        BalancedBinarySearchTree<Integer> tree = createTree();
+        TreeSet<Integer> expected = new TreeSet<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 3000; i++) {
+            int element = random.nextInt(1000);
+            if (random.nextInt(3) == 0) {
+                tree.remove(element);
+                expected.remove(element);
+            } else {
+                tree.add(element);
+                expected.add(element);
+            }
+        }
+        Assert.assertEquals(expected.size(), tree.size());
+        int k = 0;
+        for (Integer element : expected) {
+            Assert.assertEquals(element, tree.select(k));
+            Assert.assertEquals(k, tree.rank(element));
+            k++;
+        }
+        for (int element = -1; element <= 1000; element += 7) {
+            Assert.assertEquals(expected.headSet(element).size(), tree.rank(element));
+            Assert.assertEquals(expected.subSet(element, true, element + 100, true).size(),
+                    tree.countInRange(element, element + 100));
+        }
+        Assert.assertEquals(0, tree.countInRange(10, 5));
+        try {
+            tree.select(tree.size());
+            Assert.fail();
+        } catch (IndexOutOfBoundsException e) {
+            // 期望的异常
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.hxqzzxk.tree;
 
+import java.util.Arrays;
+
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -7,7 +9,7 @@ import org.junit.Test;
 /**
  * RedBlackTreeTest 类用于测试 RedBlackTree 的各种功能。
  */
-public class RedBlackTreeTest {
+public class RedBlackTreeTest extends BalancedBinarySearchTreeTest {
     /**
      * 用于测试的红黑树实例。
      */
@@ -18,7 +20,15 @@ public class RedBlackTreeTest {
      */
     @Before
     public void setUp() {
-        tree = new RedBlackTree<>();
+        tree = createTree();
+    }
+
+    /**
+     * 创建一个空的红黑树
+     */
+    @Override
+    protected RedBlackTree<Integer> createTree() {
+        return new RedBlackTree<>();
     }
 
     /**
@@ -216,4 +226,116 @@ public class RedBlackTreeTest {
                 "5: null null null null null null null null 9 null 13 15 null" +
                 " null null null ", tree.toString());
     }
+
+    /**
+     * 测试由有序元素批量构建红黑树。
+     * 验证元素的顺序、树的高度，以及构建之后继续添加和删除元素时红黑树仍然正确。
+     */
+    @Test
+    public void testFromSorted() {
+        Integer[] data = new Integer[1000];
+        for (int i = 0; i < data.length; i++) {
+            // 每个元素出现两次
+            data[i] = i / 2;
+        }
+        tree = RedBlackTree.fromSorted(data);
+        Assert.assertEquals(500, tree.size());
+        // 500 个节点的平衡树高度为 9
+        Assert.assertEquals(9, tree.height());
+        int expected = 0;
+        for (Integer element : tree) {
+            Assert.assertEquals(Integer.valueOf(expected++), element);
+        }
+        Assert.assertEquals(500, expected);
+        Assert.assertEquals(Integer.valueOf(250), tree.select(250));
+        Assert.assertEquals(100, tree.rank(100));
+
+        for (int i = 0; i < 500; i += 2) {
+            tree.remove(i);
+        }
+        for (int i = 500; i < 700; i++) {
+            tree.add(i);
+        }
+        Assert.assertEquals(450, tree.size());
+        for (int i = 0; i < 700; i++) {
+            Assert.assertEquals(i >= 500 || i % 2 == 1, tree.contains(i));
+        }
+
+        Assert.assertTrue(RedBlackTree.fromSorted(new Integer[0]).isEmpty());
+        Assert.assertEquals(3, RedBlackTree.fromSorted(Arrays.asList(1, 2, 3).iterator()).size());
+        try {
+            RedBlackTree.fromSorted(new Integer[] { 1, 3, 2 });
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // 期望的异常
+        }
+    }
+
+    /**
+     * 测试批量构建的树满足红黑树的性质：根节点是黑色，红色节点没有红色子节点，每条路径的黑色节点数量相同。
+     * 包括最底层不满的情况，以及批量构建之后继续添加和删除
+     */
+    @Test
+    public void testFromSortedInvariants() {
+        for (int n : new int[] { 1, 2, 3, 7, 8, 1000, 1023, 1025 }) {
+            Integer[] data = new Integer[n + 5];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = i;
+            }
+            // 只使用前 n 个元素
+            tree = RedBlackTree.fromSortedDistinct(data, n);
+            Assert.assertEquals(n, tree.size());
+            assertRedBlack(tree);
+            int expected = 0;
+            for (Integer element : tree) {
+                Assert.assertEquals(Integer.valueOf(expected++), element);
+            }
+            Assert.assertEquals(n, expected);
+
+            tree = RedBlackTree.fromSorted(Arrays.copyOf(data, n));
+            assertRedBlack(tree);
+            for (int i = n; i < n + 50; i++) {
+                tree.add(i);
+                assertRedBlack(tree);
+            }
+            for (int i = 0; i < n + 50; i += 2) {
+                tree.remove(i);
+                assertRedBlack(tree);
+            }
+            Assert.assertEquals((n + 50) / 2, tree.size());
+            for (int i = 0; i < n + 50; i++) {
+                Assert.assertEquals(i % 2 == 1, tree.contains(i));
+            }
+        }
+    }
+
+    /**
+     * 检查红黑树的性质
+     *
+     * @param tree 红黑树
+     */
+    private static void assertRedBlack(RedBlackTree<Integer> tree) {
+        Assert.assertFalse(tree.isRed(tree.root));
+        blackHeight(tree, tree.root);
+    }
+
+    /**
+     * 检查子树中红色节点没有红色子节点，并且每条路径的黑色节点数量相同
+     *
+     * @param tree 红黑树
+     * @param node 子树的根节点
+     * @return 子树每条路径上黑色节点的数量（空节点算作黑色）
+     */
+    private static int blackHeight(RedBlackTree<Integer> tree, BinaryTree.Node<Integer> node) {
+        if (node == null) {
+            return 1;
+        }
+        if (tree.isRed(node)) {
+            Assert.assertFalse(tree.isRed(node.left));
+            Assert.assertFalse(tree.isRed(node.right));
+        }
+        int left = blackHeight(tree, node.left);
+        Assert.assertEquals(left, blackHeight(tree, node.right));
+        return tree.isRed(node) ? left : left + 1;
+    }
 }